@@ -0,0 +1,61 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+import java.util.Properties
+
+plugins {
+  id("org.jetbrains.kotlin.jvm")
+  application
+}
+
+// Holds the classpath that the app component is compiled against in-process. This mirrors
+// :app:component's dependencies, minus the component itself.
+val graph: SourceSet = sourceSets.create("graph")
+
+// The version under test if METRO_VERSION is set, or else the included Metro build's own version
+val metroVersion: String =
+  System.getenv("METRO_VERSION")?.takeIf { it.isNotEmpty() }
+    ?: Properties()
+      .apply { rootProject.file("../gradle.properties").inputStream().use(::load) }
+      .getProperty("VERSION_NAME")
+
+dependencies {
+  implementation("dev.zacsweers.metro:compiler:$metroVersion")
+  implementation(libs.kotlin.compiler)
+
+  "graphImplementation"("javax.inject:javax.inject:1")
+  "graphImplementation"("dev.zacsweers.anvil:annotations:0.4.1")
+  "graphImplementation"("dev.zacsweers.metro:runtime:$metroVersion")
+  for (path in rootProject.file("generated-projects.txt").readLines()) {
+    if (path.isBlank() || path == ":app:component" || path == project.path) continue
+    "graphImplementation"(project(path))
+  }
+}
+
+application { mainClass = "dev.zacsweers.metro.benchmark.compiler.InProcessCompilerBenchmarkKt" }
+
+tasks.named<JavaExec>("run") {
+  val graphClasspath = graph.compileClasspath
+  val sources = rootProject.layout.projectDirectory.dir("app/component/src/main/kotlin")
+  val outputDir =
+    providers
+      .gradleProperty("metro.benchmark.outputDir")
+      .orElse(layout.buildDirectory.dir("in-process-benchmark").map { it.asFile.absolutePath })
+  val warmups = providers.gradleProperty("metro.benchmark.warmups").orElse("3")
+  val iterations = providers.gradleProperty("metro.benchmark.iterations").orElse("10")
+  inputs.files(graphClasspath)
+  maxHeapSize = "4g"
+  argumentProviders.add {
+    listOf(
+      "--sources",
+      sources.asFile.absolutePath,
+      "--classpath",
+      graphClasspath.asPath,
+      "--output-dir",
+      outputDir.get(),
+      "--warmups",
+      warmups.get(),
+      "--iterations",
+      iterations.get(),
+    )
+  }
+}
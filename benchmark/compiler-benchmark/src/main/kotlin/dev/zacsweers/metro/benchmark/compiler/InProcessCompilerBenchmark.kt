@@ -0,0 +1,232 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.benchmark.compiler
+
+import dev.zacsweers.metro.compiler.MetroCompilerPluginRegistrar
+import java.lang.management.ManagementFactory
+import java.nio.file.Path
+import kotlin.io.path.ExperimentalPathApi
+import kotlin.io.path.Path
+import kotlin.io.path.absolutePathString
+import kotlin.io.path.createDirectories
+import kotlin.io.path.deleteRecursively
+import kotlin.io.path.extension
+import kotlin.io.path.readLines
+import kotlin.io.path.walk
+import kotlin.io.path.writeText
+import org.jetbrains.kotlin.cli.common.ExitCode
+import org.jetbrains.kotlin.cli.jvm.K2JVMCompiler
+
+/**
+ * Compiles the generated app component in-process through the Kotlin compiler with Metro's
+ * [MetroCompilerPluginRegistrar], then reports Metro's per-phase timings and allocations from its
+ * `timings.csv` report across repeated iterations.
+ *
+ * Unlike the gradle-profiler scenarios, this has no Gradle or daemon overhead and only compiles the
+ * app component, where graph processing happens. The compiler and plugin classes are shared across
+ * iterations, so warmup iterations let the JIT settle before measuring.
+ *
+ * Usage: `./gradlew :compiler-benchmark:run -Pmetro.benchmark.iterations=20`
+ */
+@OptIn(ExperimentalPathApi::class)
+fun main(args: Array<String>) {
+  val options =
+    args.toList().chunked(2).associate { (key, value) -> key.removePrefix("--") to value }
+  val sources =
+    Path(options.getValue("sources"))
+      .walk()
+      .filter { it.extension == "kt" }
+      .map { it.absolutePathString() }
+      .toList()
+  val classpath = options.getValue("classpath")
+  val warmups = options["warmups"]?.toInt() ?: 3
+  val iterations = options["iterations"]?.toInt() ?: 10
+  val outputDir =
+    Path(options.getValue("output-dir")).apply {
+      deleteRecursively()
+      createDirectories()
+    }
+  val metroJar =
+    Path(MetroCompilerPluginRegistrar::class.java.protectionDomain.codeSource.location.toURI())
+
+  println("Compiling ${sources.size} source files with $warmups warmups and $iterations iterations")
+
+  val results = mutableListOf<IterationResult>()
+  for (i in 0 until warmups + iterations) {
+    val isWarmup = i < warmups
+    val name = if (isWarmup) "warmup-$i" else "iteration-${i - warmups}"
+    val iterationDir = outputDir.resolve(name)
+    val reportsDir = iterationDir.resolve("reports")
+    val result =
+      compile(
+        sources = sources,
+        classpath = classpath,
+        metroJar = metroJar,
+        classesDir = iterationDir.resolve("classes"),
+        reportsDir = reportsDir,
+      )
+    println(
+      "$name: ${result.durationMs} ms, ${result.allocatedBytes.toMegabytes()} MB allocated " +
+        "(Metro: ${result.phases[METRO_PHASE]?.durationMs ?: "?"} ms)"
+    )
+    if (!isWarmup) {
+      results += result
+    }
+  }
+
+  val summary = summarize(results)
+  outputDir.resolve("summary.csv").writeText(summary.toCsv())
+  println()
+  println(summary.toTable())
+  println()
+  println("Results written to ${outputDir.absolutePathString()}")
+}
+
+/** The root phase that Metro traces in IR, which includes all of its other IR phases. */
+private const val METRO_PHASE = "Metro compiler"
+
+private const val TOTAL_PHASE = "Total (kotlinc)"
+
+private class Phase(val durationMs: Long, val allocatedBytes: Long)
+
+private class IterationResult(
+  val durationMs: Long,
+  val allocatedBytes: Long,
+  /** Phases by description, summed across graphs. */
+  val phases: Map<String, Phase>,
+)
+
+private class PhaseSummary(
+  val description: String,
+  val medianMs: Long,
+  val minMs: Long,
+  val maxMs: Long,
+  val medianAllocatedBytes: Long,
+)
+
+private fun compile(
+  sources: List<String>,
+  classpath: String,
+  metroJar: Path,
+  classesDir: Path,
+  reportsDir: Path,
+): IterationResult {
+  val pluginOptions =
+    listOf(
+        "reports-destination" to reportsDir.absolutePathString(),
+        // Equivalent to includeJavax() and includeAnvilForDagger() in the Gradle build
+        "interop-include-javax-annotations" to "true",
+        "interop-include-jakarta-annotations" to "true",
+        "interop-include-dagger-annotations" to "true",
+        "interop-include-anvil-annotations" to "true",
+        "enable-dagger-runtime-interop" to "true",
+        "enable-dagger-anvil-interop" to "true",
+      )
+      .joinToString(",") { (key, value) -> "plugin:dev.zacsweers.metro.compiler:$key=$value" }
+
+  val args = buildList {
+    add("-no-stdlib")
+    add("-no-reflect")
+    add("-Xjvm-default=all")
+    add("-Xannotation-default-target=param-property")
+    add("-module-name")
+    add("component")
+    add("-classpath")
+    add(classpath)
+    add("-d")
+    add(classesDir.absolutePathString())
+    // The plugin jar is also on this classpath, so its classes (and their JIT state) are reused
+    // across iterations rather than reloaded.
+    add("-Xplugin=${metroJar.absolutePathString()}")
+    add("-P")
+    add(pluginOptions)
+    addAll(sources)
+  }
+
+  System.gc()
+  val allocatedBefore = currentThreadAllocatedBytes()
+  val start = System.nanoTime()
+  val exitCode = K2JVMCompiler().exec(System.err, *args.toTypedArray())
+  val durationMs = (System.nanoTime() - start) / 1_000_000
+  val allocatedBytes = currentThreadAllocatedBytes() - allocatedBefore
+  check(exitCode == ExitCode.OK) { "Compilation failed with $exitCode" }
+
+  return IterationResult(
+    durationMs = durationMs,
+    allocatedBytes = allocatedBytes,
+    phases = readPhases(reportsDir.resolve("timings.csv")),
+  )
+}
+
+/** Reads Metro's `tag,description,durationMs,allocatedBytes` timings report. */
+private fun readPhases(timings: Path): Map<String, Phase> {
+  val phases = LinkedHashMap<String, Phase>()
+  for (line in timings.readLines().drop(1)) {
+    if (line.isBlank()) continue
+    val parts = line.split(",")
+    // Descriptions may contain commas, so read the known columns from either end
+    val description = parts.subList(1, parts.size - 2).joinToString(",")
+    val durationMs = parts[parts.size - 2].toLong()
+    val allocatedBytes = parts.last().toLong()
+    phases.merge(description, Phase(durationMs, allocatedBytes)) { a, b ->
+      Phase(a.durationMs + b.durationMs, a.allocatedBytes + b.allocatedBytes)
+    }
+  }
+  return phases
+}
+
+private fun summarize(results: List<IterationResult>): List<PhaseSummary> {
+  val totals = TOTAL_PHASE to results.map { Phase(it.durationMs, it.allocatedBytes) }
+  val phases =
+    results
+      .flatMap { it.phases.keys }
+      .distinct()
+      .map { description -> description to results.mapNotNull { it.phases[description] } }
+  return (listOf(totals) + phases).map { (description, samples) ->
+    val durations = samples.map { it.durationMs }.sorted()
+    PhaseSummary(
+      description = description,
+      medianMs = durations.median(),
+      minMs = durations.first(),
+      maxMs = durations.last(),
+      medianAllocatedBytes = samples.map { it.allocatedBytes }.sorted().median(),
+    )
+  }
+}
+
+private fun List<PhaseSummary>.toCsv(): String = buildString {
+  append("phase,medianMs,minMs,maxMs,medianAllocatedBytes")
+  for (phase in this@toCsv) {
+    append("\n\"${phase.description}\",${phase.medianMs},${phase.minMs},${phase.maxMs},")
+    append(phase.medianAllocatedBytes)
+  }
+}
+
+private fun List<PhaseSummary>.toTable(): String = buildString {
+  val width = maxOf(this@toTable.maxOf { it.description.length }, "Phase".length)
+  appendLine(
+    "${"Phase".padEnd(width)}  ${"median ms".padStart(10)}  ${"min ms".padStart(8)}  " +
+      "${"max ms".padStart(8)}  ${"alloc MB".padStart(10)}"
+  )
+  for (phase in this@toTable) {
+    appendLine(
+      "${phase.description.padEnd(width)}  ${phase.medianMs.toString().padStart(10)}  " +
+        "${phase.minMs.toString().padStart(8)}  ${phase.maxMs.toString().padStart(8)}  " +
+        phase.medianAllocatedBytes.toMegabytes().padStart(10)
+    )
+  }
+}
+
+private fun List<Long>.median(): Long {
+  if (isEmpty()) return 0
+  return if (size % 2 == 1) this[size / 2] else (this[size / 2 - 1] + this[size / 2]) / 2
+}
+
+private fun Long.toMegabytes(): String =
+  if (this < 0) "?" else String.format("%.1f", this / (1024.0 * 1024.0))
+
+private val threadMXBean = ManagementFactory.getThreadMXBean() as? com.sun.management.ThreadMXBean
+
+@Suppress("DEPRECATION") // Thread.threadId() is JDK 19+
+private fun currentThreadAllocatedBytes(): Long =
+  threadMXBean?.getThreadAllocatedBytes(Thread.currentThread().id) ?: -1
@@ -4,6 +4,7 @@
 
 import com.github.ajalt.clikt.core.CliktCommand
 import com.github.ajalt.clikt.core.Context
+import com.github.ajalt.clikt.core.UsageError
 import com.github.ajalt.clikt.core.main
 import com.github.ajalt.clikt.parameters.options.*
 import com.github.ajalt.clikt.parameters.types.enum
@@ -29,7 +30,20 @@ class GenerateProjectsCommand : CliktCommand() {
       .enum<ProcessorMode>(ignoreCase = true)
       .default(ProcessorMode.KSP)
 
+  private val inProcess by
+    option(
+        "--in-process",
+        help =
+          "Also include the :compiler-benchmark project, which compiles the app component " +
+            "in-process with Metro's compiler plugin (metro mode only)",
+      )
+      .flag()
+
   override fun run() {
+    if (inProcess && mode != BuildMode.METRO) {
+      throw UsageError("--in-process is only supported in metro mode")
+    }
+
     println("Generating benchmark project for mode: $mode with $totalModules modules")
 
     // Calculate layer sizes based on total modules
@@ -236,13 +250,16 @@ class GenerateProjectsCommand : CliktCommand() {
     // Update settings.gradle.kts
     println("Updating settings.gradle.kts...")
 
-    writeSettingsFile(allModules)
+    writeSettingsFile(allModules, inProcess)
 
     println("Generated benchmark project with ${allModules.size} modules!")
     println("Build mode: $mode")
     if (mode == BuildMode.ANVIL) {
       println("Processor: $processor")
     }
+    if (inProcess) {
+      println("In-process compiler benchmark: ./gradlew :compiler-benchmark:run")
+    }
 
     println("Modules by layer:")
 
@@ -776,19 +793,23 @@ annotation class ${className}Scope
     }.trimIndent()
   }
 
-  fun generateAccessors(allModules: List<ModuleSpec>): String {
+  /** Returns the services that get an accessor on the app component. */
+  fun accessorServices(allModules: List<ModuleSpec>): List<String> {
     // Generate accessors for services that actually exist in each module
-    val scopedBindings =
-      allModules.flatMap { module ->
-        (1..module.contributionsCount).mapNotNull { index ->
-          // Use the same deterministic random logic as generateContribution
-          val moduleRandom = Random(module.name.hashCode() + index)
-          when (moduleRandom.nextInt(3)) {
-            0 -> "${module.name.toCamelCase()}Service$index" // binding contribution
-            else -> null // multibindings and other types don't need individual accessors
-          }
+    return allModules.flatMap { module ->
+      (1..module.contributionsCount).mapNotNull { index ->
+        // Use the same deterministic random logic as generateContribution
+        val moduleRandom = Random(module.name.hashCode() + index)
+        when (moduleRandom.nextInt(3)) {
+          0 -> "${module.name.toCamelCase()}Service$index" // binding contribution
+          else -> null // multibindings and other types don't need individual accessors
         }
       }
+    }
+  }
+
+  fun generateAccessors(allModules: List<ModuleSpec>): String {
+    val scopedBindings = accessorServices(allModules)
 
     // Group into chunks to avoid extremely long interfaces
     return scopedBindings
@@ -886,6 +907,7 @@ class PlainDataProcessor {
 plugins {
   id("org.jetbrains.kotlin.jvm")
   id("dev.zacsweers.metro")
+  alias(libs.plugins.jmh)
   application
 }
 
@@ -903,8 +925,20 @@ application {
   mainClass = "dev.zacsweers.metro.benchmark.app.component.AppComponentKt"
 }
 
+// Runtime benchmarks. Compare codegen options with, e.g.
+// ./gradlew :app:component:jmh -Pmetro.chunkFieldInits=false
+jmh {
+  resultFormat.set("JSON")
+  // Report allocations per operation (gc.alloc.rate.norm)
+  profilers.add("gc")
+}
+
 metro {
   // reportsDestination.set(layout.buildDirectory.dir("metro"))
+  providers.gradleProperty("metro.chunkFieldInits").orNull?.let { chunkFieldInits.set(it.toBoolean()) }
+  providers.gradleProperty("metro.statementsPerInitFun").orNull?.let { statementsPerInitFun.set(it.toInt()) }
+  providers.gradleProperty("metro.shortLivedGraphExtensions").orNull?.let { shortLivedGraphExtensions.set(it.toBoolean()) }
+  providers.gradleProperty("metro.patchCyclicProviderFields").orNull?.let { patchCyclicProviderFields.set(it.toBoolean()) }
   interop {
     includeJavax()
     includeAnvilForDagger()
@@ -1064,8 +1098,10 @@ interface AppComponent : ${(0 until (allModules.size / 50 + 1)).joinToString(",
   fun bindInitializers(): Set<Initializer>
 }
 
+fun createAppComponent(): AppComponent = createGraph<AppComponent>()
+
 fun main() {
-  val graph = createGraph<AppComponent>()
+  val graph = createAppComponent()
   val fields = graph.javaClass.declaredFields.size
   val methods = graph.javaClass.declaredMethods.size
   
@@ -1180,14 +1216,262 @@ fun main() {
       }
 
     sourceFile.writeText(sourceCode.trimIndent())
+
+    if (buildMode == BuildMode.METRO) {
+      generateRuntimeBenchmark(appDir, allModules)
+    }
+  }
+
+  /**
+   * Generates JMH benchmarks for the runtime cost of the generated app graph: graph construction,
+   * cold (first access) and warm accessors, multibinding assembly, and graph extension creation
+   * (once and in a tight loop). Also generates a small graph with a `Provider`-broken cycle to
+   * measure calls through cycle edges.
+   */
+  fun generateRuntimeBenchmark(appDir: File, allModules: List<ModuleSpec>) {
+    val srcDir = File(appDir, "src/jmh/kotlin/dev/zacsweers/metro/benchmark/app/component")
+    srcDir.mkdirs()
+
+    // Chunk accessor calls to keep each method small enough for the JIT to compile
+    val accessorChunks = accessorServices(allModules).chunked(50)
+    val accessorFunctions =
+      accessorChunks
+        .mapIndexed { chunkIndex, chunk ->
+          """
+  private fun resolveAccessors$chunkIndex(graph: AppComponent, consume: (Any) -> Unit) {
+${chunk.joinToString("\n") { "    consume(graph.get$it())" }}
+  }"""
+        }
+        .joinToString("\n")
+    val extensionFactoryCalls =
+      allModules
+        .filter { it.hasSubcomponent }
+        .map { module ->
+          val packageName =
+            "dev.zacsweers.metro.benchmark.${module.layer.path}.${module.name.replace("-", "")}"
+          val className = module.name.toCamelCase()
+          "(graph as $packageName.${className}Subcomponent.Factory).create${className}Subcomponent()"
+        }
+    val extensionCalls =
+      extensionFactoryCalls.joinToString("\n") { "    blackhole.consume($it)" }
+    // Number of times each extension is created per invocation of createGraphExtensionsInLoop
+    val extensionLoopSize = 1_000
+    val extensionLoopCalls =
+      extensionFactoryCalls.joinToString("\n") { "      blackhole.consume($it)" }
+
+    val sourceCode =
+      """
+package dev.zacsweers.metro.benchmark.app.component
+
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OperationsPerInvocation
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+open class AppComponentBenchmark {
+  private lateinit var warmGraph: AppComponent
+
+  @Setup
+  fun setup() {
+    warmGraph = createAppComponent()
+    resolveAccessors(warmGraph) {}
+  }
+
+  /** Graph construction alone, i.e. field initialization. */
+  @Benchmark
+  fun createGraph(): AppComponent = createAppComponent()
+
+  /** First access of every accessor on a new graph, which initializes scoped bindings. */
+  @Benchmark
+  fun coldAccessors(state: ColdGraph, blackhole: Blackhole) =
+    resolveAccessors(state.graph, blackhole::consume)
+
+  /** Every accessor on a graph that has already initialized its scoped bindings. */
+  @Benchmark
+  fun warmAccessors(blackhole: Blackhole) = resolveAccessors(warmGraph, blackhole::consume)
+
+  @Benchmark
+  fun multibindings(blackhole: Blackhole) {
+    blackhole.consume(warmGraph.getAllPlugins())
+    blackhole.consume(warmGraph.getAllInitializers())
+  }
+
+  /** Creates each graph extension once. */
+  @Benchmark
+  fun createGraphExtensions(blackhole: Blackhole) {
+    val graph = warmGraph
+${extensionCalls.ifEmpty { "    // No graph extensions in this project" }}
+  }
+
+  /**
+   * Creates each graph extension $extensionLoopSize times in a tight loop, like one extension per
+   * request. The gc profiler's `gc.alloc.rate.norm` reports the bytes allocated per creation.
+   */
+  @Benchmark
+  @OperationsPerInvocation($extensionLoopSize)
+  fun createGraphExtensionsInLoop(blackhole: Blackhole) {
+    val graph = warmGraph
+    repeat($extensionLoopSize) {
+${extensionLoopCalls.ifEmpty { "      // No graph extensions in this project" }}
+    }
+  }
+
+  /** Construction and first access of everything in a fresh JVM, including class loading. */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  @Fork(20)
+  fun startup(blackhole: Blackhole) {
+    val graph = createAppComponent()
+    resolveAccessors(graph, blackhole::consume)
+    blackhole.consume(graph.getAllPlugins())
+    blackhole.consume(graph.getAllInitializers())
+  }
+
+  private fun resolveAccessors(graph: AppComponent, consume: (Any) -> Unit) {
+${accessorChunks.indices.joinToString("\n") { "    resolveAccessors$it(graph, consume)" }}
+  }
+$accessorFunctions
+
+  /** A new graph per invocation, so accessors are always accessed for the first time. */
+  @State(Scope.Thread)
+  open class ColdGraph {
+    lateinit var graph: AppComponent
+
+    @Setup(Level.Invocation)
+    fun setup() {
+      graph = createAppComponent()
+    }
+  }
+}
+"""
+
+    File(srcDir, "AppComponentBenchmark.kt").writeText(sourceCode.trimIndent())
+
+    generateCycleBenchmark(appDir)
+  }
+
+  /**
+   * Generates a graph with a chain of scoped bindings whose tail depends on its head through a
+   * `Provider`, plus JMH benchmarks for calling through that cycle once every binding is
+   * initialized.
+   */
+  fun generateCycleBenchmark(appDir: File) {
+    val cycleLength = 10
+    val nodes =
+      (0 until cycleLength).joinToString("\n\n") { index ->
+        val dependency =
+          if (index == cycleLength - 1) {
+            "val headProvider: Provider<CycleNode0>"
+          } else {
+            "val next: CycleNode${index + 1}"
+          }
+        "@SingleIn(CycleScope::class) @Inject class CycleNode$index($dependency)"
+      }
+    val graphSource =
+      """
+package dev.zacsweers.metro.benchmark.app.component
+
+import dev.zacsweers.metro.DependencyGraph
+import dev.zacsweers.metro.Inject
+import dev.zacsweers.metro.Provider
+import dev.zacsweers.metro.SingleIn
+import dev.zacsweers.metro.createGraph
+
+abstract class CycleScope private constructor()
+
+$nodes
+
+@DependencyGraph(CycleScope::class)
+interface CycleGraph {
+  val head: CycleNode0
+  val headProvider: Provider<CycleNode0>
+  val tail: CycleNode${cycleLength - 1}
+}
+
+fun createCycleGraph(): CycleGraph = createGraph<CycleGraph>()
+"""
+    File(appDir, "src/main/kotlin/dev/zacsweers/metro/benchmark/app/component/CycleGraph.kt")
+      .writeText(graphSource.trimIndent())
+
+    val benchmarkSource =
+      """
+package dev.zacsweers.metro.benchmark.app.component
+
+import dev.zacsweers.metro.Provider
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+
+/**
+ * Calls through a `Provider`-broken cycle after all of its bindings are initialized. Compare with
+ * `-Pmetro.patchCyclicProviderFields=true`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+open class CycleBenchmark {
+  private lateinit var graph: CycleGraph
+  private lateinit var cycleEdge: Provider<CycleNode0>
+  private lateinit var accessorProvider: Provider<CycleNode0>
+
+  @Setup
+  fun setup() {
+    graph = createCycleGraph()
+    cycleEdge = graph.tail.headProvider
+    accessorProvider = graph.headProvider
+    graph.head
+  }
+
+  /** The provider that the tail of the cycle captured when the graph was created. */
+  @Benchmark fun invokeCycleEdge(): CycleNode0 = cycleEdge()
+
+  /** The provider returned by a graph accessor after the graph was created. */
+  @Benchmark fun invokeAccessorProvider(): CycleNode0 = accessorProvider()
+
+  /** Graph construction, including breaking the cycle. */
+  @Benchmark fun createGraph(): CycleGraph = createCycleGraph()
+}
+"""
+    File(appDir, "src/jmh/kotlin/dev/zacsweers/metro/benchmark/app/component/CycleBenchmark.kt")
+      .writeText(benchmarkSource.trimIndent())
   }
 
-  fun writeSettingsFile(allModules: List<ModuleSpec>) {
+  fun writeSettingsFile(allModules: List<ModuleSpec>, inProcess: Boolean) {
     val settingsFile = File("generated-projects.txt")
     val includes =
       listOf(":core:foundation") +
         allModules.map { ":${it.layer.path}:${it.name}" } +
-        ":app:component"
+        ":app:component" +
+        listOfNotNull(":compiler-benchmark".takeIf { inProcess })
     val content = includes.joinToString("\n")
     settingsFile.writeText(content)
   }
@@ -126,6 +126,7 @@ generate_projects() {
     local mode=$1
     local processor=$2
     local count=${3:-$DEFAULT_MODULE_COUNT}
+    local extra_args=${4:-""}
     
     print_status "Generating $count modules for $mode mode"
     if [ "$mode" = "anvil" ]; then
@@ -134,7 +135,7 @@ generate_projects() {
     elif [ "$mode" = "kotlin-inject-anvil" ]; then
         kotlin generate-projects.main.kts --mode "KOTLIN_INJECT_ANVIL" --count "$count"
     else
-        kotlin generate-projects.main.kts --mode "$(echo $mode | tr '[:lower:]' '[:upper:]')" --count "$count"
+        kotlin generate-projects.main.kts --mode "$(echo $mode | tr '[:lower:]' '[:upper:]')" --count "$count" $extra_args
     fi
     
     if [ $? -eq 0 ]; then
@@ -398,6 +399,22 @@ run_mode_benchmark() {
     fi
 }
 
+# Function to run the in-process compiler benchmark
+run_in_process_benchmark() {
+    local count=${1:-$DEFAULT_MODULE_COUNT}
+    
+    print_header "Running Metro In-Process Compiler Benchmark"
+    
+    local output_dir="$RESULTS_DIR/metro_in_process_${TIMESTAMP}"
+    mkdir -p "$output_dir"
+    
+    generate_projects "metro" "" "$count" "--in-process"
+    
+    print_status "Results will be saved to: $output_dir"
+    ./gradlew :compiler-benchmark:run --quiet "-Pmetro.benchmark.outputDir=$(pwd)/$output_dir"
+    print_success "In-process compiler benchmark completed!"
+}
+
 # Function to show usage information
 show_usage() {
     echo "Metro vs Anvil Benchmark Runner"
@@ -410,6 +427,7 @@ show_usage() {
     echo "  anvil-ksp [COUNT]            Run only Anvil + KSP mode benchmarks"
     echo "  anvil-kapt [COUNT]           Run only Anvil + KAPT mode benchmarks"
     echo "  kotlin-inject-anvil [COUNT]  Run only Kotlin-inject + Anvil mode benchmarks"
+    echo "  metro-in-process [COUNT]     Compile the Metro app component in-process and report Metro phase timings"
     echo "  help                         Show this help message"
     echo ""
     echo "Options:"
@@ -428,6 +446,7 @@ show_usage() {
     echo "  $0 all --build-only          # Generate and build all projects, skip benchmarks"
     echo "  $0 all --include-clean-builds # Run all benchmarks including clean build scenarios"
     echo "  $0 metro 250 --include-clean-builds # Run Metro benchmarks with 250 modules including clean builds"
+    echo "  $0 metro-in-process 500      # Run the in-process compiler benchmark with 500 modules"
     echo "  $0 --install-gradle-profiler # Install gradle-profiler from source then run all benchmarks"
     echo "  $0 metro --install-gradle-profiler # Install gradle-profiler then run Metro benchmarks"
     echo ""
@@ -497,8 +516,8 @@ main() {
         fi
     fi
     
-    # Check prerequisites (skip gradle-profiler check if build-only mode)
-    if [ "$build_only" = true ]; then
+    # Check prerequisites (skip gradle-profiler check if build-only or in-process mode)
+    if [ "$build_only" = true ] || [ "${args[0]:-}" = "metro-in-process" ]; then
         print_header "Checking Prerequisites (Build-only mode)"
         
         local missing_tools=()
@@ -548,6 +567,11 @@ main() {
             validate_count "$count"
             run_mode_benchmark "kotlin-inject-anvil" "" "$count" "$build_only" "$include_clean_builds"
             ;;
+        "metro-in-process")
+            local count=${args[1]:-$DEFAULT_MODULE_COUNT}
+            validate_count "$count"
+            run_in_process_benchmark "$count"
+            ;;
         "help"|"-h"|"--help")
             show_usage
             ;;
@@ -25,6 +25,7 @@ plugins {
   alias(libs.plugins.android.library) apply false
   alias(libs.plugins.android.lint) apply false
   alias(libs.plugins.dokka)
+  alias(libs.plugins.jmh) apply false
   alias(libs.plugins.ksp) apply false
   alias(libs.plugins.mavenPublish) apply false
   alias(libs.plugins.atomicfu) apply false
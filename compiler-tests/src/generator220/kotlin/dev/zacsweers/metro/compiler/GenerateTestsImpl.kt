@@ -5,9 +5,13 @@ package dev.zacsweers.metro.compiler
 import org.jetbrains.kotlin.generators.TestGroup.TestClass
 import org.jetbrains.kotlin.generators.generateTestGroupSuiteWithJUnit5
 
-inline fun <reified Box, reified Diagnostic, reified FirDump, reified IrDump> generateTests(
-  exclusionPattern: String?
-) {
+inline fun <
+  reified Box,
+  reified PatchedCyclesBox,
+  reified Diagnostic,
+  reified FirDump,
+  reified IrDump,
+> generateTests(exclusionPattern: String?) {
   generateTestGroupSuiteWithJUnit5 {
     testGroup(
       testDataRoot = "compiler-tests/src/test/data",
@@ -17,6 +21,7 @@ inline fun <reified Box, reified Diagnostic, reified FirDump, reified IrDump> ge
         model(name, excludedPattern = exclusionPattern)
       }
       testClass<Box> { commonModel("box") }
+      testClass<PatchedCyclesBox> { commonModel("box/cycles") }
       testClass<Diagnostic> { commonModel("diagnostic") }
       testClass<FirDump> { commonModel("dump/fir") }
       testClass<IrDump> { commonModel("dump/ir") }
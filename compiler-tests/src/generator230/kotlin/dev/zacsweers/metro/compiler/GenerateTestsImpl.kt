@@ -6,9 +6,13 @@ import org.jetbrains.kotlin.generators.dsl.TestGroup
 import org.jetbrains.kotlin.generators.dsl.junit5.generateTestGroupSuiteWithJUnit5
 
 // API repackaged in kotlin 2.3.0
-inline fun <reified Box, reified Diagnostic, reified FirDump, reified IrDump> generateTests(
-  exclusionPattern: String?
-) {
+inline fun <
+  reified Box,
+  reified PatchedCyclesBox,
+  reified Diagnostic,
+  reified FirDump,
+  reified IrDump,
+> generateTests(exclusionPattern: String?) {
   generateTestGroupSuiteWithJUnit5 {
     testGroup(
       testDataRoot = "compiler-tests/src/test/data",
@@ -18,6 +22,7 @@ inline fun <reified Box, reified Diagnostic, reified FirDump, reified IrDump> ge
         model(name, excludedPattern = exclusionPattern)
       }
       testClass<Box> { commonModel("box") }
+      testClass<PatchedCyclesBox> { commonModel("box/cycles") }
       testClass<Diagnostic> { commonModel("diagnostic") }
       testClass<FirDump> { commonModel("dump/fir") }
       testClass<IrDump> { commonModel("dump/ir") }
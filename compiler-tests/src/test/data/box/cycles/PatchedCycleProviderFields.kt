@@ -0,0 +1,78 @@
+// PATCH_CYCLIC_PROVIDER_FIELDS
+/*
+ Same cycles as CycleGraph and CycleMapGraph, but their provider fields are patched directly instead
+ of going through a DelegateFactory.
+ */
+import dev.zacsweers.metro.internal.DelegateFactory
+
+@Inject class A(val b: B, val e: E)
+
+@Inject class B(val c: C)
+
+@Suppress("MEMBERS_INJECT_WARNING")
+@Inject
+class C(val aProvider: Provider<A>) {
+  @Inject lateinit var aLazy: Lazy<A>
+}
+
+@Inject class D(val b: B)
+
+@Inject class E(val d: D)
+
+@SingleIn(AppScope::class) @Inject class Session(val handlerProvider: Provider<Handler>)
+
+@SingleIn(AppScope::class) @Inject class Handler(val session: Session)
+
+@Inject class X(val y: Y)
+
+@Inject class Y(val mapOfProvidersOfX: Map<String, Provider<X>>)
+
+@DependencyGraph(AppScope::class)
+interface CycleGraph {
+  val a: A
+  val c: C
+  val aProvider: Provider<A>
+  val session: Session
+  val handler: Handler
+  val y: Y
+
+  fun childCycleGraph(): ChildCycleGraph.Factory
+
+  @Binds @IntoMap @StringKey("X") val X.x: X
+}
+
+@GraphExtension
+interface ChildCycleGraph {
+  val a: A
+  val session: Session
+
+  @GraphExtension.Factory
+  fun interface Factory {
+    fun create(): ChildCycleGraph
+  }
+}
+
+fun box(): String {
+  val graph = createGraph<CycleGraph>()
+
+  // Provider and Lazy indirection cycles
+  val a = graph.a
+  assertNotNull(a.b.c.aProvider())
+  assertNotNull(a.e.d.b.c.aProvider())
+  assertNotNull(graph.c.aLazy.value)
+  assertFalse(graph.aProvider is DelegateFactory<*>)
+
+  // Scoped cycles still only create one instance
+  val session = graph.session
+  assertSame(graph.handler, session.handlerProvider())
+  assertSame(session, graph.handler.session)
+
+  // Multibinding cycles
+  assertNotNull(graph.y.mapOfProvidersOfX["X"]?.invoke()?.y)
+
+  // Graph extensions read the parent's fields
+  val child = graph.childCycleGraph().create()
+  assertNotNull(child.a.b.c.aProvider())
+  assertSame(session, child.session)
+  return "OK"
+}
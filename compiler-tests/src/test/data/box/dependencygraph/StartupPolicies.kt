@@ -0,0 +1,73 @@
+// Tests that eager bindings are initialized with their graph and background bindings narrow its
+// warm-up
+val initialized = mutableListOf<String>()
+
+@Inject
+@SingleIn(AppScope::class)
+class Config {
+  init {
+    initialized += "Config"
+  }
+}
+
+@Startup(StartupPolicy.EAGER)
+@Inject
+@SingleIn(AppScope::class)
+class ConnectionPool(val config: Config) {
+  init {
+    initialized += "ConnectionPool"
+  }
+}
+
+@Startup(StartupPolicy.BACKGROUND)
+@Inject
+@SingleIn(AppScope::class)
+class ImageCache {
+  init {
+    initialized += "ImageCache"
+  }
+}
+
+@Inject
+@SingleIn(AppScope::class)
+class Analytics {
+  init {
+    initialized += "Analytics"
+  }
+}
+
+@DependencyGraph(AppScope::class)
+interface AppGraph {
+  val connectionPool: ConnectionPool
+  val imageCache: ImageCache
+  val analytics: Analytics
+  val warmUp: GraphWarmUp
+
+  // Not requested by anything, but kept because it's eager
+  @Startup(StartupPolicy.EAGER)
+  @SingleIn(AppScope::class)
+  @Provides
+  fun provideTracker(): String {
+    initialized += "Tracker"
+    return "tracker"
+  }
+}
+
+fun box(): String {
+  val graph = createGraph<AppGraph>()
+  // Eager bindings and what they depend on are initialized with the graph, in dependency order
+  assertEquals(setOf("Config", "ConnectionPool", "Tracker"), initialized.toSet())
+  assertTrue(initialized.indexOf("ConnectionPool") > initialized.indexOf("Config"))
+
+  // Only background bindings are warmed up
+  initialized.clear()
+  assertEquals(listOf("ImageCache"), graph.warmUp.bindings)
+  graph.warmUp.run()
+  assertEquals(listOf("ImageCache"), initialized)
+
+  // Everything else is still lazy
+  initialized.clear()
+  graph.analytics
+  assertEquals(listOf("Analytics"), initialized)
+  return "OK"
+}
@@ -0,0 +1,84 @@
+// Tests that graphs can expose a GraphWarmUp that initializes all their scoped bindings
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+val initialized = mutableListOf<String>()
+
+@Inject
+@SingleIn(AppScope::class)
+class Database {
+  init {
+    synchronized(initialized) { initialized += "Database" }
+  }
+}
+
+@Inject
+@SingleIn(AppScope::class)
+class Cache {
+  init {
+    synchronized(initialized) { initialized += "Cache" }
+  }
+}
+
+// Unscoped, so it's not warmed up itself but links Repository to Database
+@Inject class Dao(val database: Database)
+
+@Inject
+@SingleIn(AppScope::class)
+class Repository(val dao: Dao, val cache: Cache) {
+  init {
+    synchronized(initialized) { initialized += "Repository" }
+  }
+}
+
+@DependencyGraph(AppScope::class)
+interface AppGraph {
+  val repository: Repository
+  val dao: Dao
+  val warmUp: GraphWarmUp
+
+  @Provides
+  @SingleIn(AppScope::class)
+  fun provideConfig(): String {
+    synchronized(initialized) { initialized += "Config" }
+    return "config"
+  }
+
+  val config: String
+}
+
+fun box(): String {
+  val graph = createGraph<AppGraph>()
+  val warmUp = graph.warmUp
+  assertEquals(4, warmUp.bindings.size)
+  assertTrue(initialized.isEmpty())
+
+  val report = warmUp.run()
+  assertEquals(warmUp.bindings, report.durations.keys.toList())
+  assertEquals(setOf("Database", "Cache", "Repository", "Config"), initialized.toSet())
+  assertTrue(initialized.indexOf("Repository") > initialized.indexOf("Database"))
+  assertTrue(initialized.indexOf("Repository") > initialized.indexOf("Cache"))
+
+  // Concurrent warm-ups on a fresh graph
+  initialized.clear()
+  val executor = Executors.newFixedThreadPool(4)
+  val latch = CountDownLatch(1)
+  var result: Result<WarmUpReport>? = null
+  createGraph<AppGraph>().warmUp.run(execute = executor::execute) {
+    result = it
+    latch.countDown()
+  }
+  assertTrue(latch.await(10, TimeUnit.SECONDS))
+  executor.shutdown()
+  assertEquals(warmUp.bindings.toSet(), result!!.getOrThrow().durations.keys)
+  assertEquals(4, initialized.size)
+  assertTrue(initialized.indexOf("Repository") > initialized.indexOf("Database"))
+  assertTrue(initialized.indexOf("Repository") > initialized.indexOf("Cache"))
+
+  // Scoped bindings are only initialized once
+  val repository = graph.repository
+  graph.warmUp.run()
+  assertSame(repository, graph.repository)
+  return "OK"
+}
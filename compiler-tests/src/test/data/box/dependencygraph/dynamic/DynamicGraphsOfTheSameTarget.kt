@@ -0,0 +1,58 @@
+// Each dynamic graph of the same target is sorted and validated on its own, including one whose
+// override introduces a new deferred cycle
+@Inject class Repository(val api: Api, val cache: Provider<Cache>)
+
+@Inject class Cache(val repository: Repository)
+
+interface Api {
+  val name: String
+}
+
+class RealApi : Api {
+  override val name: String = "real"
+}
+
+class FakeApi(override val name: String) : Api
+
+class CachingApi(val cache: Provider<Cache>) : Api {
+  override val name: String = "caching"
+}
+
+@DependencyGraph
+interface AppGraph {
+  val repository: Repository
+  val cache: Cache
+
+  @Provides fun provideApi(): Api = RealApi()
+}
+
+@BindingContainer
+class FakeApiBindings(private val name: String) {
+  @Provides fun provideApi(): Api = FakeApi(name)
+}
+
+@BindingContainer
+object OtherFakeApiBindings {
+  @Provides fun provideApi(): Api = FakeApi("other")
+}
+
+// Introduces a new edge from Api to Cache
+@BindingContainer
+object CachingApiBindings {
+  @Provides fun provideApi(cache: Provider<Cache>): Api = CachingApi(cache)
+}
+
+fun box(): String {
+  val first = createDynamicGraph<AppGraph>(FakeApiBindings("first"))
+  assertEquals("first", first.repository.api.name)
+  assertEquals("first", first.cache.repository.api.name)
+
+  val second = createDynamicGraph<AppGraph>(OtherFakeApiBindings)
+  assertEquals("other", second.repository.api.name)
+  assertEquals("other", second.repository.cache().repository.api.name)
+
+  val caching = createDynamicGraph<AppGraph>(CachingApiBindings)
+  assertEquals("caching", caching.repository.api.name)
+  assertEquals("caching", caching.cache.repository.api.name)
+  return "OK"
+}
@@ -0,0 +1,59 @@
+// Extensions that don't contribute to a parent's set multibinding reuse the parent's
+abstract class ChildScope
+
+abstract class OtherChildScope
+
+@SingleIn(AppScope::class) @Inject class ScopedPlugin
+
+@SingleIn(AppScope::class) @Inject class ScopedService
+
+@DependencyGraph(AppScope::class)
+interface AppGraph {
+  val plugins: Set<Any>
+  val names: Set<String>
+  val services: Set<ScopedService>
+
+  fun childGraph(): ChildGraph
+
+  fun otherChildGraph(): OtherChildGraph
+
+  @Provides @IntoSet private fun provideScopedPlugin(plugin: ScopedPlugin): Any = plugin
+
+  @Provides @IntoSet private fun provideName(): String = "parent"
+
+  @Provides @IntoSet private fun provideService(service: ScopedService): ScopedService = service
+}
+
+@GraphExtension(ChildScope::class)
+interface ChildGraph {
+  val plugins: Set<Any>
+  val names: Set<String>
+}
+
+@GraphExtension(OtherChildScope::class)
+interface OtherChildGraph {
+  val plugins: Set<Any>
+  val names: Set<String>
+
+  @Provides @IntoSet private fun provideChildName(): String = "child"
+}
+
+fun box(): String {
+  val graph = createGraph<AppGraph>()
+  // All contributions are scoped, so the parent's set is memoized and shared
+  val plugins = graph.plugins
+  assertSame(plugins, graph.plugins)
+  assertSame(plugins, graph.childGraph().plugins)
+  assertSame(plugins, graph.otherChildGraph().plugins)
+
+  // Sets that no extension reuses aren't memoized, even if all of their contributions are scoped
+  assertNotSame(graph.services, graph.services)
+  assertEquals(graph.services, graph.services)
+
+  // Unscoped contributions are still assembled on each request
+  assertEquals(setOf("parent"), graph.childGraph().names)
+
+  // Extensions that contribute get their own set with both contributions
+  assertEquals(setOf("parent", "child"), graph.otherChildGraph().names)
+  return "OK"
+}
@@ -0,0 +1,55 @@
+// The same extension under several parents is generated and validated for each of them, including
+// a parent that provides different keys to it
+interface LoggedInScope
+
+@SingleIn(LoggedInScope::class)
+@GraphExtension(LoggedInScope::class)
+interface LoggedInGraph {
+  val session: Session
+  val feature: Feature
+
+  @ContributesTo(AppScope::class)
+  interface ParentBindings {
+    val loggedInGraph: LoggedInGraph
+  }
+}
+
+@Inject @SingleIn(AppScope::class) class Api(val name: String)
+
+@Inject @SingleIn(LoggedInScope::class) class Session(val api: Api, val feature: Provider<Feature>)
+
+@Inject class Feature(val session: Session)
+
+@DependencyGraph(AppScope::class)
+interface ProdGraph {
+  @Provides fun provideName(): String = "prod"
+}
+
+@DependencyGraph(AppScope::class)
+interface DebugGraph {
+  @Provides fun provideName(): String = "debug"
+}
+
+// Provides Api itself, so the extension uses a different set of parent-provided keys here
+@DependencyGraph(AppScope::class)
+interface FakeApiGraph {
+  @Provides fun provideName(): String = "fake"
+
+  @Provides @SingleIn(AppScope::class) fun provideApi(): Api = Api("fake-api")
+}
+
+fun box(): String {
+  val prod = createGraph<ProdGraph>().loggedInGraph
+  assertEquals("prod", prod.session.api.name)
+  assertSame(prod.session, prod.feature.session)
+  assertSame(prod.session, prod.session.feature().session)
+
+  val debug = createGraph<DebugGraph>().loggedInGraph
+  assertEquals("debug", debug.session.api.name)
+  assertSame(debug.session, debug.feature.session)
+
+  val fake = createGraph<FakeApiGraph>().loggedInGraph
+  assertEquals("fake-api", fake.session.api.name)
+  assertSame(fake.session, fake.feature.session)
+  return "OK"
+}
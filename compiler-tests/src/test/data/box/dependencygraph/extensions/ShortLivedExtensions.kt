@@ -0,0 +1,79 @@
+// SHORT_LIVED_GRAPH_EXTENSIONS
+// Tests that short-lived graph extensions keep the same scoping semantics
+abstract class RequestScope
+
+var connectionCount = 0
+var sessionCount = 0
+
+@SingleIn(RequestScope::class)
+@Inject
+class Connection {
+  init {
+    connectionCount++
+  }
+}
+
+// Only used directly by RequestHandler, so it doesn't get a DoubleCheck
+@SingleIn(RequestScope::class)
+@Inject
+class Session(val connection: Connection) {
+  init {
+    sessionCount++
+  }
+}
+
+@SingleIn(RequestScope::class)
+@Inject
+class RequestHandler(val session: Session, val connection: Connection)
+
+// Used twice, so it's created on access
+@Inject class Parser(val connection: Connection)
+
+@Inject class Router(val parser: Parser)
+
+@Inject class Validator(val parser: Parser)
+
+@Inject class StatelessHelper
+
+@GraphExtension(RequestScope::class)
+interface RequestGraph {
+  val handler: RequestHandler
+  val connection: Connection
+  val router: Router
+  val validator: Validator
+  val helper: StatelessHelper
+  val otherHelper: StatelessHelper
+
+  @GraphExtension.Factory
+  fun interface Factory {
+    fun create(): RequestGraph
+  }
+}
+
+@DependencyGraph(AppScope::class)
+interface AppGraph : RequestGraph.Factory
+
+fun box(): String {
+  val graph = createGraph<AppGraph>()
+  val request = graph.create()
+  assertEquals(0, connectionCount)
+
+  val handler = request.handler
+  assertSame(handler, request.handler)
+  assertSame(handler.session, request.handler.session)
+  assertSame(handler.connection, handler.session.connection)
+  assertSame(request.connection, handler.connection)
+  assertSame(request.connection, request.router.parser.connection)
+  assertNotSame(request.router.parser, request.validator.parser)
+  assertNotSame(request.helper, request.otherHelper)
+  assertEquals(1, connectionCount)
+  assertEquals(1, sessionCount)
+
+  // Each extension has its own scoped instances
+  val otherRequest = graph.create()
+  assertNotSame(handler, otherRequest.handler)
+  assertNotSame(handler.session, otherRequest.handler.session)
+  assertEquals(2, connectionCount)
+  assertEquals(2, sessionCount)
+  return "OK"
+}
@@ -0,0 +1,60 @@
+// ENABLE_DAGGER_INTEROP
+package test
+
+import dev.zacsweers.metro.internal.ProviderAdapter
+import dev.zacsweers.metro.interop.dagger.asKotlinLazy
+import dev.zacsweers.metro.interop.dagger.internal.DaggerInteropDoubleCheck
+import dev.zacsweers.metro.interop.dagger.internal.DaggerInteropProvider
+import dev.zacsweers.metro.interop.dagger.internal.asDaggerInternalProvider
+import dev.zacsweers.metro.interop.javax.asJavaxProvider
+import dev.zacsweers.metro.interop.jakarta.asJakartaProvider
+
+@DependencyGraph(AppScope::class)
+interface ExampleGraph {
+  val foo: Foo
+  val fooProvider: Provider<Foo>
+  val barProvider: Provider<Bar>
+}
+
+@SingleIn(AppScope::class)
+@Inject
+class Foo
+
+@Inject
+class Bar
+
+fun box(): String {
+  val graph = createGraph<ExampleGraph>()
+  val metroProvider = graph.fooProvider
+
+  // Dagger adapters delegate directly to the original Metro provider, even after crossing through
+  // javax or jakarta first
+  val daggerProvider = metroProvider.asDaggerInternalProvider() as DaggerInteropProvider<Foo>
+  assertSame(metroProvider, daggerProvider.delegate)
+  val viaJavax = DaggerInteropProvider.of<Foo>(metroProvider.asJavaxProvider())
+  assertSame(metroProvider, viaJavax.delegate)
+  val viaJakarta = DaggerInteropProvider.of<Foo>(metroProvider.asJakartaProvider())
+  assertSame(metroProvider, viaJakarta.delegate)
+
+  // Converting an adapter again returns it rather than wrapping it
+  assertSame(daggerProvider, daggerProvider.asDaggerInternalProvider())
+  assertSame(daggerProvider, DaggerInteropProvider.of<Foo>(daggerProvider))
+
+  // Scoping is preserved through every conversion
+  assertSame(graph.foo, daggerProvider.get())
+  assertSame(graph.foo, viaJavax.get())
+  assertSame(graph.foo, viaJakarta.get())
+
+  // A Lazy of the scoped binding reuses its memoization instead of adding a DoubleCheck
+  val lazy = DaggerInteropDoubleCheck.lazyFromDaggerProvider(daggerProvider)
+  assertFalse(lazy is DaggerInteropDoubleCheck<*>)
+  assertSame(graph.foo, lazy.get())
+  assertSame(graph.foo, lazy.asKotlinLazy().value)
+
+  // Unscoped bindings still create a new instance per call
+  val barProvider = graph.barProvider
+  val daggerBarProvider = barProvider.asDaggerInternalProvider()
+  assertSame(barProvider, (daggerBarProvider as ProviderAdapter<*>).delegate)
+  assertNotSame(daggerBarProvider.get(), daggerBarProvider.get())
+  return "OK"
+}
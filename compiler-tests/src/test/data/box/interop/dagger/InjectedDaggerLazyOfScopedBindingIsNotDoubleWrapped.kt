@@ -0,0 +1,28 @@
+// ENABLE_DAGGER_INTEROP
+package test
+
+import javax.inject.Inject
+import dagger.Lazy
+
+@DependencyGraph(AppScope::class)
+interface ExampleGraph {
+  val foo: Foo
+  val fooBar: FooBar
+}
+
+@SingleIn(AppScope::class)
+class Foo @Inject constructor()
+
+class FooBar @Inject constructor(
+  val lazy: Lazy<Foo>
+)
+
+fun box(): String {
+  val graph = createGraph<ExampleGraph>()
+  val fooInstance = graph.fooBar.lazy
+  assertNotNull(fooInstance)
+  // Scoped bindings already memoize, so they should not get a second DoubleCheck
+  assertFalse(fooInstance is dev.zacsweers.metro.interop.dagger.internal.DaggerInteropDoubleCheck)
+  assertSame(graph.foo, fooInstance.get())
+  return "OK"
+}
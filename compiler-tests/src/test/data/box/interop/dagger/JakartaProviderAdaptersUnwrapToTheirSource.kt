@@ -0,0 +1,44 @@
+// ENABLE_DAGGER_INTEROP
+package test
+
+import dev.zacsweers.metro.interop.jakarta.asJakartaProvider
+import dev.zacsweers.metro.interop.jakarta.asMetroProvider
+
+@DependencyGraph(AppScope::class)
+interface ExampleGraph {
+  val foo: Foo
+  val fooProvider: Provider<Foo>
+  val barProvider: Provider<Bar>
+}
+
+@SingleIn(AppScope::class)
+@Inject
+class Foo
+
+@Inject
+class Bar
+
+fun box(): String {
+  val graph = createGraph<ExampleGraph>()
+  val metroProvider = graph.fooProvider
+
+  // Converting back and forth unwraps to the original Metro provider rather than stacking adapters
+  val jakartaProvider = metroProvider.asJakartaProvider()
+  assertSame(metroProvider, jakartaProvider.asMetroProvider())
+  assertSame(metroProvider, jakartaProvider.asMetroProvider().asJakartaProvider().asMetroProvider())
+
+  // A provider that started out as jakarta is returned as-is after a round trip
+  val original = jakarta.inject.Provider { Bar() }
+  assertSame(original, original.asMetroProvider().asJakartaProvider())
+
+  // Scoping is preserved through every conversion
+  assertSame(graph.foo, jakartaProvider.get())
+  assertSame(graph.foo, jakartaProvider.asMetroProvider()())
+
+  // Unscoped bindings still create a new instance per call
+  val barProvider = graph.barProvider
+  val jakartaBarProvider = barProvider.asJakartaProvider()
+  assertSame(barProvider, jakartaBarProvider.asMetroProvider())
+  assertNotSame(jakartaBarProvider.get(), jakartaBarProvider.get())
+  return "OK"
+}
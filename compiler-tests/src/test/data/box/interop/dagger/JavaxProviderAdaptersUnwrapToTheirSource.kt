@@ -0,0 +1,48 @@
+// ENABLE_DAGGER_INTEROP
+package test
+
+import dev.zacsweers.metro.interop.javax.asJavaxProvider
+import dev.zacsweers.metro.interop.javax.asMetroProvider
+import javax.inject.Inject
+
+@DependencyGraph(AppScope::class)
+interface ExampleGraph {
+  val foo: Foo
+  val fooBar: FooBar
+  val barProvider: Provider<Bar>
+}
+
+@SingleIn(AppScope::class)
+class Foo @Inject constructor()
+
+class Bar @Inject constructor()
+
+class FooBar @Inject constructor(
+  val provider: javax.inject.Provider<Foo>
+)
+
+fun box(): String {
+  val graph = createGraph<ExampleGraph>()
+  val javaxProvider = graph.fooBar.provider
+
+  // Converting back and forth unwraps to the same Metro provider rather than stacking adapters
+  val metroProvider = javaxProvider.asMetroProvider()
+  assertSame(metroProvider, metroProvider.asJavaxProvider().asMetroProvider())
+  assertSame(metroProvider, metroProvider.asJavaxProvider().asMetroProvider().asJavaxProvider().asMetroProvider())
+
+  // A provider that started out as javax is returned as-is after a round trip
+  val original = javax.inject.Provider { Bar() }
+  assertSame(original, original.asMetroProvider().asJavaxProvider())
+
+  // Scoping is preserved through every conversion
+  assertSame(graph.foo, javaxProvider.get())
+  assertSame(graph.foo, metroProvider())
+  assertSame(graph.foo, metroProvider.asJavaxProvider().get())
+
+  // Unscoped bindings still create a new instance per call
+  val barProvider = graph.barProvider
+  val convertedBarProvider = barProvider.asJavaxProvider().asMetroProvider()
+  assertSame(barProvider, convertedBarProvider)
+  assertNotSame(convertedBarProvider(), convertedBarProvider())
+  return "OK"
+}
@@ -0,0 +1,39 @@
+// LAZY_PROVIDER_MAP_THRESHOLD: 2
+@SingleIn(AppScope::class)
+@DependencyGraph
+abstract class LazyProviderMapGraph {
+  private var scopedCount = 0
+  private var unscopedCount = 0
+
+  abstract val ints: Map<Int, Provider<Int>>
+  abstract val providerInts: Provider<Map<Int, Provider<Int>>>
+  abstract val consumer: Consumer
+
+  @Provides @SingleIn(AppScope::class) @IntoMap @IntKey(1) fun provideScopedInt(): Int = scopedCount++
+
+  @Provides @IntoMap @IntKey(2) private fun provideUnscopedInt(): Int = unscopedCount++
+
+  @Provides @IntoMap @IntKey(3) private fun provideConstantInt(): Int = 3
+}
+
+@Inject class Consumer(val ints: Map<Int, Provider<Int>>)
+
+fun box(): String {
+  val graph = createGraph<LazyProviderMapGraph>()
+
+  var unscopedCount = 0
+  fun validate(body: () -> Map<Int, Provider<Int>>) {
+    val map = body()
+    assertEquals(listOf(1, 2, 3), map.keys.toList())
+    assertEquals(0, map.getValue(1)())
+    assertEquals(unscopedCount++, map.getValue(2)())
+    assertEquals(3, map.getValue(3)())
+    assertNull(map[4])
+    assertEquals(mapOf(1 to 0, 2 to unscopedCount++, 3 to 3), map.mapValues { it.value() })
+  }
+
+  validate(graph::ints)
+  validate { graph.providerInts() }
+  validate { graph.consumer.ints }
+  return "OK"
+}
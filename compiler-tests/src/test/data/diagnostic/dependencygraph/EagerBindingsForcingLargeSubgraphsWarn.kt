@@ -0,0 +1,20 @@
+// RUN_PIPELINE_TILL: FIR2IR
+// RENDER_IR_DIAGNOSTICS_FULL_TEXT
+// EAGER_SUBGRAPH_WARNING_THRESHOLD: 1
+
+@SingleIn(AppScope::class) @Inject class Database
+
+@SingleIn(AppScope::class) @Inject class Cache
+
+// Unscoped bindings don't count but are traversed
+@Inject class Repository(val database: Database, val cache: Cache)
+
+@Startup(StartupPolicy.EAGER)
+@SingleIn(AppScope::class)
+@Inject
+class <!METRO_WARNING!>Preloader<!>(val repository: Repository)
+
+@DependencyGraph(AppScope::class)
+interface AppGraph {
+  val preloader: Preloader
+}
@@ -0,0 +1,38 @@
+// RUN_PIPELINE_TILL: FIR2IR
+// RENDER_IR_DIAGNOSTICS_FULL_TEXT
+
+@Startup(StartupPolicy.LAZY)
+@SingleIn(AppScope::class)
+@Inject
+class Analytics
+
+@Startup(StartupPolicy.BACKGROUND)
+@SingleIn(AppScope::class)
+@Inject
+class ImageCache
+
+// Deferred dependencies are fine
+@Startup(StartupPolicy.EAGER)
+@SingleIn(AppScope::class)
+@Inject
+class Logger(val analytics: Provider<Analytics>, val imageCache: Lazy<ImageCache>)
+
+@Startup(StartupPolicy.EAGER)
+@Inject
+class <!METRO_ERROR!>Unscoped<!>
+
+@DependencyGraph(AppScope::class)
+interface AppGraph {
+  val logger: Logger
+  val unscoped: Unscoped
+
+  @Startup(StartupPolicy.EAGER)
+  @SingleIn(AppScope::class)
+  @Provides
+  fun <!METRO_ERROR!>provideTracker<!>(analytics: Analytics): String = "tracker"
+
+  @Startup(StartupPolicy.EAGER)
+  @SingleIn(AppScope::class)
+  @Provides
+  fun <!METRO_ERROR!>provideLoader<!>(imageCache: ImageCache): Int = 3
+}
@@ -419,6 +419,12 @@ public class BoxTestGenerated extends AbstractBoxTest {
       runTest("compiler-tests/src/test/data/box/cycles/LongCycle.kt");
     }
 
+    @Test
+    @TestMetadata("PatchedCycleProviderFields.kt")
+    public void testPatchedCycleProviderFields() {
+      runTest("compiler-tests/src/test/data/box/cycles/PatchedCycleProviderFields.kt");
+    }
+
     @Test
     @TestMetadata("SelfCycle.kt")
     public void testSelfCycle() {
@@ -615,6 +621,12 @@ public class BoxTestGenerated extends AbstractBoxTest {
       runTest("compiler-tests/src/test/data/box/dependencygraph/QualifiersWithEnumsWork.kt");
     }
 
+    @Test
+    @TestMetadata("StartupPolicies.kt")
+    public void testStartupPolicies() {
+      runTest("compiler-tests/src/test/data/box/dependencygraph/StartupPolicies.kt");
+    }
+
     @Test
     @TestMetadata("StaticGraphCompanions.kt")
     public void testStaticGraphCompanions() {
@@ -627,6 +639,12 @@ public class BoxTestGenerated extends AbstractBoxTest {
       runTest("compiler-tests/src/test/data/box/dependencygraph/StaticGraphCompanionsSeparateModules.kt");
     }
 
+    @Test
+    @TestMetadata("WarmUpScopedBindings.kt")
+    public void testWarmUpScopedBindings() {
+      runTest("compiler-tests/src/test/data/box/dependencygraph/WarmUpScopedBindings.kt");
+    }
+
     @Nested
     @TestMetadata("compiler-tests/src/test/data/box/dependencygraph/bindingcontainers")
     @TestDataPath("$PROJECT_ROOT")
@@ -682,6 +700,12 @@ public class BoxTestGenerated extends AbstractBoxTest {
         runTest("compiler-tests/src/test/data/box/dependencygraph/dynamic/DynamicGraphWithFactory.kt");
       }
 
+      @Test
+      @TestMetadata("DynamicGraphsOfTheSameTarget.kt")
+      public void testDynamicGraphsOfTheSameTarget() {
+        runTest("compiler-tests/src/test/data/box/dependencygraph/dynamic/DynamicGraphsOfTheSameTarget.kt");
+      }
+
       @Test
       @TestMetadata("GraphsAreCachedByType.kt")
       public void testGraphsAreCachedByType() {
@@ -734,6 +758,18 @@ public class BoxTestGenerated extends AbstractBoxTest {
         runTest("compiler-tests/src/test/data/box/dependencygraph/extensions/ExtensionsCanBeDeclaredWithoutFactories.kt");
       }
 
+      @Test
+      @TestMetadata("ExtensionsShareParentMultibindings.kt")
+      public void testExtensionsShareParentMultibindings() {
+        runTest("compiler-tests/src/test/data/box/dependencygraph/extensions/ExtensionsShareParentMultibindings.kt");
+      }
+
+      @Test
+      @TestMetadata("ExtensionsSharedAcrossParentGraphs.kt")
+      public void testExtensionsSharedAcrossParentGraphs() {
+        runTest("compiler-tests/src/test/data/box/dependencygraph/extensions/ExtensionsSharedAcrossParentGraphs.kt");
+      }
+
       @Test
       @TestMetadata("ExtensionsUsingDeferredTypesAreValid.kt")
       public void testExtensionsUsingDeferredTypesAreValid() {
@@ -854,6 +890,12 @@ public class BoxTestGenerated extends AbstractBoxTest {
         runTest("compiler-tests/src/test/data/box/dependencygraph/extensions/ScopedExtensionsWithoutFactoriesShouldBeCachedWithOrdering.kt");
       }
 
+      @Test
+      @TestMetadata("ShortLivedExtensions.kt")
+      public void testShortLivedExtensions() {
+        runTest("compiler-tests/src/test/data/box/dependencygraph/extensions/ShortLivedExtensions.kt");
+      }
+
       @Test
       @TestMetadata("SimpleExtension.kt")
       public void testSimpleExtension() {
@@ -1266,6 +1308,12 @@ public class BoxTestGenerated extends AbstractBoxTest {
         runTest("compiler-tests/src/test/data/box/interop/dagger/DaggerMultibindsAllowEmptyByDefault.kt");
       }
 
+      @Test
+      @TestMetadata("DaggerProviderAdaptersUnwrapToTheirSource.kt")
+      public void testDaggerProviderAdaptersUnwrapToTheirSource() {
+        runTest("compiler-tests/src/test/data/box/interop/dagger/DaggerProviderAdaptersUnwrapToTheirSource.kt");
+      }
+
       @Test
       @TestMetadata("DaggerProviderFactoryClassInKotlinCanBeLoaded.kt")
       public void testDaggerProviderFactoryClassInKotlinCanBeLoaded() {
@@ -1290,12 +1338,30 @@ public class BoxTestGenerated extends AbstractBoxTest {
         runTest("compiler-tests/src/test/data/box/interop/dagger/InjectedDaggerLazyInteropWorks.kt");
       }
 
+      @Test
+      @TestMetadata("InjectedDaggerLazyOfScopedBindingIsNotDoubleWrapped.kt")
+      public void testInjectedDaggerLazyOfScopedBindingIsNotDoubleWrapped() {
+        runTest("compiler-tests/src/test/data/box/interop/dagger/InjectedDaggerLazyOfScopedBindingIsNotDoubleWrapped.kt");
+      }
+
       @Test
       @TestMetadata("InjectedJavaxProviderInteropWorks.kt")
       public void testInjectedJavaxProviderInteropWorks() {
         runTest("compiler-tests/src/test/data/box/interop/dagger/InjectedJavaxProviderInteropWorks.kt");
       }
 
+      @Test
+      @TestMetadata("JakartaProviderAdaptersUnwrapToTheirSource.kt")
+      public void testJakartaProviderAdaptersUnwrapToTheirSource() {
+        runTest("compiler-tests/src/test/data/box/interop/dagger/JakartaProviderAdaptersUnwrapToTheirSource.kt");
+      }
+
+      @Test
+      @TestMetadata("JavaxProviderAdaptersUnwrapToTheirSource.kt")
+      public void testJavaxProviderAdaptersUnwrapToTheirSource() {
+        runTest("compiler-tests/src/test/data/box/interop/dagger/JavaxProviderAdaptersUnwrapToTheirSource.kt");
+      }
+
       @Test
       @TestMetadata("JavaxProviderShouldWorkInMap.kt")
       public void testJavaxProviderShouldWorkInMap() {
@@ -1565,6 +1631,12 @@ public class BoxTestGenerated extends AbstractBoxTest {
       runTest("compiler-tests/src/test/data/box/multibindings/LazyMemberInjectedBindings.kt");
     }
 
+    @Test
+    @TestMetadata("LazyProviderMap.kt")
+    public void testLazyProviderMap() {
+      runTest("compiler-tests/src/test/data/box/multibindings/LazyProviderMap.kt");
+    }
+
     @Test
     @TestMetadata("MultibindingGraphWithWithScopedMapProviderDeps.kt")
     public void testMultibindingGraphWithWithScopedMapProviderDeps() {
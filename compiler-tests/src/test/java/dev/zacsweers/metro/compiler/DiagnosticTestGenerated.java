@@ -215,6 +215,12 @@ public class DiagnosticTestGenerated extends AbstractDiagnosticTest {
       runTest("compiler-tests/src/test/data/diagnostic/dependencygraph/ConfigurableMaxIrErrors.kt");
     }
 
+    @Test
+    @TestMetadata("EagerBindingsForcingLargeSubgraphsWarn.kt")
+    public void testEagerBindingsForcingLargeSubgraphsWarn() {
+      runTest("compiler-tests/src/test/data/diagnostic/dependencygraph/EagerBindingsForcingLargeSubgraphsWarn.kt");
+    }
+
     @Test
     @TestMetadata("GraphsCannotDirectlyExtendOtherGraphs.kt")
     public void testGraphsCannotDirectlyExtendOtherGraphs() {
@@ -239,6 +245,12 @@ public class DiagnosticTestGenerated extends AbstractDiagnosticTest {
       runTest("compiler-tests/src/test/data/diagnostic/dependencygraph/MultipleMissingDeps.kt");
     }
 
+    @Test
+    @TestMetadata("StartupPoliciesAreValidated.kt")
+    public void testStartupPoliciesAreValidated() {
+      runTest("compiler-tests/src/test/data/diagnostic/dependencygraph/StartupPoliciesAreValidated.kt");
+    }
+
     @Test
     @TestMetadata("UsefulHintsForMissingImplDeps.kt")
     public void testUsefulHintsForMissingImplDeps() {
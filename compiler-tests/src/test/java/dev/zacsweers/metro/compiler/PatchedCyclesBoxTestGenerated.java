@@ -0,0 +1,83 @@
+
+
+package dev.zacsweers.metro.compiler;
+
+import com.intellij.testFramework.TestDataPath;
+import org.jetbrains.kotlin.test.util.KtTestUtil;
+import org.jetbrains.kotlin.test.TargetBackend;
+import org.jetbrains.kotlin.test.TestMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.regex.Pattern;
+
+/** This class is generated by {@link dev.zacsweers.metro.compiler.GenerateTestsKt}. DO NOT MODIFY MANUALLY */
+@SuppressWarnings("all")
+@TestMetadata("compiler-tests/src/test/data/box/cycles")
+@TestDataPath("$PROJECT_ROOT")
+public class PatchedCyclesBoxTestGenerated extends AbstractPatchedCyclesBoxTest {
+  @Test
+  public void testAllFilesPresentInCycles() {
+    KtTestUtil.assertAllTestsPresentByMetadataWithExcluded(this.getClass(), new File("compiler-tests/src/test/data/box/cycles"), Pattern.compile("^(.+)\\.kt$"), null, TargetBackend.JVM_IR, true);
+  }
+
+  @Test
+  @TestMetadata("AssistedFactoryCycle.kt")
+  public void testAssistedFactoryCycle() {
+    runTest("compiler-tests/src/test/data/box/cycles/AssistedFactoryCycle.kt");
+  }
+
+  @Test
+  @TestMetadata("AssistedFactoryCycleWithInjectedType.kt")
+  public void testAssistedFactoryCycleWithInjectedType() {
+    runTest("compiler-tests/src/test/data/box/cycles/AssistedFactoryCycleWithInjectedType.kt");
+  }
+
+  @Test
+  @TestMetadata("BindsCycleGraph.kt")
+  public void testBindsCycleGraph() {
+    runTest("compiler-tests/src/test/data/box/cycles/BindsCycleGraph.kt");
+  }
+
+  @Test
+  @TestMetadata("CycleGraph.kt")
+  public void testCycleGraph() {
+    runTest("compiler-tests/src/test/data/box/cycles/CycleGraph.kt");
+  }
+
+  @Test
+  @TestMetadata("CycleMapGraph.kt")
+  public void testCycleMapGraph() {
+    runTest("compiler-tests/src/test/data/box/cycles/CycleMapGraph.kt");
+  }
+
+  @Test
+  @TestMetadata("LongCycle.kt")
+  public void testLongCycle() {
+    runTest("compiler-tests/src/test/data/box/cycles/LongCycle.kt");
+  }
+
+  @Test
+  @TestMetadata("PatchedCycleProviderFields.kt")
+  public void testPatchedCycleProviderFields() {
+    runTest("compiler-tests/src/test/data/box/cycles/PatchedCycleProviderFields.kt");
+  }
+
+  @Test
+  @TestMetadata("SelfCycle.kt")
+  public void testSelfCycle() {
+    runTest("compiler-tests/src/test/data/box/cycles/SelfCycle.kt");
+  }
+
+  @Test
+  @TestMetadata("SimpleBindingIntoMulti.kt")
+  public void testSimpleBindingIntoMulti() {
+    runTest("compiler-tests/src/test/data/box/cycles/SimpleBindingIntoMulti.kt");
+  }
+
+  @Test
+  @TestMetadata("SmokeTest.kt")
+  public void testSmokeTest() {
+    runTest("compiler-tests/src/test/data/box/cycles/SmokeTest.kt");
+  }
+}
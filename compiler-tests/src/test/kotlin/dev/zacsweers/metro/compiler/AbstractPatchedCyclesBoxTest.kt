@@ -0,0 +1,16 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler
+
+import org.jetbrains.kotlin.test.builders.TestConfigurationBuilder
+
+/**
+ * Runs the `box/cycles` tests again with [MetroDirectives.PATCH_CYCLIC_PROVIDER_FIELDS] enabled.
+ */
+open class AbstractPatchedCyclesBoxTest : AbstractBoxTest() {
+  override fun configure(builder: TestConfigurationBuilder) {
+    super.configure(builder)
+
+    builder.defaultDirectives { +MetroDirectives.PATCH_CYCLIC_PROVIDER_FIELDS }
+  }
+}
@@ -30,6 +30,30 @@ object MetroDirectives : SimpleDirectivesContainer() {
     valueDirective("Enable/disable shrinking of unused bindings.") { it.toBoolean() }
   val CHUNK_FIELD_INITS by
     valueDirective("Enable/disable chunking of field initializers.") { it.toBoolean() }
+  val LAZY_PROVIDER_MAP_THRESHOLD by
+    valueDirective(
+      "Minimum number of entries in a Map<K, Provider<V>> multibinding before its value providers are created lazily."
+    ) {
+      it.toInt()
+    }
+  val EAGER_SUBGRAPH_WARNING_THRESHOLD by
+    valueDirective(
+      "Number of otherwise-lazy scoped bindings an eager binding may force before a warning is reported."
+    ) {
+      it.toInt()
+    }
+  val GRAPH_METHOD_BUDGET by
+    valueDirective("Maximum number of methods a generated graph may have.") { it.toInt() }
+  val GRAPH_FIELD_BUDGET by
+    valueDirective("Maximum number of fields a generated graph may have.") { it.toInt() }
+  val GRAPH_SIZE_BUDGET_SEVERITY by
+    enumDirective<MetroOptions.DiagnosticSeverity>(
+      "Control diagnostic severity reporting of generated graphs that exceed their size budgets."
+    )
+  val SHORT_LIVED_GRAPH_EXTENSIONS by
+    directive("Enable generating graph extensions for cheaper instantiation.")
+  val PATCH_CYCLIC_PROVIDER_FIELDS by
+    directive("Enable assigning cyclic provider fields directly instead of via DelegateFactory.")
   val ENABLE_FULL_BINDING_GRAPH_VALIDATION by
     directive(
       "Enable/disable full binding graph validation of binds and provides declarations even if they are unused."
@@ -105,6 +129,8 @@ object MetroDirectives : SimpleDirectivesContainer() {
     stringDirective(
       "Relative path to a directory to dump Metro reports information. Example: 'metro/reports'."
     )
+  val DETERMINISTIC_REPORTS by
+    directive("Skip reports whose content varies between identical compilations.")
 
   fun enableDaggerRuntime(directives: RegisteredDirectives): Boolean {
     return WITH_DAGGER in directives ||
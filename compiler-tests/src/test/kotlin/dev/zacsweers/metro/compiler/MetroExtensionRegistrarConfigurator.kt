@@ -63,6 +63,25 @@ class MetroExtensionRegistrarConfigurator(testServices: TestServices) :
         module.directives.singleOrZeroValue(MetroDirectives.CHUNK_FIELD_INITS)?.let {
           chunkFieldInits = it
         }
+        module.directives.singleOrZeroValue(MetroDirectives.LAZY_PROVIDER_MAP_THRESHOLD)?.let {
+          lazyProviderMapThreshold = it
+        }
+        module.directives.singleOrZeroValue(MetroDirectives.EAGER_SUBGRAPH_WARNING_THRESHOLD)?.let {
+          eagerSubgraphWarningThreshold = it
+        }
+        module.directives.singleOrZeroValue(MetroDirectives.GRAPH_METHOD_BUDGET)?.let {
+          graphMethodBudget = it
+        }
+        module.directives.singleOrZeroValue(MetroDirectives.GRAPH_FIELD_BUDGET)?.let {
+          graphFieldBudget = it
+        }
+        module.directives.singleOrZeroValue(MetroDirectives.GRAPH_SIZE_BUDGET_SEVERITY)?.let {
+          graphSizeBudgetSeverity = it
+        }
+        shortLivedGraphExtensions =
+          MetroDirectives.SHORT_LIVED_GRAPH_EXTENSIONS in module.directives
+        patchCyclicProviderFields =
+          MetroDirectives.PATCH_CYCLIC_PROVIDER_FIELDS in module.directives
         enableFullBindingGraphValidation =
           MetroDirectives.ENABLE_FULL_BINDING_GRAPH_VALIDATION in module.directives
         enableGraphImplClassAsReturnType =
@@ -91,6 +110,7 @@ class MetroExtensionRegistrarConfigurator(testServices: TestServices) :
           reportsDestination =
             Path("${testServices.temporaryDirectoryManager.rootDir.absolutePath}/$it")
         }
+        deterministicReports = MetroDirectives.DETERMINISTIC_REPORTS in module.directives
         contributesAsInject = MetroDirectives.CONTRIBUTES_AS_INJECT in module.directives
 
         // Configure interop annotations using builder helper methods
@@ -11,6 +11,7 @@ plugins {
   alias(libs.plugins.wire)
   alias(libs.plugins.shadow) apply false
   alias(libs.plugins.testkit)
+  alias(libs.plugins.jmh)
 }
 
 kotlin {
@@ -23,6 +24,11 @@ kotlin {
       "org.jetbrains.kotlin.ir.symbols.UnsafeDuringIrConstructionAPI",
     )
   }
+  // Benchmarks reuse the internal graph APIs and the String graph fixtures from tests
+  target.compilations.named("jmh") {
+    associateWith(target.compilations.getByName("main"))
+    associateWith(target.compilations.getByName("test"))
+  }
 }
 
 buildConfig {
@@ -52,6 +58,16 @@ tasks.test {
   systemProperty("metro.buildDir", project.layout.buildDirectory.asFile.get().absolutePath)
 }
 
+jmh {
+  resultFormat.set("JSON")
+  // Params can be overridden from the command line, e.g. -Pmetro.jmh.size=10000,50000
+  for (param in listOf("size", "fanOut", "cycleDensity", "deferrableRatio")) {
+    providers.gradleProperty("metro.jmh.$param").orNull?.let { values ->
+      benchmarkParameters.put(param, objects.listProperty<String>().value(values.split(",")))
+    }
+  }
+}
+
 wire { kotlin { javaInterop = false } }
 
 /**
@@ -69,6 +85,8 @@ configurations.named("compileOnly").configure { extendsFrom(embedded) }
 
 configurations.named("testImplementation").configure { extendsFrom(embedded) }
 
+configurations.named("jmhImplementation").configure { extendsFrom(embedded) }
+
 tasks.jar.configure { enabled = false }
 
 val shadowJar =
@@ -160,4 +178,7 @@ dependencies {
   testImplementation(libs.dagger.compiler)
   testImplementation(libs.dagger.runtime)
   testImplementation(libs.anvil.annotations)
+
+  jmhCompileOnly(libs.poko.annotations)
+  jmhImplementation(libs.kotlin.compiler)
 }
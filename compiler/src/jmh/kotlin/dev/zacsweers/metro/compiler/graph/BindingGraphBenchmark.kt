@@ -0,0 +1,84 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.graph
+
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+
+/**
+ * Benchmarks the stages of the binding graph pipeline against a [SyntheticGraph].
+ * - [populateAndSeal] starts from an empty graph and computes every binding on demand from the
+ *   roots. The difference between it and [seal] is the cost of populating the graph.
+ * - [seal] seals a graph that already has all of its bindings.
+ * - [topoSort] and [stronglyConnectedComponents] run directly on a prebuilt adjacency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public open class BindingGraphBenchmark {
+
+  @Param("100", "1000", "5000") public var size: Int = 0
+
+  @Param("4") public var fanOut: Int = 0
+
+  @Param("0.0", "0.05") public var cycleDensity: Double = 0.0
+
+  @Param("0.1") public var deferrableRatio: Double = 0.0
+
+  internal lateinit var graph: SyntheticGraph
+
+  @Setup
+  public fun setup() {
+    graph = SyntheticGraph(size, fanOut, cycleDensity, deferrableRatio)
+  }
+
+  @Benchmark
+  public fun populateAndSeal(): Any {
+    return graph.newComputedGraph().seal(roots = graph.roots)
+  }
+
+  @Benchmark
+  public fun seal(state: PopulatedGraphState): Any {
+    return state.populated.seal(roots = graph.roots)
+  }
+
+  @Benchmark
+  public fun topoSort(): Any {
+    return topologicalSort(
+      fullAdjacency = graph.adjacency,
+      isDeferrable = graph::isDeferrable,
+      onCycle = { cycle -> error("Unexpected strict cycle: $cycle") },
+      roots = graph.rootKeys,
+    )
+  }
+
+  @Benchmark
+  public fun stronglyConnectedComponents(): Any {
+    return graph.adjacency.computeStronglyConnectedComponents(graph.rootKeys)
+  }
+
+  /** A fresh, fully populated graph per invocation, as graphs can only be sealed once. */
+  @State(Scope.Thread)
+  public open class PopulatedGraphState {
+    internal lateinit var populated: StringGraph
+
+    @Setup(Level.Invocation)
+    public fun setup(benchmark: BindingGraphBenchmark) {
+      populated = benchmark.graph.newPopulatedGraph()
+    }
+  }
+}
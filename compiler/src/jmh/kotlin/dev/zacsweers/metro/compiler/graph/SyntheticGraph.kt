@@ -0,0 +1,138 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.graph
+
+import java.util.SortedMap
+import java.util.SortedSet
+import java.util.TreeSet
+import kotlin.random.Random
+
+/**
+ * A randomly generated but reproducible binding graph for benchmarking the binding graph pipeline.
+ *
+ * Node `i` strictly depends on up to [fanOut] nodes after it, so the strict edges always form a
+ * DAG. Each of those edges is wrapped in a `Provider` with probability [deferrableRatio]. With
+ * probability [cycleDensity], a node also depends on a `Provider` of one of its (transitive)
+ * dependents, closing a breakable cycle of two to four nodes.
+ */
+internal class SyntheticGraph(
+  val size: Int,
+  val fanOut: Int,
+  val cycleDensity: Double,
+  val deferrableRatio: Double,
+  seed: Int = 0,
+) {
+  val keys: List<StringTypeKey> = List(size) { StringTypeKey("Type$it") }
+  val bindings: List<StringBinding>
+
+  /** Entry points of the graph, i.e. every node that nothing else depends on. */
+  val roots: Map<StringContextualTypeKey, StringBindingStack.Entry>
+  val rootKeys: SortedSet<StringTypeKey>
+
+  /** The same adjacency that [MutableBindingGraph.seal] would build for [bindings]. */
+  val adjacency: SortedMap<StringTypeKey, SortedSet<StringTypeKey>>
+
+  private val deferrableEdges: Map<StringTypeKey, Set<StringTypeKey>>
+  private val bindingsByKey: Map<StringTypeKey, StringBinding>
+
+  init {
+    val random = Random(seed)
+    val dependents = List(size) { mutableListOf<Int>() }
+    val dependencies = List(size) { linkedMapOf<Int, Boolean>() }
+
+    for (i in 0 until size) {
+      val candidates = size - i - 1
+      repeat(minOf(fanOut, candidates)) {
+        val target = random.nextInt(i + 1, size)
+        if (target !in dependencies[i]) {
+          dependencies[i][target] = random.nextDouble() < deferrableRatio
+          dependents[target] += i
+        }
+      }
+    }
+
+    for (i in 0 until size) {
+      if (dependents[i].isEmpty() || random.nextDouble() >= cycleDensity) continue
+      // Walk back up to three dependents and depend on a provider of wherever we land
+      var target = i
+      repeat(random.nextInt(1, 4)) {
+        val next = dependents[target]
+        if (next.isNotEmpty()) {
+          target = next[random.nextInt(next.size)]
+        }
+      }
+      if (target != i) {
+        dependencies[i][target] = true
+      }
+    }
+
+    bindings =
+      List(size) { i ->
+        StringBinding(
+          keys[i],
+          dependencies[i].map { (target, deferrable) ->
+            val type = keys[target].type
+            StringContextualTypeKey.create(
+              StringTypeKey(if (deferrable) "Provider<$type>" else type)
+            )
+          },
+        )
+      }
+    bindingsByKey = bindings.associateBy { it.typeKey }
+
+    deferrableEdges =
+      bindings.associate { binding ->
+        binding.typeKey to
+          binding.dependencies.filter { it.isDeferrable }.mapTo(HashSet()) { it.typeKey }
+      }
+
+    val rootIndices = (0 until size).filter { dependents[it].isEmpty() }
+    roots =
+      rootIndices.associate { i ->
+        val contextKey = StringContextualTypeKey.create(keys[i])
+        contextKey to StringBindingStack.Entry(contextKey)
+      }
+    rootKeys = rootIndices.mapTo(TreeSet()) { keys[it] }
+
+    adjacency =
+      buildFullAdjacency(
+        bindings = bindingsByKey,
+        dependenciesOf = { binding -> binding.dependencies.map { it.typeKey } },
+        onMissing = { source, missing -> error("Missing $missing from $source") },
+      )
+  }
+
+  fun isDeferrable(from: StringTypeKey, to: StringTypeKey): Boolean =
+    to in deferrableEdges.getValue(from)
+
+  /** Returns a new graph that has all of [bindings] put up front. */
+  fun newPopulatedGraph(): StringGraph {
+    return newGraph().apply {
+      for (binding in bindings) {
+        tryPut(binding)
+      }
+    }
+  }
+
+  /**
+   * Returns a new, empty graph that computes bindings as they are requested from [roots], like
+   * constructor-injected types.
+   */
+  fun newComputedGraph(): StringGraph {
+    return newGraph { contextKey, _, _ -> setOf(bindingsByKey.getValue(contextKey.typeKey)) }
+  }
+
+  private fun newGraph(
+    computeBinding:
+      (StringContextualTypeKey, Set<StringTypeKey>, StringBindingStack) -> Set<StringBinding> =
+      { _, _, _ ->
+        emptySet()
+      }
+  ): StringGraph {
+    return StringGraph(
+      newBindingStack = { StringBindingStack("SyntheticGraph") },
+      newBindingStackEntry = { contextKey, _, _ -> StringBindingStack.Entry(contextKey) },
+      computeBinding = computeBinding,
+    )
+  }
+}
@@ -16,6 +16,10 @@ import org.jetbrains.kotlin.name.Name
 // https://github.com/google/dagger/blob/b39cf2d0640e4b24338dd290cb1cb2e923d38cb3/dagger-compiler/main/java/dagger/internal/codegen/writing/ComponentImplementation.java#L263
 internal const val DEFAULT_STATEMENTS_PER_INIT_FUN = 25
 
+internal const val DEFAULT_LAZY_PROVIDER_MAP_THRESHOLD = 0
+
+internal const val DEFAULT_EAGER_SUBGRAPH_WARNING_THRESHOLD = 10
+
 internal data class RawMetroOption<T : Any>(
   val name: String,
   val defaultValue: T,
@@ -92,6 +96,17 @@ internal enum class MetroOption(val raw: RawMetroOption<*>) {
       valueMapper = { it },
     )
   ),
+  DETERMINISTIC_REPORTS(
+    RawMetroOption.boolean(
+      name = "deterministic-reports",
+      defaultValue = false,
+      valueDescription = "<true | false>",
+      description =
+        "Enable/disable skipping reports whose content varies between identical compilations (timings.csv, traceLog.txt, and dynamic-graphs.csv), so the reports directory can be cached as a compilation output.",
+      required = false,
+      allowMultipleOccurrences = false,
+    )
+  ),
   GENERATE_ASSISTED_FACTORIES(
     RawMetroOption.boolean(
       name = "generate-assisted-factories",
@@ -196,6 +211,99 @@ internal enum class MetroOption(val raw: RawMetroOption<*>) {
       valueMapper = { it.toInt() },
     )
   ),
+  LAZY_PROVIDER_MAP_THRESHOLD(
+    RawMetroOption(
+      name = "lazy-provider-map-threshold",
+      defaultValue = DEFAULT_LAZY_PROVIDER_MAP_THRESHOLD,
+      valueDescription = "<count>",
+      description =
+        "Minimum number of entries in a Map<K, Provider<V>> multibinding before its value providers are created lazily per key, or 0 to disable. Disabled by default.",
+      required = false,
+      allowMultipleOccurrences = false,
+      valueMapper = { it.toInt() },
+    )
+  ),
+  EAGER_SUBGRAPH_WARNING_THRESHOLD(
+    RawMetroOption(
+      name = "eager-subgraph-warning-threshold",
+      defaultValue = DEFAULT_EAGER_SUBGRAPH_WARNING_THRESHOLD,
+      valueDescription = "<count>",
+      description =
+        "Number of otherwise-lazy scoped bindings that an eager binding may force to initialize at graph creation before Metro reports a warning. Default is $DEFAULT_EAGER_SUBGRAPH_WARNING_THRESHOLD, 0 disables.",
+      required = false,
+      allowMultipleOccurrences = false,
+      valueMapper = { it.toInt() },
+    )
+  ),
+  SHORT_LIVED_GRAPH_EXTENSIONS(
+    RawMetroOption.boolean(
+      name = "short-lived-graph-extensions",
+      defaultValue = false,
+      valueDescription = "<true | false>",
+      description =
+        "Enable/disable generating graph extensions for cheaper instantiation, for extensions that are created often and discarded quickly.",
+      required = false,
+      allowMultipleOccurrences = false,
+    )
+  ),
+  PATCH_CYCLIC_PROVIDER_FIELDS(
+    RawMetroOption.boolean(
+      name = "patch-cyclic-provider-fields",
+      defaultValue = false,
+      valueDescription = "<true | false>",
+      description =
+        "Enable/disable assigning the provider fields of bindings in breakable cycles directly instead of through a DelegateFactory, so calls through them after graph creation have no extra indirection.",
+      required = false,
+      allowMultipleOccurrences = false,
+    )
+  ),
+  GRAPH_METHOD_BUDGET(
+    RawMetroOption(
+      name = "graph-method-budget",
+      defaultValue = 0,
+      valueDescription = "<count>",
+      description =
+        "Maximum number of methods a generated graph or graph extension class may have before Metro reports a diagnostic with `graph-size-budget-severity`. Default is 0, which disables.",
+      required = false,
+      allowMultipleOccurrences = false,
+      valueMapper = { it.toInt() },
+    )
+  ),
+  GRAPH_FIELD_BUDGET(
+    RawMetroOption(
+      name = "graph-field-budget",
+      defaultValue = 0,
+      valueDescription = "<count>",
+      description =
+        "Maximum number of fields a generated graph or graph extension class may have before Metro reports a diagnostic with `graph-size-budget-severity`. Default is 0, which disables.",
+      required = false,
+      allowMultipleOccurrences = false,
+      valueMapper = { it.toInt() },
+    )
+  ),
+  GRAPH_SIZE_BUDGET_SEVERITY(
+    RawMetroOption(
+      name = "graph-size-budget-severity",
+      defaultValue = MetroOptions.DiagnosticSeverity.WARN.name,
+      valueDescription = "NONE|WARN|ERROR",
+      description =
+        "Control diagnostic severity reporting of generated graphs that exceed `graph-method-budget` or `graph-field-budget`.",
+      required = false,
+      allowMultipleOccurrences = false,
+      valueMapper = { it },
+    )
+  ),
+  GENERATE_VIEW_MODEL_FACTORIES(
+    RawMetroOption.boolean(
+      name = "generate-view-model-factories",
+      defaultValue = false,
+      valueDescription = "<true | false>",
+      description =
+        "Enable/disable implementing graph accessors of metrox-viewmodel's MetroViewModelFactory with a generated subclass that creates ViewModels by dispatching on their class directly, instead of through provider maps.",
+      required = false,
+      allowMultipleOccurrences = false,
+    )
+  ),
   PUBLIC_PROVIDER_SEVERITY(
     RawMetroOption(
       name = "public-provider-severity",
@@ -683,6 +791,7 @@ public data class MetroOptions(
       .expectAs<String>()
       .takeUnless(String::isBlank)
       ?.let(Paths::get),
+  val deterministicReports: Boolean = MetroOption.DETERMINISTIC_REPORTS.raw.defaultValue.expectAs(),
   val generateAssistedFactories: Boolean =
     MetroOption.GENERATE_ASSISTED_FACTORIES.raw.defaultValue.expectAs(),
   val enableTopLevelFunctionInjection: Boolean =
@@ -697,6 +806,22 @@ public data class MetroOptions(
     MetroOption.SHRINK_UNUSED_BINDINGS.raw.defaultValue.expectAs(),
   val chunkFieldInits: Boolean = MetroOption.CHUNK_FIELD_INITS.raw.defaultValue.expectAs(),
   val statementsPerInitFun: Int = MetroOption.STATEMENTS_PER_INIT_FUN.raw.defaultValue.expectAs(),
+  val lazyProviderMapThreshold: Int =
+    MetroOption.LAZY_PROVIDER_MAP_THRESHOLD.raw.defaultValue.expectAs(),
+  val eagerSubgraphWarningThreshold: Int =
+    MetroOption.EAGER_SUBGRAPH_WARNING_THRESHOLD.raw.defaultValue.expectAs(),
+  val shortLivedGraphExtensions: Boolean =
+    MetroOption.SHORT_LIVED_GRAPH_EXTENSIONS.raw.defaultValue.expectAs(),
+  val patchCyclicProviderFields: Boolean =
+    MetroOption.PATCH_CYCLIC_PROVIDER_FIELDS.raw.defaultValue.expectAs(),
+  val generateViewModelFactories: Boolean =
+    MetroOption.GENERATE_VIEW_MODEL_FACTORIES.raw.defaultValue.expectAs(),
+  val graphMethodBudget: Int = MetroOption.GRAPH_METHOD_BUDGET.raw.defaultValue.expectAs(),
+  val graphFieldBudget: Int = MetroOption.GRAPH_FIELD_BUDGET.raw.defaultValue.expectAs(),
+  val graphSizeBudgetSeverity: DiagnosticSeverity =
+    MetroOption.GRAPH_SIZE_BUDGET_SEVERITY.raw.defaultValue.expectAs<String>().let {
+      DiagnosticSeverity.valueOf(it)
+    },
   val publicProviderSeverity: DiagnosticSeverity =
     if (transformProvidersToPrivate) {
       DiagnosticSeverity.NONE
@@ -801,6 +926,7 @@ public data class MetroOptions(
     public var debug: Boolean = base.debug
     public var enabled: Boolean = base.enabled
     public var reportsDestination: Path? = base.reportsDestination
+    public var deterministicReports: Boolean = base.deterministicReports
     public var generateAssistedFactories: Boolean = base.generateAssistedFactories
     public var enableTopLevelFunctionInjection: Boolean = base.enableTopLevelFunctionInjection
     public var generateContributionHints: Boolean = base.generateContributionHints
@@ -809,6 +935,14 @@ public data class MetroOptions(
     public var shrinkUnusedBindings: Boolean = base.shrinkUnusedBindings
     public var chunkFieldInits: Boolean = base.chunkFieldInits
     public var statementsPerInitFun: Int = base.statementsPerInitFun
+    public var lazyProviderMapThreshold: Int = base.lazyProviderMapThreshold
+    public var eagerSubgraphWarningThreshold: Int = base.eagerSubgraphWarningThreshold
+    public var shortLivedGraphExtensions: Boolean = base.shortLivedGraphExtensions
+    public var patchCyclicProviderFields: Boolean = base.patchCyclicProviderFields
+    public var generateViewModelFactories: Boolean = base.generateViewModelFactories
+    public var graphMethodBudget: Int = base.graphMethodBudget
+    public var graphFieldBudget: Int = base.graphFieldBudget
+    public var graphSizeBudgetSeverity: DiagnosticSeverity = base.graphSizeBudgetSeverity
     public var publicProviderSeverity: DiagnosticSeverity = base.publicProviderSeverity
     public var optionalBindingBehavior: OptionalBindingBehavior = base.optionalBindingBehavior
     public var warnOnInjectAnnotationPlacement: Boolean = base.warnOnInjectAnnotationPlacement
@@ -990,6 +1124,7 @@ public data class MetroOptions(
         debug = debug,
         enabled = enabled,
         reportsDestination = reportsDestination,
+        deterministicReports = deterministicReports,
         generateAssistedFactories = generateAssistedFactories,
         enableTopLevelFunctionInjection = enableTopLevelFunctionInjection,
         generateContributionHints = generateContributionHints,
@@ -998,6 +1133,14 @@ public data class MetroOptions(
         shrinkUnusedBindings = shrinkUnusedBindings,
         chunkFieldInits = chunkFieldInits,
         statementsPerInitFun = statementsPerInitFun,
+        lazyProviderMapThreshold = lazyProviderMapThreshold,
+        eagerSubgraphWarningThreshold = eagerSubgraphWarningThreshold,
+        shortLivedGraphExtensions = shortLivedGraphExtensions,
+        patchCyclicProviderFields = patchCyclicProviderFields,
+        generateViewModelFactories = generateViewModelFactories,
+        graphMethodBudget = graphMethodBudget,
+        graphFieldBudget = graphFieldBudget,
+        graphSizeBudgetSeverity = graphSizeBudgetSeverity,
         publicProviderSeverity = publicProviderSeverity,
         optionalBindingBehavior = optionalBindingBehavior,
         warnOnInjectAnnotationPlacement = warnOnInjectAnnotationPlacement,
@@ -1073,6 +1216,9 @@ public data class MetroOptions(
               configuration.getAsString(entry).takeUnless(String::isBlank)?.let(Paths::get)
           }
 
+          MetroOption.DETERMINISTIC_REPORTS ->
+            deterministicReports = configuration.getAsBoolean(entry)
+
           MetroOption.GENERATE_ASSISTED_FACTORIES ->
             generateAssistedFactories = configuration.getAsBoolean(entry)
 
@@ -1096,6 +1242,31 @@ public data class MetroOptions(
           MetroOption.STATEMENTS_PER_INIT_FUN ->
             statementsPerInitFun = configuration.getAsInt(entry)
 
+          MetroOption.LAZY_PROVIDER_MAP_THRESHOLD ->
+            lazyProviderMapThreshold = configuration.getAsInt(entry)
+
+          MetroOption.EAGER_SUBGRAPH_WARNING_THRESHOLD ->
+            eagerSubgraphWarningThreshold = configuration.getAsInt(entry)
+
+          MetroOption.SHORT_LIVED_GRAPH_EXTENSIONS ->
+            shortLivedGraphExtensions = configuration.getAsBoolean(entry)
+
+          MetroOption.PATCH_CYCLIC_PROVIDER_FIELDS ->
+            patchCyclicProviderFields = configuration.getAsBoolean(entry)
+
+          MetroOption.GENERATE_VIEW_MODEL_FACTORIES ->
+            generateViewModelFactories = configuration.getAsBoolean(entry)
+
+          MetroOption.GRAPH_METHOD_BUDGET -> graphMethodBudget = configuration.getAsInt(entry)
+
+          MetroOption.GRAPH_FIELD_BUDGET -> graphFieldBudget = configuration.getAsInt(entry)
+
+          MetroOption.GRAPH_SIZE_BUDGET_SEVERITY ->
+            graphSizeBudgetSeverity =
+              configuration.getAsString(entry).let {
+                DiagnosticSeverity.valueOf(it.uppercase(Locale.US))
+              }
+
           MetroOption.PUBLIC_PROVIDER_SEVERITY ->
             publicProviderSeverity =
               configuration.getAsString(entry).let {
@@ -13,12 +13,8 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-@file:OptIn(ExperimentalUuidApi::class)
-
 package dev.zacsweers.metro.compiler
 
-import kotlin.uuid.ExperimentalUuidApi
-import kotlin.uuid.Uuid
 import org.jetbrains.kotlin.name.Name
 import org.jetbrains.kotlin.renderer.KeywordStringsGenerated.KEYWORDS
 
@@ -161,7 +157,8 @@ private val RESERVED_KEYWORDS = KEYWORDS + CROSS_PLATFORM_RESERVED_KEYWORDS
  * NameAllocator used for the outer scope to further refine name allocation for a specific inner
  * scope.
  *
- * Changes from upstream: added [Mode] support for use with member inject parameters.
+ * Changes from upstream: added [Mode] support for use with member inject parameters, and untagged
+ * allocations use sequential tags rather than random UUIDs so that compilations are reproducible.
  */
 // TODO change to Name?
 internal class NameAllocator
@@ -169,6 +166,7 @@ private constructor(
   private val allocatedNames: MutableSet<String>,
   private val tagToName: MutableMap<Any, String>,
   private val mode: Mode,
+  private var nextTagId: Int,
 ) {
   /**
    * @param preallocateKeywords If true, all Kotlin keywords will be preallocated. Requested names
@@ -207,6 +205,7 @@ private constructor(
       },
     tagToName = mutableMapOf(),
     mode = mode,
+    nextTagId = 0,
   )
 
   /**
@@ -214,7 +213,7 @@ private constructor(
    * names. The returned value can be queried multiple times by passing `tag` to
    * [NameAllocator.get].
    */
-  fun newName(suggestion: String, tag: Any = Uuid.random().toString()): String {
+  fun newName(suggestion: String, tag: Any = nextTag()): String {
     val cleanedSuggestion = toSafeIdentifier(suggestion)
     val result = buildString {
       append(cleanedSuggestion)
@@ -250,9 +249,23 @@ private constructor(
    * @return A deep copy of this NameAllocator.
    */
   fun copy(): NameAllocator {
-    return NameAllocator(allocatedNames.toMutableSet(), tagToName.toMutableMap(), mode = mode)
+    return NameAllocator(
+      allocatedNames.toMutableSet(),
+      tagToName.toMutableMap(),
+      mode = mode,
+      nextTagId = nextTagId,
+    )
   }
 
+  /**
+   * Returns a tag for an allocation that wasn't given one. These are sequential per allocator (and
+   * carried over to copies) so they never collide and don't introduce randomness into generated
+   * code.
+   */
+  private fun nextTag(): Any = GeneratedTag(nextTagId++)
+
+  private data class GeneratedTag(val id: Int)
+
   internal enum class Mode {
     UNDERSCORE,
     COUNT,
@@ -319,6 +332,10 @@ internal fun toSafeIdentifier(suggestion: String) = buildString {
   }
 }
 
-internal fun NameAllocator.newName(suggestion: Name, tag: Any = Uuid.random().toString()): Name {
+internal fun NameAllocator.newName(suggestion: Name): Name {
+  return newName(suggestion.asString()).asName()
+}
+
+internal fun NameAllocator.newName(suggestion: Name, tag: Any): Name {
   return newName(suggestion.asString(), tag).asName()
 }
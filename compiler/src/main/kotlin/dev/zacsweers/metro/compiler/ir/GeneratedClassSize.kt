@@ -0,0 +1,107 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir
+
+import org.jetbrains.kotlin.descriptors.DescriptorVisibilities
+import org.jetbrains.kotlin.ir.IrElement
+import org.jetbrains.kotlin.ir.IrStatement
+import org.jetbrains.kotlin.ir.declarations.IrClass
+import org.jetbrains.kotlin.ir.declarations.IrConstructor
+import org.jetbrains.kotlin.ir.declarations.IrDeclaration
+import org.jetbrains.kotlin.ir.declarations.IrDeclarationOrigin
+import org.jetbrains.kotlin.ir.declarations.IrField
+import org.jetbrains.kotlin.ir.declarations.IrProperty
+import org.jetbrains.kotlin.ir.declarations.IrSimpleFunction
+import org.jetbrains.kotlin.ir.util.kotlinFqName
+import org.jetbrains.kotlin.ir.visitors.IrVisitorVoid
+import org.jetbrains.kotlin.ir.visitors.acceptChildrenVoid
+
+/**
+ * An estimate of how much code Metro generated for a single class, for attributing binary size to
+ * graphs and factories.
+ *
+ * [methods] and [fields] approximate what the class compiles to on the JVM. Fake overrides aren't
+ * counted and default accessors of private properties are assumed to be inlined as field accesses.
+ * [irStatements] counts every statement and expression in the class's bodies and initializers, as a
+ * rough proxy for their bytecode size.
+ */
+internal class GeneratedClassSize(
+  val kind: String,
+  val className: String,
+  val methods: Int,
+  val fields: Int,
+  val irStatements: Int,
+) {
+  fun toCsvRow(): String = "$kind,$className,$methods,$fields,$irStatements"
+
+  companion object {
+    const val CSV_HEADER = "kind,class,methods,fields,irStatements"
+
+    /**
+     * Computes the [GeneratedClassSize] of [irClass]. Nested classes are counted as part of it if
+     * they match [includeNested].
+     */
+    fun compute(
+      kind: String,
+      irClass: IrClass,
+      includeNested: (IrClass) -> Boolean = { true },
+    ): GeneratedClassSize {
+      var methods = 0
+      var fields = 0
+      var irStatements = 0
+
+      val counter =
+        object : IrVisitorVoid() {
+          override fun visitElement(element: IrElement) {
+            if (element is IrStatement && element !is IrDeclaration) {
+              irStatements++
+            }
+            element.acceptChildrenVoid(this)
+          }
+
+          override fun visitClass(declaration: IrClass) {
+            if (!includeNested(declaration)) return
+            super.visitClass(declaration)
+          }
+
+          override fun visitProperty(declaration: IrProperty) {
+            if (declaration.isFakeOverride) return
+            super.visitProperty(declaration)
+          }
+
+          override fun visitSimpleFunction(declaration: IrSimpleFunction) {
+            if (declaration.isFakeOverride) return
+            val property = declaration.correspondingPropertySymbol?.owner
+            val isInlinedAccessor =
+              property != null &&
+                property.visibility == DescriptorVisibilities.PRIVATE &&
+                declaration.origin == IrDeclarationOrigin.DEFAULT_PROPERTY_ACCESSOR
+            if (!isInlinedAccessor) {
+              methods++
+            }
+            super.visitSimpleFunction(declaration)
+          }
+
+          override fun visitConstructor(declaration: IrConstructor) {
+            methods++
+            super.visitConstructor(declaration)
+          }
+
+          override fun visitField(declaration: IrField) {
+            fields++
+            super.visitField(declaration)
+          }
+        }
+
+      irClass.acceptChildrenVoid(counter)
+
+      return GeneratedClassSize(
+        kind = kind,
+        className = irClass.kotlinFqName.asString(),
+        methods = methods,
+        fields = fields,
+        irStatements = irStatements,
+      )
+    }
+  }
+}
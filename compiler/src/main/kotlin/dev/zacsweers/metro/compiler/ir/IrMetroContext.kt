@@ -16,9 +16,7 @@ import dev.zacsweers.metro.compiler.tracing.tracer
 import java.io.File
 import java.nio.file.Path
 import kotlin.io.path.ExperimentalPathApi
-import kotlin.io.path.appendText
 import kotlin.io.path.createDirectories
-import kotlin.io.path.createFile
 import kotlin.io.path.createParentDirectories
 import kotlin.io.path.deleteIfExists
 import kotlin.io.path.deleteRecursively
@@ -57,11 +55,22 @@ internal interface IrMetroContext : IrPluginContext, CompatContext {
 
   fun loggerFor(type: MetroLogger.Type): MetroLogger
 
-  val logFile: Path?
-  val traceLogFile: Path?
-  val timingsFile: Path?
-  val lookupFile: Path?
-  val expectActualFile: Path?
+  val logFile: ReportWriter?
+  val traceLogFile: ReportWriter?
+  val timingsFile: ReportWriter?
+  val lookupFile: ReportWriter?
+  val expectActualFile: ReportWriter?
+  val generatedSizesFile: ReportWriter?
+  val dynamicGraphsFile: ReportWriter?
+
+  /**
+   * Writes out any buffered report lines without closing their files. Called after each dependency
+   * graph, so reports are complete up to the last processed graph if compilation fails later.
+   */
+  fun flushReports()
+
+  /** Writes out and closes any opened report files. Called at the end of IR generation. */
+  fun closeReports()
 
   /**
    * Generic caching machinery. Add new caches as extension functions that encapsulate the [key] and
@@ -79,13 +88,13 @@ internal interface IrMetroContext : IrPluginContext, CompatContext {
   fun log(message: String) {
     @Suppress("DEPRECATION")
     messageCollector.report(CompilerMessageSeverity.LOGGING, "$LOG_PREFIX $message")
-    logFile?.appendText("$message\n")
+    logFile?.append("$message\n")
   }
 
   fun logTrace(message: String) {
     @Suppress("DEPRECATION")
     messageCollector.report(CompilerMessageSeverity.LOGGING, "$LOG_PREFIX $message")
-    traceLogFile?.appendText("$message\n")
+    traceLogFile?.append("$message\n")
   }
 
   fun logVerbose(message: String) {
@@ -93,8 +102,8 @@ internal interface IrMetroContext : IrPluginContext, CompatContext {
     messageCollector.report(CompilerMessageSeverity.STRONG_WARNING, "$LOG_PREFIX $message")
   }
 
-  fun logTiming(tag: String, description: String, durationMs: Long) {
-    timingsFile?.appendText("\n$tag,$description,${durationMs}")
+  fun logTiming(tag: String, description: String, durationMs: Long, allocatedBytes: Long) {
+    timingsFile?.append("\n$tag,$description,${durationMs},${allocatedBytes}")
   }
 
   fun logLookup(
@@ -104,13 +113,31 @@ internal interface IrMetroContext : IrPluginContext, CompatContext {
     scopeKind: ScopeKind,
     name: String,
   ) {
-    lookupFile?.appendText(
+    lookupFile?.append(
       "\n${filePath.substringAfterLast(File.separatorChar)},${position.line}:${position.column},$scopeFqName,$scopeKind,$name"
     )
   }
 
   fun logExpectActualReport(expectedFile: File, actualFile: File?) {
-    expectActualFile?.appendText("\n${expectedFile.name},${actualFile?.name}")
+    expectActualFile?.append("\n${expectedFile.name},${actualFile?.name}")
+  }
+
+  /** Records the [GeneratedClassSize] that [size] computes, if reports are enabled. */
+  fun logGeneratedSize(size: () -> GeneratedClassSize) {
+    generatedSizesFile?.append("\n${size().toCsvRow()}")
+  }
+
+  /** Records how long generating a dynamic graph took, if reports are enabled. */
+  fun logDynamicGraph(
+    graph: String,
+    target: String,
+    containers: List<String>,
+    bindings: Int,
+    durationMs: Long,
+  ) {
+    dynamicGraphsFile?.append(
+      "\n$graph,$target,${containers.joinToString(";")},$bindings,$durationMs"
+    )
   }
 
   fun IrClass.dumpToMetroLog() {
@@ -209,53 +236,57 @@ internal interface IrMetroContext : IrPluginContext, CompatContext {
         }
       }
 
-      override val logFile: Path? by lazy {
-        reportsDir?.let {
-          it.resolve("log.txt").apply {
-            deleteIfExists()
-            createFile()
-          }
+      private val reportWriters = mutableListOf<ReportWriter>()
+
+      private fun reportWriter(fileName: String, header: String? = null): ReportWriter? {
+        return reportsDir?.let {
+          ReportWriter(it.resolve(fileName), header).also(reportWriters::add)
         }
       }
-      override val traceLogFile: Path? by lazy {
-        reportsDir?.let {
-          it.resolve("traceLog.txt").apply {
-            deleteIfExists()
-            createFile()
-          }
-        }
+
+      override val logFile: ReportWriter? by lazy { reportWriter("log.txt") }
+      // Trace logs and timings record durations, so they're skipped for deterministic reports
+      override val traceLogFile: ReportWriter? by lazy {
+        if (options.deterministicReports) null else reportWriter("traceLog.txt")
       }
 
-      override val timingsFile: Path? by lazy {
-        reportsDir?.let {
-          it.resolve("timings.csv").apply {
-            deleteIfExists()
-            createFile()
-            appendText("tag,description,durationMs")
-          }
+      override val timingsFile: ReportWriter? by lazy {
+        if (options.deterministicReports) {
+          null
+        } else {
+          reportWriter("timings.csv", header = "tag,description,durationMs,allocatedBytes")
         }
       }
 
-      override val lookupFile: Path? by lazy {
-        reportsDir?.let {
-          it.resolve("lookups.csv").apply {
-            deleteIfExists()
-            createFile()
-            appendText("file,position,scopeFqName,scopeKind,name")
-          }
-        }
+      override val lookupFile: ReportWriter? by lazy {
+        reportWriter("lookups.csv", header = "file,position,scopeFqName,scopeKind,name")
       }
 
-      override val expectActualFile: Path? by lazy {
-        reportsDir?.let {
-          it.resolve("expectActualReports.csv").apply {
-            deleteIfExists()
-            createFile()
-            appendText("expected,actual")
-          }
+      override val expectActualFile: ReportWriter? by lazy {
+        reportWriter("expectActualReports.csv", header = "expected,actual")
+      }
+
+      override val generatedSizesFile: ReportWriter? by lazy {
+        reportWriter("generated-sizes.csv", header = GeneratedClassSize.CSV_HEADER)
+      }
+
+      // Records durations, so it's skipped for deterministic reports
+      override val dynamicGraphsFile: ReportWriter? by lazy {
+        if (options.deterministicReports) {
+          null
+        } else {
+          reportWriter("dynamic-graphs.csv", header = "graph,target,containers,bindings,durationMs")
         }
       }
 
+      override fun flushReports() {
+        reportWriters.forEach(ReportWriter::flush)
+      }
+
+      override fun closeReports() {
+        reportWriters.forEach(ReportWriter::close)
+      }
+
       override fun loggerFor(type: MetroLogger.Type): MetroLogger {
         return loggerCache.getOrPut(type) {
           if (type in options.enabledLoggers) {
@@ -41,7 +41,11 @@ public class MetroIrGenerationExtension(
         expectActualTracker,
       )
 
-    context(context) { generateInner(moduleFragment) }
+    try {
+      context(context) { generateInner(moduleFragment) }
+    } finally {
+      context.closeReports()
+    }
   }
 
   context(context: IrMetroContext)
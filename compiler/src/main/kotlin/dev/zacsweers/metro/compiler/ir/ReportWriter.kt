@@ -0,0 +1,54 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir
+
+import java.io.BufferedWriter
+import java.io.Closeable
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import kotlin.io.path.bufferedWriter
+import kotlin.io.path.createParentDirectories
+import kotlin.io.path.writeText
+
+/**
+ * An append-only writer for a single report file, such as `lookups.csv` or `timings.csv`.
+ *
+ * These reports are written a line at a time and can receive thousands of lines in a single
+ * compilation, so lines are buffered in memory rather than reopening the file for each one. The
+ * buffer is written out whenever it fills up, on [flush], and on [close]. Writing again after
+ * [close] reopens the file in append mode.
+ */
+internal class ReportWriter(private val path: Path, header: String? = null) : Closeable {
+  private var writer: BufferedWriter? = null
+
+  init {
+    // Start from a fresh file
+    path.createParentDirectories()
+    path.writeText(header.orEmpty())
+  }
+
+  fun append(text: String) {
+    synchronized(this) { (writer ?: open()).write(text) }
+  }
+
+  fun flush() {
+    synchronized(this) { writer?.flush() }
+  }
+
+  override fun close() {
+    synchronized(this) {
+      writer?.close()
+      writer = null
+    }
+  }
+
+  private fun open(): BufferedWriter {
+    return path.bufferedWriter(Charsets.UTF_8, BUFFER_SIZE, StandardOpenOption.APPEND).also {
+      writer = it
+    }
+  }
+
+  private companion object {
+    const val BUFFER_SIZE = 64 * 1024
+  }
+}
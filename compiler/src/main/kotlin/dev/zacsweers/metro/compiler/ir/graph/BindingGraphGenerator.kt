@@ -233,6 +233,14 @@ internal class BindingGraphGenerator(
       } else {
         // The actual binding will be added lazily via BindingLookup when needed
       }
+
+      // Eager and background bindings are initialized even if nothing requests them
+      if (typeKey in node.providerFactories && providerFactory.annotations.isScoped) {
+        val startupPolicy = providerFactory.declaredStartupPolicy
+        if (startupPolicy == StartupPolicy.EAGER || startupPolicy == StartupPolicy.BACKGROUND) {
+          graph.keep(contextKey, IrBindingStack.Entry.simpleTypeRef(contextKey))
+        }
+      }
     }
 
     val bindsFunctionsToAdd = buildList {
@@ -656,11 +664,34 @@ internal class BindingGraphGenerator(
         }
       }
 
+      // Set multibindings that this graph contributes to or declares itself can't reuse its
+      // parents' assembled sets
+      val ownSetMultibindingKeys = buildSet {
+        val ownContributions = buildSet {
+          for (providerFactory in node.providerFactories.values) {
+            if (providerFactory.annotations.isIntoMultibinding) add(providerFactory.typeKey)
+          }
+          for (bindsCallable in node.bindsCallables.values) {
+            if (bindsCallable.callableMetadata.annotations.isIntoMultibinding) {
+              add(bindsCallable.typeKey)
+            }
+          }
+        }
+        addAll(bindingLookup.setMultibindingKeysContributedBy(ownContributions))
+        node.multibindsCallables.mapTo(this) { it.typeKey }
+        for (accessor in node.accessors) {
+          if (accessor.metroFunction.annotations.isMultibinds) {
+            add(accessor.contextKey.typeKey)
+          }
+        }
+      }
+
       for (key in parentContext.availableKeys()) {
         // Graph extensions that are scoped instances _in_ their parents may show up here, so we
         // check and continue if we see them
         if (key == node.typeKey) continue
         if (key == node.metroGraph?.generatedGraphExtensionData?.typeKey) continue
+        if (key in ownSetMultibindingKeys) continue
         val existingBinding = graph.findBinding(key)
         if (existingBinding != null) {
           // If we already have a binding provisioned in this scenario, ignore the parent's
@@ -33,6 +33,7 @@ import java.util.TreeSet
 import org.jetbrains.kotlin.ir.declarations.IrClass
 import org.jetbrains.kotlin.ir.declarations.IrSimpleFunction
 import org.jetbrains.kotlin.ir.types.IrSimpleType
+import org.jetbrains.kotlin.ir.types.classOrNull
 import org.jetbrains.kotlin.ir.types.removeAnnotations
 import org.jetbrains.kotlin.ir.types.typeOrFail
 import org.jetbrains.kotlin.ir.types.typeOrNull
@@ -43,6 +44,7 @@ import org.jetbrains.kotlin.ir.util.classIdOrFail
 import org.jetbrains.kotlin.ir.util.dumpKotlinLike
 import org.jetbrains.kotlin.ir.util.getSimpleFunction
 import org.jetbrains.kotlin.ir.util.isObject
+import org.jetbrains.kotlin.name.ClassId
 
 internal class BindingLookup(
   private val metroContext: IrMetroContext,
@@ -202,6 +204,40 @@ internal class BindingLookup(
     return multibindingsCache.toMap()
   }
 
+  /** Returns the keys of all `Set` multibindings with contributions or declarations. */
+  fun setMultibindingKeys(): Set<IrTypeKey> {
+    return (multibindingContributions.keys + multibindsDeclarations.keys).filterTo(mutableSetOf()) {
+      it.isSetType()
+    }
+  }
+
+  /** Returns the keys of the `Set` multibindings that any of [sourceKeys] contribute to. */
+  fun setMultibindingKeysContributedBy(sourceKeys: Set<IrTypeKey>): Set<IrTypeKey> {
+    if (sourceKeys.isEmpty()) return emptySet()
+    return multibindingContributions
+      .filter { (key, contributions) -> key.isSetType() && contributions.any { it in sourceKeys } }
+      .keys
+  }
+
+  /**
+   * Returns the source keys of all contributions to unqualified `Map<KClass<*>, V>` multibindings
+   * whose value class is [valueClassId].
+   */
+  fun classKeyedMapMultibindingSources(valueClassId: ClassId): Set<IrTypeKey> {
+    return multibindingContributions
+      .filterKeys { key ->
+        val type = key.type as? IrSimpleType ?: return@filterKeys false
+        key.qualifier == null &&
+          type.classOrNull == metroContext.irBuiltIns.mapClass &&
+          type.arguments[0].typeOrNull?.classOrNull == metroContext.irBuiltIns.kClassClass &&
+          type.arguments[1].typeOrNull?.classOrNull?.owner?.classId == valueClassId
+      }
+      .values
+      .flatMapTo(TreeSet()) { it }
+  }
+
+  private fun IrTypeKey.isSetType(): Boolean = type.classOrNull == metroContext.irBuiltIns.setClass
+
   /**
    * Computes the multibinding type key (Set<T> or Map<K, V>) from the annotations of a contributor.
    *
@@ -5,52 +5,43 @@ package dev.zacsweers.metro.compiler.ir.graph
 import dev.zacsweers.metro.compiler.ir.IrContextualTypeKey
 import dev.zacsweers.metro.compiler.ir.IrTypeKey
 import dev.zacsweers.metro.compiler.reportCompilerBug
+import org.jetbrains.kotlin.ir.util.isObject
 
 private const val INITIAL_VALUE = 512
 
-/** Computes the set of bindings that must end up in properties. */
-internal class BindingPropertyCollector(private val graph: IrBindingGraph) {
+/**
+ * Computes the set of bindings that must end up in properties.
+ *
+ * If [isShortLived] is true, this optimizes for graphs that are created often and discarded quickly
+ * (see `MetroOptions.shortLivedGraphExtensions`) by avoiding properties that would be initialized
+ * in the constructor but may never be used.
+ */
+internal class BindingPropertyCollector(
+  private val graph: IrBindingGraph,
+  private val isShortLived: Boolean = false,
+) {
 
   data class CollectedProperty(val binding: IrBinding, val propertyType: PropertyType)
 
   private data class Node(val binding: IrBinding, var refCount: Int = 0) {
-    val propertyType: PropertyType?
-      get() {
-        // Scoped, graph, and members injector bindings always need provider fields
-        if (binding.isScoped()) return PropertyType.FIELD
-
-        when (binding) {
-          is IrBinding.GraphDependency,
-          // Assisted types always need to be a single field to ensure use of the same provider
-          is IrBinding.Assisted -> return PropertyType.FIELD
-          is IrBinding.ConstructorInjected if binding.isAssisted -> return PropertyType.FIELD
-          // Multibindings are always created adhoc, but we create their properties lazily
-          is IrBinding.Multibinding -> return null
-          else -> {
-            // Do nothing
-          }
-        }
-
-        return if (refCount >= 2) {
-          // If it's unscoped but used more than once, we can generate a reusable field
-          PropertyType.FIELD
-        } else if (binding.isIntoMultibinding && !binding.hasSimpleDependencies) {
-          // If it's into a multibinding with dependencies, extract a getter to reduce code
-          // boilerplate
-          PropertyType.GETTER
-        } else {
-          null
-        }
-      }
+    /**
+     * Whether every reference to this binding is a direct (not `Provider` or `Lazy`) dependency of
+     * a scoped binding.
+     */
+    var isOnlyDirectlyUsedByScopedBindings = true
 
     /** @return true if we've referenced this binding before. */
-    fun mark(): Boolean {
+    fun mark(dependent: IrBinding, contextKey: IrContextualTypeKey): Boolean {
       refCount++
+      if (contextKey.isDeferrable || dependent.scope == null) {
+        isOnlyDirectlyUsedByScopedBindings = false
+      }
       return refCount > 1
     }
   }
 
-  private val nodes = HashMap<IrTypeKey, Node>(INITIAL_VALUE)
+  // Linked so that collected properties are always in the same order for the same graph
+  private val nodes = LinkedHashMap<IrTypeKey, Node>(INITIAL_VALUE)
 
   /** Cache of alias type keys to their resolved non-alias target type keys. */
   private val resolvedAliasTargets = HashMap<IrTypeKey, IrTypeKey>()
@@ -67,7 +58,7 @@ internal class BindingPropertyCollector(private val graph: IrBindingGraph) {
       // marked when something depends on this alias (via resolveAliasTarget below).
       if (binding !is IrBinding.Alias) {
         for (dependency in binding.dependencies) {
-          dependency.mark()
+          dependency.mark(binding)
         }
       }
 
@@ -81,6 +72,14 @@ internal class BindingPropertyCollector(private val graph: IrBindingGraph) {
       }
     }
 
+    // Bindings requested from outside the graph's bindings may be requested any number of times
+    val rootKeys =
+      if (isShortLived) {
+        graph.rootKeys().mapNotNullTo(mutableSetOf(), ::resolveAliasTarget)
+      } else {
+        emptySet()
+      }
+
     // Decide which bindings actually need provider fields
     return buildMap(nodes.size) {
       for ((key, node) in nodes) {
@@ -94,7 +93,7 @@ internal class BindingPropertyCollector(private val graph: IrBindingGraph) {
               else -> reportCompilerBug("No getter or backing field for reserved property")
             }
           }
-            ?: node.propertyType
+            ?: node.propertyType(isRoot = key in rootKeys)
             // If no property from normal logic, but it's inlineable into a multibinding, use GETTER
             ?: if (key in inlineableIntoMultibinding) PropertyType.GETTER else continue
         put(key, CollectedProperty(node.binding, propertyType))
@@ -106,7 +105,7 @@ internal class BindingPropertyCollector(private val graph: IrBindingGraph) {
    * Marks a dependency, resolving through alias chains to mark the final non-alias target. This
    * ensures that if Foo (alias → FooImpl) is referenced N times, FooImpl gets refCount=N.
    */
-  private fun IrContextualTypeKey.mark(): Boolean {
+  private fun IrContextualTypeKey.mark(dependent: IrBinding): Boolean {
     val binding = graph.requireBinding(this)
 
     // For aliases, resolve to the final target and mark that instead.
@@ -116,15 +115,61 @@ internal class BindingPropertyCollector(private val graph: IrBindingGraph) {
       val targetKey = resolveAliasTarget(binding.aliasedType) ?: return false
       val targetBinding = graph.findBinding(targetKey) ?: return false
       val targetNode = nodes.getOrPut(targetKey) { Node(targetBinding) }
-      return targetNode.mark()
+      return targetNode.mark(dependent, this)
     }
 
-    return binding.mark()
+    val node = nodes.getOrPut(binding.typeKey) { Node(binding) }
+    return node.mark(dependent, this)
   }
 
-  private fun IrBinding.mark(): Boolean {
-    val node = nodes.getOrPut(typeKey) { Node(this) }
-    return node.mark()
+  private fun Node.propertyType(isRoot: Boolean): PropertyType? {
+    // Scoped, graph, and members injector bindings always need provider fields
+    if (binding.isScoped()) {
+      // In short-lived graphs, a scoped binding that's only created as part of creating one other
+      // scoped binding is only ever created once per graph. So it doesn't need its own DoubleCheck
+      if (
+        isShortLived &&
+          binding.scope != null &&
+          !isRoot &&
+          refCount == 1 &&
+          isOnlyDirectlyUsedByScopedBindings &&
+          binding.declaredStartupPolicy == null
+      ) {
+        return null
+      }
+      return PropertyType.FIELD
+    }
+
+    when (binding) {
+      is IrBinding.GraphDependency,
+      // Assisted types always need to be a single field to ensure use of the same provider
+      is IrBinding.Assisted -> return PropertyType.FIELD
+      is IrBinding.ConstructorInjected if binding.isAssisted -> return PropertyType.FIELD
+      // Multibindings are always created adhoc, but we create their properties lazily
+      is IrBinding.Multibinding -> return null
+      else -> {
+        // Do nothing
+      }
+    }
+
+    return if (refCount >= 2) {
+      if (!isShortLived) {
+        // If it's unscoped but used more than once, we can generate a reusable field
+        PropertyType.FIELD
+      } else if (binding.hasStatelessFactory) {
+        // Stateless factories are objects that can be referenced directly
+        null
+      } else {
+        // Create it on access rather than in the constructor
+        PropertyType.GETTER
+      }
+    } else if (binding.isIntoMultibinding && !binding.hasSimpleDependencies) {
+      // If it's into a multibinding with dependencies, extract a getter to reduce code
+      // boilerplate
+      PropertyType.GETTER
+    } else {
+      null
+    }
   }
 
   /** Resolves an alias chain to its final non-alias target, caching all intermediate keys. */
@@ -151,6 +196,17 @@ internal class BindingPropertyCollector(private val graph: IrBindingGraph) {
   }
 }
 
+/** Whether this binding's factory is an object, i.e. it has no dependencies to hold on to. */
+private val IrBinding.hasStatelessFactory: Boolean
+  get() {
+    return when (this) {
+      is IrBinding.ObjectClass -> true
+      is IrBinding.ConstructorInjected -> classFactory.factoryClass.isObject
+      is IrBinding.Provided -> providerFactory.factoryClass.isObject
+      else -> false
+    }
+  }
+
 private val IrBinding.hasSimpleDependencies: Boolean
   get() {
     return when (this) {
@@ -16,6 +16,13 @@ internal class BindingPropertyContext {
   // Properties for providers. May include both scoped and unscoped providers as well as bound
   // instances
   private val providerProperties = mutableMapOf<IrTypeKey, IrProperty>()
+  // Provider properties of bindings in breakable cycles that are assigned directly once their
+  // cycle is complete, rather than holding a DelegateFactory. Keys are removed once the code
+  // assigning them has been generated.
+  private val unassignedPatchedProviderKeys = mutableSetOf<IrTypeKey>()
+  // Provider properties whose initializers captured a reader of an unassigned patched property
+  private val readerCapturingKeys = mutableSetOf<IrTypeKey>()
+  private var capturedReader = false
 
   val availableInstanceKeys: Set<IrTypeKey>
     get() = instanceProperties.keys
@@ -33,6 +40,52 @@ internal class BindingPropertyContext {
     providerProperties[key] = property
   }
 
+  fun putPatchedProviderProperty(key: IrTypeKey, property: IrProperty) {
+    providerProperties[key] = property
+    unassignedPatchedProviderKeys += key
+  }
+
+  /**
+   * Returns true if the provider property for [key] is patched once its cycle is complete and the
+   * code assigning it hasn't been generated yet, so code generated now may run before it's
+   * assigned.
+   */
+  fun isUnassignedPatchedProviderProperty(key: IrTypeKey): Boolean =
+    key in unassignedPatchedProviderKeys
+
+  fun markPatchedProviderPropertyAssigned(key: IrTypeKey) {
+    unassignedPatchedProviderKeys -= key
+  }
+
+  /** Records that the code being generated captures a reader of an unassigned patched property. */
+  fun recordCapturedReader() {
+    capturedReader = true
+  }
+
+  /**
+   * Returns true if the provider property of [key] was initialized with a reader of an unassigned
+   * patched property, directly or through another such property.
+   */
+  fun capturesReader(key: IrTypeKey): Boolean = key in readerCapturingKeys
+
+  /**
+   * Runs [block] and returns its result along with whether the code it generated captured a reader
+   * of an unassigned patched property.
+   */
+  fun <T> trackReaderCaptures(block: () -> T): Pair<T, Boolean> {
+    val previous = capturedReader
+    capturedReader = false
+    try {
+      return block() to capturedReader
+    } finally {
+      capturedReader = previous
+    }
+  }
+
+  fun markCapturesReader(key: IrTypeKey) {
+    readerCapturingKeys += key
+  }
+
   fun instanceProperty(key: IrTypeKey): IrProperty? {
     return instanceProperties[key]
   }
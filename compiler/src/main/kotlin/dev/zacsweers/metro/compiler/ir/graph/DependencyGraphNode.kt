@@ -46,6 +46,13 @@ internal data class DependencyGraphNode(
   // Types accessible via this graph (includes inherited)
   // Dagger calls these "provision methods", but that's a bit vague IMO
   val accessors: List<GraphAccessor>,
+  /** Accessors of `GraphWarmUp`, which aren't part of the binding graph. */
+  val warmUpAccessors: List<GraphAccessor> = emptyList(),
+  /**
+   * Accessors of `MetroViewModelFactory` that are generated rather than resolved from the binding
+   * graph. Only populated when `generateViewModelFactories` is enabled.
+   */
+  val viewModelFactoryAccessors: List<GraphAccessor> = emptyList(),
   val bindsCallables: Map<IrTypeKey, BindsCallable>,
   val multibindsCallables: Set<MultibindsCallable>,
   val optionalKeys: Map<IrTypeKey, Set<BindsOptionalOfCallable>>,
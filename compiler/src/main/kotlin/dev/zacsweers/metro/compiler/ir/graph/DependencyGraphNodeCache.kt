@@ -330,6 +330,33 @@ internal class DependencyGraphNodeCache(
       return creator
     }
 
+    /**
+     * Returns true if [typeKey] is bound by a provider, binds callable, or bound instance of this
+     * graph or of a graph it extends.
+     */
+    private fun hasExplicitBinding(
+      typeKey: IrTypeKey,
+      creator: DependencyGraphNode.Creator?,
+    ): Boolean {
+      return typeKey in providerFactories ||
+        typeKey in bindsCallables ||
+        creator.bindsInstance(typeKey) ||
+        extendedGraphNodes.values.any { it.hasExplicitBinding(typeKey) }
+    }
+
+    private fun DependencyGraphNode.hasExplicitBinding(typeKey: IrTypeKey): Boolean {
+      return typeKey in providerFactories ||
+        typeKey in bindsCallables ||
+        creator.bindsInstance(typeKey) ||
+        extendedGraphNodes.values.any { it.hasExplicitBinding(typeKey) }
+    }
+
+    private fun DependencyGraphNode.Creator?.bindsInstance(typeKey: IrTypeKey): Boolean {
+      return this?.parameters?.regularParameters.orEmpty().any {
+        it.isBindsInstance && it.typeKey == typeKey
+      }
+    }
+
     private fun checkGraphSelfCycle(
       graphDeclaration: IrClass,
       graphTypeKey: IrTypeKey,
@@ -996,6 +1023,13 @@ internal class DependencyGraphNodeCache(
         allMergedContainers.joinToString("\n") { it.ir.classId.toString() }
       }
 
+      // Explicit bindings of MetroViewModelFactory take precedence over the generated one
+      val generatesViewModelFactories =
+        options.generateViewModelFactories &&
+          accessors
+            .firstOrNull { it.isViewModelFactory }
+            ?.let { !hasExplicitBinding(it.contextKey.typeKey, creator) } == true
+
       val dependencyGraphNode =
         DependencyGraphNode(
           sourceGraph = graphDeclaration,
@@ -1009,7 +1043,17 @@ internal class DependencyGraphNodeCache(
           multibindsCallables = multibindsCallables,
           optionalKeys = optionalKeys,
           providerFactories = providerFactories,
-          accessors = accessors,
+          accessors =
+            accessors.filterNot {
+              it.isWarmUp || (generatesViewModelFactories && it.isViewModelFactory)
+            },
+          warmUpAccessors = accessors.filter { it.isWarmUp },
+          viewModelFactoryAccessors =
+            if (generatesViewModelFactories) {
+              accessors.filter { it.isViewModelFactory }
+            } else {
+              emptyList()
+            },
           injectors = injectors,
           isExternal = false,
           creator = creator,
@@ -1136,7 +1180,8 @@ internal class DependencyGraphNodeCache(
           scopes = scopes,
           aggregationScopes = aggregationScopes,
           providerFactories = providerFactories,
-          accessors = accessors,
+          // Warm-ups aren't bindings that can be exposed to other graphs
+          accessors = accessors.filterNot { it.isWarmUp },
           bindsCallables = bindsCallables,
           multibindsCallables = multibindsCallables,
           optionalKeys = optionalKeys,
@@ -0,0 +1,167 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir.graph
+
+import dev.zacsweers.metro.compiler.ir.IrMetroContext
+import dev.zacsweers.metro.compiler.ir.implements
+import dev.zacsweers.metro.compiler.ir.rawTypeOrNull
+import dev.zacsweers.metro.compiler.ir.regularParameters
+import dev.zacsweers.metro.compiler.symbols.Symbols
+import org.jetbrains.kotlin.ir.IrElement
+import org.jetbrains.kotlin.ir.declarations.IrClass
+import org.jetbrains.kotlin.ir.declarations.IrField
+import org.jetbrains.kotlin.ir.declarations.IrProperty
+import org.jetbrains.kotlin.ir.declarations.IrSimpleFunction
+import org.jetbrains.kotlin.ir.expressions.IrCall
+import org.jetbrains.kotlin.ir.expressions.IrConstructorCall
+import org.jetbrains.kotlin.ir.expressions.IrFunctionExpression
+import org.jetbrains.kotlin.ir.util.isObject
+import org.jetbrains.kotlin.ir.util.kotlinFqName
+import org.jetbrains.kotlin.ir.util.primaryConstructor
+import org.jetbrains.kotlin.ir.visitors.IrVisitorVoid
+import org.jetbrains.kotlin.ir.visitors.acceptChildrenVoid
+
+/**
+ * A static estimate of what it costs to create an instance of a generated graph, i.e. what its
+ * constructor, field initializers, and init functions allocate.
+ *
+ * Byte estimates are shallow sizes on a 64-bit JVM with compressed oops (12-byte object headers,
+ * 4-byte references, 8-byte alignment) and only cover the objects that the graph itself allocates,
+ * not the instances those providers eventually create.
+ */
+internal class GraphConstructionCost(
+  val graphName: String,
+  val fields: Int,
+  val doubleChecks: Int,
+  val factoryInstances: Int,
+  val staticFactories: Int,
+  val instanceFactories: Int,
+  val delegateFactories: Int,
+  val providerLambdas: Int,
+  val initFunctions: Int,
+  val estimatedShallowBytes: Long,
+) {
+  fun render(): String = buildString {
+    appendLine("graph: $graphName")
+    appendLine("fields: $fields")
+    appendLine("doubleChecks: $doubleChecks")
+    appendLine("factoryInstances: $factoryInstances")
+    appendLine("staticFactories: $staticFactories")
+    appendLine("instanceFactories: $instanceFactories")
+    appendLine("delegateFactories: $delegateFactories")
+    appendLine("providerLambdas: $providerLambdas")
+    appendLine("initFunctions: $initFunctions")
+    appendLine("estimatedShallowBytes: $estimatedShallowBytes")
+  }
+
+  companion object {
+    private const val OBJECT_HEADER_BYTES = 12L
+    private const val REFERENCE_BYTES = 4L
+
+    // DoubleCheck holds its provider and a volatile instance
+    private val DOUBLE_CHECK_BYTES = shallowSize(references = 2)
+    // InstanceFactory and DelegateFactory each hold a single reference
+    private val SINGLE_REFERENCE_BYTES = shallowSize(references = 1)
+
+    private fun shallowSize(references: Int): Long {
+      val size = OBJECT_HEADER_BYTES + REFERENCE_BYTES * references
+      return (size + 7) and 7L.inv()
+    }
+
+    /**
+     * Computes the [GraphConstructionCost] of [graphClass] after its constructor and
+     * [initFunctions] have been generated. Lambda bodies aren't visited, as they run later on
+     * access, but each lambda counts as one allocation.
+     */
+    context(context: IrMetroContext)
+    fun compute(graphClass: IrClass, initFunctions: List<IrSimpleFunction>): GraphConstructionCost {
+      var fields = 0
+      var doubleChecks = 0
+      var factoryInstances = 0
+      var staticFactories = 0
+      var instanceFactories = 0
+      var delegateFactories = 0
+      var providerLambdas = 0
+      var allocatedBytes = 0L
+
+      val counter =
+        object : IrVisitorVoid() {
+          override fun visitElement(element: IrElement) {
+            element.acceptChildrenVoid(this)
+          }
+
+          override fun visitFunctionExpression(expression: IrFunctionExpression) {
+            // Lambda bodies run later on access, so don't visit them
+            providerLambdas++
+            allocatedBytes += SINGLE_REFERENCE_BYTES
+          }
+
+          override fun visitConstructorCall(expression: IrConstructorCall) {
+            if (expression.symbol == context.metroSymbols.metroDelegateFactoryConstructor) {
+              delegateFactories++
+              allocatedBytes += SINGLE_REFERENCE_BYTES
+            }
+            super.visitConstructorCall(expression)
+          }
+
+          override fun visitCall(expression: IrCall) {
+            when (expression.symbol) {
+              context.metroSymbols.doubleCheckProvider -> {
+                doubleChecks++
+                allocatedBytes += DOUBLE_CHECK_BYTES
+              }
+              context.metroSymbols.instanceFactoryInvoke -> {
+                instanceFactories++
+                allocatedBytes += SINGLE_REFERENCE_BYTES
+              }
+              else -> {
+                val factoryClass =
+                  expression.type.rawTypeOrNull()?.takeIf {
+                    expression.symbol.owner.name == Symbols.Names.create &&
+                      it.implements(Symbols.ClassIds.metroFactory)
+                  }
+                if (factoryClass != null) {
+                  if (factoryClass.isObject) {
+                    staticFactories++
+                  } else {
+                    factoryInstances++
+                    val references = factoryClass.primaryConstructor?.regularParameters?.size ?: 0
+                    allocatedBytes += shallowSize(references)
+                  }
+                }
+              }
+            }
+            super.visitCall(expression)
+          }
+        }
+
+      graphClass.primaryConstructor?.body?.acceptChildrenVoid(counter)
+      for (declaration in graphClass.declarations) {
+        val field =
+          when (declaration) {
+            is IrProperty -> declaration.backingField
+            is IrField -> declaration
+            else -> null
+          } ?: continue
+        fields++
+        field.initializer?.acceptChildrenVoid(counter)
+      }
+      for (initFunction in initFunctions) {
+        initFunction.body?.acceptChildrenVoid(counter)
+      }
+
+      return GraphConstructionCost(
+        graphName = graphClass.kotlinFqName.asString(),
+        fields = fields,
+        doubleChecks = doubleChecks,
+        factoryInstances = factoryInstances,
+        staticFactories = staticFactories,
+        instanceFactories = instanceFactories,
+        delegateFactories = delegateFactories,
+        providerLambdas = providerLambdas,
+        initFunctions = initFunctions.size,
+        estimatedShallowBytes = shallowSize(fields) + allocatedBytes,
+      )
+    }
+  }
+}
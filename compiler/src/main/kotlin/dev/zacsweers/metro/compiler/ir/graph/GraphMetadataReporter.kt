@@ -54,6 +54,7 @@ internal class GraphMetadataReporter(
             put("bindingKind", JsonPrimitive(bindingKind))
             binding.scope?.let { put("scope", JsonPrimitive(it.render(short = false))) }
             put("isScoped", JsonPrimitive(binding.isScoped()))
+            binding.declaredStartupPolicy?.let { put("startupPolicy", JsonPrimitive(it.name)) }
             put("nameHint", JsonPrimitive(binding.nameHint))
             // For the graph's own binding (BoundInstance), dependencies are empty -
             // accessors are tracked separately in the "roots" object
@@ -2,8 +2,10 @@
 // SPDX-License-Identifier: Apache-2.0
 package dev.zacsweers.metro.compiler.ir.graph
 
+import dev.zacsweers.metro.compiler.graph.WrappedType
 import dev.zacsweers.metro.compiler.ir.IrContextualTypeKey
 import dev.zacsweers.metro.compiler.ir.MetroSimpleFunction
+import dev.zacsweers.metro.compiler.symbols.Symbols
 
 internal sealed interface GraphRoot {
   val contextKey: IrContextualTypeKey
@@ -14,7 +16,27 @@ internal data class GraphAccessor(
   override val contextKey: IrContextualTypeKey,
   override val metroFunction: MetroSimpleFunction,
   val isAnnotatedOptionalBinding: Boolean,
-) : GraphRoot
+) : GraphRoot {
+  /**
+   * Whether this returns an unqualified `GraphWarmUp`, which is generated from the graph's scoped
+   * bindings rather than resolved from the binding graph.
+   */
+  val isWarmUp: Boolean
+    get() =
+      contextKey.wrappedType is WrappedType.Canonical &&
+        contextKey.typeKey.qualifier == null &&
+        contextKey.typeKey.classId == Symbols.ClassIds.GraphWarmUp
+
+  /**
+   * Whether this returns an unqualified `MetroViewModelFactory`, which is generated from the
+   * graph's ViewModel multibindings when `generateViewModelFactories` is enabled.
+   */
+  val isViewModelFactory: Boolean
+    get() =
+      contextKey.wrappedType is WrappedType.Canonical &&
+        contextKey.typeKey.qualifier == null &&
+        contextKey.typeKey.classId == Symbols.ClassIds.MetroViewModelFactory
+}
 
 internal data class InjectorFunction(
   override val contextKey: IrContextualTypeKey,
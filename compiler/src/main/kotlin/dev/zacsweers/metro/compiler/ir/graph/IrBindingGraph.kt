@@ -48,6 +48,7 @@ import org.jetbrains.kotlin.ir.util.fqNameWhenAvailable
 import org.jetbrains.kotlin.ir.util.isSubtypeOf
 import org.jetbrains.kotlin.ir.util.kotlinFqName
 import org.jetbrains.kotlin.ir.util.nestedClasses
+import org.jetbrains.kotlin.name.ClassId
 
 internal class IrBindingGraph(
   metroContext: IrMetroContext,
@@ -108,12 +109,31 @@ internal class IrBindingGraph(
     extraKeeps[key] = entry
   }
 
+  /**
+   * Keys requested from outside of the graph's bindings, i.e. by accessors, injectors, or keeps.
+   */
+  fun rootKeys(): Set<IrTypeKey> = buildSet {
+    accessors.keys.mapTo(this) { it.typeKey }
+    injectors.keys.mapTo(this) { it.typeKey }
+    extraKeeps.keys.mapTo(this) { it.typeKey }
+  }
+
   fun reserveProperty(key: IrTypeKey, access: ParentContext.PropertyAccess) {
     reservedProperties[key] = access
   }
 
   fun reservedProperty(key: IrTypeKey): ParentContext.PropertyAccess? = reservedProperties[key]
 
+  /** The keys of all `Set` multibindings in this graph, whether or not they're used. */
+  fun setMultibindingKeys(): Set<IrTypeKey> = bindingLookup.setMultibindingKeys()
+
+  /**
+   * The contributions to unqualified `Map<KClass<*>, V>` multibindings whose value class is
+   * [valueClassId], whether or not the multibindings are used.
+   */
+  fun classKeyedMapMultibindingSources(valueClassId: ClassId): Set<IrTypeKey> =
+    bindingLookup.classKeyedMapMultibindingSources(valueClassId)
+
   fun findBinding(key: IrTypeKey): IrBinding? = realGraph[key]
 
   // For bindings we expect to already be cached
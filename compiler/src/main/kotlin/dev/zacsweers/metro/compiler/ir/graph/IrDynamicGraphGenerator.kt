@@ -18,6 +18,7 @@ import dev.zacsweers.metro.compiler.ir.transformers.TransformerContextAccess
 import dev.zacsweers.metro.compiler.mapToSet
 import dev.zacsweers.metro.compiler.md5base64
 import dev.zacsweers.metro.compiler.reportCompilerBug
+import kotlin.time.TimeSource
 import org.jetbrains.kotlin.ir.declarations.IrClass
 import org.jetbrains.kotlin.ir.declarations.IrDeclarationContainer
 import org.jetbrains.kotlin.ir.declarations.IrSimpleFunction
@@ -146,7 +147,25 @@ internal class IrDynamicGraphGenerator(
     }
 
     // Process the new graph
-    dependencyGraphTransformer.processDependencyGraph(graphImpl, newGraphAnno, graphImpl, null)
+    val mark = TimeSource.Monotonic.markNow()
+    val result =
+      dependencyGraphTransformer.processDependencyGraph(
+        graphImpl,
+        newGraphAnno,
+        graphImpl,
+        parentContext = null,
+      )
+    val duration = mark.elapsedNow()
+
+    if (result != null && !result.hasErrors) {
+      logDynamicGraph(
+        graph = graphName.asString(),
+        target = targetClass.kotlinFqName.asString(),
+        containers = containerClassIds.map { it.asFqNameString() }.sorted(),
+        bindings = result.reachableKeys.size,
+        durationMs = duration.inWholeMilliseconds,
+      )
+    }
 
     return graphImpl
   }
@@ -3,11 +3,14 @@
 package dev.zacsweers.metro.compiler.ir.graph
 
 import dev.zacsweers.metro.compiler.METRO_VERSION
+import dev.zacsweers.metro.compiler.MetroOptions
 import dev.zacsweers.metro.compiler.NameAllocator
 import dev.zacsweers.metro.compiler.Origins
 import dev.zacsweers.metro.compiler.asName
 import dev.zacsweers.metro.compiler.decapitalizeUS
 import dev.zacsweers.metro.compiler.expectAs
+import dev.zacsweers.metro.compiler.fir.MetroDiagnostics
+import dev.zacsweers.metro.compiler.ir.GeneratedClassSize
 import dev.zacsweers.metro.compiler.ir.IrContextualTypeKey
 import dev.zacsweers.metro.compiler.ir.IrMetroContext
 import dev.zacsweers.metro.compiler.ir.IrTypeKey
@@ -16,18 +19,23 @@ import dev.zacsweers.metro.compiler.ir.buildBlockBody
 import dev.zacsweers.metro.compiler.ir.createIrBuilder
 import dev.zacsweers.metro.compiler.ir.doubleCheck
 import dev.zacsweers.metro.compiler.ir.finalizeFakeOverride
+import dev.zacsweers.metro.compiler.ir.generateDefaultConstructorBody
 import dev.zacsweers.metro.compiler.ir.graph.expressions.BindingExpressionGenerator
 import dev.zacsweers.metro.compiler.ir.graph.expressions.GraphExpressionGenerator
+import dev.zacsweers.metro.compiler.ir.graph.expressions.generateMapKeyLiteral
 import dev.zacsweers.metro.compiler.ir.instanceFactory
 import dev.zacsweers.metro.compiler.ir.irExprBodySafe
 import dev.zacsweers.metro.compiler.ir.irGetProperty
 import dev.zacsweers.metro.compiler.ir.irInvoke
+import dev.zacsweers.metro.compiler.ir.irLambda
 import dev.zacsweers.metro.compiler.ir.metroGraphOrFail
 import dev.zacsweers.metro.compiler.ir.metroMetadata
 import dev.zacsweers.metro.compiler.ir.parameters.remapTypes
 import dev.zacsweers.metro.compiler.ir.parameters.wrapInProvider
 import dev.zacsweers.metro.compiler.ir.rawType
 import dev.zacsweers.metro.compiler.ir.regularParameters
+import dev.zacsweers.metro.compiler.ir.reportCompat
+import dev.zacsweers.metro.compiler.ir.requireSimpleFunction
 import dev.zacsweers.metro.compiler.ir.requireSimpleType
 import dev.zacsweers.metro.compiler.ir.setDispatchReceiver
 import dev.zacsweers.metro.compiler.ir.sourceGraphIfMetroGraph
@@ -45,38 +53,59 @@ import dev.zacsweers.metro.compiler.ir.wrapInProvider
 import dev.zacsweers.metro.compiler.ir.writeDiagnostic
 import dev.zacsweers.metro.compiler.isSyntheticGeneratedGraph
 import dev.zacsweers.metro.compiler.letIf
+import dev.zacsweers.metro.compiler.memoize
 import dev.zacsweers.metro.compiler.proto.MetroMetadata
 import dev.zacsweers.metro.compiler.reportCompilerBug
 import dev.zacsweers.metro.compiler.suffixIfNot
+import dev.zacsweers.metro.compiler.symbols.Symbols
 import dev.zacsweers.metro.compiler.tracing.Tracer
 import dev.zacsweers.metro.compiler.tracing.traceNested
+import org.jetbrains.kotlin.descriptors.ClassKind
 import org.jetbrains.kotlin.descriptors.DescriptorVisibilities
 import org.jetbrains.kotlin.descriptors.DescriptorVisibility
 import org.jetbrains.kotlin.ir.IrStatement
 import org.jetbrains.kotlin.ir.builders.IrBuilderWithScope
+import org.jetbrains.kotlin.ir.builders.declarations.addConstructor
 import org.jetbrains.kotlin.ir.builders.declarations.addFunction
 import org.jetbrains.kotlin.ir.builders.declarations.addGetter
 import org.jetbrains.kotlin.ir.builders.declarations.addProperty
+import org.jetbrains.kotlin.ir.builders.declarations.buildClass
 import org.jetbrains.kotlin.ir.builders.declarations.buildProperty
 import org.jetbrains.kotlin.ir.builders.irBlockBody
+import org.jetbrains.kotlin.ir.builders.irBranch
+import org.jetbrains.kotlin.ir.builders.irCall
 import org.jetbrains.kotlin.ir.builders.irCallConstructor
+import org.jetbrains.kotlin.ir.builders.irComposite
+import org.jetbrains.kotlin.ir.builders.irElseBranch
+import org.jetbrains.kotlin.ir.builders.irEquals
 import org.jetbrains.kotlin.ir.builders.irExprBody
 import org.jetbrains.kotlin.ir.builders.irGet
 import org.jetbrains.kotlin.ir.builders.irGetObject
+import org.jetbrains.kotlin.ir.builders.irInt
+import org.jetbrains.kotlin.ir.builders.irNull
+import org.jetbrains.kotlin.ir.builders.irReturn
 import org.jetbrains.kotlin.ir.builders.irSetField
+import org.jetbrains.kotlin.ir.builders.irString
+import org.jetbrains.kotlin.ir.builders.irVararg
+import org.jetbrains.kotlin.ir.builders.irWhen
+import org.jetbrains.kotlin.ir.builders.parent
 import org.jetbrains.kotlin.ir.declarations.IrClass
+import org.jetbrains.kotlin.ir.declarations.IrConstructor
 import org.jetbrains.kotlin.ir.declarations.IrOverridableDeclaration
 import org.jetbrains.kotlin.ir.declarations.IrProperty
+import org.jetbrains.kotlin.ir.declarations.IrSimpleFunction
 import org.jetbrains.kotlin.ir.declarations.IrValueParameter
 import org.jetbrains.kotlin.ir.expressions.IrBody
 import org.jetbrains.kotlin.ir.expressions.IrExpression
 import org.jetbrains.kotlin.ir.types.IrType
+import org.jetbrains.kotlin.ir.types.defaultType
 import org.jetbrains.kotlin.ir.types.typeOrFail
 import org.jetbrains.kotlin.ir.types.typeWith
 import org.jetbrains.kotlin.ir.util.addChild
 import org.jetbrains.kotlin.ir.util.classIdOrFail
 import org.jetbrains.kotlin.ir.util.constructors
 import org.jetbrains.kotlin.ir.util.copyTo
+import org.jetbrains.kotlin.ir.util.createThisReceiverParameter
 import org.jetbrains.kotlin.ir.util.functions
 import org.jetbrains.kotlin.ir.util.kotlinFqName
 import org.jetbrains.kotlin.ir.util.primaryConstructor
@@ -139,6 +168,9 @@ internal class IrGraphGenerator(
   private val propertyInitializers = mutableListOf<Pair<IrProperty, PropertyInitializer>>()
   // TODO replace with irAttribute
   private val propertiesToTypeKeys = mutableMapOf<IrProperty, IrTypeKey>()
+  // Unscoped provider properties whose initializers captured a reader of an unassigned patched
+  // cyclic provider property
+  private val readerCapturingProperties = mutableSetOf<IrProperty>()
   private val expressionGeneratorFactory =
     GraphExpressionGenerator.Factory(
       context = this,
@@ -154,6 +186,11 @@ internal class IrGraphGenerator(
     )
 
   private val graphMetadataReporter = GraphMetadataReporter(this)
+  /** Init functions generated for chunked field initializations. */
+  private val initFunctions = mutableListOf<IrSimpleFunction>()
+  private val startupPlan by memoize {
+    StartupPlan.compute(bindingGraph, sealResult, reportTag = parentTracer.tag)
+  }
 
   fun IrProperty.withInit(typeKey: IrTypeKey, init: PropertyInitializer): IrProperty = apply {
     // Only necessary for fields
@@ -402,7 +439,14 @@ internal class IrGraphGenerator(
       // Collect bindings and their dependencies for provider property ordering
       val initOrder =
         parentTracer.traceNested("Collect bindings") {
-          val collectedProperties = BindingPropertyCollector(bindingGraph).collect()
+          val collectedProperties =
+            BindingPropertyCollector(
+                bindingGraph,
+                isShortLived =
+                  options.shortLivedGraphExtensions &&
+                    graphClass.origin == Origins.GeneratedGraphExtension,
+              )
+              .collect()
           buildList(collectedProperties.size) {
             for (key in sealResult.sortedKeys) {
               if (key in sealResult.reachableKeys) {
@@ -414,37 +458,45 @@ internal class IrGraphGenerator(
 
       // For all deferred types, assign them first as factories
       // DelegateFactory properties can be initialized inline since they're just empty factories.
+      // If patching cyclic provider fields, these are instead assigned at their position in the
+      // sorted order, and only properties initialized before then read them lazily.
       @Suppress("UNCHECKED_CAST")
       val deferredProperties: Map<IrTypeKey, IrProperty> =
         sealResult.deferredTypes.associateWith { deferredTypeKey ->
           val binding = bindingGraph.requireBinding(deferredTypeKey)
           val property =
             getOrCreateBindingProperty(
-                binding.typeKey,
-                { binding.nameHint.decapitalizeUS() + "Provider" },
-                { deferredTypeKey.type.wrapInProvider(metroSymbols.metroProvider) },
-                PropertyType.FIELD,
-              )
-              .withInit(binding.typeKey) { _, _ ->
-                irInvoke(
-                  callee = metroSymbols.metroDelegateFactoryConstructor,
-                  typeArgs = listOf(deferredTypeKey.type),
-                )
-              }
+              binding.typeKey,
+              { binding.nameHint.decapitalizeUS() + "Provider" },
+              { deferredTypeKey.type.wrapInProvider(metroSymbols.metroProvider) },
+              PropertyType.FIELD,
+            )
 
-          bindingPropertyContext.putProviderProperty(deferredTypeKey, property)
+          if (options.patchCyclicProviderFields) {
+            bindingPropertyContext.putPatchedProviderProperty(deferredTypeKey, property)
+          } else {
+            property.withInit(binding.typeKey) { _, _ ->
+              irInvoke(
+                callee = metroSymbols.metroDelegateFactoryConstructor,
+                typeArgs = listOf(deferredTypeKey.type),
+              )
+            }
+            bindingPropertyContext.putProviderProperty(deferredTypeKey, property)
+          }
           property
         }
 
       initOrder
         .asSequence()
         .filterNot { (binding, _) ->
-          // Don't generate deferred types here, we'll generate them last
-          binding.typeKey in deferredProperties ||
+          val isDeferred = binding.typeKey in deferredProperties
+          // Don't generate deferred types here, we'll generate them last. Patched ones are
+          // assigned in their sorted position instead.
+          (isDeferred && !options.patchCyclicProviderFields) ||
             // Don't generate properties for anything already provided in provider/instance
             // properties (i.e.
             // bound instance types)
-            binding.typeKey in bindingPropertyContext ||
+            (binding.typeKey in bindingPropertyContext && !isDeferred) ||
             // We don't generate properties for these even though we do track them in dependencies
             // above, it's just for propagating their aliased type in sorting
             binding is IrBinding.Alias ||
@@ -466,6 +518,13 @@ internal class IrGraphGenerator(
         }
         .forEach { (binding, propertyType) ->
           val key = binding.typeKey
+          deferredProperties[key]?.let { patchedProperty ->
+            patchedProperty.withInit(key) { thisReceiver, typeKey ->
+              generatePatchedProvider(binding, thisReceiver, typeKey)
+            }
+            return@forEach
+          }
+
           // Since assisted-inject classes don't implement Factory, we can't just type these
           // as Provider<*> properties
           var isProviderType = true
@@ -501,20 +560,33 @@ internal class IrGraphGenerator(
               propertyType,
             )
 
+          val isDoubleChecked =
+            (binding.isScoped() || binding.isMemoizableMultibinding()) && isProviderType
           property.withInit(key) { thisReceiver, typeKey ->
-            expressionGeneratorFactory
-              .create(thisReceiver)
-              .generateBindingCode(
-                binding,
-                contextualTypeKey = binding.contextualTypeKey.wrapInProvider(),
-                accessType = accessType,
-                fieldInitKey = typeKey,
-              )
-              .letIf(binding.isScoped() && isProviderType) {
-                // If it's scoped, wrap it in double-check
-                // DoubleCheck.provider(<provider>)
-                it.doubleCheck(this@withInit, metroSymbols, binding.typeKey)
+            val (initializer, capturedReader) =
+              bindingPropertyContext.trackReaderCaptures {
+                expressionGeneratorFactory
+                  .create(thisReceiver)
+                  .generateBindingCode(
+                    binding,
+                    contextualTypeKey = binding.contextualTypeKey.wrapInProvider(),
+                    accessType = accessType,
+                    fieldInitKey = typeKey,
+                  )
+                  .letIf(isDoubleChecked) {
+                    // If it's scoped, wrap it in double-check
+                    // DoubleCheck.provider(<provider>)
+                    it.doubleCheck(this@withInit, metroSymbols, binding.typeKey)
+                  }
               }
+            // A DoubleCheck drops its provider (and any reader in it) once it's been invoked
+            if (
+              capturedReader && isProviderType && !isDoubleChecked && property.backingField != null
+            ) {
+              bindingPropertyContext.markCapturesReader(typeKey)
+              readerCapturingProperties += property
+            }
+            initializer
           }
 
           if (isProviderType) {
@@ -524,36 +596,64 @@ internal class IrGraphGenerator(
           }
         }
 
+      if (options.patchCyclicProviderFields) {
+        // Assign any patched properties that weren't in the sorted order last
+        for ((deferredTypeKey, property) in deferredProperties) {
+          if (property in propertiesToTypeKeys) continue
+          val binding = bindingGraph.requireBinding(deferredTypeKey)
+          property.withInit(deferredTypeKey) { thisReceiver, typeKey ->
+            generatePatchedProvider(binding, thisReceiver, typeKey)
+          }
+        }
+      }
+
       fun addDeferredSetDelegateCalls(collector: MutableList<InitStatement>) {
+        if (options.patchCyclicProviderFields) {
+          // Once every patched property is assigned, reassign the unscoped properties that captured
+          // a reader of one so that later calls through them read the patched properties directly
+          collector.add { thisReceiver ->
+            val initializers = propertyInitializers.toMap()
+            irComposite {
+              for (property in readerCapturingProperties.toList()) {
+                val typeKey = propertiesToTypeKeys.getValue(property)
+                val init = initializers.getValue(property)
+                +irSetField(
+                  irGet(thisReceiver),
+                  property.backingField!!,
+                  init(thisReceiver, typeKey),
+                )
+              }
+            }
+          }
+          return
+        }
         // Add statements to our constructor's deferred properties _after_ we've added all provider
         // properties for everything else. This is important in case they reference each other
         for ((deferredTypeKey, field) in deferredProperties) {
           val binding = bindingGraph.requireBinding(deferredTypeKey)
           collector.add { thisReceiver ->
+            val delegate =
+              createIrBuilder(symbol).run {
+                expressionGeneratorFactory
+                  .create(thisReceiver)
+                  .generateBindingCode(
+                    binding,
+                    contextualTypeKey = binding.contextualTypeKey.wrapInProvider(),
+                    accessType = BindingExpressionGenerator.AccessType.PROVIDER,
+                    fieldInitKey = deferredTypeKey,
+                  )
+                  .letIf(binding.isScoped()) {
+                    // If it's scoped, wrap it in double-check
+                    // DoubleCheck.provider(<provider>)
+                    it.doubleCheck(this@run, metroSymbols, binding.typeKey)
+                  }
+              }
             irInvoke(
               dispatchReceiver = irGetObject(metroSymbols.metroDelegateFactoryCompanion),
               callee = metroSymbols.metroDelegateFactorySetDelegate,
               typeArgs = listOf(deferredTypeKey.type),
               // TODO de-dupe?
-              args =
-                listOf(
-                  irGetProperty(irGet(thisReceiver), field),
-                  createIrBuilder(symbol).run {
-                    expressionGeneratorFactory
-                      .create(thisReceiver)
-                      .generateBindingCode(
-                        binding,
-                        contextualTypeKey = binding.contextualTypeKey.wrapInProvider(),
-                        accessType = BindingExpressionGenerator.AccessType.PROVIDER,
-                        fieldInitKey = deferredTypeKey,
-                      )
-                      .letIf(binding.isScoped()) {
-                        // If it's scoped, wrap it in double-check
-                        // DoubleCheck.provider(<provider>)
-                        it.doubleCheck(this@run, metroSymbols, binding.typeKey)
-                      }
-                  },
-                ),
+              args = listOf(irGetProperty(irGet(thisReceiver), field), delegate),
             )
           }
         }
@@ -563,29 +663,25 @@ internal class IrGraphGenerator(
       val mustChunkInits =
         options.chunkFieldInits && propertyInitializers.size > options.statementsPerInitFun
 
+      fun buildInitStatements(): List<InitStatement> = buildList {
+        // Add property initializers and interleave setDelegate calls as dependencies are
+        // ready
+        for ((property, init) in propertyInitializers) {
+          val typeKey = propertiesToTypeKeys.getValue(property)
+
+          // Add this property's initialization
+          add { thisReceiver ->
+            irSetField(irGet(thisReceiver), property.backingField!!, init(thisReceiver, typeKey))
+          }
+        }
+
+        addDeferredSetDelegateCalls(this)
+      }
+
       if (mustChunkInits) {
         // Larger graph, split statements
         // Chunk our constructor statements and split across multiple init functions
-        val chunks =
-          buildList<InitStatement> {
-              // Add property initializers and interleave setDelegate calls as dependencies are
-              // ready
-              for ((property, init) in propertyInitializers) {
-                val typeKey = propertiesToTypeKeys.getValue(property)
-
-                // Add this property's initialization
-                add { thisReceiver ->
-                  irSetField(
-                    irGet(thisReceiver),
-                    property.backingField!!,
-                    init(thisReceiver, typeKey),
-                  )
-                }
-              }
-
-              addDeferredSetDelegateCalls(this)
-            }
-            .chunked(options.statementsPerInitFun)
+        val chunks = buildInitStatements().chunked(options.statementsPerInitFun)
 
         val initFunctionsToCall =
           chunks.map { statementsChunk ->
@@ -601,6 +697,7 @@ internal class IrGraphGenerator(
                 }
               }
           }
+        initFunctions += initFunctionsToCall
         constructorStatements += buildList {
           for (initFunction in initFunctionsToCall) {
             add { dispatchReceiver ->
@@ -608,6 +705,10 @@ internal class IrGraphGenerator(
             }
           }
         }
+      } else if (options.patchCyclicProviderFields && deferredProperties.isNotEmpty()) {
+        // Small graph with patched properties. Field initializers run in declaration order rather
+        // than the sorted order, so assign them in the constructor instead
+        constructorStatements += buildInitStatements()
       } else {
         // Small graph, just do it in the constructor
         // Assign those initializers directly to their properties and mark them as final
@@ -620,6 +721,19 @@ internal class IrGraphGenerator(
         addDeferredSetDelegateCalls(constructorStatements)
       }
 
+      // Initialize eager bindings last, once all the properties they may use are initialized
+      for (binding in startupPlan.eagerBindings) {
+        constructorStatements += { thisReceiver ->
+          expressionGeneratorFactory
+            .create(thisReceiver)
+            .generateBindingCode(
+              binding,
+              contextualTypeKey = IrContextualTypeKey.create(binding.typeKey),
+              accessType = BindingExpressionGenerator.AccessType.INSTANCE,
+            )
+        }
+      }
+
       // Add extra constructor statements
       with(ctor) {
         val originalBody = checkNotNull(body)
@@ -640,6 +754,10 @@ internal class IrGraphGenerator(
           .forEach { property -> addChild(property) }
       }
 
+      writeDiagnostic("construction-cost-${parentTracer.tag}.txt") {
+        GraphConstructionCost.compute(graphClass, initFunctions).render()
+      }
+
       if (!graphClass.origin.isSyntheticGeneratedGraph) {
         parentTracer.traceNested("Generate Metro metadata") {
           // Finally, generate metadata
@@ -659,7 +777,50 @@ internal class IrGraphGenerator(
           dependencyGraphNodesByClass(node.sourceGraph.classIdOrFail)?.let { it.proto = graphProto }
         }
       }
+
+      checkGeneratedSize()
+    }
+
+  /**
+   * Records the [GeneratedClassSize] of this graph and reports it if it exceeds the configured
+   * method or field budgets. Nested graph extensions are generated and checked separately.
+   */
+  private fun checkGeneratedSize() {
+    val methodBudget = options.graphMethodBudget
+    val fieldBudget = options.graphFieldBudget
+    val checkBudgets =
+      options.graphSizeBudgetSeverity.isEnabled && (methodBudget > 0 || fieldBudget > 0)
+    if (generatedSizesFile == null && !checkBudgets) return
+
+    val kind =
+      if (graphClass.origin == Origins.GeneratedGraphExtension) "graphExtension" else "graph"
+    val size = GeneratedClassSize.compute(kind, graphClass) { !it.origin.isSyntheticGeneratedGraph }
+    logGeneratedSize { size }
+
+    if (!checkBudgets) return
+    val exceeded = buildList {
+      if (methodBudget > 0 && size.methods > methodBudget) {
+        add("${size.methods} methods (budget is $methodBudget)")
+      }
+      if (fieldBudget > 0 && size.fields > fieldBudget) {
+        add("${size.fields} fields (budget is $fieldBudget)")
+      }
     }
+    if (exceeded.isEmpty()) return
+
+    val diagnostic =
+      if (options.graphSizeBudgetSeverity == MetroOptions.DiagnosticSeverity.ERROR) {
+        MetroDiagnostics.METRO_ERROR
+      } else {
+        MetroDiagnostics.METRO_WARNING
+      }
+    reportCompat(
+      sequenceOf(node.sourceGraph.sourceGraphIfMetroGraph, node.sourceGraph, graphClass),
+      diagnostic,
+      "Generated graph '${size.className}' has ${exceeded.joinToString(" and ")}. Consider " +
+        "moving bindings into graph extensions or reducing the bindings that need fields.",
+    )
+  }
 
   // TODO add asProvider support?
   private fun IrClass.addSimpleInstanceProperty(
@@ -714,6 +875,53 @@ internal class IrGraphGenerator(
       }
     }
 
+    // Implement warm-ups of the graph's scoped bindings
+    if (warmUpAccessors.isNotEmpty()) {
+      val warmUpBindings = collectWarmUpBindings()
+      for (accessor in warmUpAccessors) {
+        val irFunction = accessor.metroFunction.ir
+        irFunction.apply {
+          val declarationToFinalize = propertyIfAccessor.expectAs<IrOverridableDeclaration<*>>()
+          if (declarationToFinalize.isFakeOverride) {
+            declarationToFinalize.finalizeFakeOverride(graphClass.thisReceiverOrFail)
+          }
+          body =
+            createIrBuilder(symbol).run {
+              irExprBodySafe(generateWarmUp(warmUpBindings, irFunction.dispatchReceiverParameter!!))
+            }
+        }
+      }
+    }
+
+    // Implement MetroViewModelFactory accessors with a single instance of a generated subclass
+    if (viewModelFactoryAccessors.isNotEmpty()) {
+      val factoryImplConstructor = generateViewModelFactoryImpl()
+      val factoryProperty =
+        graphClass.addSimpleInstanceProperty(
+          propertyNameAllocator.newName("metroViewModelFactory"),
+          viewModelFactoryAccessors.first().contextKey.typeKey,
+        ) {
+          irCallConstructor(factoryImplConstructor.symbol, emptyList()).apply {
+            arguments[0] = irGet(graphClass.thisReceiverOrFail)
+          }
+        }
+      for (accessor in viewModelFactoryAccessors) {
+        val irFunction = accessor.metroFunction.ir
+        irFunction.apply {
+          val declarationToFinalize = propertyIfAccessor.expectAs<IrOverridableDeclaration<*>>()
+          if (declarationToFinalize.isFakeOverride) {
+            declarationToFinalize.finalizeFakeOverride(graphClass.thisReceiverOrFail)
+          }
+          body =
+            createIrBuilder(symbol).run {
+              irExprBodySafe(
+                irGetProperty(irGet(irFunction.dispatchReceiverParameter!!), factoryProperty)
+              )
+            }
+        }
+      }
+    }
+
     // Implement abstract injectors
     for ((contextKey, overriddenFunction) in injectors) {
       val typeKey = contextKey.typeKey
@@ -846,4 +1054,240 @@ internal class IrGraphGenerator(
       }
     }
   }
+
+  /**
+   * Generates an inner `MetroViewModelFactoryImpl` class whose `createViewModel` override
+   * dispatches on the requested class to the graph's ViewModel contributions directly, and returns
+   * its constructor.
+   */
+  private fun generateViewModelFactoryImpl(): IrConstructor {
+    /*
+      private inner class MetroViewModelFactoryImpl : MetroViewModelFactory() {
+        override fun createViewModel(modelClass: KClass<out ViewModel>, extras: CreationExtras): ViewModel? {
+          return when {
+            modelClass == HomeViewModel::class -> HomeViewModel(...)
+            modelClass == DetailsViewModel::class -> detailsViewModelFactory.create(extras)
+            else -> null
+          }
+        }
+      }
+    */
+    val factoryClass = pluginContext.referenceClass(Symbols.ClassIds.MetroViewModelFactory)!!
+    val assistedFactoryCreate =
+      pluginContext
+        .referenceClass(Symbols.ClassIds.ViewModelAssistedFactory)!!
+        .requireSimpleFunction(Symbols.StringNames.CREATE)
+
+    val factoryImpl =
+      irFactory
+        .buildClass {
+          name = "${factoryClass.owner.name}Impl".asName()
+          kind = ClassKind.CLASS
+          visibility = DescriptorVisibilities.PRIVATE
+          origin = Origins.Default
+          isInner = true
+        }
+        .apply {
+          superTypes = listOf(factoryClass.defaultType)
+          createThisReceiverParameter()
+          graphClass.addChild(this)
+          addFakeOverrides(irTypeSystemContext)
+        }
+
+    val constructor =
+      factoryImpl
+        .addConstructor {
+          isPrimary = true
+          origin = Origins.Default
+        }
+        .apply {
+          setDispatchReceiver(graphClass.thisReceiverOrFail.copyTo(this))
+          body = generateDefaultConstructorBody()
+        }
+
+    val createViewModel =
+      factoryImpl.functions.single { it.isFakeOverride && it.name.asString() == "createViewModel" }
+    createViewModel.finalizeFakeOverride(factoryImpl.thisReceiverOrFail)
+    val (modelClass, extras) = createViewModel.regularParameters
+
+    // Inner class bodies can reference the graph's receiver directly
+    val expressionGenerator = expressionGeneratorFactory.create(graphClass.thisReceiverOrFail)
+    createViewModel.body =
+      createIrBuilder(createViewModel.symbol).run {
+        val branches =
+          listOf(Symbols.ClassIds.ViewModel, Symbols.ClassIds.ViewModelAssistedFactory).flatMap {
+            valueClassId ->
+            bindingGraph.classKeyedMapMultibindingSources(valueClassId).map { sourceKey ->
+              val sourceBinding = bindingGraph.requireBinding(sourceKey)
+              val instance =
+                expressionGenerator.generateBindingCode(
+                  sourceBinding,
+                  contextualTypeKey = sourceBinding.contextualTypeKey,
+                  accessType = BindingExpressionGenerator.AccessType.INSTANCE,
+                )
+              val viewModel =
+                if (valueClassId == Symbols.ClassIds.ViewModel) {
+                  instance
+                } else {
+                  irInvoke(
+                    dispatchReceiver = instance,
+                    callee = assistedFactoryCreate,
+                    args = listOf(irGet(extras)),
+                  )
+                }
+              irBranch(irEquals(irGet(modelClass), generateMapKeyLiteral(sourceBinding)), viewModel)
+            }
+          }
+        irExprBodySafe(irWhen(createViewModel.returnType, branches + irElseBranch(irNull())))
+      }
+
+    return constructor
+  }
+
+  /**
+   * Generates the provider assigned to the patched cyclic provider property of [binding] and marks
+   * the property as assigned, so code generated after this reads it directly.
+   */
+  private fun IrBuilderWithScope.generatePatchedProvider(
+    binding: IrBinding,
+    thisReceiver: IrValueParameter,
+    typeKey: IrTypeKey,
+  ): IrExpression {
+    val provider =
+      expressionGeneratorFactory
+        .create(thisReceiver)
+        .generateBindingCode(
+          binding,
+          contextualTypeKey = binding.contextualTypeKey.wrapInProvider(),
+          accessType = BindingExpressionGenerator.AccessType.PROVIDER,
+          fieldInitKey = typeKey,
+        )
+        .letIf(binding.isScoped()) {
+          // If it's scoped, wrap it in double-check
+          // DoubleCheck.provider(<provider>)
+          it.doubleCheck(this, metroSymbols, binding.typeKey)
+        }
+    bindingPropertyContext.markPatchedProviderPropertyAssigned(typeKey)
+    return provider
+  }
+
+  /**
+   * Returns true if this is a `Set` multibinding that graph extensions reuse from this graph and
+   * whose elements all come from scoped bindings. Every assembled set is then equal, so it can be
+   * memoized like a scoped binding and shared with those extensions. Sets that only this graph uses
+   * are assembled on each request as before.
+   */
+  private fun IrBinding.isMemoizableMultibinding(): Boolean {
+    if (this !is IrBinding.Multibinding || !isSet || isEmpty()) return false
+    if (bindingGraph.reservedProperty(typeKey) == null) return false
+    return sourceBindings.all { sourceKey ->
+      var source = bindingGraph.findBinding(sourceKey)
+      while (source is IrBinding.Alias) {
+        source = bindingGraph.findBinding(source.aliasedType)
+      }
+      source?.isScoped() == true
+    }
+  }
+
+  /**
+   * Collects the [warm-up bindings][StartupPlan.warmUpBindings] of this graph. Each binding is
+   * paired with the indices of the other warm-up bindings it needs to be initialized first, either
+   * directly or through bindings that aren't warmed up.
+   */
+  private fun collectWarmUpBindings(): List<Pair<IrBinding, List<Int>>> {
+    // Scoped bindings without a property are only initialized as part of another scoped binding
+    val scopedBindings = startupPlan.warmUpBindings.filter { it.typeKey in bindingPropertyContext }
+    val indices =
+      scopedBindings.withIndex().associate { (index, binding) -> binding.typeKey to index }
+    return scopedBindings.map { binding ->
+      val dependencies = sortedSetOf<Int>()
+      val visited = mutableSetOf<IrTypeKey>()
+      val queue = ArrayDeque(binding.dependencies)
+      while (queue.isNotEmpty()) {
+        val dependency = queue.removeFirst()
+        // Deferrable dependencies aren't initialized when constructing the binding
+        if (dependency.isDeferrable) continue
+        val key = dependency.typeKey
+        if (!visited.add(key)) continue
+        val index = indices[key]
+        if (index != null) {
+          dependencies += index
+        } else {
+          bindingGraph.findBinding(key)?.let { queue += it.dependencies }
+        }
+      }
+      binding to dependencies.toList()
+    }
+  }
+
+  private fun IrBuilderWithScope.generateWarmUp(
+    bindings: List<Pair<IrBinding, List<Int>>>,
+    thisReceiver: IrValueParameter,
+  ): IrExpression {
+    /*
+      graphWarmUp(
+        arrayOf("Cache", "HttpClient"),
+        { index ->
+          when (index) {
+            0 -> cacheProvider.invoke()
+            1 -> httpClientProvider.invoke()
+            else -> throw NoWhenBranchMatchedException()
+          }
+        },
+        // HttpClient depends on Cache
+        1,
+        0,
+      )
+    */
+    val expressionGenerator = expressionGeneratorFactory.create(thisReceiver)
+    val stringArrayType = irBuiltIns.arrayClass.typeWith(irBuiltIns.stringType)
+    return irInvoke(
+      callee = metroSymbols.graphWarmUp,
+      args =
+        listOf(
+          irInvoke(
+            callee = irBuiltIns.arrayOf,
+            typeArgs = listOf(irBuiltIns.stringType),
+            typeHint = stringArrayType,
+            args =
+              listOf(
+                irVararg(
+                  irBuiltIns.stringType,
+                  bindings.map { (binding, _) -> irString(binding.typeKey.toString()) },
+                )
+              ),
+          ),
+          irLambda(
+            parent = parent,
+            receiverParameter = null,
+            valueParameters = listOf(irBuiltIns.intType),
+            returnType = irBuiltIns.anyNType,
+          ) { function ->
+            val index = function.regularParameters[0]
+            val branches =
+              bindings.mapIndexed { i, (binding, _) ->
+                irBranch(
+                  irEquals(irGet(index), irInt(i)),
+                  expressionGenerator.generateBindingCode(
+                    binding,
+                    contextualTypeKey = IrContextualTypeKey.create(binding.typeKey),
+                    accessType = BindingExpressionGenerator.AccessType.INSTANCE,
+                  ),
+                )
+              }
+            val elseBranch =
+              irElseBranch(
+                irCall(irBuiltIns.noWhenBranchMatchedExceptionSymbol, irBuiltIns.nothingType)
+              )
+            +irReturn(irWhen(irBuiltIns.anyNType, branches + elseBranch))
+          },
+          irVararg(
+            irBuiltIns.intType,
+            bindings.flatMapIndexed { i, (_, dependencies) ->
+              dependencies.flatMap { dependency -> listOf(irInt(i), irInt(dependency)) }
+            },
+          ),
+        ),
+    )
+  }
 }
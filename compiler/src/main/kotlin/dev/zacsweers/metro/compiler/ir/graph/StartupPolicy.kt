@@ -0,0 +1,174 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir.graph
+
+import dev.zacsweers.metro.compiler.fir.MetroDiagnostics
+import dev.zacsweers.metro.compiler.ir.IrMetroContext
+import dev.zacsweers.metro.compiler.ir.IrTypeKey
+import dev.zacsweers.metro.compiler.ir.ProviderFactory
+import dev.zacsweers.metro.compiler.ir.findAnnotations
+import dev.zacsweers.metro.compiler.ir.reportCompat
+import dev.zacsweers.metro.compiler.ir.writeDiagnostic
+import dev.zacsweers.metro.compiler.symbols.Symbols
+import org.jetbrains.kotlin.ir.declarations.IrAnnotationContainer
+import org.jetbrains.kotlin.ir.expressions.IrGetEnumValue
+
+/** Mirror of the runtime's `StartupPolicy`, read from `@Startup` annotations. */
+internal enum class StartupPolicy {
+  LAZY,
+  EAGER,
+  BACKGROUND;
+
+  companion object {
+    fun declaredOn(container: IrAnnotationContainer): StartupPolicy? {
+      val annotation = container.findAnnotations(Symbols.ClassIds.Startup).firstOrNull()
+      val policy = annotation?.arguments?.firstOrNull() as? IrGetEnumValue ?: return null
+      return valueOf(policy.symbol.owner.name.asString())
+    }
+  }
+}
+
+/** The policy declared on a `@Provides` declaration, which may be on its property if it has one. */
+internal val ProviderFactory.declaredStartupPolicy: StartupPolicy?
+  get() =
+    StartupPolicy.declaredOn(function)
+      ?: function.correspondingPropertySymbol?.owner?.let(StartupPolicy::declaredOn)
+
+internal val IrBinding.declaredStartupPolicy: StartupPolicy?
+  get() =
+    when (this) {
+      is IrBinding.ConstructorInjected -> StartupPolicy.declaredOn(type)
+      is IrBinding.Provided -> providerFactory.declaredStartupPolicy
+      else -> null
+    }
+
+/**
+ * When a graph's scoped bindings are initialized, computed from their declared [StartupPolicy].
+ *
+ * @property eagerBindings bindings initialized at the end of the graph's constructor, in dependency
+ *   order.
+ * @property warmUpBindings bindings initialized by the graph's `GraphWarmUp`, in dependency order.
+ */
+internal class StartupPlan(
+  val eagerBindings: List<IrBinding>,
+  val warmUpBindings: List<IrBinding>,
+) {
+  companion object {
+    /**
+     * Computes the [StartupPlan] for the reachable bindings of [bindingGraph] and validates their
+     * policies, reporting errors for eager bindings that force explicitly lazy or background
+     * bindings and warnings for eager bindings that force more than `eagerSubgraphWarningThreshold`
+     * other scoped bindings.
+     */
+    context(context: IrMetroContext)
+    fun compute(
+      bindingGraph: IrBindingGraph,
+      sealResult: IrBindingGraph.BindingGraphResult,
+      reportTag: String,
+    ): StartupPlan {
+      val scopedBindings = mutableListOf<IrBinding>()
+      val policies = mutableMapOf<IrTypeKey, StartupPolicy>()
+      for (key in sealResult.sortedKeys) {
+        if (key !in sealResult.reachableKeys) continue
+        val binding = bindingGraph.findBinding(key) ?: continue
+        val policy = binding.declaredStartupPolicy
+        if (binding.scope == null) {
+          if (policy == StartupPolicy.EAGER || policy == StartupPolicy.BACKGROUND) {
+            context.reportCompat(
+              binding.reportableDeclaration,
+              MetroDiagnostics.METRO_ERROR,
+              "Only scoped bindings can be annotated with @Startup(StartupPolicy.$policy), but '${binding.typeKey}' is unscoped.",
+            )
+          }
+          continue
+        }
+        scopedBindings += binding
+        policy?.let { policies[binding.typeKey] = it }
+      }
+
+      val eagerBindings = scopedBindings.filter { policies[it.typeKey] == StartupPolicy.EAGER }
+      val forcedBindings = mutableMapOf<IrBinding, List<IrBinding>>()
+      for (binding in eagerBindings) {
+        val forced = bindingGraph.forcedScopedDependencies(binding)
+        for (dependency in forced) {
+          val policy = policies[dependency.typeKey]
+          if (policy == StartupPolicy.LAZY || policy == StartupPolicy.BACKGROUND) {
+            context.reportCompat(
+              binding.reportableDeclaration,
+              MetroDiagnostics.METRO_ERROR,
+              "Eager binding '${binding.typeKey}' depends on '${dependency.typeKey}', which is declared with @Startup(StartupPolicy.$policy) but would be initialized when the graph is created. Inject it as a Provider or Lazy instead.",
+            )
+          }
+        }
+        val implicitlyForced = forced.filter { it.typeKey !in policies }
+        val threshold = context.options.eagerSubgraphWarningThreshold
+        if (threshold > 0 && implicitlyForced.size > threshold) {
+          context.reportCompat(
+            binding.reportableDeclaration,
+            MetroDiagnostics.METRO_WARNING,
+            buildString {
+              append("Eager binding '${binding.typeKey}' forces ${implicitlyForced.size} ")
+              append("lazy scoped bindings to initialize when the graph is created, ")
+              append("which exceeds the eagerSubgraphWarningThreshold of $threshold. ")
+              append("Consider injecting some of them as a Provider or Lazy instead.")
+              for (dependency in implicitlyForced) {
+                appendLine()
+                append("  - ${dependency.typeKey}")
+              }
+            },
+          )
+        }
+        forcedBindings[binding] = forced
+      }
+
+      val backgroundBindings =
+        scopedBindings.filter { policies[it.typeKey] == StartupPolicy.BACKGROUND }
+      val warmUpBindings =
+        backgroundBindings.ifEmpty {
+          // Everything an eager binding forces is already initialized with the graph
+          val initializedKeys = forcedBindings.values.flatten().mapTo(mutableSetOf()) { it.typeKey }
+          scopedBindings.filter { it.typeKey !in policies && it.typeKey !in initializedKeys }
+        }
+
+      writeDiagnostic("startup-$reportTag.txt") {
+        buildString {
+          appendLine("Eager bindings, in initialization order:")
+          for ((binding, forced) in forcedBindings) {
+            appendLine("- ${binding.typeKey}")
+            for (dependency in forced) {
+              appendLine("  - ${dependency.typeKey}")
+            }
+          }
+          appendLine()
+          appendLine("Warm-up bindings, in initialization order:")
+          for (binding in warmUpBindings) {
+            appendLine("- ${binding.typeKey}")
+          }
+        }
+      }
+
+      return StartupPlan(eagerBindings, warmUpBindings)
+    }
+
+    /**
+     * Returns the other scoped bindings that are initialized when [binding] is, i.e. those
+     * reachable through dependencies that aren't wrapped in a `Provider` or `Lazy`.
+     */
+    private fun IrBindingGraph.forcedScopedDependencies(binding: IrBinding): List<IrBinding> {
+      val forced = mutableListOf<IrBinding>()
+      val visited = mutableSetOf(binding.typeKey)
+      val queue = ArrayDeque(binding.dependencies)
+      while (queue.isNotEmpty()) {
+        val dependency = queue.removeFirst()
+        if (dependency.isDeferrable) continue
+        if (!visited.add(dependency.typeKey)) continue
+        val dependencyBinding = findBinding(dependency.typeKey) ?: continue
+        if (dependencyBinding.scope != null) {
+          forced += dependencyBinding
+        }
+        queue += dependencyBinding.dependencies
+      }
+      return forced
+    }
+  }
+}
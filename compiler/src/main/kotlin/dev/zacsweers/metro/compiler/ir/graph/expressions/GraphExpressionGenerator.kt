@@ -142,7 +142,7 @@ private constructor(
       if (fieldInitKey == null || fieldInitKey != binding.typeKey) {
         if (bindingPropertyContext.hasKey(binding.typeKey)) {
           bindingPropertyContext.providerProperty(binding.typeKey)?.let {
-            return irGetProperty(irGet(thisReceiver), it)
+            return readProviderProperty(binding.typeKey, it)
               .toTargetType(actual = AccessType.PROVIDER, contextualTypeKey = contextualTypeKey)
           }
           bindingPropertyContext.instanceProperty(binding.typeKey)?.let {
@@ -470,6 +470,32 @@ private constructor(
       }
     }
 
+  /**
+   * Reads the provider [property] of [typeKey]. Patched cyclic provider properties are only
+   * assigned once their cycle is complete, so if the code assigning it hasn't been generated yet
+   * this instead returns a provider that reads the property when invoked.
+   */
+  context(scope: IrBuilderWithScope)
+  private fun readProviderProperty(typeKey: IrTypeKey, property: IrProperty): IrExpression =
+    with(scope) {
+      if (bindingPropertyContext.isUnassignedPatchedProviderProperty(typeKey)) {
+        bindingPropertyContext.recordCapturedReader()
+        // provider { this.property() }
+        wrapInProviderFunction(typeKey.type) {
+          irInvoke(
+            dispatchReceiver = irGetProperty(irGet(thisReceiver), property),
+            callee = metroSymbols.providerInvoke,
+            typeHint = typeKey.type,
+          )
+        }
+      } else {
+        if (bindingPropertyContext.capturesReader(typeKey)) {
+          bindingPropertyContext.recordCapturedReader()
+        }
+        irGetProperty(irGet(thisReceiver), property)
+      }
+    }
+
   context(scope: IrBuilderWithScope)
   private fun generateBindingArguments(
     targetParams: Parameters,
@@ -567,7 +593,7 @@ private constructor(
         val providerInstance =
           bindingPropertyContext.providerProperty(typeKey)?.let { field ->
             // If it's in provider fields, invoke that field
-            irGetProperty(irGet(thisReceiver), field)
+            readProviderProperty(typeKey, field)
           }
             ?: run {
               // Generate binding code for each param
@@ -10,6 +10,7 @@ import dev.zacsweers.metro.compiler.ir.asContextualTypeKey
 import dev.zacsweers.metro.compiler.ir.extensionReceiverParameterCompat
 import dev.zacsweers.metro.compiler.ir.graph.IrBinding
 import dev.zacsweers.metro.compiler.ir.graph.IrBindingGraph
+import dev.zacsweers.metro.compiler.ir.instanceFactory
 import dev.zacsweers.metro.compiler.ir.irExprBodySafe
 import dev.zacsweers.metro.compiler.ir.irGetProperty
 import dev.zacsweers.metro.compiler.ir.irInvoke
@@ -28,9 +29,15 @@ import dev.zacsweers.metro.compiler.reportCompilerBug
 import dev.zacsweers.metro.compiler.symbols.FrameworkSymbols
 import dev.zacsweers.metro.compiler.tracing.Tracer
 import org.jetbrains.kotlin.ir.builders.IrBuilderWithScope
+import org.jetbrains.kotlin.ir.builders.irBranch
 import org.jetbrains.kotlin.ir.builders.irCall
+import org.jetbrains.kotlin.ir.builders.irElseBranch
+import org.jetbrains.kotlin.ir.builders.irEquals
 import org.jetbrains.kotlin.ir.builders.irGet
 import org.jetbrains.kotlin.ir.builders.irInt
+import org.jetbrains.kotlin.ir.builders.irReturn
+import org.jetbrains.kotlin.ir.builders.irVararg
+import org.jetbrains.kotlin.ir.builders.irWhen
 import org.jetbrains.kotlin.ir.builders.parent
 import org.jetbrains.kotlin.ir.declarations.IrProperty
 import org.jetbrains.kotlin.ir.declarations.IrValueParameter
@@ -229,25 +236,6 @@ internal class MultibindingExpressionGenerator(
         }
     }
 
-  private fun generateMapKeyLiteral(binding: IrBinding): IrExpression {
-    val mapKey =
-      when (binding) {
-        is IrBinding.BindingWithAnnotations -> binding.annotations.mapKeys.first().ir
-        else -> reportCompilerBug("Unsupported multibinding source: $binding")
-      }
-
-    val unwrapValue = shouldUnwrapMapKeyValues(mapKey)
-    val expression =
-      if (!unwrapValue) {
-        mapKey
-      } else {
-        // We can just copy the expression!
-        mapKey.arguments[0]!!.deepCopyWithSymbols()
-      }
-
-    return expression
-  }
-
   context(scope: IrBuilderWithScope)
   private fun generateMapBuilderExpression(
     binding: IrBinding.Multibinding,
@@ -299,6 +287,66 @@ internal class MultibindingExpressionGenerator(
         }
     }
 
+  context(scope: IrBuilderWithScope)
+  private fun generateLazyProviderMapExpression(
+    binding: IrBinding.Multibinding,
+    keyType: IrType,
+    valueType: IrType,
+    originalValueContextKey: IrContextualTypeKey,
+    fieldInitKey: IrTypeKey?,
+  ): IrExpression =
+    with(scope) {
+      /*
+        lazyProviderMap(
+          { index ->
+            when (index) {
+              0 -> FileSystemModule_Companion_ProvideMapInt1Factory.create()
+              1 -> provideMapInt2Provider
+              else -> throw NoWhenBranchMatchedException()
+            }
+          },
+          1,
+          2,
+        )
+      */
+      val sourceBindings = binding.sourceBindings.map { bindingGraph.requireBinding(it) }
+      val providerType = valueType.wrapInProvider(metroSymbols.metroProvider)
+      return irInvoke(
+        callee = metroSymbols.lazyProviderMap,
+        typeArgs = listOf(keyType, valueType),
+        typeHint = irBuiltIns.mapClass.typeWith(keyType, providerType),
+        args =
+          listOf(
+            irLambda(
+              parent = parent,
+              receiverParameter = null,
+              valueParameters = listOf(irBuiltIns.intType),
+              returnType = providerType,
+            ) { function ->
+              val index = function.regularParameters[0]
+              val branches =
+                sourceBindings.mapIndexed { i, sourceBinding ->
+                  irBranch(
+                    irEquals(irGet(index), irInt(i)),
+                    generateMultibindingArgument(
+                      sourceBinding,
+                      originalValueContextKey,
+                      fieldInitKey,
+                      accessType = AccessType.PROVIDER,
+                    ),
+                  )
+                }
+              val elseBranch =
+                irElseBranch(
+                  irCall(irBuiltIns.noWhenBranchMatchedExceptionSymbol, irBuiltIns.nothingType)
+                )
+              +irReturn(irWhen(providerType, branches + elseBranch))
+            },
+            irVararg(keyType, sourceBindings.map { generateMapKeyLiteral(it) }),
+          ),
+      )
+    }
+
   // TODO
   //  test failures
   //  bindingpropertycollector - if a provider is used in multiple multibindings, field instead of
@@ -472,6 +520,14 @@ internal class MultibindingExpressionGenerator(
       val valueType: IrType = rawValueTypeMetadata.typeKey.type
 
       val size = binding.sourceBindings.size
+
+      // Large maps of Metro providers only create each value provider when its key is first looked
+      // up, rather than all of them when the map is built
+      val useLazyProviderMap =
+        valueIsWrappedInProvider &&
+          originalValueType.rawType().symbol == metroSymbols.metroProvider &&
+          options.lazyProviderMapThreshold > 0 &&
+          size >= options.lazyProviderMapThreshold
       val mapProviderType =
         irBuiltIns.mapClass
           .typeWith(
@@ -545,6 +601,20 @@ internal class MultibindingExpressionGenerator(
             valueProviderSymbols,
             accessType,
           )
+        } else if (useLazyProviderMap) {
+          val lazyMap =
+            generateLazyProviderMapExpression(
+              binding = binding,
+              keyType = keyType,
+              valueType = valueType,
+              originalValueContextKey = originalValueContextKey,
+              fieldInitKey = fieldInitKey,
+            )
+          if (accessType == AccessType.INSTANCE) {
+            return lazyMap
+          }
+          // InstanceFactory(lazyProviderMap(...))
+          instanceFactory(lazyMap.type, lazyMap)
         } else if (accessType == AccessType.INSTANCE) {
           // Multiple elements but only needs a Map<Key, Value> type
           // Even if the value type is Provider<Value>, we'll denote it with `valueAccessType`
@@ -750,3 +820,23 @@ internal class MultibindingExpressionGenerator(
       )
     }
 }
+
+/** Returns the literal of the map key of the given map multibinding source [binding]. */
+internal fun generateMapKeyLiteral(binding: IrBinding): IrExpression {
+  val mapKey =
+    when (binding) {
+      is IrBinding.BindingWithAnnotations -> binding.annotations.mapKeys.first().ir
+      else -> reportCompilerBug("Unsupported multibinding source: $binding")
+    }
+
+  val unwrapValue = shouldUnwrapMapKeyValues(mapKey)
+  val expression =
+    if (!unwrapValue) {
+      mapKey
+    } else {
+      // We can just copy the expression!
+      mapKey.arguments[0]!!.deepCopyWithSymbols()
+    }
+
+  return expression
+}
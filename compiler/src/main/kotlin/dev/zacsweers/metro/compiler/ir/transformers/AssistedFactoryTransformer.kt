@@ -6,6 +6,7 @@ import dev.zacsweers.metro.compiler.Origins
 import dev.zacsweers.metro.compiler.asName
 import dev.zacsweers.metro.compiler.fir.MetroDiagnostics
 import dev.zacsweers.metro.compiler.generatedClass
+import dev.zacsweers.metro.compiler.ir.GeneratedClassSize
 import dev.zacsweers.metro.compiler.ir.IrContextualTypeKey
 import dev.zacsweers.metro.compiler.ir.IrMetroContext
 import dev.zacsweers.metro.compiler.ir.assignConstructorParamsToFields
@@ -410,6 +411,7 @@ internal class AssistedFactoryTransformer(
     writeMetadata(declaration, implClass, samFunction.name.asString())
 
     implClass.dumpToMetroLog()
+    logGeneratedSize { GeneratedClassSize.compute("assistedFactory", implClass) }
   }
 
   private fun writeMetadata(factoryClass: IrClass, implClass: IrClass, samFunctionName: String) {
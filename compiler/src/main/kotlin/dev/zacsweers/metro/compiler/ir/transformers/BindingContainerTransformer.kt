@@ -9,6 +9,7 @@ import dev.zacsweers.metro.compiler.capitalizeUS
 import dev.zacsweers.metro.compiler.expectAs
 import dev.zacsweers.metro.compiler.fir.MetroDiagnostics
 import dev.zacsweers.metro.compiler.generatedClass
+import dev.zacsweers.metro.compiler.ir.GeneratedClassSize
 import dev.zacsweers.metro.compiler.ir.IrAnnotation
 import dev.zacsweers.metro.compiler.ir.IrContextualTypeKey
 import dev.zacsweers.metro.compiler.ir.IrMetroContext
@@ -378,6 +379,7 @@ internal class BindingContainerTransformer(context: IrMetroContext) : IrMetroCon
       )
 
     factoryCls.dumpToMetroLog()
+    logGeneratedSize { GeneratedClassSize.compute("providerFactory", factoryCls) }
 
     val factoryPath =
       factoryCls.packageFqName?.let { packageName ->
@@ -212,6 +212,9 @@ internal class DependencyGraphTransformer(
       )
     } catch (_: ExitProcessingException) {
       // End processing, don't fail up because this would've been warned before
+    } finally {
+      // Graph extensions are processed with their parent, so this covers them too
+      metroContext.flushReports()
     }
   }
 
@@ -331,6 +334,10 @@ internal class DependencyGraphTransformer(
         localParentContext.addAll(included.publicAccessors)
       }
 
+      // Set multibindings, which extensions that don't contribute to them reuse rather than
+      // assembling their own copy
+      localParentContext.addAll(bindingGraph.setMultibindingKeys())
+
       // Two passes on graph extensions
       // Shallow first pass to create any keys for non-factory-returning types
       val directExtensions = mutableSetOf<IrTypeKey>()
@@ -437,6 +444,19 @@ internal class DependencyGraphTransformer(
       }
     }
 
+    if (node.viewModelFactoryAccessors.isNotEmpty()) {
+      // The generated MetroViewModelFactory dispatches to ViewModel contributions directly rather
+      // than through the multibinding maps, so keep each contribution to validate and materialize
+      // it.
+      for (valueClassId in
+        listOf(Symbols.ClassIds.ViewModel, Symbols.ClassIds.ViewModelAssistedFactory)) {
+        for (sourceKey in bindingGraph.classKeyedMapMultibindingSources(valueClassId)) {
+          val contextKey = IrContextualTypeKey.create(sourceKey)
+          bindingGraph.keep(contextKey, IrBindingStack.Entry.simpleTypeRef(contextKey))
+        }
+      }
+    }
+
     try {
       val result =
         parentTracer.traceNested("Validate binding graph") { tracer ->
@@ -464,7 +484,9 @@ internal class DependencyGraphTransformer(
         for (key in result.reachableKeys) {
           val isSelfKey =
             key == node.typeKey || key == node.metroGraph?.generatedGraphExtensionData?.typeKey
-          if (!isSelfKey && key in parentContext) {
+          // Multibindings found here are this graph's own, so they don't need the parent's
+          val isOwnMultibinding = bindingGraph.findBinding(key) is IrBinding.Multibinding
+          if (!isSelfKey && !isOwnMultibinding && key in parentContext) {
             parentContext.mark(key)
           }
         }
@@ -530,6 +552,8 @@ internal class DependencyGraphTransformer(
         implementCreatorFunctions(node.sourceGraph, node.creator, node.sourceGraph.metroGraphOrFail)
 
         node.accessors
+          .plus(node.warmUpAccessors)
+          .plus(node.viewModelFactoryAccessors)
           .map { it.metroFunction.ir }
           .plus(node.injectors.map { it.metroFunction.ir })
           .plus(node.bindsCallables.values.map { it.callableMetadata.function })
@@ -7,6 +7,7 @@ import dev.zacsweers.metro.compiler.asName
 import dev.zacsweers.metro.compiler.fir.MetroDiagnostics
 import dev.zacsweers.metro.compiler.generatedClass
 import dev.zacsweers.metro.compiler.ir.ClassFactory
+import dev.zacsweers.metro.compiler.ir.GeneratedClassSize
 import dev.zacsweers.metro.compiler.ir.IrMetroContext
 import dev.zacsweers.metro.compiler.ir.assignConstructorParamsToFields
 import dev.zacsweers.metro.compiler.ir.contextParameters
@@ -270,6 +271,7 @@ internal class InjectConstructorTransformer(
       )
 
     factoryCls.dumpToMetroLog()
+    logGeneratedSize { GeneratedClassSize.compute("factory", factoryCls) }
 
     // Write metadata to indicate Metro generated this factory
     cacheFactoryInMetadata(declaration, factoryCls)
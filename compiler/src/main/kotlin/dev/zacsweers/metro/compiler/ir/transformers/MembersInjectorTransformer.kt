@@ -10,6 +10,7 @@ import dev.zacsweers.metro.compiler.decapitalizeUS
 import dev.zacsweers.metro.compiler.escapeIfNull
 import dev.zacsweers.metro.compiler.fir.MetroDiagnostics
 import dev.zacsweers.metro.compiler.generatedClass
+import dev.zacsweers.metro.compiler.ir.GeneratedClassSize
 import dev.zacsweers.metro.compiler.ir.IrMetroContext
 import dev.zacsweers.metro.compiler.ir.IrTypeKey
 import dev.zacsweers.metro.compiler.ir.allSupertypesSequence
@@ -366,6 +367,7 @@ internal class MembersInjectorTransformer(context: IrMetroContext) : IrMetroCont
     }
 
     injectorClass.dumpToMetroLog()
+    logGeneratedSize { GeneratedClassSize.compute("membersInjector", injectorClass) }
 
     // Write metadata to indicate Metro generated this injector
     val functionNames =
@@ -99,12 +99,14 @@ internal class Symbols(
   }
 
   object FqNames {
+    val androidxLifecycle = FqName("androidx.lifecycle")
     val composeRuntime = FqName("androidx.compose.runtime")
     val javaUtil = FqName("java.util")
     val kotlinCollectionsPackageFqn = StandardClassIds.BASE_COLLECTIONS_PACKAGE
     val metroHintsPackage = FqName(StringNames.METRO_HINTS_PACKAGE)
     val metroRuntimeInternalPackage = FqName(StringNames.METRO_RUNTIME_INTERNAL_PACKAGE)
     val metroRuntimePackage = FqName(StringNames.METRO_RUNTIME_PACKAGE)
+    val metroxViewModelPackage = FqName("dev.zacsweers.metrox.viewmodel")
     val GraphFactoryInvokeFunctionMarkerClass =
       metroRuntimeInternalPackage.child("GraphFactoryInvokeFunctionMarker".asName())
     val CallableMetadataClass =
@@ -132,10 +134,13 @@ internal class Symbols(
     val Composable = ClassId(FqNames.composeRuntime, StringNames.COMPOSABLE.asName())
     val GraphFactoryInvokeFunctionMarkerClass =
       ClassId(FqNames.metroRuntimeInternalPackage, "GraphFactoryInvokeFunctionMarker".asName())
+    val GraphWarmUp = ClassId(FqNames.metroRuntimePackage, "GraphWarmUp".asName())
     val HasMemberInjections = ClassId(FqNames.metroRuntimePackage, "HasMemberInjections".asName())
     val JavaOptional = ClassId(FqNames.javaUtil, Names.Optional)
     val Lazy = StandardClassIds.byName("Lazy")
     val MembersInjector = ClassId(FqNames.metroRuntimePackage, Names.membersInjector)
+    val MetroViewModelFactory =
+      ClassId(FqNames.metroxViewModelPackage, "MetroViewModelFactory".asName())
     val MultibindingElement =
       ClassId(FqNames.metroRuntimeInternalPackage, "MultibindingElement".asName())
     val NonRestartableComposable =
@@ -143,6 +148,10 @@ internal class Symbols(
     val CallableMetadata =
       ClassId(FqNames.metroRuntimeInternalPackage, StringNames.CALLABLE_METADATA.asName())
     val Stable = ClassId(FqNames.composeRuntime, StringNames.STABLE.asName())
+    val Startup = ClassId(FqNames.metroRuntimePackage, "Startup".asName())
+    val ViewModel = ClassId(FqNames.androidxLifecycle, "ViewModel".asName())
+    val ViewModelAssistedFactory =
+      ClassId(FqNames.metroxViewModelPackage, "ViewModelAssistedFactory".asName())
     val graphExtension = ClassId(FqNames.metroRuntimePackage, "GraphExtension".asName())
     val graphExtensionFactory = graphExtension.createNestedClassId(Names.FactoryClass)
     val metroAssisted = ClassId(FqNames.metroRuntimePackage, StringNames.ASSISTED.asName())
@@ -371,6 +380,20 @@ internal class Symbols(
     instanceFactoryCompanionObject.requireSimpleFunction(StringNames.INVOKE)
   }
 
+  val graphWarmUp: IrSimpleFunctionSymbol by lazy {
+    pluginContext
+      .referenceFunctions(CallableId(metroRuntimeInternal.packageFqName, "graphWarmUp".asName()))
+      .single()
+  }
+
+  val lazyProviderMap: IrSimpleFunctionSymbol by lazy {
+    pluginContext
+      .referenceFunctions(
+        CallableId(metroRuntimeInternal.packageFqName, "lazyProviderMap".asName())
+      )
+      .single()
+  }
+
   val multibindingElement: IrConstructorSymbol by lazy {
     pluginContext.referenceClass(ClassIds.MultibindingElement)!!.constructors.first()
   }
@@ -2,6 +2,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package dev.zacsweers.metro.compiler.tracing
 
+import java.lang.management.ManagementFactory
 import kotlin.contracts.InvocationKind
 import kotlin.contracts.contract
 import kotlin.time.TimeSource
@@ -43,10 +44,11 @@ private class SimpleTracer(
   override val description: String,
   private val level: Int,
   private val log: (String) -> Unit,
-  private val onFinished: (String, String, Long) -> Unit,
+  private val onFinished: (String, String, Long, Long) -> Unit,
 ) : Tracer {
 
   private var mark: ValueTimeMark? = null
+  private var allocatedBytesAtStart = 0L
   private inline val running
     get() = mark != null
 
@@ -54,6 +56,7 @@ private class SimpleTracer(
     check(!running) { "Tracer already started" }
     val tagPrefix = if (level == 0) "[$tag] " else ""
     log("$tagPrefix${"  ".repeat(level)}▶ $description")
+    allocatedBytesAtStart = currentThreadAllocatedBytes()
     mark = TimeSource.Monotonic.markNow()
   }
 
@@ -61,7 +64,9 @@ private class SimpleTracer(
     check(running) { "Tracer not started" }
     val elapsed = mark!!.elapsedNow()
     mark = null
-    onFinished(tag, description, elapsed.inWholeMilliseconds)
+    val allocatedBytes =
+      if (allocatedBytesAtStart < 0) -1 else currentThreadAllocatedBytes() - allocatedBytesAtStart
+    onFinished(tag, description, elapsed.inWholeMilliseconds, allocatedBytes)
     val tagPrefix = if (level == 0) "[$tag] " else ""
     log("$tagPrefix${"  ".repeat(level)}◀ $description (${elapsed.inWholeMilliseconds} ms)")
   }
@@ -93,5 +98,18 @@ internal fun tracer(
   tag: String,
   description: String,
   log: (String) -> Unit,
-  onFinished: (String, String, Long) -> Unit,
+  onFinished: (tag: String, description: String, durationMs: Long, allocatedBytes: Long) -> Unit,
 ): Tracer = SimpleTracer(tag, description, 0, log, onFinished)
+
+private val threadMXBean = ManagementFactory.getThreadMXBean() as? com.sun.management.ThreadMXBean
+
+/**
+ * Returns the total bytes allocated so far by the current thread, or -1 if the JVM can't measure
+ * it. Like the elapsed time, allocations of a phase include those of its nested phases.
+ */
+private fun currentThreadAllocatedBytes(): Long {
+  val bean = threadMXBean ?: return -1
+  if (!bean.isThreadAllocatedMemorySupported || !bean.isThreadAllocatedMemoryEnabled) return -1
+  @Suppress("DEPRECATION") // Thread.threadId() is JDK 19+
+  return bean.getThreadAllocatedBytes(Thread.currentThread().id)
+}
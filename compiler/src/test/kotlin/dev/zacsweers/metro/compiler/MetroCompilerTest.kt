@@ -97,6 +97,8 @@ abstract class MetroCompilerTest {
                   entry.raw.cliOption,
                   reportsDestination?.absolutePathString().orEmpty(),
                 )
+              MetroOption.DETERMINISTIC_REPORTS ->
+                processor.option(entry.raw.cliOption, deterministicReports)
               MetroOption.GENERATE_ASSISTED_FACTORIES ->
                 processor.option(entry.raw.cliOption, generateAssistedFactories)
               MetroOption.ENABLE_TOP_LEVEL_FUNCTION_INJECTION ->
@@ -116,6 +118,22 @@ abstract class MetroCompilerTest {
                 processor.option(entry.raw.cliOption, chunkFieldInits)
               MetroOption.STATEMENTS_PER_INIT_FUN ->
                 processor.option(entry.raw.cliOption, statementsPerInitFun)
+              MetroOption.LAZY_PROVIDER_MAP_THRESHOLD ->
+                processor.option(entry.raw.cliOption, lazyProviderMapThreshold)
+              MetroOption.EAGER_SUBGRAPH_WARNING_THRESHOLD ->
+                processor.option(entry.raw.cliOption, eagerSubgraphWarningThreshold)
+              MetroOption.SHORT_LIVED_GRAPH_EXTENSIONS ->
+                processor.option(entry.raw.cliOption, shortLivedGraphExtensions)
+              MetroOption.PATCH_CYCLIC_PROVIDER_FIELDS ->
+                processor.option(entry.raw.cliOption, patchCyclicProviderFields)
+              MetroOption.GENERATE_VIEW_MODEL_FACTORIES ->
+                processor.option(entry.raw.cliOption, generateViewModelFactories)
+              MetroOption.GRAPH_METHOD_BUDGET ->
+                processor.option(entry.raw.cliOption, graphMethodBudget)
+              MetroOption.GRAPH_FIELD_BUDGET ->
+                processor.option(entry.raw.cliOption, graphFieldBudget)
+              MetroOption.GRAPH_SIZE_BUDGET_SEVERITY ->
+                processor.option(entry.raw.cliOption, graphSizeBudgetSeverity)
               MetroOption.PUBLIC_PROVIDER_SEVERITY ->
                 processor.option(entry.raw.cliOption, publicProviderSeverity)
               MetroOption.WARN_ON_INJECT_ANNOTATION_PLACEMENT ->
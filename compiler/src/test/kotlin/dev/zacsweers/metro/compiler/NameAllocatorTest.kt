@@ -150,4 +150,15 @@ class NameAllocatorTest {
     assertThat(innerAllocator2.newName("foo", 2)).isEqualTo("foo_")
     assertThat(innerAllocator2.newName("bar", 3)).isEqualTo("bar")
   }
+
+  @Test
+  fun untaggedNamesInCopiesDoNotCollide() {
+    val outerAllocator = NameAllocator()
+    outerAllocator.newName("foo")
+
+    val innerAllocator = outerAllocator.copy()
+    assertThat(innerAllocator.newName("foo")).isEqualTo("foo_")
+    assertThat(innerAllocator.newName("bar")).isEqualTo("bar")
+    assertThat(outerAllocator.newName("bar")).isEqualTo("bar")
+  }
 }
@@ -0,0 +1,92 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir
+
+import com.google.common.truth.Truth.assertThat
+import dev.zacsweers.metro.compiler.MetroCompilerTest
+import java.nio.file.Path
+import kotlin.io.path.exists
+import kotlin.io.path.readLines
+import org.junit.Test
+
+class DynamicGraphReportTest : MetroCompilerTest() {
+
+  private val dynamicGraphsSource
+    get() =
+      source(
+        """
+        @Inject class Repository(val api: Api, val cache: Provider<Cache>)
+
+        @Inject class Cache(val repository: Repository)
+
+        interface Api
+
+        class FakeApi : Api
+
+        class CachingApi(val cache: Provider<Cache>) : Api
+
+        @DependencyGraph
+        interface AppGraph {
+          val repository: Repository
+
+          @Provides fun provideApi(): Api = FakeApi()
+        }
+
+        @BindingContainer
+        object FakeApiBindings {
+          @Provides fun provideApi(): Api = FakeApi()
+        }
+
+        @BindingContainer
+        object OtherFakeApiBindings {
+          @Provides fun provideApi(): Api = FakeApi()
+        }
+
+        @BindingContainer
+        object CachingApiBindings {
+          @Provides fun provideApi(cache: Provider<Cache>): Api = CachingApi(cache)
+        }
+
+        fun createGraphs() {
+          createDynamicGraph<AppGraph>(FakeApiBindings)
+          createDynamicGraph<AppGraph>(OtherFakeApiBindings)
+          createDynamicGraph<AppGraph>(CachingApiBindings)
+        }
+        """
+          .trimIndent()
+      )
+
+  @Test
+  fun `each dynamic graph is reported once`() {
+    val reportsDir = temporaryFolder.newFolder("reports").toPath()
+    compile(dynamicGraphsSource, options = metroOptions.copy(reportsDestination = reportsDir)) {
+      val rows = reportsDir.readDynamicGraphs()
+      assertThat(rows.map { it.getValue("target") }.toSet()).containsExactly("test.AppGraph")
+      assertThat(rows.map { it.getValue("containers") })
+        .containsExactly(
+          "test.FakeApiBindings",
+          "test.OtherFakeApiBindings",
+          "test.CachingApiBindings",
+        )
+      assertThat(rows.map { it.keys }.toSet())
+        .containsExactly(setOf("graph", "target", "containers", "bindings", "durationMs"))
+    }
+  }
+
+  @Test
+  fun `dynamic graphs are not reported for deterministic reports`() {
+    val reportsDir = temporaryFolder.newFolder("reports").toPath()
+    compile(
+      dynamicGraphsSource,
+      options = metroOptions.copy(reportsDestination = reportsDir, deterministicReports = true),
+    ) {
+      assertThat(reportsDir.resolve("dynamic-graphs.csv").exists()).isFalse()
+    }
+  }
+
+  private fun Path.readDynamicGraphs(): List<Map<String, String>> {
+    val lines = resolve("dynamic-graphs.csv").readLines().filter(String::isNotBlank)
+    val header = lines.first().split(',')
+    return lines.drop(1).map { line -> header.zip(line.split(',')).toMap() }
+  }
+}
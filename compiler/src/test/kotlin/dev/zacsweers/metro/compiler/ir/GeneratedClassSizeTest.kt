@@ -0,0 +1,89 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir
+
+import com.google.common.truth.Truth.assertThat
+import com.tschuchort.compiletesting.KotlinCompilation.ExitCode.COMPILATION_ERROR
+import dev.zacsweers.metro.compiler.MetroCompilerTest
+import dev.zacsweers.metro.compiler.MetroOptions
+import kotlin.io.path.readLines
+import org.junit.Test
+
+class GeneratedClassSizeTest : MetroCompilerTest() {
+
+  private val graphSource
+    get() =
+      source(
+        """
+        @DependencyGraph(AppScope::class)
+        interface ExampleGraph {
+          val exampleClass: ExampleClass
+          val childGraph: ChildGraph
+
+          @Provides fun provideText(): String = "Hello"
+        }
+
+        @GraphExtension
+        interface ChildGraph {
+          val exampleClass: ExampleClass
+        }
+
+        @SingleIn(AppScope::class) @Inject class Cache
+
+        @SingleIn(AppScope::class) @Inject class ExampleClass(val text: String, val cache: Cache)
+        """
+          .trimIndent()
+      )
+
+  @Test
+  fun `sizes are reported for graphs extensions and factories`() {
+    val reportsDir = temporaryFolder.newFolder("reports").toPath()
+    compile(graphSource, options = metroOptions.copy(reportsDestination = reportsDir)) {
+      val lines = reportsDir.resolve("generated-sizes.csv").readLines()
+      assertThat(lines.first()).isEqualTo(GeneratedClassSize.CSV_HEADER)
+
+      val rows = lines.drop(1).map { it.split(",") }
+      val rowsByKind = rows.groupBy({ it[0] }, { it[1] })
+      assertThat(rowsByKind.keys)
+        .containsAtLeast("graph", "graphExtension", "factory", "providerFactory")
+      assertThat(rowsByKind.getValue("graph").single()).startsWith("test.ExampleGraph")
+      assertThat(rowsByKind.getValue("graphExtension").single()).contains("ChildGraph")
+      assertThat(rowsByKind.getValue("factory"))
+        .containsAtLeast("test.Cache.MetroFactory", "test.ExampleClass.MetroFactory")
+
+      for (row in rows) {
+        val (methods, fields, irStatements) = row.drop(2).map(String::toInt)
+        assertThat(methods).isGreaterThan(0)
+        assertThat(fields).isAtLeast(0)
+        assertThat(irStatements).isGreaterThan(0)
+      }
+    }
+  }
+
+  @Test
+  fun `exceeding a budget warns by default`() {
+    compile(graphSource, options = metroOptions.copy(graphFieldBudget = 1)) {
+      assertContains("fields (budget is 1)")
+    }
+  }
+
+  @Test
+  fun `exceeding a budget can fail`() {
+    compile(
+      graphSource,
+      options =
+        metroOptions.copy(
+          graphMethodBudget = 1,
+          graphSizeBudgetSeverity = MetroOptions.DiagnosticSeverity.ERROR,
+        ),
+      expectedExitCode = COMPILATION_ERROR,
+    ) {
+      assertContains("methods (budget is 1)")
+    }
+  }
+
+  @Test
+  fun `budgets are disabled by default`() {
+    compile(graphSource) { assertThat(messages).doesNotContain("budget is") }
+  }
+}
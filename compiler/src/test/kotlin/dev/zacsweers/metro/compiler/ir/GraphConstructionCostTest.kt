@@ -0,0 +1,113 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir
+
+import com.google.common.truth.Truth.assertThat
+import dev.zacsweers.metro.compiler.MetroCompilerTest
+import java.nio.file.Path
+import kotlin.io.path.readLines
+import org.junit.Test
+
+class GraphConstructionCostTest : MetroCompilerTest() {
+
+  private val cyclicGraphSource
+    get() =
+      source(
+        """
+        @DependencyGraph(AppScope::class)
+        interface ExampleGraph {
+          val foo: Foo
+        }
+
+        @SingleIn(AppScope::class) @Inject class Foo(val bar: Bar)
+
+        @SingleIn(AppScope::class) @Inject class Bar(val foo: Provider<Foo>)
+        """
+          .trimIndent()
+      )
+
+  @Test
+  fun `costs are reported for graphs and extensions`() {
+    val reportsDir = temporaryFolder.newFolder("reports").toPath()
+    compile(
+      source(
+        """
+        @DependencyGraph(AppScope::class)
+        interface ExampleGraph {
+          val exampleClass: ExampleClass
+          val childGraph: ChildGraph
+
+          @Provides fun provideText(): String = "Hello"
+        }
+
+        @GraphExtension
+        interface ChildGraph {
+          val exampleClass: ExampleClass
+        }
+
+        @SingleIn(AppScope::class) @Inject class Cache
+
+        @SingleIn(AppScope::class) @Inject class ExampleClass(val text: String, val cache: Cache)
+        """
+          .trimIndent()
+      ),
+      options = metroOptions.copy(reportsDestination = reportsDir),
+    ) {
+      val graphCost = reportsDir.readCost("ExampleGraph")
+      assertThat(graphCost.keys)
+        .containsExactly(
+          "graph",
+          "fields",
+          "doubleChecks",
+          "factoryInstances",
+          "staticFactories",
+          "instanceFactories",
+          "delegateFactories",
+          "providerLambdas",
+          "initFunctions",
+          "estimatedShallowBytes",
+        )
+        .inOrder()
+      assertThat(graphCost.getValue("graph")).isEqualTo("test.ExampleGraph.Impl")
+      // Cache and ExampleClass are both scoped
+      assertThat(graphCost.getValue("doubleChecks").toInt()).isEqualTo(2)
+      assertThat(graphCost.getValue("delegateFactories").toInt()).isEqualTo(0)
+      assertThat(graphCost.getValue("fields").toInt()).isAtLeast(2)
+      assertThat(graphCost.getValue("estimatedShallowBytes").toLong()).isGreaterThan(0L)
+
+      // The extension doesn't own any scoped bindings
+      val extensionCost = reportsDir.readCost("ChildGraphImpl")
+      assertThat(extensionCost.getValue("graph")).endsWith("ChildGraphImpl")
+      assertThat(extensionCost.getValue("doubleChecks").toInt()).isEqualTo(0)
+    }
+  }
+
+  @Test
+  fun `delegate factories are counted for cycles`() {
+    val reportsDir = temporaryFolder.newFolder("reports").toPath()
+    compile(cyclicGraphSource, options = metroOptions.copy(reportsDestination = reportsDir)) {
+      val cost = reportsDir.readCost("ExampleGraph")
+      assertThat(cost.getValue("delegateFactories").toInt()).isEqualTo(1)
+      assertThat(cost.getValue("doubleChecks").toInt()).isEqualTo(2)
+    }
+  }
+
+  @Test
+  fun `patched cycles do not allocate delegate factories`() {
+    val reportsDir = temporaryFolder.newFolder("reports").toPath()
+    compile(
+      cyclicGraphSource,
+      options = metroOptions.copy(reportsDestination = reportsDir, patchCyclicProviderFields = true),
+    ) {
+      val cost = reportsDir.readCost("ExampleGraph")
+      assertThat(cost.getValue("delegateFactories").toInt()).isEqualTo(0)
+      assertThat(cost.getValue("doubleChecks").toInt()).isEqualTo(2)
+    }
+  }
+
+  private fun Path.readCost(graph: String): Map<String, String> {
+    return resolve("construction-cost-$graph.txt").readLines().associate { line ->
+      line.substringBefore(": ") to line.substringAfter(": ")
+    }
+  }
+}
@@ -0,0 +1,99 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir
+
+import com.google.common.truth.Truth.assertThat
+import dev.zacsweers.metro.Provider
+import dev.zacsweers.metro.compiler.ExampleGraph
+import dev.zacsweers.metro.compiler.MetroCompilerTest
+import dev.zacsweers.metro.compiler.MetroLogger
+import dev.zacsweers.metro.compiler.callProperty
+import dev.zacsweers.metro.compiler.captureStandardOut
+import dev.zacsweers.metro.compiler.createGraphWithNoArgs
+import dev.zacsweers.metro.compiler.generatedImpl
+import dev.zacsweers.metro.internal.DelegateFactory
+import dev.zacsweers.metro.internal.DoubleCheck
+import java.lang.reflect.Modifier
+import org.junit.Test
+
+class PatchedCyclicProviderFieldsTest : MetroCompilerTest() {
+
+  private val cycleSource =
+    source(
+      """
+      @DependencyGraph(AppScope::class)
+      interface ExampleGraph {
+        val foo: Foo
+        val bar: Bar
+        val baz: Baz
+      }
+
+      @SingleIn(AppScope::class) @Inject class Foo(val bar: Bar)
+
+      @Inject class Bar(val fooProvider: Provider<Foo>)
+
+      @Inject class Baz(val fooProvider: Provider<Foo>, val bar: Bar)
+      """
+        .trimIndent()
+    )
+
+  @Test
+  fun `consumers read patched fields directly after graph creation`() {
+    val output = captureStandardOut {
+      compile(
+        cycleSource,
+        options =
+          metroOptions.copy(
+            patchCyclicProviderFields = true,
+            enabledLoggers = setOf(MetroLogger.Type.GeneratedFactories),
+          ),
+      ) {
+        val graph = ExampleGraph.generatedImpl().createGraphWithNoArgs()
+        val fooProvider = graph.fieldValue("fooProvider")
+        assertThat(fooProvider).isInstanceOf(DoubleCheck::class.java)
+
+        // The unscoped Bar field captured a reader of fooProvider while the cycle was initialized,
+        // and is reassigned to read fooProvider directly once it's assigned
+        assertThat(graph.fieldValue("barProvider").holds(fooProvider)).isTrue()
+        assertThat(graph.callProperty<Any>("bar").callProperty<Any>("fooProvider"))
+          .isSameInstanceAs(fooProvider)
+        assertThat(graph.callProperty<Any>("baz").callProperty<Any>("fooProvider"))
+          .isSameInstanceAs(fooProvider)
+
+        // Foo's Bar was created within the cycle and still reaches the same Foo through a reader
+        val foo = graph.callProperty<Any>("foo")
+        val cycleBarFooProvider =
+          foo.callProperty<Any>("bar").callProperty<Provider<*>>("fooProvider")
+        assertThat(cycleBarFooProvider()).isSameInstanceAs(foo)
+      }
+    }
+
+    val graphDump = output.substringAfter("IR source dump for ExampleGraph.Impl")
+    assertThat(graphDump).doesNotContain("DelegateFactory")
+    // fooProvider is assigned once, barProvider before it and again after it
+    assertThat(graphDump.occurrencesOf("<this>.#fooProvider = ")).isEqualTo(1)
+    assertThat(graphDump.occurrencesOf("<this>.#barProvider = ")).isEqualTo(2)
+  }
+
+  @Test
+  fun `consumers hold a DelegateFactory without patching`() {
+    compile(cycleSource) {
+      val graph = ExampleGraph.generatedImpl().createGraphWithNoArgs()
+      val fooProvider = graph.fieldValue("fooProvider")
+      assertThat(fooProvider).isInstanceOf(DelegateFactory::class.java)
+      assertThat(graph.fieldValue("barProvider").holds(fooProvider)).isTrue()
+    }
+  }
+
+  private fun Any.fieldValue(name: String): Any {
+    return javaClass.getDeclaredField(name).apply { isAccessible = true }.get(this)
+  }
+
+  private fun Any.holds(value: Any): Boolean {
+    return javaClass.declaredFields
+      .filterNot { Modifier.isStatic(it.modifiers) }
+      .any { field -> field.apply { isAccessible = true }.get(this) === value }
+  }
+
+  private fun String.occurrencesOf(text: String): Int = windowed(text.length).count { it == text }
+}
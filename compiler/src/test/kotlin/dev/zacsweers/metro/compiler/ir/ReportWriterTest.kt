@@ -0,0 +1,61 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir
+
+import kotlin.io.path.createTempDirectory
+import kotlin.io.path.readText
+import kotlin.io.path.writeText
+import kotlin.test.Test
+import kotlin.test.assertEquals
+
+class ReportWriterTest {
+  private val dir = createTempDirectory("reports")
+
+  @Test
+  fun `lines are written on close`() {
+    val path = dir.resolve("lookups.csv")
+    val writer = ReportWriter(path, header = "header")
+    writer.append("\na")
+    writer.append("\nb")
+    assertEquals("header", path.readText())
+
+    writer.close()
+    assertEquals("header\na\nb", path.readText())
+  }
+
+  @Test
+  fun `lines are written on flush`() {
+    val path = dir.resolve("log.txt")
+    val writer = ReportWriter(path)
+    writer.append("a\n")
+    writer.flush()
+    assertEquals("a\n", path.readText())
+    writer.close()
+  }
+
+  @Test
+  fun `existing files are replaced`() {
+    val path = dir.resolve("timings.csv")
+    path.writeText("stale")
+    ReportWriter(path, header = "header").close()
+    assertEquals("header", path.readText())
+  }
+
+  @Test
+  fun `appending after close reopens the file`() {
+    val path = dir.resolve("traceLog.txt")
+    val writer = ReportWriter(path)
+    writer.append("a\n")
+    writer.close()
+    writer.append("b\n")
+    writer.close()
+    assertEquals("a\nb\n", path.readText())
+  }
+
+  @Test
+  fun `parent directories are created`() {
+    val path = dir.resolve("nested/expectActualReports.csv")
+    ReportWriter(path, header = "expected,actual").close()
+    assertEquals("expected,actual", path.readText())
+  }
+}
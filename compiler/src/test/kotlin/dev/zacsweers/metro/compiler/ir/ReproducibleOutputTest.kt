@@ -0,0 +1,92 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir
+
+import com.google.common.truth.Truth.assertThat
+import com.google.common.truth.Truth.assertWithMessage
+import com.tschuchort.compiletesting.JvmCompilationResult
+import dev.zacsweers.metro.compiler.MetroCompilerTest
+import org.junit.Test
+
+class ReproducibleOutputTest : MetroCompilerTest() {
+
+  private val graphSource
+    get() =
+      source(
+        """
+        @DependencyGraph(AppScope::class)
+        interface ExampleGraph {
+          val repository: Repository
+          val services: Set<Service>
+          val servicesByName: Map<String, Service>
+          val childGraph: ChildGraph
+          val presenterFactory: Presenter.Factory
+
+          @Provides fun provideText(): String = "Hello"
+
+          @Provides @Named("other") fun provideOtherText(): String = "World"
+
+          @Provides @IntoSet fun provideServiceB(serviceB: ServiceB): Service = serviceB
+
+          @Provides
+          @IntoMap
+          @StringKey("a")
+          fun provideServiceA(serviceA: ServiceA): Service = serviceA
+        }
+
+        @GraphExtension
+        interface ChildGraph {
+          val repository: Repository
+          val cache: Lazy<Cache>
+        }
+
+        interface Service
+
+        @ContributesIntoSet(AppScope::class) @Inject class ServiceA(val cache: Cache) : Service
+
+        @ContributesIntoMap(AppScope::class)
+        @StringKey("b")
+        @Inject
+        class ServiceB(val cache: Provider<Cache>, val text: String) : Service
+
+        @SingleIn(AppScope::class) @Inject class Cache
+
+        @SingleIn(AppScope::class)
+        @Inject
+        class Repository(
+          val cache: Cache,
+          val text: String,
+          @Named("other") val otherText: String,
+          val services: Set<Service>,
+        )
+
+        @AssistedInject
+        class Presenter(@Assisted val id: Int, val repository: Repository) {
+          @AssistedFactory
+          interface Factory {
+            fun create(id: Int): Presenter
+          }
+        }
+        """
+          .trimIndent()
+      )
+
+  @Test
+  fun `compiling the same graph twice produces identical class files`() {
+    val first = compile(graphSource).classFiles()
+    val second = compile(graphSource).classFiles()
+
+    assertThat(first.keys).isNotEmpty()
+    assertThat(second.keys).containsExactlyElementsIn(first.keys)
+    for ((path, bytes) in first) {
+      assertWithMessage(path).that(second.getValue(path)).isEqualTo(bytes)
+    }
+  }
+
+  private fun JvmCompilationResult.classFiles(): Map<String, ByteArray> {
+    return outputDirectory
+      .walkTopDown()
+      .filter { it.extension == "class" }
+      .associate { it.relativeTo(outputDirectory).path to it.readBytes() }
+  }
+}
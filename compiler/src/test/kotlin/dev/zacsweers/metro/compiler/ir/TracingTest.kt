@@ -4,6 +4,7 @@ package dev.zacsweers.metro.compiler.ir
 
 import com.google.common.truth.Truth.assertThat
 import dev.zacsweers.metro.compiler.MetroCompilerTest
+import kotlin.io.path.exists
 import kotlin.io.path.readText
 import org.junit.Test
 
@@ -37,7 +38,10 @@ class TracingTest : MetroCompilerTest() {
       options = metroOptions.copy(reportsDestination = reportsDir),
     ) {
       val timings = reportsDir.resolve("timings.csv").readText()
-      val withoutTime = timings.lines().drop(1).joinToString("\n") { it.substringBeforeLast(",") }
+      val withoutTime =
+        timings.lines().drop(1).joinToString("\n") {
+          it.substringBeforeLast(",").substringBeforeLast(",")
+        }
       assertThat(withoutTime)
         .isEqualTo(
           """
@@ -169,7 +173,10 @@ class TracingTest : MetroCompilerTest() {
       options = metroOptions.copy(reportsDestination = reportsDir),
     ) {
       val timings = reportsDir.resolve("timings.csv").readText()
-      val withoutTime = timings.lines().drop(1).joinToString("\n") { it.substringBeforeLast(",") }
+      val withoutTime =
+        timings.lines().drop(1).joinToString("\n") {
+          it.substringBeforeLast(",").substringBeforeLast(",")
+        }
       assertThat(withoutTime)
         .isEqualTo(
           """
@@ -370,7 +377,10 @@ class TracingTest : MetroCompilerTest() {
       options = metroOptions.copy(reportsDestination = reportsDir),
     ) {
       val timings = reportsDir.resolve("timings.csv").readText()
-      val withoutTime = timings.lines().drop(1).joinToString("\n") { it.substringBeforeLast(",") }
+      val withoutTime =
+        timings.lines().drop(1).joinToString("\n") {
+          it.substringBeforeLast(",").substringBeforeLast(",")
+        }
       assertThat(withoutTime)
         .isEqualTo(
           """
@@ -535,4 +545,27 @@ class TracingTest : MetroCompilerTest() {
         )
     }
   }
+
+  @Test
+  fun `deterministic reports skip timings and trace logs`() {
+    val reportsDir = temporaryFolder.newFolder("reports").toPath()
+    compile(
+      source(
+        """
+        @DependencyGraph(AppScope::class)
+        interface ExampleGraph {
+          val exampleClass: ExampleClass
+        }
+
+        @SingleIn(AppScope::class) @Inject class ExampleClass
+        """
+          .trimIndent()
+      ),
+      options = metroOptions.copy(reportsDestination = reportsDir, deterministicReports = true),
+    ) {
+      assertThat(reportsDir.resolve("timings.csv").exists()).isFalse()
+      assertThat(reportsDir.resolve("traceLog.txt").exists()).isFalse()
+      assertThat(reportsDir.resolve("graph-metadata").exists()).isTrue()
+    }
+  }
 }
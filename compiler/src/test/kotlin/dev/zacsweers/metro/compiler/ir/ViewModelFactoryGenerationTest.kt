@@ -0,0 +1,190 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.compiler.ir
+
+import com.google.common.truth.Truth.assertThat
+import com.tschuchort.compiletesting.KotlinCompilation.ExitCode.COMPILATION_ERROR
+import dev.zacsweers.metro.compiler.ExampleGraph
+import dev.zacsweers.metro.compiler.MetroCompilerTest
+import dev.zacsweers.metro.compiler.MetroLogger
+import dev.zacsweers.metro.compiler.callProperty
+import dev.zacsweers.metro.compiler.captureStandardOut
+import dev.zacsweers.metro.compiler.createGraphWithNoArgs
+import dev.zacsweers.metro.compiler.generatedImpl
+import dev.zacsweers.metro.compiler.invokeInstanceMethod
+import org.junit.Test
+
+class ViewModelFactoryGenerationTest : MetroCompilerTest() {
+
+  // Minimal stand-ins for the lifecycle and metrox-viewmodel APIs the compiler looks up
+  private val lifecycleStubs =
+    source(
+      """
+      abstract class ViewModel
+
+      abstract class CreationExtras {
+        object Empty : CreationExtras()
+      }
+      """
+        .trimIndent(),
+      fileNameWithoutExtension = "Lifecycle",
+      packageName = "androidx.lifecycle",
+    )
+
+  private val viewModelStubs =
+    source(
+      """
+      import androidx.lifecycle.CreationExtras
+      import androidx.lifecycle.ViewModel
+      import kotlin.reflect.KClass
+
+      @MapKey annotation class ViewModelKey(val value: KClass<out ViewModel>)
+
+      interface ViewModelAssistedFactory {
+        fun create(extras: CreationExtras): ViewModel
+      }
+
+      abstract class MetroViewModelFactory {
+        protected open fun createViewModel(
+          modelClass: KClass<out ViewModel>,
+          extras: CreationExtras,
+        ): ViewModel? = null
+
+        @Suppress("UNCHECKED_CAST")
+        fun <T : ViewModel> create(modelClass: KClass<T>, extras: CreationExtras): T {
+          return createViewModel(modelClass, extras) as T? ?: error("Unknown model class ${'$'}modelClass")
+        }
+      }
+      """
+        .trimIndent(),
+      fileNameWithoutExtension = "MetroViewModelFactory",
+      packageName = "dev.zacsweers.metrox.viewmodel",
+    )
+
+  private val graphSource =
+    source(
+      """
+      import androidx.lifecycle.CreationExtras
+      import androidx.lifecycle.ViewModel
+      import dev.zacsweers.metrox.viewmodel.MetroViewModelFactory
+      import dev.zacsweers.metrox.viewmodel.ViewModelAssistedFactory
+      import dev.zacsweers.metrox.viewmodel.ViewModelKey
+
+      @DependencyGraph
+      interface ExampleGraph {
+        val metroViewModelFactory: MetroViewModelFactory
+
+        @Binds @IntoMap @ViewModelKey(HomeViewModel::class)
+        val HomeViewModel.bindHome: ViewModel
+
+        @Binds @IntoMap @ViewModelKey(DetailsViewModel::class)
+        val DetailsViewModelFactory.bindDetails: ViewModelAssistedFactory
+
+        @Provides fun provideText(): String = "Hello"
+      }
+
+      @Inject class HomeViewModel(val text: String) : ViewModel()
+
+      class DetailsViewModel(val extras: CreationExtras) : ViewModel()
+
+      @Inject
+      class DetailsViewModelFactory : ViewModelAssistedFactory {
+        override fun create(extras: CreationExtras): ViewModel = DetailsViewModel(extras)
+      }
+      """
+        .trimIndent(),
+      fileNameWithoutExtension = "ExampleGraph",
+    )
+
+  @Test
+  fun `factory accessors dispatch on the model class`() {
+    val output = captureStandardOut {
+      compile(
+        lifecycleStubs,
+        viewModelStubs,
+        graphSource,
+        options =
+          metroOptions.copy(
+            generateViewModelFactories = true,
+            enabledLoggers = setOf(MetroLogger.Type.GeneratedFactories),
+          ),
+      ) {
+        val graph = ExampleGraph.generatedImpl().createGraphWithNoArgs()
+        val factory = graph.callProperty<Any>("metroViewModelFactory")
+        assertThat(factory.javaClass.simpleName).isEqualTo("MetroViewModelFactoryImpl")
+        // The graph holds a single instance of the factory
+        assertThat(graph.callProperty<Any>("metroViewModelFactory")).isSameInstanceAs(factory)
+
+        val extras =
+          classLoader
+            .loadClass("androidx.lifecycle.CreationExtras\$Empty")
+            .getField("INSTANCE")
+            .get(null)
+        val home =
+          factory.invokeInstanceMethod<Any>(
+            "create",
+            classLoader.loadClass("test.HomeViewModel").kotlin,
+            extras,
+          )
+        assertThat(home.callProperty<String>("text")).isEqualTo("Hello")
+        val details =
+          factory.invokeInstanceMethod<Any>(
+            "create",
+            classLoader.loadClass("test.DetailsViewModel").kotlin,
+            extras,
+          )
+        assertThat(details.callProperty<Any>("extras")).isSameInstanceAs(extras)
+      }
+    }
+
+    val graphDump = output.substringAfter("IR source dump for ExampleGraph.Impl")
+    assertThat(graphDump).contains("inner class MetroViewModelFactoryImpl : MetroViewModelFactory")
+    assertThat(graphDump).contains("override fun createViewModel(")
+    assertThat(graphDump).contains("when {")
+    assertThat(graphDump).contains("modelClass == HomeViewModel::class ->")
+    assertThat(graphDump).contains("modelClass == DetailsViewModel::class ->")
+    assertThat(graphDump).contains(".create(extras = extras)")
+    assertThat(graphDump).contains("else -> null")
+    // No provider maps are assembled for the factory
+    assertThat(graphDump).doesNotContain("buildMap")
+    assertThat(graphDump).doesNotContain("MapProviderFactory")
+  }
+
+  @Test
+  fun `explicitly bound factories are not replaced`() {
+    compile(
+      lifecycleStubs,
+      viewModelStubs,
+      source(
+        """
+        import dev.zacsweers.metrox.viewmodel.MetroViewModelFactory
+
+        @DependencyGraph
+        interface ExampleGraph {
+          val metroViewModelFactory: MetroViewModelFactory
+
+          @Binds val CustomViewModelFactory.bind: MetroViewModelFactory
+        }
+
+        @Inject class CustomViewModelFactory : MetroViewModelFactory()
+        """
+          .trimIndent(),
+        fileNameWithoutExtension = "ExampleGraph",
+      ),
+      options = metroOptions.copy(generateViewModelFactories = true),
+    ) {
+      val graph = ExampleGraph.generatedImpl().createGraphWithNoArgs()
+      val factory = graph.callProperty<Any>("metroViewModelFactory")
+      assertThat(factory.javaClass.simpleName).isEqualTo("CustomViewModelFactory")
+    }
+  }
+
+  @Test
+  fun `factory accessors are resolved from the graph when disabled`() {
+    compile(lifecycleStubs, viewModelStubs, graphSource, expectedExitCode = COMPILATION_ERROR) {
+      assertContains(
+        "[Metro/MissingBinding] Cannot find an @Inject constructor or @Provides-annotated function/property for: dev.zacsweers.metrox.viewmodel.MetroViewModelFactory"
+      )
+    }
+  }
+}
@@ -61,6 +61,10 @@ gradlePlugin {
       id = "dev.zacsweers.metro"
       implementationClass = "dev.zacsweers.metro.gradle.MetroGradleSubplugin"
     }
+    register("metroAnalysisAggregationPlugin") {
+      id = "dev.zacsweers.metro.analysis-aggregation"
+      implementationClass = "dev.zacsweers.metro.gradle.MetroAnalysisAggregationPlugin"
+    }
   }
 }
 
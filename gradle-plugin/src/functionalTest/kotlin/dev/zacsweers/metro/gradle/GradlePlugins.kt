@@ -10,6 +10,8 @@ object GradlePlugins {
 
   val metro = Plugin("dev.zacsweers.metro", pluginVersion)
 
+  val metroAnalysisAggregation = Plugin("dev.zacsweers.metro.analysis-aggregation", pluginVersion)
+
   val agpKmp =
     Plugin("com.android.kotlin.multiplatform.library", System.getProperty("metro.agpVersion"))
 
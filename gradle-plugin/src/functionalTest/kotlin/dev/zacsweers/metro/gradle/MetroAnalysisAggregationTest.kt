@@ -0,0 +1,134 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle
+
+import com.autonomousapps.kit.GradleBuilder.build
+import com.autonomousapps.kit.GradleProject
+import com.autonomousapps.kit.GradleProject.DslKind
+import com.autonomousapps.kit.Source
+import com.google.common.truth.Truth.assertThat
+import java.io.File
+import org.gradle.testkit.runner.TaskOutcome
+import org.junit.Test
+
+class MetroAnalysisAggregationTest {
+  @Test
+  fun `unchanged graphs are reused from the analysis cache`() {
+    val fixture =
+      object : MetroProject() {
+        override fun sources() = emptyList<Source>()
+
+        override val gradleProject: GradleProject
+          get() =
+            newGradleProjectBuilder(DslKind.KOTLIN)
+              .withRootProject {
+                withBuildScript {
+                  plugins(
+                    GradlePlugins.Kotlin.jvm(),
+                    GradlePlugins.metro,
+                    GradlePlugins.metroAnalysisAggregation,
+                  )
+                }
+                withMetroSettings()
+              }
+              .withSubproject("app") {
+                sources.add(appGraph)
+                withBuildScript { applyMetroDefault() }
+              }
+              .withSubproject("feature") {
+                sources.add(featureGraph)
+                withBuildScript { applyMetroDefault() }
+              }
+              .write()
+
+        val appGraph =
+          source(
+            """
+            @DependencyGraph
+            interface AppGraph {
+              val value: String
+
+              @Provides fun provideValue(): String = "app"
+            }
+            """
+          )
+
+        val featureGraph =
+          source(
+            """
+            @DependencyGraph
+            interface FeatureGraph {
+              val value: String
+
+              @Provides fun provideValue(): String = "feature"
+            }
+            """
+          )
+      }
+
+    val project = fixture.gradleProject
+    val cacheDir = project.rootDir.resolve("build/metro/analysisCache")
+
+    val firstResult = build(project.rootDir, AGGREGATE_TASK)
+    assertThat(firstResult.task(AGGREGATE_TASK)?.outcome).isEqualTo(TaskOutcome.SUCCESS)
+    assertThat(firstResult.output)
+      .contains("Analyzed 2 graphs across 2 projects (0 unchanged graphs reused from the cache)")
+    val firstEntries = cacheDir.cacheEntries()
+    assertThat(firstEntries).hasSize(2)
+    assertThat(project.aggregatedReport()).contains("\"test.FeatureGraph\"")
+
+    // Change only the feature graph
+    project.rootDir
+      .resolve("feature/src/main/kotlin/test/FeatureGraph.kt")
+      .writeText(
+        fixture.featureGraph
+          .copy(
+            """
+            @DependencyGraph
+            interface FeatureGraph {
+              val value: String
+              val count: Int
+
+              @Provides fun provideValue(): String = "feature"
+
+              @Provides fun provideCount(): Int = 3
+            }
+            """
+          )
+          .source
+      )
+
+    val secondResult = build(project.rootDir, AGGREGATE_TASK)
+    assertThat(secondResult.task(":feature:generateMetroGraphMetadata")?.outcome)
+      .isEqualTo(TaskOutcome.SUCCESS)
+    assertThat(secondResult.task(":app:generateMetroGraphMetadata")?.outcome)
+      .isEqualTo(TaskOutcome.UP_TO_DATE)
+    assertThat(secondResult.task(AGGREGATE_TASK)?.outcome).isEqualTo(TaskOutcome.SUCCESS)
+    assertThat(secondResult.output)
+      .contains("Analyzed 2 graphs across 2 projects (1 unchanged graphs reused from the cache)")
+
+    // The app graph's entry is untouched and the feature graph's entry is replaced
+    val secondEntries = cacheDir.cacheEntries()
+    assertThat(secondEntries).hasSize(2)
+    val reused = firstEntries.keys intersect secondEntries.keys
+    assertThat(reused).hasSize(1)
+    val reusedEntry = reused.single()
+    assertThat(secondEntries.getValue(reusedEntry)).isEqualTo(firstEntries.getValue(reusedEntry))
+    assertThat(cacheDir.resolve(reusedEntry).readText()).contains("\"test.AppGraph\"")
+    assertThat(project.aggregatedReport()).contains("\"kotlin.Int\"")
+  }
+
+  /** Cache entry file names mapped to their last modified times. */
+  private fun File.cacheEntries(): Map<String, Long> =
+    listFiles()
+      .orEmpty()
+      .filter { it.extension == "json" }
+      .associate { it.name to it.lastModified() }
+
+  private fun GradleProject.aggregatedReport(): String =
+    rootDir.resolve("build/reports/metro/aggregatedAnalysis.json").readText()
+
+  private companion object {
+    const val AGGREGATE_TASK = ":aggregateMetroGraphAnalysis"
+  }
+}
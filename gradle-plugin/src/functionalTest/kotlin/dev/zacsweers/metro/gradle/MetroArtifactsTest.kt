@@ -7,7 +7,9 @@ package dev.zacsweers.metro.gradle
 import com.autonomousapps.kit.GradleBuilder.build
 import com.google.common.truth.Truth.assertThat
 import java.io.File
+import kotlin.io.path.createTempDirectory
 import kotlin.test.assertTrue
+import org.gradle.testkit.runner.TaskOutcome
 import org.junit.Test
 
 class MetroArtifactsTest {
@@ -123,5 +125,64 @@ class MetroArtifactsTest {
         """
           .trimIndent()
       )
+
+    val binaryMetadataFile = File(project.rootDir, "build/reports/metro/graphMetadata.bin")
+    assertTrue(binaryMetadataFile.exists(), "Binary graph metadata file should exist")
+    assertThat(binaryMetadataFile.length()).isLessThan(metadataFile.length())
+  }
+
+  @Test
+  fun `cacheable reports are restored from the build cache`() {
+    val fixture =
+      object : MetroProject() {
+        override fun sources() =
+          listOf(
+            source(
+              """
+              @DependencyGraph
+              interface AppGraph {
+                val value: String
+
+                @Provides
+                fun provideValue(): String = "test"
+              }
+              """,
+              "AppGraph",
+            )
+          )
+      }
+
+    val project = fixture.gradleProject
+    // Use a build cache that no other build has populated
+    val buildCacheDir = createTempDirectory("metro-build-cache").toFile()
+    project.rootDir
+      .resolve("settings.gradle.kts")
+      .appendText(
+        "\nbuildCache { local { directory = file(\"${buildCacheDir.invariantSeparatorsPath}\") } }\n"
+      )
+    val args = arrayOf("compileKotlin", "--build-cache", "-Pmetro.cacheableReports=true")
+    val reportPath = "build/metro/main/keys-populated-AppGraph.txt"
+
+    val firstResult = build(project.rootDir, *args)
+    assertThat(firstResult.task(":compileKotlin")?.outcome).isEqualTo(TaskOutcome.SUCCESS)
+    val report = File(project.rootDir, reportPath).readText()
+    assertThat(report).contains("kotlin.String")
+
+    build(project.rootDir, "clean")
+    assertThat(File(project.rootDir, reportPath).exists()).isFalse()
+
+    val cachedResult = build(project.rootDir, *args)
+    assertThat(cachedResult.task(":compileKotlin")?.outcome).isEqualTo(TaskOutcome.FROM_CACHE)
+    assertThat(File(project.rootDir, reportPath).readText()).isEqualTo(report)
+
+    // Reports are relocatable, so a copy of the project in another directory hits the cache too
+    val relocatedDir = createTempDirectory("metro-relocated").toFile()
+    project.rootDir.copyRecursively(relocatedDir, overwrite = true)
+    relocatedDir.resolve("build").deleteRecursively()
+    relocatedDir.resolve(".gradle").deleteRecursively()
+
+    val relocatedResult = build(relocatedDir, *args)
+    assertThat(relocatedResult.task(":compileKotlin")?.outcome).isEqualTo(TaskOutcome.FROM_CACHE)
+    assertThat(File(relocatedDir, reportPath).readText()).isEqualTo(report)
   }
 }
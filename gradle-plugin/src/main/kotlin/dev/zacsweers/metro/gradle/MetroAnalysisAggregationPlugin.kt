@@ -0,0 +1,66 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle
+
+import dev.zacsweers.metro.gradle.analysis.AggregateGraphAnalysisTask
+import org.gradle.api.Plugin
+import org.gradle.api.Project
+import org.gradle.api.attributes.Category
+import org.gradle.api.model.ObjectFactory
+
+/**
+ * Aggregates Metro graph analysis across all projects of a build. Apply this to the root project.
+ *
+ * Every subproject that applies Metro with a `reportsDestination` publishes its aggregated graph
+ * metadata in a `metroGraphMetadataElements` configuration, which this plugin resolves to analyze
+ * all graphs with [AggregateGraphAnalysisTask]. Subprojects without Metro reports are skipped.
+ * Projects outside of the root's subprojects can be added to the `metroGraphMetadata`
+ * configuration.
+ */
+public class MetroAnalysisAggregationPlugin : Plugin<Project> {
+  override fun apply(target: Project) {
+    val graphMetadata =
+      target.configurations.dependencyScope(DEPENDENCIES_CONFIGURATION) {
+        it.description = "Projects whose Metro graph metadata should be analyzed"
+      }
+    for (subproject in target.subprojects) {
+      target.dependencies.add(
+        DEPENDENCIES_CONFIGURATION,
+        target.dependencies.project(mapOf("path" to subproject.path)),
+      )
+    }
+
+    val graphMetadataClasspath =
+      target.configurations.resolvable("${DEPENDENCIES_CONFIGURATION}Classpath") {
+        it.extendsFrom(graphMetadata.get())
+        it.attributes { attributes ->
+          attributes.attribute(Category.CATEGORY_ATTRIBUTE, graphMetadataCategory(target.objects))
+        }
+      }
+
+    target.tasks.register(
+      AggregateGraphAnalysisTask.NAME,
+      AggregateGraphAnalysisTask::class.java,
+    ) { task ->
+      task.metadataFiles.from(
+        graphMetadataClasspath.map { classpath ->
+          // Lenient, as most projects in a build won't have Metro graph metadata
+          classpath.incoming.artifactView { it.lenient(true) }.files
+        }
+      )
+      task.cacheDirectory.convention(target.layout.buildDirectory.dir("metro/analysisCache"))
+      task.outputFile.convention(
+        target.layout.buildDirectory.file("reports/metro/aggregatedAnalysis.json")
+      )
+    }
+  }
+
+  internal companion object {
+    const val DEPENDENCIES_CONFIGURATION = "metroGraphMetadata"
+    const val ELEMENTS_CONFIGURATION = "metroGraphMetadataElements"
+
+    /** The [Category] of the variant that holds a project's aggregated graph metadata. */
+    fun graphMetadataCategory(objects: ObjectFactory): Category =
+      objects.named(Category::class.java, "metro-graph-metadata")
+  }
+}
@@ -8,6 +8,7 @@ import dev.zacsweers.metro.gradle.artifacts.GenerateGraphMetadataTask
 import dev.zacsweers.metro.gradle.artifacts.MetroArtifactCopyTask
 import javax.inject.Inject
 import org.gradle.api.Project
+import org.gradle.api.attributes.Category
 import org.gradle.api.problems.ProblemGroup
 import org.gradle.api.problems.ProblemId
 import org.gradle.api.problems.Problems
@@ -136,13 +137,27 @@ public class MetroGradleSubplugin @Inject constructor(private val problems: Prob
           task.outputFile.convention(
             target.layout.buildDirectory.file("reports/metro/graphMetadata.json")
           )
+          task.binaryOutputFile.convention(
+            target.layout.buildDirectory.file("reports/metro/graphMetadata.bin")
+          )
+        }
+
+        // Expose the graph metadata for MetroAnalysisAggregationPlugin
+        target.configurations.consumable(MetroAnalysisAggregationPlugin.ELEMENTS_CONFIGURATION) {
+          it.attributes { attributes ->
+            attributes.attribute(
+              Category.CATEGORY_ATTRIBUTE,
+              MetroAnalysisAggregationPlugin.graphMetadataCategory(target.objects),
+            )
+          }
+          it.outgoing.artifact(graphMetadataTask.flatMap { task -> task.binaryOutputFile })
         }
 
         // Analysis task - comprehensive graph analysis
         val analyzeTask = target.tasks.register(AnalyzeGraphTask.NAME, AnalyzeGraphTask::class.java)
         analyzeTask.configure { task ->
           task.description = "Analyzes Metro dependency graphs and produces a comprehensive report"
-          task.inputFile.convention(graphMetadataTask.flatMap { it.outputFile })
+          task.inputFile.convention(graphMetadataTask.flatMap { it.binaryOutputFile })
           task.outputFile.convention(
             target.layout.buildDirectory.file("reports/metro/analysis.json")
           )
@@ -153,7 +168,7 @@ public class MetroGradleSubplugin @Inject constructor(private val problems: Prob
           target.tasks.register(GenerateGraphHtmlTask.NAME, GenerateGraphHtmlTask::class.java)
         htmlTask.configure { task ->
           task.description = "Generates interactive HTML visualizations of Metro dependency graphs"
-          task.inputFile.convention(graphMetadataTask.flatMap { it.outputFile })
+          task.inputFile.convention(graphMetadataTask.flatMap { it.binaryOutputFile })
           task.analysisFile.convention(analyzeTask.flatMap { it.outputFile })
           task.outputDirectory.convention(target.layout.buildDirectory.dir("reports/metro/html"))
         }
@@ -248,6 +263,12 @@ public class MetroGradleSubplugin @Inject constructor(private val problems: Prob
       }
 
     if (extension.reportsDestination.isPresent) {
+      kotlinCompilation.compileTaskProvider.configure { task ->
+        if (extension.cacheableReports.get()) {
+          task.outputs.dir(reportsDir).withPropertyName("metroReportsDir")
+        }
+      }
+
       val artifactsTask = MetroArtifactCopyTask.register(project, reportsDir, kotlinCompilation)
 
       project.tasks.withType(GenerateGraphMetadataTask::class.java).configureEach { task ->
@@ -304,6 +325,17 @@ public class MetroGradleSubplugin @Inject constructor(private val problems: Prob
           add(lazyOption("shrink-unused-bindings", extension.shrinkUnusedBindings))
           add(lazyOption("chunk-field-inits", extension.chunkFieldInits))
           add(lazyOption("statements-per-init-fun", extension.statementsPerInitFun))
+          add(lazyOption("lazy-provider-map-threshold", extension.lazyProviderMapThreshold))
+          add(
+            lazyOption("eager-subgraph-warning-threshold", extension.eagerSubgraphWarningThreshold)
+          )
+          add(lazyOption("short-lived-graph-extensions", extension.shortLivedGraphExtensions))
+          add(lazyOption("patch-cyclic-provider-fields", extension.patchCyclicProviderFields))
+          add(lazyOption("generate-view-model-factories", extension.generateViewModelFactories))
+          add(lazyOption("deterministic-reports", extension.cacheableReports))
+          add(lazyOption("graph-method-budget", extension.graphMethodBudget))
+          add(lazyOption("graph-field-budget", extension.graphFieldBudget))
+          add(lazyOption("graph-size-budget-severity", extension.graphSizeBudgetSeverity))
           add(lazyOption("optional-binding-behavior", extension.optionalBindingBehavior))
           add(lazyOption("public-provider-severity", extension.publicProviderSeverity))
           add(
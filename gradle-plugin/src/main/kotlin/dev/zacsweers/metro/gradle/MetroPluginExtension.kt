@@ -151,6 +151,68 @@ constructor(
   public val statementsPerInitFun: Property<Int> =
     objects.property(Int::class.javaObjectType).convention(25)
 
+  /**
+   * Minimum number of entries in a `Map<K, Provider<V>>` multibinding before Metro creates its
+   * value providers lazily per key rather than all up front, or 0 to disable. Disabled by default.
+   */
+  public val lazyProviderMapThreshold: Property<Int> =
+    objects.property(Int::class.javaObjectType).convention(0)
+
+  /**
+   * Number of otherwise-lazy scoped bindings that a `@Startup(StartupPolicy.EAGER)` binding may
+   * force to initialize at graph creation before Metro reports a warning. Default is 10, 0
+   * disables.
+   */
+  public val eagerSubgraphWarningThreshold: Property<Int> =
+    objects.property(Int::class.javaObjectType).convention(10)
+
+  /**
+   * Enable/disable generating graph extensions that are cheaper to create, at the cost of slightly
+   * more work per binding access. Useful for extensions that are created often and discarded
+   * quickly, such as one per request. Disabled by default.
+   */
+  public val shortLivedGraphExtensions: Property<Boolean> =
+    objects.property(Boolean::class.javaObjectType).convention(false)
+
+  /**
+   * Enable/disable assigning the provider fields of bindings in breakable cycles (i.e. cycles
+   * broken by a `Provider` or `Lazy` injection) directly instead of through a `DelegateFactory`.
+   * Calls to these bindings after graph creation then have no extra indirection. Disabled by
+   * default.
+   */
+  public val patchCyclicProviderFields: Property<Boolean> =
+    objects.property(Boolean::class.javaObjectType).convention(false)
+
+  /**
+   * Enable/disable implementing graph accessors of metrox-viewmodel's `MetroViewModelFactory` with
+   * a generated subclass. It creates ViewModels by dispatching on their class directly to their
+   * bindings, so the graph never assembles the provider maps of all ViewModels. Disabled by
+   * default.
+   */
+  public val generateViewModelFactories: Property<Boolean> =
+    objects.property(Boolean::class.javaObjectType).convention(false)
+
+  /**
+   * Maximum number of methods that a generated graph or graph extension class may have before Metro
+   * reports a diagnostic with [graphSizeBudgetSeverity]. Default is 0, which disables.
+   */
+  public val graphMethodBudget: Property<Int> =
+    objects.property(Int::class.javaObjectType).convention(0)
+
+  /**
+   * Maximum number of fields that a generated graph or graph extension class may have before Metro
+   * reports a diagnostic with [graphSizeBudgetSeverity]. Default is 0, which disables.
+   */
+  public val graphFieldBudget: Property<Int> =
+    objects.property(Int::class.javaObjectType).convention(0)
+
+  /**
+   * Configures the Metro compiler plugin to warn, error, or do nothing when a generated graph
+   * exceeds [graphMethodBudget] or [graphFieldBudget]. Default is [DiagnosticSeverity.WARN].
+   */
+  public val graphSizeBudgetSeverity: Property<DiagnosticSeverity> =
+    objects.property(DiagnosticSeverity::class.javaObjectType).convention(DiagnosticSeverity.WARN)
+
   /**
    * Controls the behavior of optional dependencies on a per-compilation basis. Default is
    * [OptionalBindingBehavior.DEFAULT] mode.
@@ -234,6 +296,21 @@ constructor(
         }
       )
 
+  /**
+   * If enabled, each compilation's [reportsDestination] directory is declared as an output of its
+   * Kotlin compile task, so reports are stored in and restored from the build cache along with the
+   * compiled classes. Reports whose content varies between identical compilations (`timings.csv`,
+   * `traceLog.txt`, and `dynamic-graphs.csv`) are not written in this mode. Disabled by default.
+   *
+   * Optionally, you can specify a `metro.cacheableReports` gradle property.
+   */
+  public val cacheableReports: Property<Boolean> =
+    objects
+      .property(Boolean::class.javaObjectType)
+      .convention(
+        providers.gradleProperty("metro.cacheableReports").map { it.toBoolean() }.orElse(false)
+      )
+
   /**
    * Configures interop to support in generated code, usually from another DI framework.
    *
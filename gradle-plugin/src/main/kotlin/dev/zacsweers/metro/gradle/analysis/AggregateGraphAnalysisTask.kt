@@ -0,0 +1,160 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle.analysis
+
+import dev.zacsweers.metro.gradle.MetroAnalysisAggregationPlugin
+import javax.inject.Inject
+import kotlin.io.path.bufferedWriter
+import kotlin.io.path.createParentDirectories
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.Json
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.ConfigurableFileCollection
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.LocalState
+import org.gradle.api.tasks.OutputFile
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+import org.gradle.workers.WorkAction
+import org.gradle.workers.WorkParameters
+import org.gradle.workers.WorkerExecutor
+
+/**
+ * Analyzes the Metro dependency graphs of every project in a build and produces a single report.
+ *
+ * This task consumes the graph metadata of each project (see [MetroAnalysisAggregationPlugin]) and
+ * runs the same analyses as [AnalyzeGraphTask] on every graph in them. Results are cached per graph
+ * in [cacheDirectory], keyed by a hash of the graph's metadata and the analysis options, so only
+ * graphs that changed since the last run are analyzed again. Those are analyzed in parallel with
+ * Gradle's worker API.
+ */
+@CacheableTask
+public abstract class AggregateGraphAnalysisTask : DefaultTask() {
+
+  /** The aggregated graph metadata files of each project, in either their JSON or binary format. */
+  @get:InputFiles
+  @get:PathSensitive(PathSensitivity.RELATIVE)
+  public abstract val metadataFiles: ConfigurableFileCollection
+
+  /** Maximum number of longest paths to include in the report. */
+  @get:Input public abstract val maxLongestPaths: Property<Int>
+
+  /** Number of top fan-in/fan-out bindings to highlight. */
+  @get:Input public abstract val topFanCount: Property<Int>
+
+  /** Per-graph analysis results from previous runs. */
+  @get:LocalState public abstract val cacheDirectory: DirectoryProperty
+
+  /** The output file for the aggregated analysis report. */
+  @get:OutputFile public abstract val outputFile: RegularFileProperty
+
+  @get:Inject protected abstract val workerExecutor: WorkerExecutor
+
+  @OptIn(ExperimentalSerializationApi::class)
+  private val json = Json {
+    prettyPrint = true
+    prettyPrintIndent = "  "
+    encodeDefaults = true
+  }
+
+  init {
+    group = "metro"
+    description = "Analyzes the Metro dependency graphs of all projects and produces a report"
+    maxLongestPaths.convention(5)
+    topFanCount.convention(10)
+  }
+
+  @TaskAction
+  internal fun analyze() {
+    val output = outputFile.get().asFile.toPath()
+    val cache = GraphAnalysisCache(cacheDirectory.get().asFile.toPath())
+    val maxLongestPaths = maxLongestPaths.get()
+    val topFanCount = topFanCount.get()
+
+    val projects =
+      metadataFiles.files.map(::readAggregatedGraphMetadata).sortedBy { it.projectPath }
+
+    // Cache keys of each project's graphs, in report order
+    val keysByProject = mutableMapOf<String, List<String>>()
+    val pending = mutableMapOf<String, String>()
+    for (project in projects) {
+      keysByProject[project.projectPath] =
+        project.graphs.map { graph ->
+          val graphJson = GraphAnalysisCache.encode(graph)
+          val key = GraphAnalysisCache.key(graphJson, maxLongestPaths, topFanCount)
+          if (!cache.contains(key)) {
+            pending[key] = graphJson
+          }
+          key
+        }
+    }
+
+    val queue = workerExecutor.noIsolation()
+    for ((key, graphJson) in pending) {
+      queue.submit(AnalyzeGraphWorkAction::class.java) { parameters ->
+        parameters.cacheDirectory.set(cacheDirectory)
+        parameters.cacheKey.set(key)
+        parameters.graphJson.set(graphJson)
+        parameters.maxLongestPaths.set(maxLongestPaths)
+        parameters.topFanCount.set(topFanCount)
+      }
+    }
+    queue.await()
+
+    val report =
+      AggregatedAnalysisReport(
+        projects.map { project ->
+          val keys = keysByProject.getValue(project.projectPath)
+          FullAnalysisReport(
+            projectPath = project.projectPath,
+            graphs =
+              project.graphs.zip(keys) { graph, key ->
+                // Entries left over from an interrupted run may be unreadable
+                cache.read(key)
+                  ?: analyzeGraph(graph, maxLongestPaths, topFanCount).also { cache.write(key, it) }
+              },
+          )
+        }
+      )
+    cache.retainOnly(keysByProject.values.flatten().toSet())
+
+    output.createParentDirectories()
+    output.bufferedWriter().use { writer -> writer.write(json.encodeToString(report)) }
+
+    val reused = keysByProject.values.sumOf { keys -> keys.count { it !in pending } }
+    logger.lifecycle(
+      "Analyzed ${report.graphCount} graphs across ${projects.size} projects " +
+        "($reused unchanged graphs reused from the cache)"
+    )
+    logger.lifecycle("Aggregated analysis report written to file://$output")
+  }
+
+  internal interface AnalyzeGraphParameters : WorkParameters {
+    val cacheDirectory: DirectoryProperty
+    val cacheKey: Property<String>
+    val graphJson: Property<String>
+    val maxLongestPaths: Property<Int>
+    val topFanCount: Property<Int>
+  }
+
+  /** Analyzes a single graph and writes the result to the cache. */
+  internal abstract class AnalyzeGraphWorkAction : WorkAction<AnalyzeGraphParameters> {
+    override fun execute() {
+      val graph = Json.decodeFromString<GraphMetadata>(parameters.graphJson.get())
+      val analysis =
+        analyzeGraph(graph, parameters.maxLongestPaths.get(), parameters.topFanCount.get())
+      GraphAnalysisCache(parameters.cacheDirectory.get().asFile.toPath())
+        .write(parameters.cacheKey.get(), analysis)
+    }
+  }
+
+  internal companion object {
+    const val NAME = "aggregateMetroGraphAnalysis"
+  }
+}
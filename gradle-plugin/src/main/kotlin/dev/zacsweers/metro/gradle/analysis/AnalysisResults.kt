@@ -83,6 +83,39 @@ public data class PathsToRootResult(
   val paths: Map<String, List<String>>,
 )
 
+/**
+ * Result of startup critical path analysis, which weighs the eager dependencies of the graph's
+ * startup bindings by their initialization cost.
+ */
+@Serializable
+public data class StartupCriticalPathResult(
+  /**
+   * Where binding costs came from. `measured` costs are read from a cost file, and `heuristic`
+   * costs are one plus each binding's number of dependencies.
+   */
+  val costSource: String,
+  /** The summed cost of [criticalPath], a lower bound on startup time with unlimited threads. */
+  val criticalPathCost: Double,
+  /** The chain of eager dependencies that finishes last, from a startup binding down to a leaf. */
+  val criticalPath: List<String>,
+  /** The summed cost of every binding initialized at startup, i.e. the serial startup time. */
+  val totalCost: Double,
+  /** The number of bindings at each depth that could be initialized in parallel. */
+  val widthByDepth: Map<Int, Int>,
+  /** Critical path dependencies that would shorten startup the most if deferred. */
+  val deferralCandidates: List<DeferralCandidate>,
+)
+
+/** A dependency on the startup critical path that could be deferred via `Provider` or `Lazy`. */
+@Serializable
+public data class DeferralCandidate(
+  val key: String,
+  /** The binding that eagerly depends on [key] and would defer it. */
+  val dependent: String,
+  /** How much deferring [key] in [dependent] would shorten the critical path. */
+  val savings: Double,
+)
+
 /** Complete analysis for a single dependency graph. */
 @Serializable
 public data class GraphAnalysis(
@@ -93,6 +126,7 @@ public data class GraphAnalysis(
   val centrality: CentralityResult,
   val fanAnalysis: FanAnalysisResult,
   val pathsToRoot: PathsToRootResult = PathsToRootResult("", emptyMap()),
+  val startupCriticalPath: StartupCriticalPathResult? = null,
 )
 
 /** Combined analysis report for all graphs in a project. */
@@ -102,3 +136,11 @@ public data class FullAnalysisReport(val projectPath: String, val graphs: List<G
   val graphCount: Int
     get() = graphs.size
 }
+
+/** Combined analysis reports for every project contributing graph metadata to the root project. */
+@Serializable
+public data class AggregatedAnalysisReport(val projects: List<FullAnalysisReport>) {
+  /** Number of graphs across all projects in this report. */
+  val graphCount: Int
+    get() = projects.sumOf { it.graphCount }
+}
@@ -3,6 +3,7 @@
 package dev.zacsweers.metro.gradle.analysis
 
 import dev.zacsweers.metro.gradle.artifacts.GenerateGraphMetadataTask
+import java.util.concurrent.Executors
 import kotlin.io.path.bufferedWriter
 import kotlin.io.path.createParentDirectories
 import kotlinx.serialization.ExperimentalSerializationApi
@@ -13,6 +14,8 @@ import org.gradle.api.provider.Property
 import org.gradle.api.tasks.CacheableTask
 import org.gradle.api.tasks.Input
 import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.Optional
 import org.gradle.api.tasks.OutputFile
 import org.gradle.api.tasks.PathSensitive
 import org.gradle.api.tasks.PathSensitivity
@@ -21,13 +24,14 @@ import org.gradle.api.tasks.TaskAction
 /**
  * Analyzes Metro dependency graphs and produces a comprehensive analysis report.
  *
- * This task consumes the aggregated graph metadata JSON produced by [GenerateGraphMetadataTask] and
- * runs various graph analysis algorithms including:
+ * This task consumes the aggregated graph metadata produced by [GenerateGraphMetadataTask] and runs
+ * various graph analysis algorithms including:
  * - Basic statistics (binding counts, scoping, etc.)
  * - Longest path analysis (critical dependency chains)
  * - Dominator analysis (critical dependencies)
  * - Betweenness centrality (bridge nodes)
  * - Fan-in/fan-out analysis (coupling metrics)
+ * - Startup critical path analysis (weighted by [bindingCostsFile] if set)
  *
  * The output is a comprehensive JSON report useful for CI validation, automated analysis, and
  * identifying potential issues in a dependency graph structure.
@@ -35,7 +39,7 @@ import org.gradle.api.tasks.TaskAction
 @CacheableTask
 public abstract class AnalyzeGraphTask : DefaultTask() {
 
-  /** The aggregated graph metadata JSON file to analyze. */
+  /** The aggregated graph metadata file to analyze, in either its JSON or binary format. */
   @get:InputFile
   @get:PathSensitive(PathSensitivity.RELATIVE)
   public abstract val inputFile: RegularFileProperty
@@ -46,6 +50,22 @@ public abstract class AnalyzeGraphTask : DefaultTask() {
   /** Number of top fan-in/fan-out bindings to highlight. */
   @get:Input public abstract val topFanCount: Property<Int>
 
+  /**
+   * An optional CSV file of measured `key,cost` lines used to weigh startup critical path analysis,
+   * such as the durations of a `WarmUpReport` in milliseconds. If unset, costs are estimated from
+   * each binding's number of dependencies.
+   */
+  @get:InputFile
+  @get:Optional
+  @get:PathSensitive(PathSensitivity.NONE)
+  public abstract val bindingCostsFile: RegularFileProperty
+
+  /**
+   * Maximum number of threads used to analyze graphs. Graphs, and the individual analyses of each
+   * graph, run concurrently. Defaults to the number of available processors.
+   */
+  @get:Internal public abstract val parallelism: Property<Int>
+
   /** The output file for the analysis report. */
   @get:OutputFile public abstract val outputFile: RegularFileProperty
 
@@ -61,6 +81,7 @@ public abstract class AnalyzeGraphTask : DefaultTask() {
     description = "Analyzes Metro dependency graphs and produces a comprehensive report"
     maxLongestPaths.convention(5)
     topFanCount.convention(10)
+    parallelism.convention(Runtime.getRuntime().availableProcessors())
   }
 
   @TaskAction
@@ -70,28 +91,25 @@ public abstract class AnalyzeGraphTask : DefaultTask() {
 
     logger.lifecycle("Analyzing Metro graph metadata from file://${input.absolutePath}")
 
-    val metadata = json.decodeFromString<AggregatedGraphMetadata>(input.readText())
-
-    val graphs = mutableListOf<GraphAnalysis>()
+    val metadata = readAggregatedGraphMetadata(input)
 
     for (graphMetadata in metadata.graphs) {
       logger.lifecycle("Analyzing graph: ${graphMetadata.graph}")
+    }
 
-      val graph = BindingGraph.from(graphMetadata)
-      val analyzer = GraphAnalyzer(graph)
-
-      graphs.add(
-        GraphAnalysis(
-          graphName = graphMetadata.graph,
-          statistics = analyzer.computeStatistics(),
-          longestPath = analyzer.findLongestPaths(maxLongestPaths.get()),
-          dominator = analyzer.computeDominators(),
-          centrality = analyzer.computeBetweennessCentrality(),
-          fanAnalysis = analyzer.computeFanAnalysis(topFanCount.get()),
-          pathsToRoot = analyzer.computePathsToRoot(),
+    val executor = Executors.newFixedThreadPool(parallelism.get().coerceAtLeast(1))
+    val graphs =
+      try {
+        analyzeGraphs(
+          metadata.graphs,
+          maxLongestPaths.get(),
+          topFanCount.get(),
+          executor,
+          bindingCosts = bindingCostsFile.orNull?.asFile?.let(::readBindingCosts),
         )
-      )
-    }
+      } finally {
+        executor.shutdownNow()
+      }
 
     val report = FullAnalysisReport(projectPath = metadata.projectPath, graphs = graphs)
 
@@ -125,6 +143,22 @@ public abstract class AnalyzeGraphTask : DefaultTask() {
         }
       }
 
+      graph.startupCriticalPath?.let { startup ->
+        if (startup.criticalPath.isNotEmpty()) {
+          logger.lifecycle(
+            "  Startup critical path: ${"%.2f".format(startup.criticalPathCost)} of " +
+              "${"%.2f".format(startup.totalCost)} total (${startup.costSource} costs)"
+          )
+          startup.deferralCandidates.firstOrNull()?.let { candidate ->
+            logger.lifecycle(
+              "    Deferring ${candidate.key.substringAfterLast('.')} in " +
+                "${candidate.dependent.substringAfterLast('.')} saves " +
+                "%.2f".format(candidate.savings)
+            )
+          }
+        }
+      }
+
       val topFanIn = graph.fanAnalysis.highFanIn.firstOrNull()
       if (topFanIn != null && topFanIn.fanIn > 0) {
         logger.lifecycle(
@@ -15,6 +15,10 @@ import com.google.common.graph.GraphBuilder
  * This implementation handles graphs with multiple roots by creating a virtual root that connects
  * to all natural roots, then filtering it from results.
  *
+ * The dominance tree is walked once in pre-order, so the nodes dominated by any node are the
+ * contiguous run of nodes that follows it. This makes dominated counts O(1) and dominated sets
+ * O(size) for every node, rather than walking the tree again for each one.
+ *
  * @param N the node type
  * @see <a href="http://www.hipersoft.rice.edu/grads/publications/dom14.pdf">A Simple, Fast
  *   Dominance Algorithm</a>
@@ -27,7 +31,7 @@ internal class Dominators<N : Any>(private val graph: Graph<N>) {
 
   private val dominanceGraph: Graph<N> by lazy { computeDominanceGraph() }
 
-  private val descendantsCache: MutableMap<N, Set<N>> = mutableMapOf()
+  private val preOrder: PreOrder<N> by lazy { computePreOrder() }
 
   /** All nodes in the original graph (excluding the virtual root). */
   fun nodes(): Set<N> = graph.nodes()
@@ -40,9 +44,27 @@ internal class Dominators<N : Any>(private val graph: Graph<N>) {
    *
    * @return the set of dominated nodes, or empty set if [node] is not in the graph
    */
-  fun dominatedBy(node: N): Set<N> {
-    if (node !in graph.nodes()) return emptySet()
-    return descendantsCache.getOrPut(node) { computeDescendants(node) }
+  fun dominatedBy(node: N): Set<N> = dominatedInPreOrder(node).toSet()
+
+  /**
+   * Returns all nodes transitively dominated by [node] in dominance tree pre-order, so every node
+   * follows the nodes that dominate it. The result is a view of the pre-order walk rather than a
+   * copy.
+   *
+   * @return the dominated nodes, or an empty list if [node] is not in the graph
+   */
+  fun dominatedInPreOrder(node: N): List<N> {
+    val index = preOrder.indices[node] ?: return emptyList()
+    return preOrder.nodes.subList(index + 1, preOrder.ends[index])
+  }
+
+  /**
+   * Returns the number of nodes transitively dominated by [node], or 0 if [node] is not in the
+   * graph. Equivalent to `dominatedBy(node).size` without building the set.
+   */
+  fun dominatedCount(node: N): Int {
+    val index = preOrder.indices[node] ?: return 0
+    return preOrder.ends[index] - index - 1
   }
 
   /**
@@ -65,7 +87,7 @@ internal class Dominators<N : Any>(private val graph: Graph<N>) {
   fun nodesByDominatedCount(): List<Pair<N, Int>> {
     return graph
       .nodes()
-      .map { node -> node to dominatedBy(node).size }
+      .map { node -> node to dominatedCount(node) }
       .sortedByDescending { it.second }
   }
 
@@ -116,19 +138,37 @@ internal class Dominators<N : Any>(private val graph: Graph<N>) {
     return DominanceTree(graphWithVirtualRoot, vRoot).dominanceGraph
   }
 
-  private fun computeDescendants(node: N): Set<N> {
-    val result = mutableSetOf<N>()
-    val vRoot = virtualRoot
-
-    fun visit(n: N) {
-      for (child in dominanceGraph.successors(n)) {
-        if (child != vRoot && result.add(child)) {
-          visit(child)
+  private fun computePreOrder(): PreOrder<N> {
+    val vRoot = virtualRoot ?: return PreOrder(emptyList(), emptyMap(), IntArray(0))
+
+    val nodes = ArrayList<N>(graph.nodes().size)
+    val indices = HashMap<N, Int>(graph.nodes().size)
+    val ends = IntArray(graph.nodes().size)
+
+    // Iterative DFS, as dominance trees of long dependency chains can be very deep
+    val stack = ArrayDeque<Pair<N, Iterator<N>>>()
+    stack.addLast(vRoot to dominanceGraph.successors(vRoot).iterator())
+    while (stack.isNotEmpty()) {
+      val (node, children) = stack.last()
+      if (children.hasNext()) {
+        val child = children.next()
+        if (child == vRoot || child in indices) continue
+        indices[child] = nodes.size
+        nodes += child
+        stack.addLast(child to dominanceGraph.successors(child).iterator())
+      } else {
+        stack.removeLast()
+        if (node != vRoot) {
+          ends[indices.getValue(node)] = nodes.size
         }
       }
     }
-
-    visit(node)
-    return result
+    return PreOrder(nodes, indices, ends)
   }
+
+  /**
+   * The dominance tree in pre-order. The nodes dominated by `nodes[i]` are `nodes[i + 1 until
+   * ends[i]]`.
+   */
+  private class PreOrder<N : Any>(val nodes: List<N>, val indices: Map<N, Int>, val ends: IntArray)
 }
@@ -15,7 +15,9 @@ import kotlinx.serialization.json.buildJsonObject
 import org.gradle.api.DefaultTask
 import org.gradle.api.file.DirectoryProperty
 import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.Property
 import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.Input
 import org.gradle.api.tasks.InputFile
 import org.gradle.api.tasks.OutputDirectory
 import org.gradle.api.tasks.PathSensitive
@@ -36,24 +38,33 @@ import org.gradle.api.tasks.TaskAction
  * - **Responsive**: Adapts to window size
  * - **Beautiful defaults**: Gradient backgrounds, smooth animations, professional styling
  *
- * One HTML file is generated per dependency graph, plus an index page.
+ * One HTML file is generated per dependency graph, plus an index page. Graphs larger than
+ * [levelOfDetailThreshold] start out collapsed into one node per package, and each package's
+ * bindings are written to a separate compressed chunk that the page loads when it's expanded.
  */
 @CacheableTask
 public abstract class GenerateGraphHtmlTask : DefaultTask() {
 
-  /** The aggregated graph metadata JSON file to visualize. */
+  /** The aggregated graph metadata file to visualize, in either its JSON or binary format. */
   @get:InputFile
   @get:PathSensitive(PathSensitivity.RELATIVE)
   public abstract val inputFile: RegularFileProperty
 
   /**
    * Analysis report JSON file from [AnalyzeGraphTask]. Analysis metrics (fan-in/out, centrality,
-   * dominator count) are included in the visualization.
+   * dominator count, longest path) are included in the visualization.
    */
   @get:InputFile
   @get:PathSensitive(PathSensitivity.RELATIVE)
   public abstract val analysisFile: RegularFileProperty
 
+  /**
+   * Graphs with more bindings than this are rendered with level of detail: the page initially shows
+   * one node per package, and the bindings of a package are only loaded when its node is clicked.
+   * Set to 0 to always inline the full graph.
+   */
+  @get:Input public abstract val levelOfDetailThreshold: Property<Int>
+
   /** The output directory for HTML files (one per graph). */
   @get:OutputDirectory public abstract val outputDirectory: DirectoryProperty
 
@@ -66,6 +77,7 @@ public abstract class GenerateGraphHtmlTask : DefaultTask() {
   init {
     group = "metro"
     description = "Generates interactive HTML visualizations of Metro dependency graphs"
+    levelOfDetailThreshold.convention(1000)
   }
 
   @TaskAction
@@ -75,7 +87,7 @@ public abstract class GenerateGraphHtmlTask : DefaultTask() {
 
     logger.lifecycle("Generating Metro graph visualizations from file://${input.absolutePath}")
 
-    val metadata = json.decodeFromString<AggregatedGraphMetadata>(input.readText())
+    val metadata = readAggregatedGraphMetadata(input)
 
     // Parse analysis report
     val analysisInput = analysisFile.get().asFile
@@ -87,11 +99,33 @@ public abstract class GenerateGraphHtmlTask : DefaultTask() {
 
     outputDir.mkdirs()
 
+    val threshold = levelOfDetailThreshold.get()
     for (graphMetadata in metadata.graphs) {
       val graphAnalysis = analysisLookup[graphMetadata.graph] ?: GraphAnalysisData(emptyMap())
-      val htmlContent = generateHtml(graphMetadata, graphAnalysis)
+      val baseName = graphMetadata.graph.replace('.', '-')
+      val graphData = buildEChartsData(graphMetadata, graphAnalysis)
+
+      // Chunks from a previous run may be left over if the graph shrank or was renamed
+      val chunkDir = File(outputDir, baseName)
+      chunkDir.deleteRecursively()
+
+      val htmlContent =
+        if (usesLevelOfDetail(graphMetadata.bindings.size, threshold)) {
+          val levelOfDetail = buildLevelOfDetail(graphData, graphAnalysis.pathsToRoot)
+          chunkDir.mkdirs()
+          levelOfDetail.chunks.forEachIndexed { id, chunk ->
+            File(chunkDir, "cluster-$id.js").writeText(encodeChunk(id, chunk))
+          }
+          logger.lifecycle(
+            "${graphMetadata.graph} has ${graphMetadata.bindings.size} bindings, " +
+              "collapsing it into ${levelOfDetail.chunks.size} package clusters"
+          )
+          generateHtml(graphMetadata, graphAnalysis, levelOfDetail.overview, chunkDir = baseName)
+        } else {
+          generateHtml(graphMetadata, graphAnalysis, graphData, chunkDir = null)
+        }
 
-      val fileName = "${graphMetadata.graph.replace('.', '-')}.html"
+      val fileName = "$baseName.html"
       val outputFile = File(outputDir, fileName)
       outputFile.toPath().createParentDirectories()
       outputFile.toPath().writeText(htmlContent)
@@ -143,6 +177,8 @@ public abstract class GenerateGraphHtmlTask : DefaultTask() {
           bindingMetrics = bindingMetrics,
           pathsToRoot = graph.pathsToRoot.paths,
           graphRoot = graph.pathsToRoot.rootKey,
+          longestPath = graph.longestPath.longestPaths.firstOrNull().orEmpty(),
+          startupCriticalPath = graph.startupCriticalPath,
         )
     }
 
@@ -154,6 +190,8 @@ public abstract class GenerateGraphHtmlTask : DefaultTask() {
     val bindingMetrics: Map<String, BindingAnalysisMetrics>,
     val pathsToRoot: Map<String, List<String>> = emptyMap(),
     val graphRoot: String = "",
+    val longestPath: List<String> = emptyList(),
+    val startupCriticalPath: StartupCriticalPathResult? = null,
   )
 
   /** Analysis metrics for a single binding. */
@@ -252,11 +290,56 @@ ${metadata.graphs.joinToString("\n") { graph ->
       .trimIndent()
   }
 
-  private fun generateHtml(graphMetadata: GraphMetadata, analysis: GraphAnalysisData): String {
-    val graphData = buildEChartsData(graphMetadata, analysis)
+  /**
+   * Renders the page for a single graph. If [chunkDir] is set, [graphData] is the package-level
+   * overview from [buildLevelOfDetail] and the page loads clusters from `chunkDir/cluster-<id>.js`
+   * on demand. Otherwise [graphData] is the full graph and is inlined along with its paths to root.
+   */
+  private fun generateHtml(
+    graphMetadata: GraphMetadata,
+    analysis: GraphAnalysisData,
+    graphData: JsonObject,
+    chunkDir: String?,
+  ): String {
     val categories = getBindingCategories()
-    val longestPath = computeLongestPath(graphMetadata)
+    val longestPath = analysis.longestPath
     val packages = graphMetadata.bindings.map { extractPackage(it.key) }.distinct().sorted()
+    val levelOfDetailSection =
+      if (chunkDir != null) {
+        """
+        <div class="section">
+          <div class="section-title">Level of Detail</div>
+          <div class="longest-path-info">This graph has ${graphMetadata.bindings.size} bindings, so it starts out grouped by package. Click a package to expand it, or Reset to collapse all packages again.</div>
+        </div>
+"""
+      } else {
+        ""
+      }
+
+    val startupSection =
+      analysis.startupCriticalPath
+        ?.takeIf { it.criticalPath.isNotEmpty() }
+        ?.let { startup ->
+          val maxWidth = startup.widthByDepth.values.maxOrNull() ?: 0
+          val candidates =
+            startup.deferralCandidates.take(5).joinToString("") { candidate ->
+              "<div>${candidate.key.substringAfterLast('.')} in " +
+                "${candidate.dependent.substringAfterLast('.')}: " +
+                "-${"%.2f".format(candidate.savings)}</div>"
+            }
+          """
+        <div class="section">
+          <div class="section-title">Startup Critical Path</div>
+          <div class="longest-path-info">
+            <div>Critical path: <span class="path-length">${"%.2f".format(startup.criticalPathCost)}</span> of ${"%.2f".format(startup.totalCost)} total (${startup.costSource} costs)</div>
+            <div>Max parallel width: $maxWidth across ${startup.widthByDepth.size} depths</div>
+            <div class="path-nodes">${startup.criticalPath.joinToString(" → ") { it.substringAfterLast('.') }}</div>
+            ${if (candidates.isNotEmpty()) "<div style=\"margin-top:8px\">Defer to shorten startup:</div>$candidates" else ""}
+          </div>
+        </div>
+"""
+        }
+        .orEmpty()
 
     // language=html
     return """
@@ -643,7 +726,7 @@ ${metadata.graphs.joinToString("\n") { graph ->
         <div class="search-box">
           <input type="text" id="search" placeholder="Search bindings...">
         </div>
-
+$levelOfDetailSection
         <div class="section">
           <div class="section-title">Layout</div>
           <div class="toggle-group">
@@ -694,7 +777,7 @@ ${metadata.graphs.joinToString("\n") { graph ->
             <div class="path-nodes">${longestPath.joinToString(" → ") { it.substringAfterLast('.') }}</div>
           </div>
         </div>
-
+$startupSection
         <div class="section">
           <div class="section-title collapsible-header collapsed" id="packages-header">
             <span>Packages (${packages.size})</span>
@@ -768,15 +851,20 @@ ${packages.mapIndexed { i, pkg ->
     <div id="chart"></div>
   </div>
   <script>
-    const graphData = ${json.encodeToString(JsonObject.serializer(), graphData)};
+    let graphData = ${json.encodeToString(JsonObject.serializer(), graphData)};
     const categories = ${json.encodeToString(JsonArray.serializer(), categories)};
     const longestPath = ${json.encodeToString(JsonArray.serializer(), buildJsonArray { longestPath.forEach { add(JsonPrimitive(it)) } })};
     // Precomputed shortest paths from each node to graph root (using Dijkstra/BFS)
+    // In level-of-detail mode these are filled in as clusters are loaded
     const pathsToRoot = ${json.encodeToString(JsonObject.serializer(), buildJsonObject {
-      analysis.pathsToRoot.forEach { (key, path) ->
-        put(key, buildJsonArray { path.forEach { add(JsonPrimitive(it)) } })
+      if (chunkDir == null) {
+        analysis.pathsToRoot.forEach { (key, path) ->
+          put(key, buildJsonArray { path.forEach { add(JsonPrimitive(it)) } })
+        }
       }
     },)};
+    // Directory of lazily loaded cluster chunks, or null if the full graph is inlined
+    const chunkDir = ${if (chunkDir != null) "\"$chunkDir\"" else "null"};
     const graphRootKey = ${if (analysis.graphRoot.isNotEmpty()) "\"${analysis.graphRoot}\"" else "null"};
 
     const chart = echarts.init(document.getElementById('chart'), 'dark');
@@ -854,6 +942,7 @@ ${packages.mapIndexed { i, pkg ->
                 'alias': 'Alias (type binding)',
                 'default': 'Default value (fallback available)',
                 'default-resolves': 'Default resolves to binding',
+                'cluster': 'Dependencies between packages (' + d.value + ')',
                 'normal': 'Normal dependency'
               };
               return edgeLabels[d.edgeType] || 'Dependency';
@@ -943,11 +1032,15 @@ ${packages.mapIndexed { i, pkg ->
     // Initial render - will be replaced by applyFilters() call at end of script
 
     // Build reverse dependency map
-    const dependents = {};
-    graphData.nodes.forEach(n => dependents[n.fullKey] = []);
-    graphData.links.forEach(l => {
-      if (dependents[l.target]) dependents[l.target].push(l.source);
-    });
+    let dependents = {};
+    function buildDependents() {
+      dependents = {};
+      graphData.nodes.forEach(n => dependents[n.fullKey] = []);
+      graphData.links.forEach(l => {
+        if (dependents[l.target]) dependents[l.target].push(l.source);
+      });
+    }
+    buildDependents();
 
     // Get precomputed path from node to graph root (computed via Dijkstra/BFS during analysis)
     function getPathToRoot(nodeKey) {
@@ -1000,6 +1093,10 @@ ${packages.mapIndexed { i, pkg ->
     // Node click handler - highlight path to root
     chart.on('click', function(params) {
       if (params.dataType === 'node') {
+        if (params.data.isCluster) {
+          expandCluster(params.data.clusterId);
+          return;
+        }
         showDetails(params.data);
         highlightPathToRoot(params.data.fullKey);
       } else {
@@ -1156,8 +1253,114 @@ ${packages.mapIndexed { i, pkg ->
     });
 
     // Store original data for filtering (deep copy to avoid mutation)
-    const originalNodes = JSON.parse(JSON.stringify(graphData.nodes));
-    const originalLinks = JSON.parse(JSON.stringify(graphData.links));
+    let originalNodes = JSON.parse(JSON.stringify(graphData.nodes));
+    let originalLinks = JSON.parse(JSON.stringify(graphData.links));
+
+    // Level of detail: the page starts with one node per package cluster. Each cluster's bindings,
+    // its links, and their paths to root live in a gzipped chunk script that is loaded on expansion.
+    // Scripts (rather than fetch()) are used so that this also works for pages opened from file://.
+    const overviewData = graphData;
+    const loadedChunks = new Map();
+    const expandedClusters = new Set();
+    const pendingChunks = {};
+
+    window.metroGraphChunk = function(id, encoded) {
+      const resolve = pendingChunks[id];
+      if (resolve) {
+        delete pendingChunks[id];
+        resolve(encoded);
+      }
+    };
+
+    async function decodeChunk(encoded) {
+      const bytes = Uint8Array.from(atob(encoded), c => c.charCodeAt(0));
+      const stream = new Blob([bytes]).stream().pipeThrough(new DecompressionStream('gzip'));
+      return JSON.parse(await new Response(stream).text());
+    }
+
+    function loadChunk(id) {
+      if (loadedChunks.has(id)) return Promise.resolve(loadedChunks.get(id));
+      return new Promise((resolve, reject) => {
+        pendingChunks[id] = resolve;
+        const script = document.createElement('script');
+        script.src = chunkDir + '/cluster-' + id + '.js';
+        script.onload = () => script.remove();
+        script.onerror = () => {
+          delete pendingChunks[id];
+          reject(new Error('Failed to load ' + script.src));
+        };
+        document.head.appendChild(script);
+      }).then(decodeChunk).then(chunk => {
+        loadedChunks.set(id, chunk);
+        Object.assign(pathsToRoot, chunk.pathsToRoot);
+        return chunk;
+      });
+    }
+
+    // Rebuilds the displayed graph from the overview and the expanded clusters. Links that cross
+    // into a collapsed cluster are rerouted to its cluster node and merged.
+    function rebuildLevelOfDetail() {
+      const clusterKey = id => overviewData.nodes[id].fullKey;
+      const nodes = [];
+      overviewData.nodes.forEach(n => {
+        if (expandedClusters.has(n.clusterId)) {
+          nodes.push(...loadedChunks.get(n.clusterId).nodes);
+        } else {
+          nodes.push(n);
+        }
+      });
+
+      const links = overviewData.links.filter(l =>
+        !expandedClusters.has(l.sourceCluster) && !expandedClusters.has(l.targetCluster)
+      );
+      const seenLinks = new Set();
+      const mergedLinks = new Map();
+      expandedClusters.forEach(id => {
+        loadedChunks.get(id).links.forEach(l => {
+          const sourceExpanded = expandedClusters.has(l.sourceCluster);
+          const targetExpanded = expandedClusters.has(l.targetCluster);
+          if (sourceExpanded && targetExpanded) {
+            // Links between two expanded clusters are present in both chunks
+            const key = l.source + '→' + l.target;
+            if (!seenLinks.has(key)) {
+              seenLinks.add(key);
+              links.push(l);
+            }
+            return;
+          }
+          const source = sourceExpanded ? l.source : clusterKey(l.sourceCluster);
+          const target = targetExpanded ? l.target : clusterKey(l.targetCluster);
+          const key = source + '→' + target;
+          const merged = mergedLinks.get(key);
+          if (merged) {
+            merged.value++;
+          } else {
+            mergedLinks.set(key, { ...l, source, target, edgeType: 'cluster', value: 1 });
+          }
+        });
+      });
+      links.push(...mergedLinks.values());
+
+      graphData = { nodes, links };
+      originalNodes = JSON.parse(JSON.stringify(nodes));
+      originalLinks = JSON.parse(JSON.stringify(links));
+      buildDependents();
+    }
+
+    function expandCluster(id) {
+      if (expandedClusters.has(id)) return;
+      loadChunk(id).then(() => {
+        expandedClusters.add(id);
+        rebuildLevelOfDetail();
+        applyFilters();
+      }).catch(e => console.error(e));
+    }
+
+    function collapseAllClusters() {
+      if (chunkDir === null || expandedClusters.size === 0) return;
+      expandedClusters.clear();
+      rebuildLevelOfDetail();
+    }
 
     // Apply all filters (package, synthetic, scoped, defaults, search, glow, edge colors)
     // Default value nodes are actually removed from the graph, others just get faded
@@ -1297,6 +1500,7 @@ ${packages.mapIndexed { i, pkg ->
       document.getElementById('hide-labels').checked = false;
       document.getElementById('color-edges').checked = true;
       document.getElementById('search').value = '';
+      collapseAllClusters();
       applyFilters();
     });
 
@@ -1816,76 +2020,6 @@ ${packages.mapIndexed { i, pkg ->
     }
   }
 
-  /**
-   * Computes the longest path in the graph using DFS with memoization. Returns the binding keys in
-   * order from start to end.
-   *
-   * This handles graphs with cycles by tracking the current path and skipping back-edges.
-   */
-  private fun computeLongestPath(metadata: GraphMetadata): List<String> {
-    val graph = mutableMapOf<String, MutableList<String>>()
-
-    // Initialize
-    for (binding in metadata.bindings) {
-      graph[binding.key] = mutableListOf()
-    }
-
-    // Build adjacency list
-    // Skip deferrable (Provider/Lazy) edges since they break cycles
-    for (binding in metadata.bindings) {
-      for (dep in binding.dependencies) {
-        if (dep.isDeferrable) continue
-        val targetKey = unwrapTypeKey(dep.key)
-        if (targetKey in graph) {
-          graph[binding.key]?.add(targetKey)
-        }
-      }
-    }
-
-    // Memoization for longest path from each node
-    val memo = mutableMapOf<String, List<String>>()
-    val inProgress = mutableSetOf<String>() // Track nodes in current DFS path to detect cycles
-
-    fun dfs(node: String): List<String> {
-      // If we've already computed this, return cached result
-      memo[node]?.let {
-        return it
-      }
-
-      // If this node is already in the current path, we have a cycle - return empty
-      if (node in inProgress) return emptyList()
-
-      inProgress.add(node)
-
-      var longestFromHere = listOf(node)
-
-      for (neighbor in graph[node] ?: emptyList()) {
-        val pathFromNeighbor = dfs(neighbor)
-        if (pathFromNeighbor.isNotEmpty()) {
-          val candidatePath = listOf(node) + pathFromNeighbor
-          if (candidatePath.size > longestFromHere.size) {
-            longestFromHere = candidatePath
-          }
-        }
-      }
-
-      inProgress.remove(node)
-      memo[node] = longestFromHere
-      return longestFromHere
-    }
-
-    // Find the longest path starting from any node
-    var longestPath = emptyList<String>()
-    for (node in graph.keys) {
-      val path = dfs(node)
-      if (path.size > longestPath.size) {
-        longestPath = path
-      }
-    }
-
-    return longestPath
-  }
-
   internal companion object {
     const val NAME = "generateMetroGraphHtml"
   }
@@ -0,0 +1,76 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle.analysis
+
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import kotlin.io.path.createDirectories
+import kotlin.io.path.deleteIfExists
+import kotlin.io.path.exists
+import kotlin.io.path.extension
+import kotlin.io.path.listDirectoryEntries
+import kotlin.io.path.moveTo
+import kotlin.io.path.nameWithoutExtension
+import kotlin.io.path.readText
+import kotlin.io.path.writeText
+import kotlinx.serialization.json.Json
+
+/**
+ * A directory of [GraphAnalysis] results keyed by a hash of the analyzed graph's metadata and the
+ * analysis options, so that graphs whose metadata didn't change since the last run aren't analyzed
+ * again.
+ */
+internal class GraphAnalysisCache(private val directory: Path) {
+
+  fun contains(key: String): Boolean = fileFor(key).exists()
+
+  /** Returns the cached analysis for [key], or null if it's missing or unreadable. */
+  fun read(key: String): GraphAnalysis? {
+    val file = fileFor(key)
+    if (!file.exists()) return null
+    return runCatching { json.decodeFromString<GraphAnalysis>(file.readText()) }.getOrNull()
+  }
+
+  /**
+   * Writes [analysis] for [key]. The entry is written to a temporary file first so that concurrent
+   * readers never see a partially written entry.
+   */
+  fun write(key: String, analysis: GraphAnalysis) {
+    directory.createDirectories()
+    val file = fileFor(key)
+    val tmp = directory.resolve("$key.tmp")
+    tmp.writeText(json.encodeToString(analysis))
+    tmp.moveTo(file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+  }
+
+  /** Deletes every entry whose key isn't in [keys]. */
+  fun retainOnly(keys: Set<String>) {
+    if (!directory.exists()) return
+    for (file in directory.listDirectoryEntries()) {
+      if (file.extension != "json" || file.nameWithoutExtension !in keys) {
+        file.deleteIfExists()
+      }
+    }
+  }
+
+  private fun fileFor(key: String): Path = directory.resolve("$key.json")
+
+  companion object {
+    /** Bump this when [GraphAnalysis] or the analyses change to invalidate existing entries. */
+    private const val VERSION = 4
+
+    private val json = Json { encodeDefaults = true }
+
+    /** Encodes [graphMetadata] in the canonical form that [key] hashes. */
+    fun encode(graphMetadata: GraphMetadata): String = json.encodeToString(graphMetadata)
+
+    /** Computes the cache key of [graphJson], as produced by [encode], for the given options. */
+    fun key(graphJson: String, maxLongestPaths: Int, topFanCount: Int): String {
+      val digest = MessageDigest.getInstance("SHA-256")
+      digest.update("$VERSION:$maxLongestPaths:$topFanCount:".encodeToByteArray())
+      digest.update(graphJson.encodeToByteArray())
+      return digest.digest().joinToString("") { "%02x".format(it) }
+    }
+  }
+}
@@ -4,6 +4,9 @@ package dev.zacsweers.metro.gradle.analysis
 
 import com.autonomousapps.graph.ShortestPath
 import com.google.common.graph.Graph
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.Executor
 
 /** Performs various graph analysis algorithms on a [BindingGraph] using Guava graphs. */
 public class GraphAnalyzer(private val bindingGraph: BindingGraph) {
@@ -72,12 +75,11 @@ public class GraphAnalyzer(private val bindingGraph: BindingGraph) {
       dominators
         .nodes()
         .map { key ->
-          val dominated = dominators.dominatedBy(key)
           DominatorNode(
             key = key,
             bindingKind = bindingGraph.getBinding(key)?.bindingKind ?: "Unknown",
-            dominatedCount = dominated.size,
-            dominatedKeys = dominated.sorted(),
+            dominatedCount = dominators.dominatedCount(key),
+            dominatedKeys = dominators.dominatedInPreOrder(key).sorted(),
           )
         }
         .sortedByDescending { it.dominatedCount }
@@ -134,6 +136,56 @@ public class GraphAnalyzer(private val bindingGraph: BindingGraph) {
     return PathsToRootResult(graphRoot, paths)
   }
 
+  /**
+   * Computes the weighted critical path of initializing the graph's startup bindings, along with
+   * how many bindings could be initialized in parallel and which eager dependencies would shorten
+   * startup the most if deferred. See [StartupCriticalPath].
+   *
+   * Startup bindings are those declared with an `EAGER` or `BACKGROUND` `@Startup` policy. If the
+   * graph declares none, all scoped bindings are used instead, as its `GraphWarmUp` initializes
+   * them all.
+   *
+   * @param costs measured per-binding costs, such as warm-up durations. Bindings without a cost are
+   *   treated as free, as they're usually initialized as part of a measured binding. If null, each
+   *   binding costs one plus its number of dependencies, and aliases are free.
+   */
+  public fun computeStartupCriticalPath(
+    costs: Map<String, Double>? = null,
+    maxDeferralCandidates: Int = 10,
+  ): StartupCriticalPathResult {
+    val bindings = bindingGraph.getAllBindings()
+    val startupRoots =
+      bindings
+        .filter { it.startupPolicy == "EAGER" || it.startupPolicy == "BACKGROUND" }
+        .ifEmpty { bindings.filter { it.isScoped } }
+        .mapTo(mutableSetOf()) { it.key }
+    val cost: (String) -> Double =
+      if (costs != null) {
+        { key -> costs[key] ?: 0.0 }
+      } else {
+        { key ->
+          val binding = bindingGraph.getBinding(key)
+          when {
+            binding == null || binding.aliasTarget != null -> 0.0
+            else -> 1.0 + binding.dependencies.size
+          }
+        }
+      }
+
+    val criticalPath = StartupCriticalPath(eagerGraph, startupRoots, cost)
+    return StartupCriticalPathResult(
+      costSource = if (costs != null) "measured" else "heuristic",
+      criticalPathCost = criticalPath.criticalPathCost,
+      criticalPath = criticalPath.criticalPath,
+      totalCost = criticalPath.totalCost,
+      widthByDepth = criticalPath.widthByDepth,
+      deferralCandidates =
+        criticalPath.deferralCandidates(maxDeferralCandidates).map {
+          DeferralCandidate(key = it.key, dependent = it.dependent, savings = it.savings)
+        },
+    )
+  }
+
   /**
    * Computes fan-in (number of dependents) and fan-out (number of dependencies) for each binding.
    * High fan-in indicates widely used bindings; high fan-out indicates bindings with many
@@ -176,3 +228,81 @@ public class GraphAnalyzer(private val bindingGraph: BindingGraph) {
     )
   }
 }
+
+/** Runs every analysis in [GraphAnalyzer] on [graphMetadata]. */
+internal fun analyzeGraph(
+  graphMetadata: GraphMetadata,
+  maxLongestPaths: Int,
+  topFanCount: Int,
+  bindingCosts: Map<String, Double>? = null,
+): GraphAnalysis {
+  return analyzeGraphs(
+      listOf(graphMetadata),
+      maxLongestPaths,
+      topFanCount,
+      Runnable::run,
+      bindingCosts,
+    )
+    .single()
+}
+
+/**
+ * Runs every analysis in [GraphAnalyzer] on each of [graphs] with [executor].
+ *
+ * The analyses only read the immutable graphs built by [BindingGraph.from], so both the graphs and
+ * the individual analyses of each graph run concurrently. Results are returned in the same order as
+ * [graphs] regardless of which finishes first.
+ */
+internal fun analyzeGraphs(
+  graphs: List<GraphMetadata>,
+  maxLongestPaths: Int,
+  topFanCount: Int,
+  executor: Executor,
+  bindingCosts: Map<String, Double>? = null,
+): List<GraphAnalysis> {
+  val pending =
+    graphs.map { graphMetadata ->
+      val analyzer =
+        CompletableFuture.supplyAsync({ GraphAnalyzer(BindingGraph.from(graphMetadata)) }, executor)
+      fun <T> analysis(body: GraphAnalyzer.() -> T): CompletableFuture<T> =
+        analyzer.thenApplyAsync({ it.body() }, executor)
+
+      val statistics = analysis { computeStatistics() }
+      val longestPath = analysis { findLongestPaths(maxLongestPaths) }
+      val dominator = analysis { computeDominators() }
+      val centrality = analysis { computeBetweennessCentrality() }
+      val fanAnalysis = analysis { computeFanAnalysis(topFanCount) }
+      val pathsToRoot = analysis { computePathsToRoot() }
+      val startupCriticalPath = analysis { computeStartupCriticalPath(bindingCosts) }
+      CompletableFuture.allOf(
+          statistics,
+          longestPath,
+          dominator,
+          centrality,
+          fanAnalysis,
+          pathsToRoot,
+          startupCriticalPath,
+        )
+        .thenApply {
+          GraphAnalysis(
+            graphName = graphMetadata.graph,
+            statistics = statistics.join(),
+            longestPath = longestPath.join(),
+            dominator = dominator.join(),
+            centrality = centrality.join(),
+            fanAnalysis = fanAnalysis.join(),
+            pathsToRoot = pathsToRoot.join(),
+            startupCriticalPath = startupCriticalPath.join(),
+          )
+        }
+    }
+
+  return pending.map { future ->
+    try {
+      future.join()
+    } catch (e: CompletionException) {
+      // Surface the analysis' own exception rather than the wrapper
+      throw e.cause ?: e
+    }
+  }
+}
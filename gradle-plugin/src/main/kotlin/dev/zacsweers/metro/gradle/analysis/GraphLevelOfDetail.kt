@@ -0,0 +1,161 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle.analysis
+
+import java.io.ByteArrayOutputStream
+import java.util.Base64
+import java.util.zip.GZIPOutputStream
+import kotlin.math.log2
+import kotlin.math.sqrt
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.buildJsonArray
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.jsonArray
+import kotlinx.serialization.json.jsonObject
+import kotlinx.serialization.json.jsonPrimitive
+
+/**
+ * Whether a graph with [bindingCount] bindings is rendered with level of detail for the given
+ * [GenerateGraphHtmlTask.levelOfDetailThreshold]. A threshold of 0 or less disables it.
+ */
+internal fun usesLevelOfDetail(bindingCount: Int, threshold: Int): Boolean =
+  threshold > 0 && bindingCount > threshold
+
+/** A package-level overview of a graph, with the full data of each package in [chunks]. */
+internal class LevelOfDetail(val overview: JsonObject, val chunks: List<JsonObject>)
+
+/**
+ * Clusters the nodes of [graphData], as built for the HTML report, by package. The overview has one
+ * node per cluster, indexed by its `clusterId`, and one link per pair of dependent clusters. Each
+ * chunk holds a cluster's nodes, every link with an endpoint in it, and the nodes' paths to root.
+ * Links carry the cluster ids of both endpoints so that the page can reroute links into collapsed
+ * clusters without loading them.
+ */
+internal fun buildLevelOfDetail(
+  graphData: JsonObject,
+  pathsToRoot: Map<String, List<String>>,
+): LevelOfDetail {
+  val nodes = graphData.getValue("nodes").jsonArray.map { it.jsonObject }
+  val links = graphData.getValue("links").jsonArray.map { it.jsonObject }
+
+  val clusters = nodes.groupBy { it.string("pkg") }.toSortedMap()
+  val clusterIds = clusters.keys.withIndex().associate { (id, pkg) -> pkg to id }
+  val clusterOfNode =
+    nodes.associate { it.string("fullKey") to clusterIds.getValue(it.string("pkg")) }
+
+  val linksByCluster = List(clusters.size) { mutableListOf<JsonObject>() }
+  val clusterLinkCounts = mutableMapOf<Pair<Int, Int>, Int>()
+  for (link in links) {
+    val sourceCluster = clusterOfNode[link.string("source")] ?: continue
+    val targetCluster = clusterOfNode[link.string("target")] ?: continue
+    val chunkLink =
+      JsonObject(
+        link +
+          mapOf(
+            "sourceCluster" to JsonPrimitive(sourceCluster),
+            "targetCluster" to JsonPrimitive(targetCluster),
+          )
+      )
+    linksByCluster[sourceCluster] += chunkLink
+    if (sourceCluster != targetCluster) {
+      linksByCluster[targetCluster] += chunkLink
+      val pair = sourceCluster to targetCluster
+      clusterLinkCounts[pair] = (clusterLinkCounts[pair] ?: 0) + 1
+    }
+  }
+
+  val chunks =
+    clusters.values.mapIndexed { id, clusterNodes ->
+      buildJsonObject {
+        put("nodes", JsonArray(clusterNodes))
+        put("links", JsonArray(linksByCluster[id]))
+        put(
+          "pathsToRoot",
+          buildJsonObject {
+            for (node in clusterNodes) {
+              val key = node.string("fullKey")
+              val path = pathsToRoot[key] ?: continue
+              put(key, buildJsonArray { path.forEach { add(JsonPrimitive(it)) } })
+            }
+          },
+        )
+      }
+    }
+
+  val clusterKeys = clusters.keys.map { "cluster:$it" }
+  val overviewNodes = buildJsonArray {
+    clusters.entries.forEachIndexed { id, (pkg, clusterNodes) ->
+      add(
+        buildJsonObject {
+          put("id", JsonPrimitive(clusterKeys[id]))
+          put("name", JsonPrimitive("${pkg.ifEmpty { "(root)" }} (${clusterNodes.size})"))
+          put("fullKey", JsonPrimitive(clusterKeys[id]))
+          put("pkg", JsonPrimitive(pkg))
+          put("kind", JsonPrimitive("PackageCluster"))
+          put("isCluster", JsonPrimitive(true))
+          put("clusterId", JsonPrimitive(id))
+          put("scoped", JsonPrimitive(clusterNodes.any { it.boolean("scoped") }))
+          put("synthetic", JsonPrimitive(false))
+          put("symbol", JsonPrimitive("roundRect"))
+          put(
+            "symbolSize",
+            JsonPrimitive((12 + 4 * sqrt(clusterNodes.size.toDouble())).coerceAtMost(80.0)),
+          )
+          put(
+            "itemStyle",
+            buildJsonObject {
+              put("color", JsonPrimitive(Colors.packageColors[id % Colors.packageColors.size]))
+            },
+          )
+        }
+      )
+    }
+  }
+  val overviewLinks = buildJsonArray {
+    for ((pair, count) in clusterLinkCounts) {
+      add(
+        buildJsonObject {
+          put("source", JsonPrimitive(clusterKeys[pair.first]))
+          put("target", JsonPrimitive(clusterKeys[pair.second]))
+          put("sourceCluster", JsonPrimitive(pair.first))
+          put("targetCluster", JsonPrimitive(pair.second))
+          put("edgeType", JsonPrimitive("cluster"))
+          put("value", JsonPrimitive(count))
+          put(
+            "lineStyle",
+            buildJsonObject {
+              put("color", JsonPrimitive(Colors.OTHER))
+              put("width", JsonPrimitive((1 + log2(count.toDouble())).coerceAtMost(6.0)))
+            },
+          )
+        }
+      )
+    }
+  }
+
+  return LevelOfDetail(
+    overview =
+      buildJsonObject {
+        put("nodes", overviewNodes)
+        put("links", overviewLinks)
+      },
+    chunks = chunks,
+  )
+}
+
+/** Encodes [chunk] as a script that hands its gzipped, base64-encoded JSON to the page. */
+internal fun encodeChunk(id: Int, chunk: JsonObject): String {
+  val bytes = ByteArrayOutputStream()
+  GZIPOutputStream(bytes).use {
+    it.write(Json.encodeToString(JsonObject.serializer(), chunk).encodeToByteArray())
+  }
+  return "metroGraphChunk($id, \"${Base64.getEncoder().encodeToString(bytes.toByteArray())}\");\n"
+}
+
+private fun JsonObject.string(key: String): String = getValue(key).jsonPrimitive.content
+
+private fun JsonObject.boolean(key: String): Boolean =
+  this[key]?.jsonPrimitive?.content?.toBooleanStrictOrNull() ?: false
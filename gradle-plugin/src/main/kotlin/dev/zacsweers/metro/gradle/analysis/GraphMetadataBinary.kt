@@ -0,0 +1,312 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle.analysis
+
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.decodeFromStream
+
+/**
+ * A compact binary encoding of [AggregatedGraphMetadata].
+ *
+ * Type keys are repeated many times across a graph's bindings, dependencies, and roots, so every
+ * string is written once to a string table up front and referenced by index afterward. Indices and
+ * counts are unsigned varints, and nullable strings are encoded as `index + 1` with `0` for null.
+ * The layout follows the order of the models' fields, and reading decodes it straight into the
+ * models without building an intermediate tree.
+ *
+ * Bump [VERSION] whenever the layout changes.
+ */
+internal object GraphMetadataBinary {
+  private val MAGIC = byteArrayOf('M'.code.toByte(), 'G'.code.toByte(), 'M'.code.toByte())
+  private const val VERSION = 2
+
+  private const val FLAG_IS_SCOPED = 1
+  private const val FLAG_IS_SYNTHETIC = 1 shl 1
+  private const val FLAG_HAS_DEFAULT = 1
+  private const val FLAG_IS_ASSISTED = 1 shl 1
+
+  fun write(metadata: AggregatedGraphMetadata, output: OutputStream) {
+    // The body is encoded first so that the string table is complete when the header is written
+    val strings = LinkedHashMap<String, Int>()
+    val body = ByteArrayOutputStream()
+    DataOutputStream(body).use { BodyWriter(it, strings).writeAggregated(metadata) }
+
+    val out = DataOutputStream(output)
+    out.write(MAGIC)
+    out.writeByte(VERSION)
+    out.writeVarInt(strings.size)
+    for (string in strings.keys) {
+      val bytes = string.encodeToByteArray()
+      out.writeVarInt(bytes.size)
+      out.write(bytes)
+    }
+    body.writeTo(out)
+    out.flush()
+  }
+
+  fun read(input: InputStream): AggregatedGraphMetadata {
+    val data = DataInputStream(input.buffered())
+    val magic = ByteArray(MAGIC.size)
+    data.readFully(magic)
+    if (!magic.contentEquals(MAGIC)) throw IOException("Not a binary Metro graph metadata file")
+    val version = data.readUnsignedByte()
+    if (version != VERSION) {
+      throw IOException("Unsupported binary Metro graph metadata version $version")
+    }
+    val strings =
+      Array(data.readVarInt()) {
+        val bytes = ByteArray(data.readVarInt())
+        data.readFully(bytes)
+        bytes.decodeToString()
+      }
+    return BodyReader(data, strings).readAggregated()
+  }
+
+  /** Returns true if [file] starts with the binary format's header. */
+  fun isBinary(file: File): Boolean {
+    val header = ByteArray(MAGIC.size)
+    val read = file.inputStream().use { it.read(header) }
+    return read == MAGIC.size && header.contentEquals(MAGIC)
+  }
+
+  private class BodyWriter(
+    private val out: DataOutputStream,
+    private val strings: MutableMap<String, Int>,
+  ) {
+    fun writeAggregated(metadata: AggregatedGraphMetadata) {
+      writeString(metadata.projectPath)
+      out.writeVarInt(metadata.graphCount)
+      writeList(metadata.graphs, ::writeGraph)
+    }
+
+    private fun writeGraph(graph: GraphMetadata) {
+      writeString(graph.graph)
+      writeList(graph.scopes, ::writeString)
+      writeList(graph.aggregationScopes, ::writeString)
+      val roots = graph.roots
+      out.writeBoolean(roots != null)
+      if (roots != null) {
+        writeList(roots.accessors) {
+          writeString(it.key)
+          out.writeBoolean(it.isDeferrable)
+        }
+        writeList(roots.injectors) { writeString(it.key) }
+      }
+      val extensions = graph.extensions
+      out.writeBoolean(extensions != null)
+      if (extensions != null) {
+        writeList(extensions.accessors) { writeString(it.key) }
+        writeList(extensions.factoryAccessors) {
+          writeString(it.key)
+          out.writeBoolean(it.isSAM)
+        }
+        writeList(extensions.factoriesImplemented, ::writeString)
+      }
+      writeList(graph.bindings, ::writeBinding)
+    }
+
+    private fun writeBinding(binding: BindingMetadata) {
+      writeString(binding.key)
+      writeString(binding.bindingKind)
+      writeNullableString(binding.scope)
+      var flags = 0
+      if (binding.isScoped) flags = flags or FLAG_IS_SCOPED
+      if (binding.isSynthetic) flags = flags or FLAG_IS_SYNTHETIC
+      out.writeByte(flags)
+      writeNullableString(binding.startupPolicy)
+      writeString(binding.nameHint)
+      writeList(binding.dependencies) { dependency ->
+        writeString(dependency.key)
+        var dependencyFlags = 0
+        if (dependency.hasDefault) dependencyFlags = dependencyFlags or FLAG_HAS_DEFAULT
+        if (dependency.isAssisted) dependencyFlags = dependencyFlags or FLAG_IS_ASSISTED
+        out.writeByte(dependencyFlags)
+        writeNullableString(dependency.wrapperType)
+      }
+      writeNullableString(binding.origin)
+      writeNullableString(binding.declaration)
+      val multibinding = binding.multibinding
+      out.writeBoolean(multibinding != null)
+      if (multibinding != null) {
+        writeString(multibinding.type)
+        out.writeBoolean(multibinding.allowEmpty)
+        writeList(multibinding.sources, ::writeString)
+      }
+      val optionalWrapper = binding.optionalWrapper
+      out.writeBoolean(optionalWrapper != null)
+      if (optionalWrapper != null) {
+        writeString(optionalWrapper.wrappedType)
+        out.writeBoolean(optionalWrapper.allowsAbsent)
+        writeString(optionalWrapper.wrapperKey)
+      }
+      writeNullableString(binding.aliasTarget)
+    }
+
+    private fun <T> writeList(list: List<T>, writeElement: (T) -> Unit) {
+      out.writeVarInt(list.size)
+      for (element in list) writeElement(element)
+    }
+
+    private fun writeString(string: String) {
+      out.writeVarInt(strings.getOrPut(string) { strings.size })
+    }
+
+    private fun writeNullableString(string: String?) {
+      if (string == null) {
+        out.writeVarInt(0)
+      } else {
+        out.writeVarInt(strings.getOrPut(string) { strings.size } + 1)
+      }
+    }
+  }
+
+  private class BodyReader(private val data: DataInputStream, private val strings: Array<String>) {
+    fun readAggregated(): AggregatedGraphMetadata {
+      return AggregatedGraphMetadata(
+        projectPath = readString(),
+        graphCount = data.readVarInt(),
+        graphs = readList(::readGraph),
+      )
+    }
+
+    private fun readGraph(): GraphMetadata {
+      return GraphMetadata(
+        graph = readString(),
+        scopes = readList(::readString),
+        aggregationScopes = readList(::readString),
+        roots =
+          if (data.readBoolean()) {
+            RootsMetadata(
+              accessors = readList { AccessorMetadata(readString(), data.readBoolean()) },
+              injectors = readList { InjectorMetadata(readString()) },
+            )
+          } else {
+            null
+          },
+        extensions =
+          if (data.readBoolean()) {
+            ExtensionsMetadata(
+              accessors = readList { ExtensionAccessorMetadata(readString()) },
+              factoryAccessors =
+                readList { ExtensionFactoryAccessorMetadata(readString(), data.readBoolean()) },
+              factoriesImplemented = readList(::readString),
+            )
+          } else {
+            null
+          },
+        bindings = readList(::readBinding),
+      )
+    }
+
+    private fun readBinding(): BindingMetadata {
+      val key = readString()
+      val bindingKind = readString()
+      val scope = readNullableString()
+      val flags = data.readUnsignedByte()
+      val startupPolicy = readNullableString()
+      val nameHint = readString()
+      val dependencies = readList {
+        val dependencyKey = readString()
+        val dependencyFlags = data.readUnsignedByte()
+        DependencyMetadata(
+          key = dependencyKey,
+          hasDefault = dependencyFlags and FLAG_HAS_DEFAULT != 0,
+          wrapperType = readNullableString(),
+          isAssisted = dependencyFlags and FLAG_IS_ASSISTED != 0,
+        )
+      }
+      val origin = readNullableString()
+      val declaration = readNullableString()
+      val multibinding =
+        if (data.readBoolean()) {
+          MultibindingMetadata(
+            type = readString(),
+            allowEmpty = data.readBoolean(),
+            sources = readList(::readString),
+          )
+        } else {
+          null
+        }
+      val optionalWrapper =
+        if (data.readBoolean()) {
+          OptionalWrapperMetadata(
+            wrappedType = readString(),
+            allowsAbsent = data.readBoolean(),
+            wrapperKey = readString(),
+          )
+        } else {
+          null
+        }
+      return BindingMetadata(
+        key = key,
+        bindingKind = bindingKind,
+        scope = scope,
+        isScoped = flags and FLAG_IS_SCOPED != 0,
+        startupPolicy = startupPolicy,
+        nameHint = nameHint,
+        dependencies = dependencies,
+        origin = origin,
+        declaration = declaration,
+        multibinding = multibinding,
+        optionalWrapper = optionalWrapper,
+        aliasTarget = readNullableString(),
+        isSynthetic = flags and FLAG_IS_SYNTHETIC != 0,
+      )
+    }
+
+    private fun <T> readList(readElement: () -> T): List<T> {
+      val size = data.readVarInt()
+      return List(size) { readElement() }
+    }
+
+    private fun readString(): String = strings[data.readVarInt()]
+
+    private fun readNullableString(): String? {
+      val index = data.readVarInt()
+      return if (index == 0) null else strings[index - 1]
+    }
+  }
+
+  private fun DataOutputStream.writeVarInt(value: Int) {
+    var remaining = value
+    while (remaining and 0x7F.inv() != 0) {
+      writeByte((remaining and 0x7F) or 0x80)
+      remaining = remaining ushr 7
+    }
+    writeByte(remaining)
+  }
+
+  private fun DataInputStream.readVarInt(): Int {
+    var result = 0
+    var shift = 0
+    while (true) {
+      val byte = readUnsignedByte()
+      result = result or ((byte and 0x7F) shl shift)
+      if (byte and 0x80 == 0) return result
+      shift += 7
+      if (shift > 28) throw IOException("Malformed varint")
+    }
+  }
+}
+
+/**
+ * Reads aggregated graph metadata from [file], which may be either the JSON or the
+ * [binary][GraphMetadataBinary] format produced by `GenerateGraphMetadataTask`. JSON is decoded
+ * from a stream rather than first reading the whole file into a string.
+ */
+@OptIn(ExperimentalSerializationApi::class)
+internal fun readAggregatedGraphMetadata(file: File): AggregatedGraphMetadata {
+  return if (GraphMetadataBinary.isBinary(file)) {
+    file.inputStream().use(GraphMetadataBinary::read)
+  } else {
+    file.inputStream().buffered().use { Json.decodeFromStream<AggregatedGraphMetadata>(it) }
+  }
+}
@@ -66,6 +66,8 @@ public data class BindingMetadata(
   val bindingKind: String,
   val scope: String? = null,
   val isScoped: Boolean,
+  /** The policy declared with `@Startup`, e.g. "EAGER". Null if none is declared. */
+  val startupPolicy: String? = null,
   val nameHint: String,
   val dependencies: List<DependencyMetadata>,
   val origin: String? = null,
@@ -35,57 +35,59 @@ internal class LongestPath<N : Any>(private val graph: Graph<N>) {
   fun lengthFrom(node: N): Int? = lengths[node]
 
   /**
-   * Returns up to [maxPaths] longest paths in the graph.
+   * Returns up to [maxPaths] longest paths in the graph. Ties are broken by choosing roots and
+   * successors in string order.
    *
    * Paths are reconstructed by starting from roots with the maximum path length and following edges
-   * to successors that maintain the optimal path length.
+   * to successors that maintain the optimal path length. The walk uses an explicit stack, as the
+   * longest paths of long dependency chains can be very deep.
    */
   fun paths(maxPaths: Int = 5): List<List<N>> {
     if (graph.nodes().isEmpty() || maxPaths <= 0) return emptyList()
 
     val result = mutableListOf<List<N>>()
-    val successorCache = mutableMapOf<N, List<N>>()
+    val path = ArrayList<N>()
+    val stack = ArrayDeque<Iterator<N>>()
 
-    fun sortedSuccessors(node: N): List<N> =
-      successorCache.getOrPut(node) {
-        graph.successors(node).sortedWith(compareBy { it.toString() })
-      }
-
-    fun build(node: N, path: ArrayDeque<N>) {
-      if (result.size >= maxPaths) return
-      path.add(node)
-
-      val nodeLen = lengths[node] ?: 1
-      val needed = nodeLen - 1
-      val successors = sortedSuccessors(node)
+    fun push(node: N) {
+      path += node
+      val needed = (lengths[node] ?: 1) - 1
       val bestSuccessors =
         if (needed >= 1) {
-          successors.filter { (lengths[it] ?: 1) == needed }
+          graph
+            .successors(node)
+            .filter { (lengths[it] ?: 1) == needed }
+            .sortedWith(compareBy { it.toString() })
         } else {
           emptyList()
         }
-
       if (bestSuccessors.isEmpty()) {
         result += path.toList()
-      } else {
-        for (successor in bestSuccessors) {
-          build(successor, path)
-          if (result.size >= maxPaths) break
-        }
       }
-
-      path.removeLast()
+      stack.addLast(bestSuccessors.iterator())
     }
 
     // Start from roots with maximum path length
     for (root in roots.sortedWith(compareBy { it.toString() })) {
-      if ((lengths[root] ?: 1) == longestPathLength) {
-        build(root, ArrayDeque())
-      }
       if (result.size >= maxPaths) break
+      if ((lengths[root] ?: 1) != longestPathLength) continue
+
+      push(root)
+      while (stack.isNotEmpty() && result.size < maxPaths) {
+        val successors = stack.last()
+        if (successors.hasNext()) {
+          push(successors.next())
+        } else {
+          stack.removeLast()
+          path.removeLast()
+        }
+      }
+      stack.clear()
+      path.clear()
     }
 
-    return result.distinctBy { it.joinToString("->") }
+    // Paths differ at the first successor they branch to, so they're already distinct
+    return result
   }
 
   private fun computeLengths(): Map<N, Int> {
@@ -0,0 +1,296 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle.analysis
+
+import com.google.common.graph.Graph
+import java.io.File
+
+/**
+ * Computes the weighted critical path of initializing [roots] and everything they eagerly depend
+ * on, assuming unlimited parallelism.
+ *
+ * A node can only be initialized once all of its successors (its eager dependencies) are, so the
+ * earliest a node can finish is its own [cost] plus the latest finish among its successors. The
+ * critical path is the chain of nodes that determines the latest finish among [roots], which is a
+ * lower bound on startup time no matter how initialization is scheduled.
+ *
+ * Nodes are also grouped by depth, their distance from the leaves of the startup subgraph. All
+ * nodes at the same depth can be initialized concurrently once the lower depths are, so the number
+ * of nodes per depth is how much parallelism startup could make use of.
+ *
+ * The graph should be acyclic, as cycles must be broken by a deferred edge that isn't in the eager
+ * graph. Any remaining back edge is ignored.
+ *
+ * The schedule is computed once in O(V + E), and [deferralCandidates] derives the savings of every
+ * edge on the critical path from it in O((V + E) log V) rather than rescheduling once per edge.
+ *
+ * @param N the node type
+ */
+internal class StartupCriticalPath<N : Any>(
+  private val graph: Graph<N>,
+  roots: Set<N>,
+  private val cost: (N) -> Double,
+) {
+
+  private val roots = roots.sortedWith(compareBy { it.toString() })
+  private val sortedSuccessors = mutableMapOf<N, List<N>>()
+  private val schedule by lazy { schedule() }
+
+  /** The summed cost of the critical path, or 0 if there are no roots. */
+  val criticalPathCost: Double
+    get() = schedule.criticalPathCost
+
+  /**
+   * The critical path, from the root that finishes last down to a leaf. Ties are broken by choosing
+   * the first root and successor in string order.
+   */
+  val criticalPath: List<N> by lazy { schedule.criticalPath() }
+
+  /** The summed cost of every node initialized at startup, i.e. the time to initialize serially. */
+  val totalCost: Double by lazy { schedule.finish.keys.sumOf(cost) }
+
+  /** The number of nodes at each depth, where leaves are at depth 0. */
+  val widthByDepth: Map<Int, Int> by lazy {
+    schedule.depth.values.groupingBy { it }.eachCount().toSortedMap()
+  }
+
+  /**
+   * Returns up to [maxCandidates] dependencies on the critical path whose deferral through a
+   * `Provider` or `Lazy` in their dependent would shorten the critical path, ordered by how much it
+   * would be shortened.
+   *
+   * Deferring a dependency removes that one edge. The dependency may still be initialized at
+   * startup if it's a root or another node depends on it eagerly, in which case only the part of
+   * the critical path that no longer waits on it is saved.
+   */
+  fun deferralCandidates(maxCandidates: Int): List<Deferral<N>> {
+    if (maxCandidates <= 0 || criticalPath.size < 2) return emptyList()
+    val costsWithoutEdges = criticalPathCostsWithoutEdges()
+    // Ignore rounding differences between paths of equal cost that are summed in another order
+    val tolerance = criticalPathCost * 1e-9
+    return criticalPath
+      .zipWithNext()
+      .mapIndexedNotNull { i, (dependent, key) ->
+        val savings = criticalPathCost - costsWithoutEdges[i]
+        if (savings > tolerance) Deferral(key, dependent, savings) else null
+      }
+      .sortedWith(compareByDescending<Deferral<N>> { it.savings }.thenBy { it.key.toString() })
+      .take(maxCandidates)
+  }
+
+  data class Deferral<N>(val key: N, val dependent: N, val savings: Double)
+
+  private class Schedule<N : Any>(
+    /** The earliest each node can finish initializing. Only contains nodes reachable from roots. */
+    val finish: Map<N, Double>,
+    /** The successor each node's critical path continues through. */
+    val next: Map<N, N>,
+    val depth: Map<N, Int>,
+    /** Scheduled nodes in the order they finished, which is a reverse topological order. */
+    val postOrder: List<N>,
+    val start: N?,
+  ) {
+    val criticalPathCost: Double = start?.let(finish::getValue) ?: 0.0
+
+    fun criticalPath(): List<N> = generateSequence(start) { next[it] }.toList()
+  }
+
+  private fun successors(node: N): List<N> =
+    sortedSuccessors.getOrPut(node) {
+      graph.successors(node).sortedWith(compareBy { it.toString() })
+    }
+
+  /** Computes the schedule in reverse topological order. */
+  private fun schedule(): Schedule<N> {
+    val finish = mutableMapOf<N, Double>()
+    val next = mutableMapOf<N, N>()
+    val depth = mutableMapOf<N, Int>()
+    val postOrder = mutableListOf<N>()
+    val onStack = mutableSetOf<N>()
+
+    // Iterative post-order DFS, as startup chains can be deep enough to overflow the stack
+    for (root in roots) {
+      if (root in finish) continue
+      val stack = ArrayDeque<Pair<N, Iterator<N>>>()
+      stack.addLast(root to successors(root).iterator())
+      onStack += root
+      while (stack.isNotEmpty()) {
+        val (node, iterator) = stack.last()
+        if (iterator.hasNext()) {
+          val successor = iterator.next()
+          if (successor !in finish && onStack.add(successor)) {
+            stack.addLast(successor to successors(successor).iterator())
+          }
+          continue
+        }
+
+        stack.removeLast()
+        onStack -= node
+        var latest: N? = null
+        var latestFinish = 0.0
+        var maxDepth = -1
+        for (successor in successors(node)) {
+          // Successors still on the stack are back edges of a cycle
+          val successorFinish = finish[successor] ?: continue
+          if (latest == null || successorFinish > latestFinish) {
+            latest = successor
+            latestFinish = successorFinish
+          }
+          maxDepth = maxOf(maxDepth, depth.getValue(successor))
+        }
+        finish[node] = cost(node) + latestFinish
+        latest?.let { next[node] = it }
+        depth[node] = maxDepth + 1
+        postOrder += node
+      }
+    }
+
+    var start: N? = null
+    for (root in roots) {
+      if (start == null || finish.getValue(root) > finish.getValue(start)) {
+        start = root
+      }
+    }
+    return Schedule(finish, next, depth, postOrder, start)
+  }
+
+  /**
+   * Returns the critical path cost after removing each edge of the critical path, indexed by the
+   * edge's dependent on the critical path.
+   *
+   * A complete path that avoids the edge from a critical path node `p` to its next node either goes
+   * through `p` and continues through another of its successors, or doesn't go through `p` at all.
+   * A path that avoids `p` either ends before `p` in topological order, starts after it, or has
+   * exactly one edge that jumps over it. The part of that path before the jumping edge only has
+   * nodes before `p` and the part after it only has nodes after `p`, so the longest such path is
+   * the longest path to the edge plus the longest path from it in the full schedule. Each edge,
+   * leaf, and root is then applied to the range of critical path nodes it jumps over.
+   */
+  private fun criticalPathCostsWithoutEdges(): DoubleArray {
+    val finish = schedule.finish
+    val postOrder = schedule.postOrder
+    val position = HashMap<N, Int>(postOrder.size)
+    postOrder.forEachIndexed { i, node -> position[node] = i }
+
+    // Successors that finished first, which excludes the back edges the schedule ignores
+    fun forwardSuccessors(node: N): List<N> {
+      val nodePosition = position.getValue(node)
+      return successors(node).filter { position.getValue(it) < nodePosition }
+    }
+
+    // The longest path from any root to each node, excluding the node itself
+    val head = HashMap<N, Double>(postOrder.size)
+    for (root in roots) head[root] = 0.0
+    for (node in postOrder.asReversed()) {
+      val throughNode = head.getValue(node) + cost(node)
+      for (successor in forwardSuccessors(node)) {
+        if (throughNode > (head[successor] ?: Double.NEGATIVE_INFINITY)) {
+          head[successor] = throughNode
+        }
+      }
+    }
+
+    // Critical path positions decrease along the path, from the root down to the leaf
+    val path = criticalPath
+    val pathPositions = IntArray(path.size) { position.getValue(path[it]) }
+    val avoiding = RangeMax(path.size)
+
+    // Applies a path's cost to the critical path nodes positioned strictly between low and high
+    fun jumpOver(low: Int, high: Int, pathCost: Double) {
+      avoiding.update(pathPositions.firstBelow(high), pathPositions.firstBelow(low + 1), pathCost)
+    }
+
+    for (node in postOrder) {
+      val nodePosition = position.getValue(node)
+      val throughNode = head.getValue(node) + cost(node)
+      val successors = forwardSuccessors(node)
+      if (successors.isEmpty()) {
+        jumpOver(-1, nodePosition, throughNode)
+      }
+      for (successor in successors) {
+        jumpOver(
+          position.getValue(successor),
+          nodePosition,
+          throughNode + finish.getValue(successor),
+        )
+      }
+    }
+    for (root in roots) {
+      jumpOver(position.getValue(root), postOrder.size, finish.getValue(root))
+    }
+
+    return DoubleArray(path.size - 1) { i ->
+      val node = path[i]
+      var latestOtherFinish = 0.0
+      for (successor in forwardSuccessors(node)) {
+        if (successor != path[i + 1]) {
+          latestOtherFinish = maxOf(latestOtherFinish, finish.getValue(successor))
+        }
+      }
+      maxOf(head.getValue(node) + cost(node) + latestOtherFinish, avoiding[i])
+    }
+  }
+}
+
+/** Returns the first index whose value is below [value] in this descending array. */
+private fun IntArray.firstBelow(value: Int): Int {
+  var low = 0
+  var high = size
+  while (low < high) {
+    val mid = (low + high) ushr 1
+    if (this[mid] < value) high = mid else low = mid + 1
+  }
+  return low
+}
+
+/** A segment tree of the max value applied to ranges of [size] indices, for point queries. */
+private class RangeMax(private val size: Int) {
+  private val tree = DoubleArray(2 * size) { Double.NEGATIVE_INFINITY }
+
+  /** Applies [value] to indices [from] (inclusive) to [to] (exclusive). */
+  fun update(from: Int, to: Int, value: Double) {
+    var low = from + size
+    var high = to + size
+    while (low < high) {
+      if (low and 1 == 1) {
+        tree[low] = maxOf(tree[low], value)
+        low++
+      }
+      if (high and 1 == 1) {
+        high--
+        tree[high] = maxOf(tree[high], value)
+      }
+      low = low ushr 1
+      high = high ushr 1
+    }
+  }
+
+  operator fun get(index: Int): Double {
+    var node = index + size
+    var max = Double.NEGATIVE_INFINITY
+    while (node > 0) {
+      max = maxOf(max, tree[node])
+      node = node ushr 1
+    }
+    return max
+  }
+}
+
+/**
+ * Reads per-binding startup costs from a CSV [file] of `key,cost` lines, such as the durations of a
+ * `WarmUpReport` in milliseconds. Blank lines, `#` comments, and a `key,cost` header are skipped.
+ * Type keys may contain commas themselves, so each line is split at its last comma.
+ */
+internal fun readBindingCosts(file: File): Map<String, Double> {
+  return file.useLines { lines ->
+    lines
+      .map(String::trim)
+      .filter { it.isNotEmpty() && !it.startsWith("#") && it != "key,cost" }
+      .associate { line ->
+        val cost =
+          line.substringAfterLast(',', missingDelimiterValue = "").trim().toDoubleOrNull()
+            ?: throw IllegalArgumentException("Malformed binding cost line in $file: $line")
+        line.substringBeforeLast(',').trim() to cost
+      }
+  }
+}
@@ -6,6 +6,7 @@ import com.google.common.graph.Graph
 import com.google.common.graph.GraphBuilder
 import com.google.common.graph.MutableGraph
 import com.google.common.truth.Truth.assertThat
+import kotlin.random.Random
 import org.junit.Test
 
 class DominatorsTest {
@@ -233,6 +234,87 @@ class DominatorsTest {
     assertThat(dom.dominatedBy("___VIRTUAL_ROOT___")).containsExactly("A", "B")
   }
 
+  @Test
+  fun dominatedCountMatchesDominatedBy() {
+    //     A
+    //    / \
+    //   B   C
+    //    \ /
+    //     D
+    //     |
+    //     E
+    val graph = buildGraph {
+      putEdge("A", "B")
+      putEdge("A", "C")
+      putEdge("B", "D")
+      putEdge("C", "D")
+      putEdge("D", "E")
+    }
+    val dom = Dominators(graph)
+
+    for (node in graph.nodes()) {
+      assertThat(dom.dominatedCount(node)).isEqualTo(dom.dominatedBy(node).size)
+    }
+    assertThat(dom.dominatedCount("A")).isEqualTo(4)
+    assertThat(dom.dominatedCount("D")).isEqualTo(1)
+    assertThat(dom.dominatedCount("missing")).isEqualTo(0)
+  }
+
+  @Test
+  fun deepChain() {
+    val graph = buildGraph {
+      for (i in 0 until 2_000) {
+        putEdge("node$i", "node${i + 1}")
+      }
+    }
+    val dom = Dominators(graph)
+
+    assertThat(dom.dominatedCount("node0")).isEqualTo(2_000)
+    assertThat(dom.dominatedCount("node1999")).isEqualTo(1)
+    assertThat(dom.nodesByDominatedCount().first()).isEqualTo("node0" to 2_000)
+  }
+
+  @Test
+  fun matchesReachabilityDefinition() {
+    val random = Random(42)
+    repeat(50) {
+      val graph = buildGraph {
+        for (i in 0 until 30) {
+          addNode("n$i")
+        }
+        // Only add edges from lower to higher indices to keep the graph acyclic
+        for (i in 0 until 30) {
+          for (j in i + 1 until 30) {
+            if (random.nextDouble() < 0.1) putEdge("n$i", "n$j")
+          }
+        }
+      }
+      val dom = Dominators(graph)
+
+      for (node in graph.nodes()) {
+        val expected = referenceDominatedBy(graph, node)
+        assertThat(dom.dominatedBy(node)).containsExactlyElementsIn(expected)
+        assertThat(dom.dominatedCount(node)).isEqualTo(expected.size)
+      }
+    }
+  }
+
+  /**
+   * Nodes dominated by [node] are exactly the ones that can no longer be reached from the roots
+   * once [node] is removed.
+   */
+  private fun referenceDominatedBy(graph: Graph<String>, node: String): Set<String> {
+    val reached = mutableSetOf<String>()
+    val queue = ArrayDeque(graph.nodes().filter { graph.inDegree(it) == 0 && it != node })
+    reached += queue
+    while (queue.isNotEmpty()) {
+      for (successor in graph.successors(queue.removeFirst())) {
+        if (successor != node && reached.add(successor)) queue += successor
+      }
+    }
+    return graph.nodes() - reached - node
+  }
+
   private fun buildGraph(block: MutableGraph<String>.() -> Unit): Graph<String> {
     val graph = GraphBuilder.directed().allowsSelfLoops(false).build<String>()
     graph.block()
@@ -0,0 +1,102 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle.analysis
+
+import com.google.common.truth.Truth.assertThat
+import kotlin.io.path.listDirectoryEntries
+import kotlin.io.path.writeText
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class GraphAnalysisCacheTest {
+
+  @get:Rule val temporaryFolder = TemporaryFolder()
+
+  @Test
+  fun keysAreStableForEqualMetadata() {
+    val key = GraphAnalysisCache.key(GraphAnalysisCache.encode(graph()), 5, 10)
+    val sameKey = GraphAnalysisCache.key(GraphAnalysisCache.encode(graph()), 5, 10)
+
+    assertThat(sameKey).isEqualTo(key)
+  }
+
+  @Test
+  fun keysChangeWithMetadataAndOptions() {
+    val graphJson = GraphAnalysisCache.encode(graph())
+    val key = GraphAnalysisCache.key(graphJson, 5, 10)
+
+    val changedGraphJson = GraphAnalysisCache.encode(graph(extraDependency = "test.Cache"))
+    assertThat(GraphAnalysisCache.key(changedGraphJson, 5, 10)).isNotEqualTo(key)
+    assertThat(GraphAnalysisCache.key(graphJson, 3, 10)).isNotEqualTo(key)
+    assertThat(GraphAnalysisCache.key(graphJson, 5, 3)).isNotEqualTo(key)
+  }
+
+  @Test
+  fun roundTripsAnalysis() {
+    val cache = GraphAnalysisCache(temporaryFolder.root.toPath())
+    val analysis = analyzeGraph(graph(), maxLongestPaths = 5, topFanCount = 10)
+
+    assertThat(cache.contains("key")).isFalse()
+    cache.write("key", analysis)
+
+    assertThat(cache.contains("key")).isTrue()
+    assertThat(cache.read("key")).isEqualTo(analysis)
+  }
+
+  @Test
+  fun unreadableEntriesAreMisses() {
+    val cache = GraphAnalysisCache(temporaryFolder.root.toPath())
+    temporaryFolder.newFile("key.json").toPath().writeText("{")
+
+    assertThat(cache.read("key")).isNull()
+  }
+
+  @Test
+  fun retainOnlyDeletesUnusedEntries() {
+    val directory = temporaryFolder.root.toPath()
+    val cache = GraphAnalysisCache(directory)
+    val analysis = analyzeGraph(graph(), maxLongestPaths = 5, topFanCount = 10)
+    cache.write("used", analysis)
+    cache.write("unused", analysis)
+    temporaryFolder.newFile("interrupted.tmp")
+
+    cache.retainOnly(setOf("used"))
+
+    assertThat(directory.listDirectoryEntries().map { it.fileName.toString() })
+      .containsExactly("used.json")
+  }
+
+  private fun graph(extraDependency: String? = null): GraphMetadata {
+    val dependencies = listOfNotNull("kotlin.String", extraDependency)
+    return GraphMetadata(
+      graph = "test.AppGraph",
+      scopes = emptyList(),
+      aggregationScopes = emptyList(),
+      bindings =
+        listOf(
+          BindingMetadata(
+            key = "test.AppGraph",
+            bindingKind = "BoundInstance",
+            isScoped = false,
+            nameHint = "AppGraph",
+            dependencies = emptyList(),
+          ),
+          BindingMetadata(
+            key = "test.Repository",
+            bindingKind = "ConstructorInjected",
+            isScoped = false,
+            nameHint = "Repository",
+            dependencies = dependencies.map { DependencyMetadata(it, hasDefault = false) },
+          ),
+          BindingMetadata(
+            key = "kotlin.String",
+            bindingKind = "Provided",
+            isScoped = false,
+            nameHint = "provideString",
+            dependencies = emptyList(),
+          ),
+        ),
+    )
+  }
+}
@@ -0,0 +1,93 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle.analysis
+
+import com.google.common.truth.Truth.assertThat
+import java.util.concurrent.Executors
+import org.junit.Test
+
+class GraphAnalyzerTest {
+
+  @Test
+  fun concurrentAnalysisMatchesSequentialAnalysis() {
+    val graphs = (0 until 8).map { graph("test.Graph$it", bindingCount = 10 + it * 5) }
+    val sequential = graphs.map { analyzeGraph(it, maxLongestPaths = 5, topFanCount = 10) }
+
+    val executor = Executors.newFixedThreadPool(4)
+    val concurrent =
+      try {
+        analyzeGraphs(graphs, maxLongestPaths = 5, topFanCount = 10, executor = executor)
+      } finally {
+        executor.shutdownNow()
+      }
+
+    assertThat(concurrent).containsExactlyElementsIn(sequential).inOrder()
+  }
+
+  @Test
+  fun failuresAreRethrownUnwrapped() {
+    // A negative fan count fails in computeFanAnalysis
+    val graph = graph("test.AppGraph", bindingCount = 3)
+    val executor = Executors.newSingleThreadExecutor()
+    try {
+      val failure =
+        runCatching {
+            analyzeGraphs(listOf(graph), maxLongestPaths = 5, topFanCount = -1, executor)
+          }
+          .exceptionOrNull()
+      assertThat(failure).isInstanceOf(IllegalArgumentException::class.java)
+    } finally {
+      executor.shutdownNow()
+    }
+  }
+
+  @Test
+  fun deepChainsAreAnalyzedWithoutRecursion() {
+    val depth = 50_000
+    val analyzer =
+      GraphAnalyzer(BindingGraph.from(graph("test.DeepGraph", depth, sharedLeaf = false)))
+
+    val longestPath = analyzer.findLongestPaths()
+    assertThat(longestPath.longestPathLength).isEqualTo(depth)
+    val path = longestPath.longestPaths.single()
+    assertThat(path).hasSize(depth)
+    assertThat(path.first()).isEqualTo("test.DeepGraph")
+    assertThat(path.last()).isEqualTo("test.DeepGraph.Binding${depth - 1}")
+
+    val dominators = analyzer.computeDominators().dominators
+    assertThat(dominators).hasSize(depth)
+    val root = dominators.first()
+    assertThat(root.key).isEqualTo("test.DeepGraph")
+    assertThat(root.dominatedCount).isEqualTo(depth - 1)
+    assertThat(root.dominatedKeys).hasSize(depth - 1)
+    assertThat(root.dominatedKeys).isInOrder()
+    assertThat(dominators.last().dominatedCount).isEqualTo(0)
+  }
+
+  /**
+   * A chain of [bindingCount] bindings rooted at [name]. Every binding also depends on the last one
+   * if [sharedLeaf] is true.
+   */
+  private fun graph(name: String, bindingCount: Int, sharedLeaf: Boolean = true): GraphMetadata {
+    val keys = listOf(name) + (1 until bindingCount).map { "$name.Binding$it" }
+    return GraphMetadata(
+      graph = name,
+      scopes = emptyList(),
+      aggregationScopes = emptyList(),
+      bindings =
+        keys.mapIndexed { index, key ->
+          val dependencies = buildList {
+            keys.getOrNull(index + 1)?.let(::add)
+            if (sharedLeaf && index + 1 < keys.lastIndex) add(keys.last())
+          }
+          BindingMetadata(
+            key = key,
+            bindingKind = if (index == 0) "BoundInstance" else "ConstructorInjected",
+            isScoped = index % 2 == 0,
+            nameHint = key.substringAfterLast('.'),
+            dependencies = dependencies.map { DependencyMetadata(it, hasDefault = false) },
+          )
+        },
+    )
+  }
+}
@@ -0,0 +1,156 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle.analysis
+
+import com.google.common.truth.Truth.assertThat
+import java.util.Base64
+import java.util.zip.GZIPInputStream
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.int
+import kotlinx.serialization.json.jsonArray
+import kotlinx.serialization.json.jsonObject
+import kotlinx.serialization.json.jsonPrimitive
+import org.junit.Test
+
+class GraphLevelOfDetailTest {
+
+  @Test
+  fun thresholdSelectsLevelOfDetail() {
+    assertThat(usesLevelOfDetail(bindingCount = 999, threshold = 1000)).isFalse()
+    assertThat(usesLevelOfDetail(bindingCount = 1000, threshold = 1000)).isFalse()
+    assertThat(usesLevelOfDetail(bindingCount = 1001, threshold = 1000)).isTrue()
+    // 0 always inlines the full graph
+    assertThat(usesLevelOfDetail(bindingCount = 1001, threshold = 0)).isFalse()
+  }
+
+  @Test
+  fun clustersHoldEveryNode() {
+    val levelOfDetail = buildLevelOfDetail(graphData, pathsToRoot)
+
+    assertThat(levelOfDetail.chunks).hasSize(3)
+    val chunkKeys = levelOfDetail.chunks.flatMap { chunk -> chunk.array("nodes").map { it.key } }
+    assertThat(chunkKeys).containsExactlyElementsIn(graphData.array("nodes").map { it.key })
+
+    // Clusters are sorted by package and indexed by their clusterId
+    val overviewNodes = levelOfDetail.overview.array("nodes")
+    assertThat(overviewNodes.map { it.key })
+      .containsExactly("cluster:", "cluster:com.example", "cluster:com.example.data")
+      .inOrder()
+    assertThat(overviewNodes.map { it.getValue("clusterId").jsonPrimitive.int })
+      .containsExactly(0, 1, 2)
+      .inOrder()
+    assertThat(overviewNodes[1].getValue("scoped").jsonPrimitive.content).isEqualTo("true")
+  }
+
+  @Test
+  fun linksAreSharedByTheClustersTheyConnect() {
+    val levelOfDetail = buildLevelOfDetail(graphData, pathsToRoot)
+    val (rootChunk, exampleChunk, dataChunk) = levelOfDetail.chunks
+
+    assertThat(rootChunk.array("links").map { it.edge })
+      .containsExactly("AppGraph->com.example.Foo")
+    assertThat(exampleChunk.array("links").map { it.edge })
+      .containsExactly(
+        "AppGraph->com.example.Foo",
+        "com.example.Foo->com.example.Bar",
+        "com.example.Foo->com.example.data.Repo",
+        "com.example.Bar->com.example.data.Repo",
+      )
+    assertThat(dataChunk.array("links").map { it.edge })
+      .containsExactly(
+        "com.example.Foo->com.example.data.Repo",
+        "com.example.Bar->com.example.data.Repo",
+      )
+
+    // Crossing links are merged into one overview link per pair of clusters
+    val overviewLinks = levelOfDetail.overview.array("links")
+    assertThat(overviewLinks.associate { it.edge to it.getValue("value").jsonPrimitive.int })
+      .containsExactly(
+        "cluster:->cluster:com.example",
+        1,
+        "cluster:com.example->cluster:com.example.data",
+        2,
+      )
+
+    // Paths to root are split by cluster
+    assertThat(dataChunk.getValue("pathsToRoot").jsonObject.keys)
+      .containsExactly("com.example.data.Repo")
+  }
+
+  @Test
+  fun chunksRoundTrip() {
+    val levelOfDetail = buildLevelOfDetail(graphData, pathsToRoot)
+    levelOfDetail.chunks.forEachIndexed { id, chunk ->
+      val script = encodeChunk(id, chunk)
+      assertThat(script).startsWith("metroGraphChunk($id, \"")
+      assertThat(decodeChunk(script)).isEqualTo(chunk)
+    }
+  }
+
+  /** Decodes a chunk script the same way as the page's `decodeChunk`. */
+  private fun decodeChunk(script: String): JsonObject {
+    val encoded = script.substringAfter('"').substringBefore('"')
+    val json =
+      GZIPInputStream(Base64.getDecoder().decode(encoded).inputStream()).use {
+        it.readBytes().decodeToString()
+      }
+    return Json.parseToJsonElement(json).jsonObject
+  }
+
+  private val graphData = buildJsonObject {
+    put(
+      "nodes",
+      JsonArray(
+        listOf(
+          node("AppGraph", pkg = ""),
+          node("com.example.Foo", pkg = "com.example", scoped = true),
+          node("com.example.Bar", pkg = "com.example"),
+          node("com.example.data.Repo", pkg = "com.example.data"),
+        )
+      ),
+    )
+    put(
+      "links",
+      JsonArray(
+        listOf(
+          link("AppGraph", "com.example.Foo"),
+          link("com.example.Foo", "com.example.Bar"),
+          link("com.example.Foo", "com.example.data.Repo"),
+          link("com.example.Bar", "com.example.data.Repo"),
+        )
+      ),
+    )
+  }
+
+  private val pathsToRoot =
+    mapOf(
+      "com.example.Foo" to listOf("com.example.Foo", "AppGraph"),
+      "com.example.data.Repo" to listOf("com.example.data.Repo", "com.example.Foo", "AppGraph"),
+    )
+
+  private fun node(key: String, pkg: String, scoped: Boolean = false) = buildJsonObject {
+    put("id", JsonPrimitive(key))
+    put("fullKey", JsonPrimitive(key))
+    put("pkg", JsonPrimitive(pkg))
+    put("scoped", JsonPrimitive(scoped))
+  }
+
+  private fun link(source: String, target: String) = buildJsonObject {
+    put("source", JsonPrimitive(source))
+    put("target", JsonPrimitive(target))
+  }
+
+  private fun JsonObject.array(key: String): List<JsonObject> =
+    getValue(key).jsonArray.map { it.jsonObject }
+
+  private val JsonObject.key: String
+    get() = getValue("fullKey").jsonPrimitive.content
+
+  private val JsonObject.edge: String
+    get() =
+      "${getValue("source").jsonPrimitive.content}->${getValue("target").jsonPrimitive.content}"
+}
@@ -0,0 +1,142 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle.analysis
+
+import com.google.common.truth.Truth.assertThat
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import kotlinx.serialization.json.Json
+import org.junit.Assert.assertThrows
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class GraphMetadataBinaryTest {
+
+  @get:Rule val temporaryFolder = TemporaryFolder()
+
+  @Test
+  fun roundTripsMetadata() {
+    val metadata = metadata()
+
+    assertThat(GraphMetadataBinary.read(ByteArrayInputStream(encode(metadata)))).isEqualTo(metadata)
+  }
+
+  @Test
+  fun roundTripsMissingRootsAndExtensions() {
+    val metadata = metadata()
+    val withoutRoots =
+      metadata.copy(graphs = metadata.graphs.map { it.copy(roots = null, extensions = null) })
+
+    assertThat(GraphMetadataBinary.read(ByteArrayInputStream(encode(withoutRoots))))
+      .isEqualTo(withoutRoots)
+  }
+
+  @Test
+  fun isSmallerThanJson() {
+    val metadata = metadata()
+
+    assertThat(encode(metadata).size)
+      .isLessThan(Json.encodeToString(metadata).encodeToByteArray().size)
+  }
+
+  @Test
+  fun readsEitherFormat() {
+    val metadata = metadata()
+    val jsonFile = temporaryFolder.newFile("graphMetadata.json")
+    jsonFile.writeText(Json.encodeToString(metadata))
+    val binaryFile = temporaryFolder.newFile("graphMetadata.bin")
+    binaryFile.writeBytes(encode(metadata))
+
+    assertThat(readAggregatedGraphMetadata(jsonFile)).isEqualTo(metadata)
+    assertThat(readAggregatedGraphMetadata(binaryFile)).isEqualTo(metadata)
+  }
+
+  @Test
+  fun rejectsOtherVersions() {
+    val bytes = encode(metadata())
+    bytes[3] = (bytes[3] + 1).toByte()
+
+    assertThrows(IOException::class.java) { GraphMetadataBinary.read(ByteArrayInputStream(bytes)) }
+  }
+
+  private fun encode(metadata: AggregatedGraphMetadata): ByteArray {
+    val output = ByteArrayOutputStream()
+    GraphMetadataBinary.write(metadata, output)
+    return output.toByteArray()
+  }
+
+  private fun metadata(): AggregatedGraphMetadata {
+    val services = (0 until 200).map { "test.Service$it" }
+    val bindings =
+      services.map { key ->
+        BindingMetadata(
+          key = key,
+          bindingKind = "ConstructorInjected",
+          scope = "@SingleIn(AppScope::class)",
+          isScoped = true,
+          startupPolicy = "EAGER",
+          nameHint = key.substringAfterLast('.'),
+          dependencies =
+            listOf(
+              DependencyMetadata("test.Repository", hasDefault = false, wrapperType = "Provider"),
+              DependencyMetadata("kotlin.String", hasDefault = true, isAssisted = true),
+            ),
+          origin = "Services.kt:1:1",
+          declaration = key.substringAfterLast('.'),
+        )
+      } +
+        listOf(
+          BindingMetadata(
+            key = "kotlin.collections.Set<test.Service>",
+            bindingKind = "Multibinding",
+            isScoped = false,
+            nameHint = "setOfService",
+            dependencies = services.map { DependencyMetadata(it, hasDefault = false) },
+            multibinding =
+              MultibindingMetadata(type = "SET", allowEmpty = false, sources = services),
+            isSynthetic = true,
+          ),
+          BindingMetadata(
+            key = "java.util.Optional<test.Repository>",
+            bindingKind = "CustomWrapper",
+            isScoped = false,
+            nameHint = "optionalOfRepository",
+            dependencies = emptyList(),
+            optionalWrapper =
+              OptionalWrapperMetadata(
+                wrappedType = "test.Repository",
+                allowsAbsent = true,
+                wrapperKey = "java.util.Optional",
+              ),
+            aliasTarget = "test.Repository",
+          ),
+        )
+    return AggregatedGraphMetadata(
+      projectPath = ":app",
+      graphCount = 1,
+      graphs =
+        listOf(
+          GraphMetadata(
+            graph = "test.AppGraph",
+            scopes = listOf("@SingleIn(AppScope::class)"),
+            aggregationScopes = listOf("dev.zacsweers.metro.AppScope"),
+            roots =
+              RootsMetadata(
+                accessors = listOf(AccessorMetadata("test.Repository", isDeferrable = true)),
+                injectors = listOf(InjectorMetadata("test.MainActivity")),
+              ),
+            extensions =
+              ExtensionsMetadata(
+                accessors = listOf(ExtensionAccessorMetadata("test.ChildGraph")),
+                factoryAccessors =
+                  listOf(ExtensionFactoryAccessorMetadata("test.ChildGraph.Factory", isSAM = true)),
+                factoriesImplemented = listOf("test.ChildGraph.Factory"),
+              ),
+            bindings = bindings,
+          )
+        ),
+    )
+  }
+}
@@ -7,6 +7,7 @@ import com.google.common.graph.GraphBuilder
 import com.google.common.graph.ImmutableGraph
 import com.google.common.graph.MutableGraph
 import com.google.common.truth.Truth.assertThat
+import kotlin.random.Random
 import org.junit.Test
 
 class LongestPathTest {
@@ -245,6 +246,62 @@ class LongestPathTest {
       .inOrder()
   }
 
+  @Test
+  fun pathOfDeepChain() {
+    val graph = buildGraph {
+      for (i in 0 until 10_000) {
+        putEdge("node$i", "node${i + 1}")
+      }
+    }
+    val lp = LongestPath(graph)
+
+    assertThat(lp.longestPathLength).isEqualTo(10_001)
+    assertThat(lp.paths(1).single()).hasSize(10_001)
+  }
+
+  @Test
+  fun pathsMatchMemoizedSearch() {
+    val random = Random(42)
+    repeat(50) {
+      val graph = randomDag(random, nodeCount = 40, edgeProbability = 0.1)
+      val lp = LongestPath(graph)
+      val path = lp.paths(1).single()
+
+      assertThat(path.size).isEqualTo(referenceLongestPathLength(graph))
+      assertThat(path.size).isEqualTo(lp.longestPathLength)
+      for ((from, to) in path.zipWithNext()) {
+        assertThat(graph.hasEdgeConnecting(from, to)).isTrue()
+      }
+    }
+  }
+
+  /** The memoized per-node DFS previously used by the HTML report, kept as a reference. */
+  private fun referenceLongestPathLength(graph: Graph<String>): Int {
+    val memo = mutableMapOf<String, List<String>>()
+
+    fun dfs(node: String): List<String> =
+      memo.getOrPut(node) {
+        graph.successors(node).map { listOf(node) + dfs(it) }.maxByOrNull { it.size }
+          ?: listOf(node)
+      }
+
+    return graph.nodes().maxOfOrNull { dfs(it).size } ?: 0
+  }
+
+  private fun randomDag(random: Random, nodeCount: Int, edgeProbability: Double): Graph<String> {
+    return buildGraph {
+      for (i in 0 until nodeCount) {
+        addNode("n$i")
+      }
+      // Only add edges from lower to higher indices to keep the graph acyclic
+      for (i in 0 until nodeCount) {
+        for (j in i + 1 until nodeCount) {
+          if (random.nextDouble() < edgeProbability) putEdge("n$i", "n$j")
+        }
+      }
+    }
+  }
+
   private fun buildGraph(block: MutableGraph<String>.() -> Unit): Graph<String> {
     val graph = GraphBuilder.directed().allowsSelfLoops(false).build<String>()
     graph.block()
@@ -0,0 +1,234 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.gradle.analysis
+
+import com.google.common.graph.Graph
+import com.google.common.graph.GraphBuilder
+import com.google.common.graph.Graphs
+import com.google.common.graph.MutableGraph
+import com.google.common.truth.Truth.assertThat
+import kotlin.random.Random
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class StartupCriticalPathTest {
+
+  @get:Rule val temporaryFolder = TemporaryFolder()
+
+  @Test
+  fun noRoots() {
+    val graph = buildGraph { putEdge("A", "B") }
+    val criticalPath = StartupCriticalPath(graph, emptySet()) { 1.0 }
+
+    assertThat(criticalPath.criticalPathCost).isEqualTo(0.0)
+    assertThat(criticalPath.criticalPath).isEmpty()
+    assertThat(criticalPath.widthByDepth).isEmpty()
+    assertThat(criticalPath.deferralCandidates(10)).isEmpty()
+  }
+
+  @Test
+  fun weightsPickTheCriticalPath() {
+    //     A
+    //    / \
+    //   B   C
+    //    \ /
+    //     D
+    // B is the longer path by cost even though both have the same length
+    val graph = buildGraph {
+      putEdge("A", "B")
+      putEdge("A", "C")
+      putEdge("B", "D")
+      putEdge("C", "D")
+    }
+    val costs = mapOf("A" to 1.0, "B" to 5.0, "C" to 2.0, "D" to 1.0)
+    val criticalPath = StartupCriticalPath(graph, setOf("A"), costs::getValue)
+
+    assertThat(criticalPath.criticalPathCost).isEqualTo(7.0)
+    assertThat(criticalPath.criticalPath).containsExactly("A", "B", "D").inOrder()
+    assertThat(criticalPath.totalCost).isEqualTo(9.0)
+    assertThat(criticalPath.widthByDepth).containsExactly(0, 1, 1, 2, 2, 1)
+  }
+
+  @Test
+  fun onlyNodesReachableFromRootsAreScheduled() {
+    val graph = buildGraph {
+      putEdge("A", "B")
+      putEdge("Unused", "Expensive")
+    }
+    val costs = mapOf("A" to 1.0, "B" to 1.0, "Unused" to 1.0, "Expensive" to 100.0)
+    val criticalPath = StartupCriticalPath(graph, setOf("A"), costs::getValue)
+
+    assertThat(criticalPath.criticalPathCost).isEqualTo(2.0)
+    assertThat(criticalPath.totalCost).isEqualTo(2.0)
+  }
+
+  @Test
+  fun deferralCandidatesAreOrderedBySavings() {
+    // A -> B -> C, where C is expensive. A also depends on D.
+    val graph = buildGraph {
+      putEdge("A", "B")
+      putEdge("B", "C")
+      putEdge("A", "D")
+    }
+    val costs = mapOf("A" to 1.0, "B" to 1.0, "C" to 10.0, "D" to 3.0)
+    val criticalPath = StartupCriticalPath(graph, setOf("A"), costs::getValue)
+
+    assertThat(criticalPath.criticalPathCost).isEqualTo(12.0)
+    // Deferring B in A leaves A -> D (4.0), deferring C in B leaves A -> B vs A -> D (4.0)
+    assertThat(criticalPath.deferralCandidates(10))
+      .containsExactly(
+        StartupCriticalPath.Deferral("B", "A", 8.0),
+        StartupCriticalPath.Deferral("C", "B", 8.0),
+      )
+      .inOrder()
+  }
+
+  @Test
+  fun deferringAScopedBindingOnlySavesItsDependents() {
+    // A -> B -> C, where B is also a startup root of its own
+    val graph = buildGraph {
+      putEdge("A", "B")
+      putEdge("B", "C")
+    }
+    val costs = mapOf("A" to 5.0, "B" to 1.0, "C" to 1.0)
+    val criticalPath = StartupCriticalPath(graph, setOf("A", "B"), costs::getValue)
+
+    assertThat(criticalPath.criticalPathCost).isEqualTo(7.0)
+    // Deferring B in A still initializes B -> C at startup, in parallel with A
+    assertThat(criticalPath.deferralCandidates(1))
+      .containsExactly(StartupCriticalPath.Deferral("B", "A", 2.0))
+  }
+
+  @Test
+  fun deferralSavingsMatchReschedulingWithoutTheEdge() {
+    val random = Random(0)
+    repeat(500) {
+      val nodes = List(random.nextInt(2, 16)) { "N${it.toString().padStart(2, '0')}" }
+      val graph = buildGraph {
+        nodes.forEach(::addNode)
+        for (i in nodes.indices) {
+          for (j in i + 1 until nodes.size) {
+            if (random.nextDouble() < 0.3) putEdge(nodes[i], nodes[j])
+          }
+        }
+      }
+      val roots = nodes.shuffled(random).take(random.nextInt(1, 4)).toSet()
+      val costs = nodes.associateWith { random.nextInt(0, 6).toDouble() }
+      val criticalPath = StartupCriticalPath(graph, roots, costs::getValue)
+
+      val expected =
+        criticalPath.criticalPath.zipWithNext().mapNotNull { (dependent, key) ->
+          val withoutEdge = Graphs.copyOf(graph).apply { removeEdge(dependent, key) }
+          val savings =
+            criticalPath.criticalPathCost -
+              StartupCriticalPath(withoutEdge, roots, costs::getValue).criticalPathCost
+          if (savings > 0.0) StartupCriticalPath.Deferral(key, dependent, savings) else null
+        }
+      assertThat(criticalPath.deferralCandidates(Int.MAX_VALUE)).containsExactlyElementsIn(expected)
+    }
+  }
+
+  @Test
+  fun cyclesDoNotLoop() {
+    val graph = buildGraph {
+      putEdge("A", "B")
+      putEdge("B", "A")
+    }
+    val criticalPath = StartupCriticalPath(graph, setOf("A")) { 1.0 }
+
+    assertThat(criticalPath.criticalPathCost).isEqualTo(2.0)
+    assertThat(criticalPath.criticalPath).containsExactly("A", "B").inOrder()
+  }
+
+  @Test
+  fun analyzerUsesHeuristicCostsForScopedBindings() {
+    val metadata =
+      GraphMetadata(
+        graph = "test.AppGraph",
+        scopes = emptyList(),
+        aggregationScopes = emptyList(),
+        bindings =
+          listOf(
+            binding("test.Repository", isScoped = true, "test.Api", "test.Cache"),
+            binding("test.Api", isScoped = false, "test.Cache"),
+            binding("test.Cache", isScoped = false),
+          ),
+      )
+    val result = GraphAnalyzer(BindingGraph.from(metadata)).computeStartupCriticalPath()
+
+    assertThat(result.costSource).isEqualTo("heuristic")
+    assertThat(result.criticalPath)
+      .containsExactly("test.Repository", "test.Api", "test.Cache")
+      .inOrder()
+    // 3 (Repository) + 2 (Api) + 1 (Cache)
+    assertThat(result.criticalPathCost).isEqualTo(6.0)
+  }
+
+  @Test
+  fun analyzerRootsOnDeclaredStartupPolicies() {
+    val metadata =
+      GraphMetadata(
+        graph = "test.AppGraph",
+        scopes = emptyList(),
+        aggregationScopes = emptyList(),
+        bindings =
+          listOf(
+            binding("test.Repository", isScoped = true, "test.Api", "test.Cache"),
+            binding("test.Api", isScoped = false, "test.Cache"),
+            binding("test.Cache", isScoped = true, startupPolicy = "EAGER"),
+            binding("test.Analytics", isScoped = true, startupPolicy = "BACKGROUND"),
+            binding("test.Settings", isScoped = true, startupPolicy = "LAZY"),
+          ),
+      )
+    val result = GraphAnalyzer(BindingGraph.from(metadata)).computeStartupCriticalPath()
+
+    // Only the declared startup bindings are roots, even though Repository is scoped too
+    assertThat(result.criticalPath).containsExactly("test.Analytics")
+    assertThat(result.totalCost).isEqualTo(2.0)
+  }
+
+  @Test
+  fun readsBindingCosts() {
+    val file = temporaryFolder.newFile("costs.csv")
+    file.writeText(
+      """
+      key,cost
+      # Warm-up durations in milliseconds
+      test.Repository,12.5
+
+      kotlin.collections.Map<kotlin.String, test.Service>,3
+      """
+        .trimIndent()
+    )
+
+    assertThat(readBindingCosts(file))
+      .containsExactly(
+        "test.Repository",
+        12.5,
+        "kotlin.collections.Map<kotlin.String, test.Service>",
+        3.0,
+      )
+  }
+
+  private fun binding(
+    key: String,
+    isScoped: Boolean,
+    vararg dependencies: String,
+    startupPolicy: String? = null,
+  ) =
+    BindingMetadata(
+      key = key,
+      bindingKind = "ConstructorInjected",
+      isScoped = isScoped,
+      startupPolicy = startupPolicy,
+      nameHint = key.substringAfterLast('.'),
+      dependencies = dependencies.map { DependencyMetadata(it, hasDefault = false) },
+    )
+
+  private fun buildGraph(block: MutableGraph<String>.() -> Unit): Graph<String> {
+    val graph = GraphBuilder.directed().allowsSelfLoops(false).build<String>()
+    graph.block()
+    return graph
+  }
+}
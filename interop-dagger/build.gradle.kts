@@ -4,11 +4,17 @@ plugins {
   alias(libs.plugins.kotlin.jvm)
   alias(libs.plugins.mavenPublish)
   alias(libs.plugins.testkit)
+  alias(libs.plugins.jmh)
 }
 
+jmh { resultFormat.set("JSON") }
+
 dependencies {
   api(project(":runtime"))
   api(project(":interop-javax"))
   api(project(":interop-jakarta"))
   api(libs.dagger.runtime)
+
+  // Benchmarks cover provider chains that cross into Guice as well
+  jmhImplementation(project(":interop-guice"))
 }
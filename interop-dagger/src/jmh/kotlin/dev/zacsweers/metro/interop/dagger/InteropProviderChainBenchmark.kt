@@ -0,0 +1,96 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.interop.dagger
+
+import com.google.inject.Provider as GuiceProvider
+import dagger.internal.Provider as DaggerProvider
+import dev.zacsweers.metro.Provider as MetroProvider
+import dev.zacsweers.metro.interop.dagger.internal.asDaggerInternalProvider
+import dev.zacsweers.metro.interop.guice.asGuiceProvider
+import dev.zacsweers.metro.interop.guice.asMetroProvider as guiceAsMetroProvider
+import dev.zacsweers.metro.interop.jakarta.asMetroProvider as jakartaAsMetroProvider
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+
+/**
+ * Measures the per-call cost of a provider that has crossed framework boundaries [hops] times. Each
+ * hop is a round trip from Metro through Dagger or Guice (alternating) and back.
+ *
+ * [adapters] compares the unwrapping interop adapters against plain lambda wrappers, which is what
+ * the interop conversions used to do and adds one extra call per conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public open class InteropProviderChainBenchmark {
+
+  @Param("0", "1", "2", "4", "8", "16") public var hops: Int = 0
+
+  @Param(UNWRAPPING, WRAPPING) public var adapters: String = UNWRAPPING
+
+  private lateinit var metroProvider: MetroProvider<Any>
+  private lateinit var daggerProvider: DaggerProvider<Any>
+  private lateinit var guiceProvider: GuiceProvider<Any>
+
+  @Setup
+  public fun setup() {
+    var provider = MetroProvider<Any> { VALUE }
+    val unwrapping = adapters == UNWRAPPING
+    repeat(hops) { hop ->
+      val throughDagger = hop % 2 == 0
+      provider =
+        if (unwrapping) {
+          if (throughDagger) {
+            provider.asDaggerInternalProvider().jakartaAsMetroProvider()
+          } else {
+            provider.asGuiceProvider().guiceAsMetroProvider()
+          }
+        } else {
+          if (throughDagger) {
+            provider.wrapAsDagger().wrapAsMetro()
+          } else {
+            provider.wrapAsGuice().wrapAsMetro()
+          }
+        }
+    }
+    metroProvider = provider
+    if (unwrapping) {
+      daggerProvider = provider.asDaggerInternalProvider()
+      guiceProvider = provider.asGuiceProvider()
+    } else {
+      daggerProvider = provider.wrapAsDagger()
+      guiceProvider = provider.wrapAsGuice()
+    }
+  }
+
+  @Benchmark public fun metro(): Any = metroProvider()
+
+  @Benchmark public fun dagger(): Any = daggerProvider.get()
+
+  @Benchmark public fun guice(): Any = guiceProvider.get()
+
+  private companion object {
+    const val UNWRAPPING = "unwrapping"
+    const val WRAPPING = "wrapping"
+    val VALUE = Any()
+
+    fun <T : Any> MetroProvider<T>.wrapAsDagger(): DaggerProvider<T> = DaggerProvider(::invoke)
+
+    fun <T : Any> MetroProvider<T>.wrapAsGuice(): GuiceProvider<T> = GuiceProvider(::invoke)
+
+    fun <T : Any> jakarta.inject.Provider<T>.wrapAsMetro(): MetroProvider<T> = MetroProvider(::get)
+  }
+}
@@ -4,21 +4,42 @@ package dev.zacsweers.metro.interop.dagger
 
 import dagger.MembersInjector as DaggerMembersInjector
 import dev.zacsweers.metro.MembersInjector as MetroMembersInjector
+import dev.zacsweers.metro.interop.dagger.internal.DaggerLazyAsKotlinLazy
+import dev.zacsweers.metro.interop.dagger.internal.KotlinLazyAsDaggerLazy
 
 /**
  * Converts a Dagger [dagger.Lazy] into a Kotlin [Lazy]. This allows interoperability between lazy
  * types defined in different frameworks.
  *
+ * Both types memoize their values, so this never adds another layer of locking or caching. If this
+ * instance is already a Kotlin [Lazy] (such as Metro's own `DoubleCheck` types) or a view of one,
+ * it is returned directly.
+ *
  * @return A [Lazy] that delegates its invocation to the source [dagger.Lazy].
  */
-public fun <T : Any> dagger.Lazy<T>.asKotlinLazy(): Lazy<T> = lazy(::get)
+@Suppress("UNCHECKED_CAST")
+public fun <T : Any> dagger.Lazy<T>.asKotlinLazy(): Lazy<T> =
+  when (this) {
+    is KotlinLazyAsDaggerLazy<T> -> delegate
+    is Lazy<*> -> this as Lazy<T>
+    else -> DaggerLazyAsKotlinLazy(this)
+  }
 
 /**
  * Converts a Kotlin [Lazy] into a Dagger [dagger.Lazy].
  *
+ * Both types memoize their values, so this never adds another layer of locking or caching. If this
+ * instance is already a [dagger.Lazy] or a view of one, it is returned directly.
+ *
  * @return A [dagger.Lazy] that delegates its invocation to the source [Lazy].
  */
-public fun <T : Any> Lazy<T>.asDaggerLazy(): dagger.Lazy<T> = dagger.Lazy(::value)
+@Suppress("UNCHECKED_CAST")
+public fun <T : Any> Lazy<T>.asDaggerLazy(): dagger.Lazy<T> =
+  when (this) {
+    is DaggerLazyAsKotlinLazy<T> -> delegate
+    is dagger.Lazy<*> -> this as dagger.Lazy<T>
+    else -> KotlinLazyAsDaggerLazy(this)
+  }
 
 /**
  * Converts a Metro [MetroMembersInjector] into a Dagger [DaggerMembersInjector].
@@ -6,6 +6,8 @@ import dagger.Lazy as DaggerLazy
 import dagger.internal.Provider as DaggerProvider
 import dev.zacsweers.metro.Provider as MetroProvider
 import dev.zacsweers.metro.internal.BaseDoubleCheck
+import dev.zacsweers.metro.internal.ProviderAdapter
+import dev.zacsweers.metro.interop.dagger.asDaggerLazy
 import dev.zacsweers.metro.interop.jakarta.asMetroProvider as jakartaAsMetroProvider
 import dev.zacsweers.metro.interop.javax.asMetroProvider as javaxAsMetroProvider
 import jakarta.inject.Provider as JakartaProvider
@@ -42,17 +44,15 @@ public class DaggerInteropDoubleCheck<T : Any>(provider: MetroProvider<T>) :
     }
 
     public fun <P : DaggerProvider<T>, T : Any> lazyFromDaggerProvider(provider: P): DaggerLazy<T> {
-      if (provider is DaggerLazy<*>) {
-        @Suppress("UNCHECKED_CAST")
-        return provider as DaggerLazy<T>
+      memoizedLazyOrNull<T>(provider)?.let {
+        return it
       }
       return DaggerInteropDoubleCheck((provider as JakartaProvider<T>).jakartaAsMetroProvider())
     }
 
     public fun <P : JavaxProvider<T>, T : Any> lazyFromJavaxProvider(provider: P): DaggerLazy<T> {
-      if (provider is DaggerLazy<*>) {
-        @Suppress("UNCHECKED_CAST")
-        return provider as DaggerLazy<T>
+      memoizedLazyOrNull<T>(provider)?.let {
+        return it
       }
       return DaggerInteropDoubleCheck(provider.javaxAsMetroProvider())
     }
@@ -60,19 +60,30 @@ public class DaggerInteropDoubleCheck<T : Any>(provider: MetroProvider<T>) :
     public fun <P : JakartaProvider<T>, T : Any> lazyFromJakartaProvider(
       provider: P
     ): DaggerLazy<T> {
-      if (provider is DaggerLazy<*>) {
-        @Suppress("UNCHECKED_CAST")
-        return provider as DaggerLazy<T>
+      memoizedLazyOrNull<T>(provider)?.let {
+        return it
       }
       return DaggerInteropDoubleCheck(provider.jakartaAsMetroProvider())
     }
 
     public fun <P : MetroProvider<T>, T : Any> lazyFromMetroProvider(provider: P): DaggerLazy<T> {
-      if (provider is DaggerLazy<*>) {
-        @Suppress("UNCHECKED_CAST")
-        return provider as DaggerLazy<T>
+      memoizedLazyOrNull<T>(provider)?.let {
+        return it
       }
       return DaggerInteropDoubleCheck(provider)
     }
+
+    /**
+     * Returns a [DaggerLazy] for [provider] if it (or the provider it adapts) already memoizes its
+     * value, such as a [BaseDoubleCheck] or `InstanceFactory`. Returns null if [provider] needs to
+     * be wrapped in a new [DaggerInteropDoubleCheck].
+     */
+    @Suppress("UNCHECKED_CAST")
+    private fun <T : Any> memoizedLazyOrNull(provider: Any): DaggerLazy<T>? =
+      when (val source = ProviderAdapter.unwrap(provider)) {
+        is DaggerLazy<*> -> source as DaggerLazy<T>
+        is Lazy<*> -> (source as Lazy<T>).asDaggerLazy()
+        else -> null
+      }
   }
 }
@@ -0,0 +1,35 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.interop.dagger.internal
+
+import dagger.Lazy as DaggerLazy
+import dev.zacsweers.metro.internal.MemoizedLazyView
+
+/**
+ * A non-locking Kotlin [Lazy] view of a [DaggerLazy].
+ *
+ * [DaggerLazy] memoizes its value by contract, so there is no need to synchronize or cache the
+ * value a second time here.
+ */
+public class DaggerLazyAsKotlinLazy<T : Any>(public val delegate: DaggerLazy<T>) :
+  MemoizedLazyView<T>(), DaggerLazy<T> {
+  override val source: Any
+    get() = delegate
+
+  override fun readSource(): T = delegate.get()
+
+  override fun get(): T = delegate.get()
+}
+
+/**
+ * A non-locking [DaggerLazy] view of a Kotlin [Lazy].
+ *
+ * Kotlin [Lazy] memoizes its value by contract, so there is no need to synchronize or cache the
+ * value a second time here.
+ */
+public class KotlinLazyAsDaggerLazy<T : Any>(public val delegate: Lazy<T>) :
+  DaggerLazy<T>, Lazy<T> by delegate {
+  override fun get(): T = delegate.value
+
+  override fun toString(): String = delegate.toString()
+}
@@ -0,0 +1,59 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.interop.dagger.internal
+
+import dagger.internal.Factory as DaggerFactory
+import dev.zacsweers.metro.Provider as MetroProvider
+import dev.zacsweers.metro.internal.Factory as MetroFactory
+import dev.zacsweers.metro.internal.ProviderAdapter
+import jakarta.inject.Provider as JakartaProvider
+import javax.inject.Provider as JavaxProvider
+
+/**
+ * A provider adapter that is simultaneously a Metro [MetroFactory] and a Dagger [DaggerFactory]
+ * (and thus also a javax and jakarta `Provider`).
+ *
+ * Instances are only created via [of], which unwraps any existing [ProviderAdapter] first. This
+ * means an adapter always delegates directly to the original provider no matter how many times it
+ * has crossed between frameworks.
+ */
+public sealed class DaggerInteropProvider<T : Any> :
+  ProviderAdapter<T>, MetroFactory<T>, DaggerFactory<T> {
+
+  final override fun get(): T = invoke()
+
+  private class FromMetro<T : Any>(override val delegate: MetroProvider<T>) :
+    DaggerInteropProvider<T>() {
+    override fun invoke(): T = delegate()
+  }
+
+  private class FromJakarta<T : Any>(override val delegate: JakartaProvider<T>) :
+    DaggerInteropProvider<T>() {
+    override fun invoke(): T = delegate.get()
+  }
+
+  private class FromJavax<T : Any>(override val delegate: JavaxProvider<T>) :
+    DaggerInteropProvider<T>() {
+    override fun invoke(): T = delegate.get()
+  }
+
+  public companion object {
+    /**
+     * Returns a [DaggerInteropProvider] for the given Metro, jakarta, or javax [provider]. If
+     * [provider] is already a [DaggerInteropProvider], it is returned as-is.
+     */
+    @Suppress("UNCHECKED_CAST")
+    public fun <T : Any> of(provider: Any): DaggerInteropProvider<T> {
+      if (provider is DaggerInteropProvider<*>) {
+        return provider as DaggerInteropProvider<T>
+      }
+      return when (val source = ProviderAdapter.unwrap(provider)) {
+        is MetroProvider<*> -> FromMetro(source as MetroProvider<T>)
+        // Check jakarta before javax, dagger.internal.Provider implements both
+        is JakartaProvider<*> -> FromJakarta(source as JakartaProvider<T>)
+        is JavaxProvider<*> -> FromJavax(source as JavaxProvider<T>)
+        else -> throw IllegalArgumentException("Unsupported provider type: ${source::class}")
+      }
+    }
+  }
+}
@@ -6,13 +6,40 @@ import dagger.internal.Factory as DaggerFactory
 import dagger.internal.Provider as DaggerProvider
 import dev.zacsweers.metro.Provider as MetroProvider
 import dev.zacsweers.metro.internal.Factory as MetroFactory
+import dev.zacsweers.metro.internal.ProviderAdapter
 
-public fun <T : Any> DaggerFactory<T>.asMetroFactory(): MetroFactory<T> = MetroFactory(::get)
+/**
+ * Converts a Dagger [DaggerFactory] into a [MetroFactory].
+ *
+ * If this factory is (or adapts) a [MetroFactory], that instance is returned directly rather than
+ * wrapping it again.
+ *
+ * @return A [MetroFactory] that delegates its invocation to the source [DaggerFactory].
+ */
+@Suppress("UNCHECKED_CAST")
+public fun <T : Any> DaggerFactory<T>.asMetroFactory(): MetroFactory<T> {
+  val source = ProviderAdapter.unwrap(this)
+  return when {
+    source is MetroFactory<*> -> source as MetroFactory<T>
+    this is MetroFactory<*> -> this as MetroFactory<T>
+    else -> DaggerInteropProvider.of(source)
+  }
+}
 
 /**
  * Converts a Metro [MetroProvider] into a [DaggerProvider].
  *
+ * If this provider is (or adapts) a [DaggerProvider], that instance is returned directly rather
+ * than wrapping it again.
+ *
  * @return A [DaggerProvider] that delegates its invocation to the source [MetroProvider].
  */
-public fun <T : Any> MetroProvider<T>.asDaggerInternalProvider(): DaggerProvider<T> =
-  DaggerProvider(::invoke)
+@Suppress("UNCHECKED_CAST")
+public fun <T : Any> MetroProvider<T>.asDaggerInternalProvider(): DaggerProvider<T> {
+  val source = ProviderAdapter.unwrap(this)
+  return when {
+    source is DaggerProvider<*> -> source as DaggerProvider<T>
+    this is DaggerProvider<*> -> this as DaggerProvider<T>
+    else -> DaggerInteropProvider.of(source)
+  }
+}
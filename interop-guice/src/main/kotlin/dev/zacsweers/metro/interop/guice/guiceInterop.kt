@@ -6,21 +6,44 @@ import com.google.inject.MembersInjector as GuiceMembersInjector
 import com.google.inject.Provider as GuiceProvider
 import dev.zacsweers.metro.MembersInjector as MetroMembersInjector
 import dev.zacsweers.metro.Provider as MetroProvider
-import dev.zacsweers.metro.provider
+import dev.zacsweers.metro.internal.ProviderAdapter
+import dev.zacsweers.metro.interop.guice.internal.GuiceInteropProvider
 
 /**
  * Converts a Guice [GuiceProvider] into a Metro [MetroProvider].
  *
+ * If this provider is (or adapts) a [MetroProvider], that instance is returned directly rather than
+ * wrapping it again.
+ *
  * @return A [MetroProvider] that delegates its invocation to the source [GuiceProvider].
  */
-public fun <T : Any> GuiceProvider<T>.asMetroProvider(): MetroProvider<T> = provider(::get)
+@Suppress("UNCHECKED_CAST")
+public fun <T : Any> GuiceProvider<T>.asMetroProvider(): MetroProvider<T> {
+  val source = ProviderAdapter.unwrap(this)
+  return when {
+    source is MetroProvider<*> -> source as MetroProvider<T>
+    this is MetroProvider<*> -> this as MetroProvider<T>
+    else -> GuiceInteropProvider.of(source)
+  }
+}
 
 /**
  * Converts a Metro [MetroProvider] into a Guice [GuiceProvider].
  *
+ * If this provider is (or adapts) a [GuiceProvider], that instance is returned directly rather than
+ * wrapping it again.
+ *
  * @return A [GuiceProvider] that delegates its invocation to the source [MetroProvider].
  */
-public fun <T : Any> MetroProvider<T>.asGuiceProvider(): GuiceProvider<T> = GuiceProvider(::invoke)
+@Suppress("UNCHECKED_CAST")
+public fun <T : Any> MetroProvider<T>.asGuiceProvider(): GuiceProvider<T> {
+  val source = ProviderAdapter.unwrap(this)
+  return when {
+    source is GuiceProvider<*> -> source as GuiceProvider<T>
+    this is GuiceProvider<*> -> this as GuiceProvider<T>
+    else -> GuiceInteropProvider.of(source)
+  }
+}
 
 /**
  * Converts a Guice [GuiceMembersInjector] into a Metro [MetroMembersInjector].
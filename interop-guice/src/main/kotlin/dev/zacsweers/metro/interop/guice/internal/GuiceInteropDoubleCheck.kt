@@ -5,6 +5,7 @@ package dev.zacsweers.metro.interop.guice.internal
 import com.google.inject.Provider as GuiceProvider
 import dev.zacsweers.metro.Provider as MetroProvider
 import dev.zacsweers.metro.internal.BaseDoubleCheck
+import dev.zacsweers.metro.internal.ProviderAdapter
 import dev.zacsweers.metro.interop.guice.asMetroProvider
 
 /** @see BaseDoubleCheck */
@@ -31,20 +32,27 @@ public class GuiceInteropDoubleCheck<T : Any>(provider: MetroProvider<T>) :
 
     /** Converts a Guice Provider to a Kotlin Lazy. */
     public fun <P : GuiceProvider<T>, T : Any> lazyFromGuiceProvider(provider: P): Lazy<T> {
-      if (provider is Lazy<*>) {
-        @Suppress("UNCHECKED_CAST")
-        return provider as Lazy<T>
+      memoizedLazyOrNull<T>(provider)?.let {
+        return it
       }
-      return lazy { provider.get() }
+      return GuiceInteropDoubleCheck(provider.asMetroProvider())
     }
 
     /** Converts a Metro Provider to a Kotlin Lazy. */
     public fun <P : MetroProvider<T>, T : Any> lazyFromMetroProvider(provider: P): Lazy<T> {
-      if (provider is Lazy<*>) {
-        @Suppress("UNCHECKED_CAST")
-        return provider as Lazy<T>
+      memoizedLazyOrNull<T>(provider)?.let {
+        return it
       }
-      return lazy { provider() }
+      return GuiceInteropDoubleCheck(provider)
     }
+
+    /**
+     * Returns [provider] (or the provider it adapts) as a [Lazy] if it already memoizes its value,
+     * such as a [BaseDoubleCheck] or `InstanceFactory`. Returns null if [provider] needs to be
+     * wrapped in a new [GuiceInteropDoubleCheck].
+     */
+    @Suppress("UNCHECKED_CAST")
+    private fun <T : Any> memoizedLazyOrNull(provider: Any): Lazy<T>? =
+      ProviderAdapter.unwrap(provider) as? Lazy<T>
   }
 }
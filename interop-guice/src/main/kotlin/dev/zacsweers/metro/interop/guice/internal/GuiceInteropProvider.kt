@@ -0,0 +1,49 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.interop.guice.internal
+
+import com.google.inject.Provider as GuiceProvider
+import dev.zacsweers.metro.Provider as MetroProvider
+import dev.zacsweers.metro.internal.ProviderAdapter
+import jakarta.inject.Provider as JakartaProvider
+
+/**
+ * A provider adapter that is simultaneously a Metro [MetroProvider] and a Guice [GuiceProvider]
+ * (and thus also a jakarta `Provider`).
+ *
+ * Instances are only created via [of], which unwraps any existing [ProviderAdapter] first. This
+ * means an adapter always delegates directly to the original provider no matter how many times it
+ * has crossed between frameworks.
+ */
+public sealed class GuiceInteropProvider<T : Any> : ProviderAdapter<T>, GuiceProvider<T> {
+
+  final override fun get(): T = invoke()
+
+  private class FromMetro<T : Any>(override val delegate: MetroProvider<T>) :
+    GuiceInteropProvider<T>() {
+    override fun invoke(): T = delegate()
+  }
+
+  private class FromJakarta<T : Any>(override val delegate: JakartaProvider<T>) :
+    GuiceInteropProvider<T>() {
+    override fun invoke(): T = delegate.get()
+  }
+
+  public companion object {
+    /**
+     * Returns a [GuiceInteropProvider] for the given Metro or jakarta (including Guice) [provider].
+     * If [provider] is already a [GuiceInteropProvider], it is returned as-is.
+     */
+    @Suppress("UNCHECKED_CAST")
+    public fun <T : Any> of(provider: Any): GuiceInteropProvider<T> {
+      if (provider is GuiceInteropProvider<*>) {
+        return provider as GuiceInteropProvider<T>
+      }
+      return when (val source = ProviderAdapter.unwrap(provider)) {
+        is MetroProvider<*> -> FromMetro(source as MetroProvider<T>)
+        is JakartaProvider<*> -> FromJakarta(source as JakartaProvider<T>)
+        else -> throw IllegalArgumentException("Unsupported provider type: ${source::class}")
+      }
+    }
+  }
+}
@@ -3,20 +3,62 @@
 package dev.zacsweers.metro.interop.jakarta
 
 import dev.zacsweers.metro.Provider as MetroProvider
-import dev.zacsweers.metro.provider
+import dev.zacsweers.metro.internal.ProviderAdapter
 import jakarta.inject.Provider as JakartaProvider
 
 /**
  * Converts a jakarta [JakartaProvider] into a Metro [MetroProvider].
  *
+ * If this provider is (or adapts) a [MetroProvider], that instance is returned directly rather than
+ * wrapping it again.
+ *
  * @return A [MetroProvider] that delegates its invocation to the source [JakartaProvider].
  */
-public fun <T : Any> JakartaProvider<T>.asMetroProvider(): MetroProvider<T> = provider(::get)
+@Suppress("UNCHECKED_CAST")
+public fun <T : Any> JakartaProvider<T>.asMetroProvider(): MetroProvider<T> {
+  val source = ProviderAdapter.unwrap(this)
+  return when {
+    source is MetroProvider<*> -> source as MetroProvider<T>
+    this is MetroProvider<*> -> this as MetroProvider<T>
+    else -> JakartaInteropProvider.FromJakarta(this)
+  }
+}
 
 /**
  * Converts a Metro [MetroProvider] into a jakarta [JakartaProvider].
  *
+ * If this provider is (or adapts) a [JakartaProvider], that instance is returned directly rather
+ * than wrapping it again.
+ *
  * @return A [JakartaProvider] that delegates its invocation to the source [MetroProvider].
  */
-public fun <T : Any> MetroProvider<T>.asJakartaProvider(): JakartaProvider<T> =
-  JakartaProvider(::invoke)
+@Suppress("UNCHECKED_CAST")
+public fun <T : Any> MetroProvider<T>.asJakartaProvider(): JakartaProvider<T> {
+  val source = ProviderAdapter.unwrap(this)
+  return when {
+    source is JakartaProvider<*> -> source as JakartaProvider<T>
+    this is JakartaProvider<*> -> this as JakartaProvider<T>
+    else ->
+      JakartaInteropProvider.FromMetro(
+        if (source is MetroProvider<*>) source as MetroProvider<T> else this
+      )
+  }
+}
+
+/**
+ * A provider adapter that is simultaneously a Metro [MetroProvider] and a jakarta
+ * [JakartaProvider], so converting it back in either direction unwraps it rather than adding
+ * another wrapper.
+ */
+private sealed class JakartaInteropProvider<T : Any> : ProviderAdapter<T>, JakartaProvider<T> {
+  final override fun get(): T = invoke()
+
+  class FromMetro<T : Any>(override val delegate: MetroProvider<T>) : JakartaInteropProvider<T>() {
+    override fun invoke(): T = delegate()
+  }
+
+  class FromJakarta<T : Any>(override val delegate: JakartaProvider<T>) :
+    JakartaInteropProvider<T>() {
+    override fun invoke(): T = delegate.get()
+  }
+}
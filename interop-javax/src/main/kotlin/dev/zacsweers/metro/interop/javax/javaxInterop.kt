@@ -3,19 +3,60 @@
 package dev.zacsweers.metro.interop.javax
 
 import dev.zacsweers.metro.Provider as MetroProvider
-import dev.zacsweers.metro.provider
+import dev.zacsweers.metro.internal.ProviderAdapter
 import javax.inject.Provider as JavaxProvider
 
 /**
  * Converts a javax [JavaxProvider] into a Metro [MetroProvider].
  *
+ * If this provider is (or adapts) a [MetroProvider], that instance is returned directly rather than
+ * wrapping it again.
+ *
  * @return A [MetroProvider] that delegates its invocation to the source [JavaxProvider].
  */
-public fun <T : Any> JavaxProvider<T>.asMetroProvider(): MetroProvider<T> = provider(::get)
+@Suppress("UNCHECKED_CAST")
+public fun <T : Any> JavaxProvider<T>.asMetroProvider(): MetroProvider<T> {
+  val source = ProviderAdapter.unwrap(this)
+  return when {
+    source is MetroProvider<*> -> source as MetroProvider<T>
+    this is MetroProvider<*> -> this as MetroProvider<T>
+    else -> JavaxInteropProvider.FromJavax(this)
+  }
+}
 
 /**
  * Converts a Metro [MetroProvider] into a javax [JavaxProvider].
  *
+ * If this provider is (or adapts) a [JavaxProvider], that instance is returned directly rather than
+ * wrapping it again.
+ *
  * @return A [JavaxProvider] that delegates its invocation to the source [MetroProvider].
  */
-public fun <T : Any> MetroProvider<T>.asJavaxProvider(): JavaxProvider<T> = JavaxProvider(::invoke)
+@Suppress("UNCHECKED_CAST")
+public fun <T : Any> MetroProvider<T>.asJavaxProvider(): JavaxProvider<T> {
+  val source = ProviderAdapter.unwrap(this)
+  return when {
+    source is JavaxProvider<*> -> source as JavaxProvider<T>
+    this is JavaxProvider<*> -> this as JavaxProvider<T>
+    else ->
+      JavaxInteropProvider.FromMetro(
+        if (source is MetroProvider<*>) source as MetroProvider<T> else this
+      )
+  }
+}
+
+/**
+ * A provider adapter that is simultaneously a Metro [MetroProvider] and a javax [JavaxProvider], so
+ * converting it back in either direction unwraps it rather than adding another wrapper.
+ */
+private sealed class JavaxInteropProvider<T : Any> : ProviderAdapter<T>, JavaxProvider<T> {
+  final override fun get(): T = invoke()
+
+  class FromMetro<T : Any>(override val delegate: MetroProvider<T>) : JavaxInteropProvider<T>() {
+    override fun invoke(): T = delegate()
+  }
+
+  class FromJavax<T : Any>(override val delegate: JavaxProvider<T>) : JavaxInteropProvider<T>() {
+    override fun invoke(): T = delegate.get()
+  }
+}
@@ -64,6 +64,35 @@ import kotlin.reflect.KClass
  * The keys for both maps are the target ViewModel class.
  *
  * If neither map contains the requested ViewModel class, an `IllegalArgumentException` is thrown.
+ *
+ * ## Direct dispatch
+ *
+ * Requesting either map requires the graph to assemble a [Provider] for every ViewModel in it up
+ * front, which can be noticeable in apps with hundreds of ViewModels. Alternatively, you can
+ * override [createViewModel] to dispatch to individually injected providers with a `when`
+ * expression. Any map that is not overridden is never requested from the graph.
+ *
+ * ```kotlin
+ * @Inject
+ * @ContributesBinding(AppScope::class)
+ * @SingleIn(AppScope::class)
+ * class MyViewModelFactory(
+ *   private val homeViewModel: Provider<HomeViewModel>,
+ *   private val detailsViewModelFactory: Provider<DetailsViewModel.Factory>,
+ * ) : MetroViewModelFactory() {
+ *   override fun createViewModel(modelClass: KClass<out ViewModel>, extras: CreationExtras): ViewModel? {
+ *     return when (modelClass) {
+ *       HomeViewModel::class -> homeViewModel()
+ *       DetailsViewModel::class -> detailsViewModelFactory().create(extras)
+ *       else -> null
+ *     }
+ *   }
+ * }
+ * ```
+ *
+ * With the `generateViewModelFactories` Metro option enabled, graph accessors of this type return a
+ * compiler-generated subclass that implements [createViewModel] this way for every ViewModel
+ * contributed to the graph.
  */
 public abstract class MetroViewModelFactory : ViewModelProvider.Factory {
   protected open val viewModelProviders: Map<KClass<out ViewModel>, Provider<ViewModel>> =
@@ -75,8 +104,21 @@ public abstract class MetroViewModelFactory : ViewModelProvider.Factory {
     Map<KClass<out ManualViewModelAssistedFactory>, Provider<ManualViewModelAssistedFactory>> =
     emptyMap()
 
+  /**
+   * Creates a ViewModel for [modelClass] directly, or returns null to fall back to
+   * [assistedFactoryProviders] and [viewModelProviders]. This is always tried first.
+   */
+  protected open fun createViewModel(
+    modelClass: KClass<out ViewModel>,
+    extras: CreationExtras,
+  ): ViewModel? = null
+
   @Suppress("UNCHECKED_CAST")
   final override fun <T : ViewModel> create(modelClass: KClass<T>, extras: CreationExtras): T {
+    createViewModel(modelClass, extras)?.let { viewModel ->
+      return viewModel as T
+    }
+
     assistedFactoryProviders[modelClass]?.let { factory ->
       return factory().create(extras) as T
     }
@@ -70,6 +70,57 @@ class MetroViewModelFactoryTest {
     assertEquals("assisted", result.extra)
   }
 
+  @Test
+  fun `create prefers createViewModel over provider maps`() {
+    val testViewModel = TestViewModel()
+    val factory =
+      object : MetroViewModelFactory() {
+        override val viewModelProviders: Map<KClass<out ViewModel>, Provider<ViewModel>>
+          get() = error("Should not be requested")
+
+        override val assistedFactoryProviders:
+          Map<KClass<out ViewModel>, Provider<ViewModelAssistedFactory>>
+          get() = error("Should not be requested")
+
+        override fun createViewModel(
+          modelClass: KClass<out ViewModel>,
+          extras: CreationExtras,
+        ): ViewModel? {
+          return when (modelClass) {
+            TestViewModel::class -> testViewModel
+            else -> null
+          }
+        }
+      }
+
+    val result = factory.create(TestViewModel::class, CreationExtras.Empty)
+
+    assertSame(testViewModel, result)
+  }
+
+  @Test
+  fun `create falls back to provider maps when createViewModel returns null`() {
+    val testViewModel = TestViewModel()
+    val factory =
+      object : MetroViewModelFactory() {
+        override val viewModelProviders: Map<KClass<out ViewModel>, Provider<ViewModel>> =
+          mapOf(TestViewModel::class to Provider { testViewModel })
+
+        override fun createViewModel(
+          modelClass: KClass<out ViewModel>,
+          extras: CreationExtras,
+        ): ViewModel? {
+          return when (modelClass) {
+            AssistedTestViewModel::class -> AssistedTestViewModel("direct")
+            else -> null
+          }
+        }
+      }
+
+    assertSame(testViewModel, factory.create(TestViewModel::class, CreationExtras.Empty))
+    assertEquals("direct", factory.create(AssistedTestViewModel::class, CreationExtras.Empty).extra)
+  }
+
   @Test
   fun `create throws for unknown model class`() {
     val factory = object : MetroViewModelFactory() {}
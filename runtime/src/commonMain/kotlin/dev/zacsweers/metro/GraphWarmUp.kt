@@ -0,0 +1,210 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro
+
+import kotlin.time.Duration
+import kotlin.time.TimeSource
+import kotlinx.atomicfu.locks.SynchronizedObject
+import kotlinx.atomicfu.locks.synchronized
+
+/**
+ * Eagerly initializes the scoped bindings of a dependency graph, for example to construct all
+ * `@SingleIn(AppScope::class)` bindings before a server starts accepting traffic.
+ *
+ * Declare an accessor of this type on a graph and Metro will generate it. The returned warm-up
+ * covers every scoped binding of that graph that is reachable from its accessors, injectors, and
+ * graph extensions. Bindings can narrow this with a [Startup] policy: if any of the graph's
+ * bindings are [background][StartupPolicy.BACKGROUND] bindings, only those are covered. Otherwise,
+ * bindings that are explicitly [lazy][StartupPolicy.LAZY] or already [eager][StartupPolicy.EAGER]
+ * are skipped.
+ *
+ * ```kotlin
+ * @DependencyGraph(AppScope::class)
+ * interface AppGraph {
+ *   val warmUp: GraphWarmUp
+ * }
+ *
+ * val report = graph.warmUp.run()
+ * ```
+ *
+ * [bindings] are ordered such that every binding comes after the scoped bindings it depends on,
+ * which is the order that [run] initializes them in on the calling thread. The overload of [run]
+ * that accepts an `execute` function instead starts each binding as soon as the scoped bindings it
+ * depends on are initialized, so independent bindings are initialized concurrently.
+ *
+ * ```kotlin
+ * graph.warmUp.run(execute = executor::execute) { result ->
+ *   val report = result.getOrThrow()
+ *   // Start accepting traffic
+ * }
+ * ```
+ *
+ * Warming up is idempotent, as scoped bindings are only ever initialized once per graph instance.
+ */
+public class GraphWarmUp
+internal constructor(
+  /** The type keys of the scoped bindings this warms up, in dependency order. */
+  public val bindings: List<String>,
+  /** The indices in [bindings] that each binding directly or transitively depends on. */
+  private val dependencies: Array<IntArray>,
+  private val initialize: (index: Int) -> Any?,
+) {
+  /**
+   * Initializes all [bindings] one at a time on the calling thread and returns a report of how long
+   * each one took. Exceptions thrown by a binding are rethrown.
+   */
+  public fun run(): WarmUpReport {
+    val start = TimeSource.Monotonic.markNow()
+    val durations = LinkedHashMap<String, Duration>(bindings.size)
+    for (index in bindings.indices) {
+      val mark = TimeSource.Monotonic.markNow()
+      initialize(index)
+      durations[bindings[index]] = mark.elapsedNow()
+    }
+    return WarmUpReport(durations, start.elapsedNow())
+  }
+
+  /**
+   * Initializes all [bindings] using [execute] to run each one, starting each binding once the
+   * scoped bindings it depends on are initialized.
+   *
+   * [onComplete] is called exactly once, from whichever task finishes last, with either a report of
+   * how long each binding took or the first exception thrown. Bindings that directly or
+   * transitively depend on a failed binding are skipped, while all other bindings still run.
+   */
+  public fun run(
+    execute: (task: () -> Unit) -> Unit,
+    onComplete: (result: Result<WarmUpReport>) -> Unit,
+  ) {
+    ConcurrentWarmUp(execute, onComplete).start()
+  }
+
+  override fun toString(): String = "GraphWarmUp(bindings=$bindings)"
+
+  private inner class ConcurrentWarmUp(
+    private val execute: (task: () -> Unit) -> Unit,
+    private val onComplete: (result: Result<WarmUpReport>) -> Unit,
+  ) : SynchronizedObject() {
+    private val start = TimeSource.Monotonic.markNow()
+    private val pendingDependencies = IntArray(bindings.size) { dependencies[it].size }
+    private val dependents = invert(dependencies)
+    private val durations = arrayOfNulls<Duration>(bindings.size)
+    /** Bindings that threw or were skipped, whose dependents are skipped in turn. */
+    private val failed = BooleanArray(bindings.size)
+    private var remaining = bindings.size
+    private var failure: Throwable? = null
+
+    fun start() {
+      if (bindings.isEmpty()) {
+        onComplete(Result.success(WarmUpReport(emptyMap(), start.elapsedNow())))
+        return
+      }
+      for (index in bindings.indices) {
+        if (pendingDependencies[index] == 0) {
+          schedule(index)
+        }
+      }
+    }
+
+    private fun schedule(index: Int) {
+      try {
+        execute { initializeAt(index) }
+      } catch (e: Throwable) {
+        // The task was rejected
+        finish(index, duration = null, error = e)
+      }
+    }
+
+    private fun initializeAt(index: Int) {
+      // Dependencies have all finished by now, so whether any of them failed is settled
+      val skip = synchronized(this) { dependencies[index].any { failed[it] } }
+      var duration: Duration? = null
+      var error: Throwable? = null
+      if (!skip) {
+        val mark = TimeSource.Monotonic.markNow()
+        try {
+          initialize(index)
+          duration = mark.elapsedNow()
+        } catch (e: Throwable) {
+          error = e
+        }
+      }
+      finish(index, duration, error, skipped = skip)
+    }
+
+    private fun finish(
+      index: Int,
+      duration: Duration?,
+      error: Throwable?,
+      skipped: Boolean = false,
+    ) {
+      val ready = mutableListOf<Int>()
+      val isComplete =
+        synchronized(this) {
+          durations[index] = duration
+          if (error != null || skipped) {
+            failed[index] = true
+          }
+          if (error != null && failure == null) {
+            failure = error
+          }
+          for (dependent in dependents[index]) {
+            if (--pendingDependencies[dependent] == 0) {
+              ready += dependent
+            }
+          }
+          --remaining == 0
+        }
+      for (dependent in ready) {
+        schedule(dependent)
+      }
+      if (isComplete) {
+        complete()
+      }
+    }
+
+    private fun complete() {
+      val error = failure
+      if (error != null) {
+        onComplete(Result.failure(error))
+        return
+      }
+      val report = LinkedHashMap<String, Duration>(bindings.size)
+      for ((index, duration) in durations.withIndex()) {
+        report[bindings[index]] = duration!!
+      }
+      onComplete(Result.success(WarmUpReport(report, start.elapsedNow())))
+    }
+  }
+}
+
+/** The result of a [GraphWarmUp]. */
+public class WarmUpReport
+internal constructor(
+  /** How long each binding took to initialize, keyed by its type key and in dependency order. */
+  public val durations: Map<String, Duration>,
+  /** The wall-clock time of the whole warm-up. */
+  public val total: Duration,
+) {
+  override fun toString(): String = buildString {
+    append("WarmUpReport(total=")
+    append(total)
+    append(")")
+    for ((binding, duration) in durations) {
+      append("\n  ")
+      append(binding)
+      append(": ")
+      append(duration)
+    }
+  }
+}
+
+private fun invert(dependencies: Array<IntArray>): Array<IntArray> {
+  val dependents = Array(dependencies.size) { mutableListOf<Int>() }
+  for ((index, indexDependencies) in dependencies.withIndex()) {
+    for (dependency in indexDependencies) {
+      dependents[dependency] += index
+    }
+  }
+  return Array(dependents.size) { dependents[it].toIntArray() }
+}
@@ -0,0 +1,63 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro
+
+/**
+ * Declares when a scoped binding is initialized. Bindings without this annotation are
+ * [lazy][StartupPolicy.LAZY].
+ *
+ * ```kotlin
+ * @DependencyGraph(AppScope::class)
+ * interface AppGraph {
+ *   @Startup(StartupPolicy.EAGER)
+ *   @SingleIn(AppScope::class)
+ *   @Provides
+ *   fun provideConnectionPool(): ConnectionPool = ConnectionPool()
+ * }
+ *
+ * @Startup(StartupPolicy.BACKGROUND)
+ * @SingleIn(AppScope::class)
+ * @Inject
+ * class ImageCache(val diskCache: DiskCache)
+ * ```
+ *
+ * Only scoped bindings may declare an [eager][StartupPolicy.EAGER] or
+ * [background][StartupPolicy.BACKGROUND] policy. Eager and background `@Provides` declarations are
+ * always kept in their graph, even if nothing else requests them. Like any other injected class,
+ * eager and background `@Inject` classes must be requested by their graph to be part of it.
+ *
+ * Metro reports an error if an eager binding depends on a binding that is explicitly declared lazy
+ * or background, as that dependency would be initialized at graph creation too. To depend on one,
+ * inject it as a [Provider] or [Lazy] instead. Metro also warns if an eager binding forces many
+ * other scoped bindings to initialize at graph creation, which can be configured with the
+ * `eagerSubgraphWarningThreshold` Gradle DSL property.
+ *
+ * If reports are enabled, the initialization order of each graph's eager bindings and the bindings
+ * they force are written to `startup-<graph>.txt`.
+ */
+@MustBeDocumented
+@Target(
+  AnnotationTarget.CLASS,
+  AnnotationTarget.FUNCTION,
+  AnnotationTarget.PROPERTY,
+  AnnotationTarget.PROPERTY_GETTER,
+)
+public annotation class Startup(val policy: StartupPolicy)
+
+/** Policies for when a scoped binding is initialized. See [Startup]. */
+public enum class StartupPolicy {
+  /** Initialized the first time the binding is requested. This is the default. */
+  LAZY,
+
+  /**
+   * Initialized when its graph is created, after all of the graph's fields are initialized and in
+   * dependency order.
+   */
+  EAGER,
+
+  /**
+   * Initialized by the graph's [GraphWarmUp], which apps can run off the main thread after creating
+   * the graph. If any of a graph's bindings are background bindings, its warm-up only covers those.
+   */
+  BACKGROUND,
+}
@@ -0,0 +1,91 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.internal
+
+import dev.zacsweers.metro.Provider
+import kotlinx.atomicfu.atomicArrayOfNulls
+
+/**
+ * Returns a `Map<K, Provider<V>>` of [keys] whose value providers are only created by
+ * [createProvider] (with the index of their key) when first requested.
+ *
+ * This is used for large map multibindings of providers, where creating every value provider up
+ * front is wasteful if only a few of them are ever used. Iteration order is that of [keys].
+ *
+ * Concurrent first lookups of the same key may each call [createProvider], but only the first
+ * provider to be published is kept and returned by every lookup.
+ */
+public fun <K : Any, V> lazyProviderMap(
+  createProvider: (index: Int) -> Provider<V>,
+  vararg keys: K,
+): Map<K, Provider<V>> = LazyProviderMap(keys, createProvider)
+
+private class LazyProviderMap<K : Any, V>(
+  private val keyArray: Array<out K>,
+  private val createProvider: (index: Int) -> Provider<V>,
+) : AbstractMap<K, Provider<V>>() {
+  private val providers = atomicArrayOfNulls<Provider<V>>(keyArray.size)
+
+  // Only built on the first lookup by key
+  private val indices: Map<K, Int> by
+    lazy(LazyThreadSafetyMode.PUBLICATION) {
+      val indices = newLinkedHashMapWithExpectedSize<K, Int>(keyArray.size)
+      for ((index, key) in keyArray.withIndex()) {
+        indices[key] = index
+      }
+      indices
+    }
+
+  override val size: Int
+    get() = keyArray.size
+
+  override val entries: Set<Map.Entry<K, Provider<V>>> =
+    object : AbstractSet<Map.Entry<K, Provider<V>>>() {
+      override val size: Int
+        get() = keyArray.size
+
+      override fun iterator(): Iterator<Map.Entry<K, Provider<V>>> =
+        object : Iterator<Map.Entry<K, Provider<V>>> {
+          private var index = 0
+
+          override fun hasNext(): Boolean = index < keyArray.size
+
+          override fun next(): Map.Entry<K, Provider<V>> {
+            if (!hasNext()) throw NoSuchElementException()
+            return Entry(index++)
+          }
+        }
+    }
+
+  override fun containsKey(key: K): Boolean = key in indices
+
+  override fun get(key: K): Provider<V>? = indices[key]?.let(::providerAt)
+
+  private fun providerAt(index: Int): Provider<V> {
+    providers[index].value?.let {
+      return it
+    }
+    val provider = createProvider(index)
+    // If another thread published its provider first, use that one so every lookup agrees
+    return if (providers[index].compareAndSet(null, provider)) provider
+    else providers[index].value!!
+  }
+
+  /** An entry whose value provider is only created when [value] is read. */
+  private inner class Entry(private val index: Int) : Map.Entry<K, Provider<V>> {
+    override val key: K
+      get() = keyArray[index]
+
+    override val value: Provider<V>
+      get() = providerAt(index)
+
+    override fun equals(other: Any?): Boolean {
+      if (other !is Map.Entry<*, *>) return false
+      return key == other.key && value == other.value
+    }
+
+    override fun hashCode(): Int = key.hashCode() xor value.hashCode()
+
+    override fun toString(): String = "$key=$value"
+  }
+}
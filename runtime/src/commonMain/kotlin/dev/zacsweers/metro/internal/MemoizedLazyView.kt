@@ -0,0 +1,43 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.internal
+
+import dev.zacsweers.metro.Provider
+import kotlin.concurrent.Volatile
+
+/**
+ * A non-locking [Lazy] view over a source that already memoizes its value, such as a
+ * [BaseDoubleCheck], an [InstanceFactory], or another framework's `Lazy` type.
+ *
+ * Unlike [DoubleCheck], this neither synchronizes nor holds its own reference to the value. The
+ * source is responsible for guaranteeing that [readSource] returns the same instance on every call,
+ * so concurrent first reads can safely race through to it.
+ *
+ * If the [source] is itself a [Lazy], [isInitialized] reports whether the source is, so a value
+ * that was already initialized through the source or another view isn't reported as missing.
+ */
+public abstract class MemoizedLazyView<T> : Lazy<T>, Provider<T> {
+  @Volatile private var initialized = false
+
+  /** The memoizing source this is a view of. */
+  protected abstract val source: Any
+
+  /** Returns the value from the memoizing source. */
+  protected abstract fun readSource(): T
+
+  final override val value: T
+    get() {
+      val result = readSource()
+      if (!initialized) {
+        initialized = true
+      }
+      return result
+    }
+
+  final override fun isInitialized(): Boolean = (source as? Lazy<*>)?.isInitialized() ?: initialized
+
+  final override fun invoke(): T = value
+
+  override fun toString(): String =
+    if (isInitialized()) value.toString() else "Lazy value not initialized yet."
+}
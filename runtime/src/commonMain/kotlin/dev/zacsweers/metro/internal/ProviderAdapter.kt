@@ -0,0 +1,26 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.internal
+
+import dev.zacsweers.metro.Provider
+
+/**
+ * A [Provider] that only adapts a provider from another framework (Dagger, Guice, javax, jakarta,
+ * etc.) to other provider types.
+ *
+ * Interop conversions check for this type and unwrap back to [delegate] rather than stacking
+ * another adapter on top, so a binding that crosses framework boundaries multiple times is only
+ * ever one call away from its source.
+ */
+public interface ProviderAdapter<T> : Provider<T> {
+  /** The adapted provider, usually the original provider from the other framework. */
+  public val delegate: Any
+
+  public companion object {
+    /**
+     * Returns the source provider of [provider] if it is a [ProviderAdapter], or else [provider].
+     */
+    public fun unwrap(provider: Any): Any =
+      if (provider is ProviderAdapter<*>) provider.delegate else provider
+  }
+}
@@ -0,0 +1,28 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.internal
+
+import dev.zacsweers.metro.GraphWarmUp
+
+/**
+ * Creates a [GraphWarmUp] for generated graphs.
+ *
+ * @param bindings the type keys of the bindings to initialize, in dependency order.
+ * @param initialize initializes the binding at the given index in [bindings].
+ * @param dependencyEdges pairs of `(dependent, dependency)` indices in [bindings].
+ */
+public fun graphWarmUp(
+  bindings: Array<String>,
+  initialize: (index: Int) -> Any?,
+  vararg dependencyEdges: Int,
+): GraphWarmUp {
+  val dependencies = Array(bindings.size) { mutableListOf<Int>() }
+  for (i in dependencyEdges.indices step 2) {
+    dependencies[dependencyEdges[i]] += dependencyEdges[i + 1]
+  }
+  return GraphWarmUp(
+    bindings = bindings.asList(),
+    dependencies = Array(bindings.size) { dependencies[it].toIntArray() },
+    initialize = initialize,
+  )
+}
@@ -0,0 +1,133 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro
+
+import dev.zacsweers.metro.internal.graphWarmUp
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNotNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class GraphWarmUpTest {
+  @Test
+  fun runInitializesInOrder() {
+    val initialized = mutableListOf<Int>()
+    val warmUp = graphWarmUp(arrayOf("a", "b", "c"), { initialized += it }, 1, 0, 2, 1)
+
+    val report = warmUp.run()
+
+    assertEquals(listOf(0, 1, 2), initialized)
+    assertEquals(listOf("a", "b", "c"), report.durations.keys.toList())
+  }
+
+  @Test
+  fun runRethrowsFailures() {
+    val exception = IllegalStateException()
+    val warmUp = graphWarmUp(arrayOf("a"), { throw exception })
+
+    assertSame(exception, assertFailsWith<IllegalStateException> { warmUp.run() })
+  }
+
+  @Test
+  fun concurrentRunStartsIndependentBindingsFirst() {
+    val tasks = ArrayDeque<() -> Unit>()
+    val initialized = mutableListOf<Int>()
+    // c depends on a and b, which are independent
+    val warmUp = graphWarmUp(arrayOf("a", "b", "c"), { initialized += it }, 2, 0, 2, 1)
+
+    var result: Result<WarmUpReport>? = null
+    warmUp.run(execute = { tasks += it }) { result = it }
+
+    // a and b are both scheduled up front
+    assertEquals(2, tasks.size)
+    while (tasks.isNotEmpty()) {
+      tasks.removeFirst()()
+    }
+
+    assertEquals(listOf(0, 1, 2), initialized)
+    val report = assertNotNull(result).getOrThrow()
+    assertEquals(setOf("a", "b", "c"), report.durations.keys)
+  }
+
+  @Test
+  fun concurrentRunWaitsForAllDependencies() {
+    val tasks = ArrayDeque<() -> Unit>()
+    val initialized = mutableListOf<Int>()
+    val warmUp = graphWarmUp(arrayOf("a", "b", "c"), { initialized += it }, 2, 0, 2, 1)
+
+    warmUp.run(execute = { tasks += it }) {}
+
+    // Run b first, then a. c is only scheduled after both
+    tasks.removeLast()()
+    assertEquals(1, tasks.size)
+    tasks.removeFirst()()
+    assertEquals(1, tasks.size)
+    tasks.removeFirst()()
+
+    assertEquals(listOf(1, 0, 2), initialized)
+  }
+
+  @Test
+  fun concurrentRunSkipsDependentsOfFailures() {
+    val exception = IllegalStateException()
+    val initialized = mutableListOf<Int>()
+    val warmUp =
+      graphWarmUp(
+        arrayOf("a", "b"),
+        { index ->
+          if (index == 0) throw exception
+          initialized += index
+        },
+        1,
+        0,
+      )
+
+    var result: Result<WarmUpReport>? = null
+    warmUp.run(execute = { it() }) { result = it }
+
+    assertTrue(initialized.isEmpty())
+    assertSame(exception, assertNotNull(result).exceptionOrNull())
+  }
+
+  @Test
+  fun concurrentRunStillInitializesIndependentBindingsAfterFailures() {
+    val exception = IllegalStateException()
+    val initialized = mutableListOf<Int>()
+    // b depends on a, c depends on b, and d is independent of all of them
+    val warmUp =
+      graphWarmUp(
+        arrayOf("a", "b", "c", "d"),
+        { index ->
+          if (index == 0) throw exception
+          initialized += index
+        },
+        1,
+        0,
+        2,
+        1,
+      )
+
+    var result: Result<WarmUpReport>? = null
+    val tasks = ArrayDeque<() -> Unit>()
+    warmUp.run(execute = { tasks += it }) { result = it }
+    // a fails before d runs
+    while (tasks.isNotEmpty()) {
+      tasks.removeFirst()()
+    }
+
+    assertEquals(listOf(3), initialized)
+    assertSame(exception, assertNotNull(result).exceptionOrNull())
+  }
+
+  @Test
+  fun concurrentRunCompletesWhenEmpty() {
+    val warmUp = graphWarmUp(emptyArray(), { error("Unexpected") })
+
+    var result: Result<WarmUpReport>? = null
+    warmUp.run(execute = { error("Unexpected") }) { result = it }
+
+    assertTrue(assertNotNull(result).getOrThrow().durations.isEmpty())
+  }
+}
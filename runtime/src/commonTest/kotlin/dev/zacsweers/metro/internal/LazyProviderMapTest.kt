@@ -0,0 +1,102 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.internal
+
+import dev.zacsweers.metro.Provider
+import dev.zacsweers.metro.provider
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class LazyProviderMapTest {
+  @Test
+  fun providersAreOnlyCreatedOnLookup() {
+    val created = mutableListOf<Int>()
+    val map =
+      lazyProviderMap(
+        { index ->
+          created += index
+          provider { "value$index" }
+        },
+        "a",
+        "b",
+        "c",
+      )
+
+    assertEquals(3, map.size)
+    assertTrue(created.isEmpty())
+
+    assertEquals("value1", map.getValue("b")())
+    assertEquals(listOf(1), created)
+  }
+
+  @Test
+  fun providersAreCreatedOnce() {
+    var count = 0
+    val map =
+      lazyProviderMap(
+        { _ ->
+          count++
+          provider { "value" }
+        },
+        "a",
+      )
+
+    val first = map.getValue("a")
+    val second = map.getValue("a")
+
+    assertSame(first, second)
+    assertEquals(1, count)
+  }
+
+  @Test
+  fun missingKeys() {
+    val map = lazyProviderMap({ index -> provider { index } }, "a")
+
+    assertNull(map["b"])
+    assertFalse(map.containsKey("b"))
+    assertTrue(map.containsKey("a"))
+  }
+
+  @Test
+  fun iterationOrderMatchesKeys() {
+    val map = lazyProviderMap({ index -> provider { index } }, "two", "one", "three")
+
+    assertEquals(listOf("two", "one", "three"), map.keys.toList())
+    assertEquals(listOf(0, 1, 2), map.values.map { it() })
+    assertEquals(listOf("two" to 0, "one" to 1, "three" to 2), map.map { (k, v) -> k to v() })
+  }
+
+  @Test
+  fun iteratingKeysDoesNotCreateProviders() {
+    var count = 0
+    val map =
+      lazyProviderMap(
+        { index ->
+          count++
+          provider { index }
+        },
+        "a",
+        "b",
+      )
+
+    assertEquals(setOf("a", "b"), map.keys)
+    assertEquals(0, count)
+  }
+
+  @Test
+  fun equalsOtherMaps() {
+    val a: Provider<Int> = provider { 0 }
+    val b: Provider<Int> = provider { 1 }
+    val providers = listOf(a, b)
+    val map = lazyProviderMap({ index -> providers[index] }, "a", "b")
+
+    val expected = mapOf("a" to a, "b" to b)
+    assertEquals(expected, map)
+    assertEquals(map, expected)
+    assertEquals(expected.hashCode(), map.hashCode())
+  }
+}
@@ -0,0 +1,55 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.internal
+
+import dev.zacsweers.metro.Provider
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class MemoizedLazyViewTest {
+  @Test
+  fun `view over an initialized DoubleCheck is initialized`() {
+    val source = DoubleCheck.lazy(Provider { Any() })
+    val value = source.value
+
+    val view = TestView(source)
+    assertTrue(view.isInitialized())
+    assertEquals(value.toString(), view.toString())
+    assertSame(value, view.value)
+  }
+
+  @Test
+  fun `view follows its DoubleCheck source`() {
+    val source = DoubleCheck.lazy(Provider { Any() })
+    val view = TestView(source)
+    assertFalse(view.isInitialized())
+
+    // Initialized through the source rather than the view
+    val value = source.value
+    assertTrue(view.isInitialized())
+    assertSame(value, view.value)
+  }
+
+  @Test
+  fun `view over a non-lazy source tracks its own reads`() {
+    val source = Provider { Any() }
+    val view = TestView(source)
+    assertFalse(view.isInitialized())
+    assertEquals("Lazy value not initialized yet.", view.toString())
+
+    view.value
+    assertTrue(view.isInitialized())
+  }
+
+  private class TestView<T>(override val source: Any) : MemoizedLazyView<T>() {
+    @Suppress("UNCHECKED_CAST")
+    override fun readSource(): T =
+      when (source) {
+        is Lazy<*> -> source.value as T
+        else -> (source as Provider<T>)()
+      }
+  }
+}
@@ -0,0 +1,48 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.internal
+
+import dev.zacsweers.metro.Provider
+import dev.zacsweers.metro.provider
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertSame
+
+class ProviderAdapterTest {
+  @Test
+  fun unwrapReturnsTheAdaptedProvider() {
+    val source = Any()
+    val adapter = TestAdapter(source) { "value" }
+    assertSame(source, ProviderAdapter.unwrap(adapter))
+  }
+
+  @Test
+  fun unwrapReturnsOtherProvidersAsIs() {
+    val provider = provider { "value" }
+    assertSame(provider, ProviderAdapter.unwrap(provider))
+  }
+
+  @Test
+  fun unwrapOnlyUnwrapsOneAdapter() {
+    // Adapters are only ever created over their source, so there's never more than one to unwrap
+    val inner = TestAdapter(Any()) { "value" }
+    val outer = TestAdapter(inner) { "value" }
+    assertSame(inner, ProviderAdapter.unwrap(outer))
+  }
+
+  @Test
+  fun unwrappedScopedProviderKeepsItsInstance() {
+    val source = DoubleCheck.provider(provider { Any() })
+    val adapter = TestAdapter(source, source)
+
+    @Suppress("UNCHECKED_CAST") val unwrapped = ProviderAdapter.unwrap(adapter) as Provider<Any>
+    assertSame(source, unwrapped)
+    assertEquals(adapter(), unwrapped())
+    assertSame(source(), unwrapped())
+  }
+
+  private class TestAdapter<T>(override val delegate: Any, private val provider: Provider<T>) :
+    ProviderAdapter<T> {
+    override fun invoke(): T = provider()
+  }
+}
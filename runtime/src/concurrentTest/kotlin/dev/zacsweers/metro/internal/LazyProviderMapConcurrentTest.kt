@@ -0,0 +1,39 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.internal
+
+import dev.zacsweers.metro.provider
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.runBlocking
+
+/** These tests are only possible to run in jvm and native. */
+class LazyProviderMapConcurrentTest {
+  // Use runBlocking and not runTest because we actually want multithreading in this test
+  @Test
+  fun concurrentLookupsShareOneProvider() = runBlocking {
+    val numCoroutines = 10
+
+    val start = CompletableDeferred<Unit>()
+    val map = lazyProviderMap({ index -> provider { index } }, "a", "b")
+
+    val results =
+      List(numCoroutines) {
+        async(Dispatchers.Default) {
+          start.await()
+          map.getValue("a")
+        }
+      }
+
+    // Release all coroutines at once and await the results
+    start.complete(Unit)
+    val providers = results.awaitAll()
+
+    assertEquals(1, providers.toSet().size)
+    assertEquals(providers.first(), map.getValue("a"))
+  }
+}
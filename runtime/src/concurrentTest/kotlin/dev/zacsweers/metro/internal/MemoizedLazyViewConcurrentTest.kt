@@ -0,0 +1,64 @@
+// Copyright (C) 2025 Zac Sweers
+// SPDX-License-Identifier: Apache-2.0
+package dev.zacsweers.metro.internal
+
+import dev.zacsweers.metro.Provider
+import dev.zacsweers.metro.internal.DoubleCheckConcurrentTest.CoroutineLatchedProvider
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.sync.Mutex
+
+/** These tests are only possible to run in jvm and native. */
+class MemoizedLazyViewConcurrentTest {
+  // Use runBlocking and not runTest because we actually want multithreading in this test
+  @Test
+  fun viewOverDoubleCheckProvisionsOnce() = runBlocking {
+    val numCoroutines = 10
+
+    val mutex = Mutex(locked = true) // Start locked
+    val provider = CoroutineLatchedProvider(mutex)
+    val source = DoubleCheck.provider(provider)
+    val view = TestView(source)
+
+    val results = List(numCoroutines) { async(Dispatchers.Default) { view.value } }
+    assertFalse(view.isInitialized())
+
+    // Release all coroutines at once and await the results
+    mutex.unlock()
+    val values = results.awaitAll().toSet()
+
+    assertEquals(1, provider.provisions.value)
+    assertEquals(1, values.size)
+    assertTrue(view.isInitialized())
+    assertSame(source(), values.single())
+  }
+
+  @Test
+  fun viewsOverSameSourceShareValue() = runBlocking {
+    val numCoroutines = 10
+
+    val mutex = Mutex(locked = true) // Start locked
+    val provider = CoroutineLatchedProvider(mutex)
+    val source = DoubleCheck.provider(provider)
+
+    // A distinct view per coroutine, as each interop conversion may create its own
+    val results = List(numCoroutines) { async(Dispatchers.Default) { TestView(source).value } }
+
+    mutex.unlock()
+    val values = results.awaitAll().toSet()
+
+    assertEquals(1, provider.provisions.value)
+    assertEquals(1, values.size)
+  }
+
+  private class TestView<T>(override val source: Provider<T>) : MemoizedLazyView<T>() {
+    override fun readSource(): T = source()
+  }
+}